@@ -432,6 +432,45 @@ public class KylinConfig {
         return Integer.parseInt(getOptional("kylin.dictionary.max.cardinality", "5000000"));
     }
 
+    public long getFactDistinctValuesPerReducer() {
+        return Long.parseLong(getOptional("kylin.job.fact.distinct.values.per.reducer", "1000000"));
+    }
+
+    public int getFactDistinctMaxShardsPerColumn() {
+        return Integer.parseInt(getOptional("kylin.job.fact.distinct.max.shards.per.column", "20"));
+    }
+
+    public boolean isCubingDirectHFileEnabled() {
+        return Boolean.parseBoolean(getOptional("kylin.job.cubing.direct.hfile", "false"));
+    }
+
+    /**
+     * @return "auto", "none", or the class name of a hadoop compression codec
+     */
+    public String getCubingIntermediateCompressionCodec() {
+        return getOptional("kylin.job.cubing.intermediate.compression.codec", "auto");
+    }
+
+    /**
+     * @return segments estimated under this input size are built in-process,
+     *         0 to disable
+     */
+    public int getInMemCubingMaxInputMB() {
+        return Integer.parseInt(getOptional("kylin.job.cubing.inmem.max.input.mb", "0"));
+    }
+
+    /**
+     * @return segments of cubes with more cuboids than this are not built
+     *         in-process, all cuboids are held in memory until written
+     */
+    public int getInMemCubingMaxCuboids() {
+        return Integer.parseInt(getOptional("kylin.job.cubing.inmem.max.cuboids", "1024"));
+    }
+
+    public int getInMemCubingThreads() {
+        return Integer.parseInt(getOptional("kylin.job.cubing.inmem.threads", "4"));
+    }
+
     public int getTableSnapshotMaxMB() {
         return Integer.parseInt(getOptional("kylin.table.snapshot.max_mb", "300"));
     }
@@ -444,6 +483,26 @@ public class KylinConfig {
         return Boolean.parseBoolean(getOptional("kylin.query.run.local.coprocessor", "false"));
     }
 
+    public int getIIEndpointPageRows() {
+        return Integer.parseInt(getOptional("kylin.query.ii.endpoint.page.rows", "100000"));
+    }
+
+    public int getIIStreamingSliceMaxAgeSeconds() {
+        return Integer.parseInt(getOptional("kylin.ii.streaming.slice.max.age.seconds", "10"));
+    }
+
+    public int getIIStreamingFlushIntervalSeconds() {
+        return Integer.parseInt(getOptional("kylin.ii.streaming.flush.interval.seconds", "60"));
+    }
+
+    public boolean isIIShardAutoTuneEnabled() {
+        return Boolean.parseBoolean(getOptional("kylin.ii.shard.auto.tune", "false"));
+    }
+
+    public int getIIShardSaltCandidates() {
+        return Integer.parseInt(getOptional("kylin.ii.shard.salt.candidates", "64"));
+    }
+
     public Long getQueryDurationCacheThreshold() {
         return Long.parseLong(this.getOptional("kylin.query.cache.threshold.duration", String.valueOf(2000)));
     }
@@ -460,6 +519,44 @@ public class KylinConfig {
         return Boolean.parseBoolean(this.getOptional("kylin.query.cache.enabled", "true"));
     }
 
+    public boolean isQueryPlanCacheEnabled() {
+        return Boolean.parseBoolean(this.getOptional("kylin.query.plan.cache.enabled", "true"));
+    }
+
+    public int getQueryPlanCacheMaxEntries() {
+        return Integer.parseInt(this.getOptional("kylin.query.plan.cache.max.entries", "200"));
+    }
+
+    public int getQueryConnectionPoolMaxIdle() {
+        return Integer.parseInt(this.getOptional("kylin.query.connection.pool.max.idle", "16"));
+    }
+
+    public int getQueryConnectionPoolWarmup() {
+        return Integer.parseInt(this.getOptional("kylin.query.connection.pool.warmup", "2"));
+    }
+
+    public boolean isQueryRoutingCostBased() {
+        return Boolean.parseBoolean(this.getOptional("kylin.query.routing.cost.based", "true"));
+    }
+
+    public boolean isQueryLookupColumnsDerived() {
+        return Boolean.parseBoolean(this.getOptional("kylin.query.lookup.columns.derived", "true"));
+    }
+
+    /**
+     * @return 0 if queries never time out
+     */
+    public int getQueryTimeoutSeconds() {
+        return Integer.parseInt(this.getOptional("kylin.query.timeout.seconds", "0"));
+    }
+
+    /**
+     * @return max queries running at once in a project, 0 if unlimited
+     */
+    public int getQueryProjectConcurrency() {
+        return Integer.parseInt(this.getOptional("kylin.query.project.concurrency", "0"));
+    }
+
     public int getHBaseKeyValueSize() {
         return Integer.parseInt(this.getOptional("kylin.hbase.client.keyvalue.maxsize", "10485760"));
     }
@@ -20,12 +20,14 @@ package org.apache.kylin.cube;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.kylin.cube.model.CubeDesc;
 import org.apache.kylin.cube.model.DimensionDesc;
 import org.apache.kylin.metadata.model.FunctionDesc;
 import org.apache.kylin.metadata.model.JoinDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
 import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.metadata.realization.SQLDigest;
 import org.slf4j.Logger;
@@ -45,6 +47,14 @@ public class CubeCapabilityChecker {
         Collection<TblColRef> metricsColumns = digest.metricColumns;
         Collection<JoinDesc> joins = digest.joinDescs;
 
+        // a top-n measure stands in for the sum, and for the high cardinality column as a dimension
+        MeasureDesc topN = findTopNMeasure(cube.getDescriptor(), digest);
+        if (topN != null) {
+            dimensionColumns = new ArrayList<TblColRef>(dimensionColumns);
+            dimensionColumns.remove(topN.getFunction().getTopNByColumn());
+            functions = Collections.singletonList(topN.getFunction());
+        }
+
         // match dimensions & aggregations & joins
 
         boolean isOnline = cube.isReady();
@@ -71,6 +81,41 @@ public class CubeCapabilityChecker {
         return true;
     }
 
+    /**
+     * Finds the top-n measure that answers the query, i.e. the query is like
+     * "SELECT ..., SELLER_ID, SUM(PRICE) ... GROUP BY ..., SELLER_ID ORDER BY SUM(PRICE) DESC LIMIT n"
+     * and the cube has TOP_N(PRICE, SELLER_ID) of at least n. The ranked column must not be
+     * a dimension (then the cube answers exactly) nor be filtered on.
+     * 
+     * @return the top-n measure, or null if the query is not of the shape
+     */
+    public static MeasureDesc findTopNMeasure(CubeDesc cubeDesc, SQLDigest digest) {
+        if (digest.aggregations.size() != 1 || digest.sortColumns.size() != 1 || digest.sortOrders.get(0) != SQLDigest.OrderEnum.DESCENDING)
+            return null;
+
+        FunctionDesc sum = digest.aggregations.iterator().next();
+        if (sum.isSum() == false || sum.getParameter().getColRefs() == null || sum.getParameter().getColRefs().size() != 1)
+            return null;
+
+        TblColRef measureColumn = sum.getParameter().getColRefs().get(0);
+        if (measureColumn.equals(digest.sortColumns.get(0)) == false)
+            return null;
+
+        for (MeasureDesc m : cubeDesc.getMeasures()) {
+            FunctionDesc func = m.getFunction();
+            if (func.isTopN() == false || func.getTopNMeasureColumn().equals(measureColumn) == false)
+                continue;
+
+            TblColRef byColumn = func.getTopNByColumn();
+            if (digest.groupbyColumns.contains(byColumn) && !digest.filterColumns.contains(byColumn) //
+                    && !cubeDesc.listDimensionColumnsIncludingDerived().contains(byColumn) //
+                    && digest.limit <= func.getReturnDataType().getPrecision()) {
+                return m;
+            }
+        }
+        return null;
+    }
+
     private static boolean isMatchedWithDimensions(Collection<TblColRef> dimensionColumns, CubeInstance cube) {
         CubeDesc cubeDesc = cube.getDescriptor();
         boolean matchAgg = cubeDesc.listDimensionColumnsIncludingDerived().containsAll(dimensionColumns);
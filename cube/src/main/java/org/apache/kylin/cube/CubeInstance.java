@@ -19,7 +19,9 @@
 package org.apache.kylin.cube;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.common.persistence.ResourceStore;
@@ -166,6 +168,26 @@ public class CubeInstance extends RootPersistentEntity implements IRealization {
         return sizeRecordSize;
     }
 
+    /**
+     * @return rows of each cuboid summed over the ready segments that have them collected,
+     *         empty if none has
+     */
+    public Map<Long, Long> getCuboidRowCounts() {
+        Map<Long, Long> result = new HashMap<Long, Long>();
+
+        for (CubeSegment cubeSegment : this.getSegments(SegmentStatusEnum.READY)) {
+            Map<Long, Long> segmentCounts = cubeSegment.getCuboidRowCounts();
+            if (segmentCounts == null)
+                continue;
+            for (Map.Entry<Long, Long> entry : segmentCounts.entrySet()) {
+                Long sum = result.get(entry.getKey());
+                result.put(entry.getKey(), sum == null ? entry.getValue() : sum + entry.getValue());
+            }
+        }
+
+        return result;
+    }
+
     public KylinConfig getConfig() {
         return config;
     }
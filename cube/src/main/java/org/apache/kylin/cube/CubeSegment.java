@@ -73,6 +73,8 @@ public class CubeSegment implements Comparable<CubeSegment>, ISegment {
     private ConcurrentHashMap<String, String> dictionaries; // table/column ==> dictionary resource path
     @JsonProperty("snapshots")
     private ConcurrentHashMap<String, String> snapshots; // table name ==> snapshot resource path
+    @JsonProperty("cuboid_row_counts")
+    private Map<Long, Long> cuboidRowCounts; // cuboid ID ==> number of rows
 
     public CubeDesc getCubeDesc() {
         return getCubeInstance().getDescriptor();
@@ -161,6 +163,17 @@ public class CubeSegment implements Comparable<CubeSegment>, ISegment {
         this.inputRecordsSize = inputRecordsSize;
     }
 
+    /**
+     * @return rows of each cuboid in this segment, or null if not collected at build time
+     */
+    public Map<Long, Long> getCuboidRowCounts() {
+        return cuboidRowCounts;
+    }
+
+    public void setCuboidRowCounts(Map<Long, Long> cuboidRowCounts) {
+        this.cuboidRowCounts = cuboidRowCounts;
+    }
+
     public long getLastBuildTime() {
         return lastBuildTime;
     }
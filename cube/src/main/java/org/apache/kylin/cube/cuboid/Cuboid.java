@@ -20,6 +20,7 @@ package org.apache.kylin.cube.cuboid;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -62,6 +63,44 @@ public class Cuboid implements Comparable<Cuboid> {
 
     }
 
+    /**
+     * Answer the cuboid with one of its materialized ancestors, instead of the
+     * closest valid parent found by {@link #findById(CubeDesc, long)}.
+     */
+    public static Cuboid findById(CubeDesc cube, long cuboidID, long ancestorID) {
+        if ((ancestorID & cuboidID) != cuboidID || !isValid(cube, ancestorID)) {
+            throw new IllegalArgumentException("Cuboid " + ancestorID + " is not a valid ancestor of " + cuboidID);
+        }
+        if (ancestorID == translateToValidCuboid(cube, cuboidID)) {
+            return findById(cube, cuboidID);
+        }
+        return new Cuboid(cube, cuboidID, ancestorID);
+    }
+
+    /**
+     * @return the cuboids among the given row counts that cover the cuboid
+     *         (itself included) and are valid for the cube, ordered by rows,
+     *         fewest first; counts of a former cube desc are skipped
+     */
+    public static List<Long> findAncestorsByRowCount(CubeDesc cube, long cuboidID, final Map<Long, Long> rowCounts) {
+        long fullMask = cube.getRowkey().getFullMask();
+        List<Long> result = new ArrayList<Long>();
+        for (Long candidate : rowCounts.keySet()) {
+            if ((candidate & cuboidID) == cuboidID && (candidate & ~fullMask) == 0 && isValid(cube, candidate)) {
+                result.add(candidate);
+            }
+        }
+        Collections.sort(result, new Comparator<Long>() {
+            @Override
+            public int compare(Long o1, Long o2) {
+                int comp = rowCounts.get(o1).compareTo(rowCounts.get(o2));
+                // the fewer dimensions, the less to aggregate afterwards
+                return comp != 0 ? comp : Long.bitCount(o1) - Long.bitCount(o2);
+            }
+        });
+        return result;
+    }
+
     public static boolean isValid(CubeDesc cube, long cuboidID) {
         RowKeyDesc rowkey = cube.getRowkey();
 
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.cube.estimation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kylin.cube.CubeCapabilityChecker;
+import org.apache.kylin.cube.CubeDimensionDeriver;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.cube.model.CubeDesc.DeriveInfo;
+import org.apache.kylin.metadata.MetadataConstants;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.filter.CompareTupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.SegmentStatusEnum;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.realization.SQLDigest;
+
+/**
+ * Estimates the rows a query scans on a cube, to route it to the cheapest capable realization.
+ * 
+ * Per ready segment, the rows of the cuboid the query hits are the fewest rows of its ancestors
+ * counted at build time, or lacking those, the product of its column cardinalities (from the table
+ * cardinality job) capped by the segment's input records. They are then narrowed by the
+ * selectivity of the filter on them. Each segment adds a fixed overhead for
+ * being a scan of its own.
+ */
+public class CubeScanCostEstimator {
+
+    // rows worth of the extra scan and RPCs per segment
+    static final long SEGMENT_OVERHEAD_ROWS = 1000;
+    // fraction of the values a range condition keeps, like a > x
+    static final double RANGE_SELECTIVITY = 1.0 / 3;
+
+    private final CubeInstance cube;
+    private final CubeDesc cubeDesc;
+    private final Map<String, String[]> tableCardinality = new HashMap<String, String[]>();
+
+    private CubeScanCostEstimator(CubeInstance cube) {
+        this.cube = cube;
+        this.cubeDesc = cube.getDescriptor();
+    }
+
+    /**
+     * @return the estimated rows scanned to answer the digest
+     */
+    public static long estimateScanRows(CubeInstance cube, SQLDigest digest) {
+        return new CubeScanCostEstimator(cube).estimate(digest);
+    }
+
+    private long estimate(SQLDigest digest) {
+        Collection<TblColRef> dimensions = CubeDimensionDeriver.getDimensionColumns(digest.groupbyColumns, digest.filterColumns);
+        MeasureDesc topN = CubeCapabilityChecker.findTopNMeasure(cubeDesc, digest);
+        if (topN != null)
+            dimensions.remove(topN.getFunction().getTopNByColumn());
+
+        long cuboidID = identifyCuboid(dimensions);
+        Cuboid cuboid = Cuboid.findById(cubeDesc, cuboidID);
+        double selectivity = selectivity(digest.filter);
+
+        long total = 0;
+        for (CubeSegment seg : cube.getSegments(SegmentStatusEnum.READY)) {
+            double rows = countRows(seg, cuboidID);
+            if (rows < 0) {
+                long cap = seg.getInputRecords() > 0 ? seg.getInputRecords() : Long.MAX_VALUE;
+                rows = 1;
+                for (TblColRef col : cuboid.getColumns()) {
+                    long card = getCardinality(col);
+                    rows = card > 0 ? rows * card : cap;
+                    if (rows >= cap)
+                        break;
+                }
+                rows = Math.min(rows, cap);
+            }
+            rows = rows * selectivity;
+            total = saturatedAdd(total, (long) Math.ceil(rows));
+            total = saturatedAdd(total, SEGMENT_OVERHEAD_ROWS);
+        }
+        return total;
+    }
+
+    /**
+     * @return rows of the smallest ancestor of the cuboid counted at build time, or -1 if not known
+     */
+    private long countRows(CubeSegment seg, long cuboidID) {
+        Map<Long, Long> rowCounts = seg.getCuboidRowCounts();
+        if (rowCounts == null)
+            return -1;
+        List<Long> ancestors = Cuboid.findAncestorsByRowCount(cubeDesc, cuboidID, rowCounts);
+        return ancestors.isEmpty() ? -1 : rowCounts.get(ancestors.get(0));
+    }
+
+    private long identifyCuboid(Collection<TblColRef> dimensions) {
+        long cuboidID = 0;
+        for (TblColRef col : dimensions) {
+            if (cubeDesc.isDerived(col)) {
+                DeriveInfo hostInfo = cubeDesc.getHostInfo(col);
+                for (TblColRef hostCol : hostInfo.columns) {
+                    cuboidID |= 1L << cubeDesc.getRowkey().getColumnBitIndex(hostCol);
+                }
+            } else {
+                cuboidID |= 1L << cubeDesc.getRowkey().getColumnBitIndex(col);
+            }
+        }
+        return cuboidID;
+    }
+
+    private double selectivity(TupleFilter filter) {
+        if (filter == null)
+            return 1;
+
+        switch (filter.getOperator()) {
+        case AND:
+            double and = 1;
+            for (TupleFilter child : filter.getChildren()) {
+                and *= selectivity(child);
+            }
+            return and;
+        case OR:
+            double or = 0;
+            for (TupleFilter child : filter.getChildren()) {
+                or += selectivity(child);
+            }
+            return Math.min(1, or);
+        case EQ:
+        case IN:
+        case ISNULL:
+            CompareTupleFilter compare = (CompareTupleFilter) filter;
+            long card = compare.getColumn() == null ? -1 : getCardinality(compare.getColumn());
+            if (card <= 0)
+                return 1;
+            int values = Math.max(1, compare.getValues().size());
+            return Math.min(1, (double) values / card);
+        case LT:
+        case LTE:
+        case GT:
+        case GTE:
+            return RANGE_SELECTIVITY;
+        default:
+            return 1;
+        }
+    }
+
+    /**
+     * @return the column cardinality, or -1 if unknown
+     */
+    private long getCardinality(TblColRef col) {
+        String table = col.getTable();
+        String[] cards = tableCardinality.get(table);
+        if (cards == null) {
+            Map<String, String> exd = MetadataManager.getInstance(cube.getConfig()).getTableDescExd(table);
+            String value = exd == null ? null : exd.get(MetadataConstants.TABLE_EXD_CARDINALITY);
+            cards = value == null ? new String[0] : StringUtils.split(value, ",");
+            tableCardinality.put(table, cards);
+        }
+
+        int idx = col.getColumn().getZeroBasedIndex();
+        if (idx < 0 || idx >= cards.length)
+            return -1;
+        try {
+            return Long.parseLong(cards[idx].trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the sum of two non-negative estimates, Long.MAX_VALUE if it overflows
+     */
+    public static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
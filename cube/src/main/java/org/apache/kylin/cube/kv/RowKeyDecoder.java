@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.kylin.common.util.BytesUtil;
 import org.apache.kylin.common.util.SplittedBytes;
 import org.apache.kylin.cube.CubeSegment;
 import org.apache.kylin.cube.common.RowKeySplitter;
@@ -44,15 +45,27 @@ public class RowKeyDecoder {
     private Cuboid cuboid;
     private List<String> names;
     private List<String> values;
+    private int[] valueIds;
+    private boolean[] decoded;
 
     public RowKeyDecoder(CubeSegment cubeSegment) {
         this.cubeDesc = cubeSegment.getCubeDesc();
         this.rowKeySplitter = new RowKeySplitter(cubeSegment, 65, 255);
         this.colIO = new RowKeyColumnIO(cubeSegment);
         this.values = new ArrayList<String>();
+        this.valueIds = new int[0];
+        this.decoded = new boolean[0];
     }
 
     public long decode(byte[] bytes) throws IOException {
+        return decode(bytes, null);
+    }
+
+    /**
+     * Decodes a row key, except the strings of the dictionary columns flagged in idOnly. For those only the
+     * dictionary id is read; the string is left null in getValues() and decoded on demand by getValue().
+     */
+    public long decode(byte[] bytes, boolean[] idOnly) throws IOException {
         this.values.clear();
 
         long cuboidId = rowKeySplitter.split(bytes, bytes.length);
@@ -62,9 +75,21 @@ public class RowKeyDecoder {
 
         int offset = 1; // skip cuboid id part
 
-        for (int i = 0; i < this.cuboid.getColumns().size(); i++) {
+        int columnCount = this.cuboid.getColumns().size();
+        if (valueIds.length < columnCount) {
+            valueIds = new int[columnCount];
+            decoded = new boolean[columnCount];
+        }
+        for (int i = 0; i < columnCount; i++) {
             TblColRef col = this.cuboid.getColumns().get(i);
-            collectValue(col, splits[offset].value, splits[offset].length);
+            if (idOnly != null && i < idOnly.length && idOnly[i] && cubeDesc.getRowkey().isUseDictionary(col)) {
+                values.add(null);
+                valueIds[i] = BytesUtil.readUnsigned(splits[offset].value, 0, splits[offset].length);
+                decoded[i] = false;
+            } else {
+                collectValue(i, col, splits[offset].value, splits[offset].length);
+                decoded[i] = true;
+            }
             offset++;
         }
 
@@ -78,9 +103,11 @@ public class RowKeyDecoder {
         this.cuboid = Cuboid.findById(cubeDesc, cuboidID);
     }
 
-    private void collectValue(TblColRef col, byte[] valueBytes, int length) throws IOException {
+    private void collectValue(int index, TblColRef col, byte[] valueBytes, int length) throws IOException {
         String strValue = colIO.readColumnString(col, valueBytes, length);
         values.add(strValue);
+
+        valueIds[index] = cubeDesc.getRowkey().isUseDictionary(col) ? BytesUtil.readUnsigned(valueBytes, 0, length) : -1;
     }
 
     public RowKeySplitter getRowKeySplitter() {
@@ -122,10 +149,32 @@ public class RowKeyDecoder {
         return cuboid.getColumns();
     }
 
+    /**
+     * @return values of the last decoded row key, null for the columns whose string was not decoded
+     */
     public List<String> getValues() {
         return values;
     }
 
+    /**
+     * @return the i-th value of the last decoded row key, decoding its string if it was skipped
+     */
+    public String getValue(int i) {
+        if (!decoded[i]) {
+            SplittedBytes split = rowKeySplitter.getSplitBuffers()[i + 1];
+            values.set(i, colIO.readColumnString(cuboid.getColumns().get(i), split.value, split.length));
+            decoded[i] = true;
+        }
+        return values.get(i);
+    }
+
+    /**
+     * @return the dictionary id of the i-th value of the last decoded row key, or -1 if the column has no dictionary
+     */
+    public int getValueId(int i) {
+        return valueIds[i];
+    }
+
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder();
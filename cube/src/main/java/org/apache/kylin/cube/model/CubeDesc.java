@@ -122,6 +122,7 @@ public class CubeDesc extends RootPersistentEntity {
     private Map<String, Map<String, TblColRef>> columnMap = new HashMap<String, Map<String, TblColRef>>();
     private LinkedHashSet<TblColRef> allColumns = new LinkedHashSet<TblColRef>();
     private LinkedHashSet<TblColRef> dimensionColumns = new LinkedHashSet<TblColRef>();
+    private LinkedHashSet<TblColRef> declaredDimensionColumns = new LinkedHashSet<TblColRef>();
     private Map<TblColRef, DeriveInfo> derivedToHostMap = Maps.newHashMap();
     private Map<Array<TblColRef>, List<DeriveInfo>> hostToDerivedMap = Maps.newHashMap();
 
@@ -144,6 +145,14 @@ public class CubeDesc extends RootPersistentEntity {
         return dimensionColumns;
     }
 
+    /**
+     * @return dimension columns including derived as declared by the desc, BUT NOT the lookup
+     *         columns derived automatically, nor measures; for ranking cubes by their size
+     */
+    public Set<TblColRef> listDeclaredDimensionColumns() {
+        return declaredDimensionColumns;
+    }
+
     /**
      * @return dimension columns excluding derived and measures
      */
@@ -447,6 +456,10 @@ public class CubeDesc extends RootPersistentEntity {
 
         sortDimAndMeasure();
         initDimensionColumns(tables);
+        declaredDimensionColumns.addAll(dimensionColumns);
+        if (config.isQueryLookupColumnsDerived()) {
+            initLookupDerivedColumns();
+        }
         initMeasureColumns(tables);
 
         rowkey.init(this);
@@ -538,6 +551,44 @@ public class CubeDesc extends RootPersistentEntity {
         }
     }
 
+    /**
+     * Columns of a lookup table that no dimension carries are derived from the FK as well,
+     * so queries selecting them are answered by filling from the lookup snapshot (which has
+     * all columns) instead of a join in the query engine.
+     */
+    private void initLookupDerivedColumns() {
+        Set<String> lookupTables = new HashSet<String>();
+        for (DimensionDesc dim : dimensions) {
+            JoinDesc join = dim.getJoin();
+            if (join == null || dim.getTableDesc() == null || !lookupTables.add(dim.getTable()))
+                continue;
+
+            // the FK must be on the rowkey to key the lookup
+            TblColRef[] fk = join.getForeignKeyColumns();
+            TblColRef[] hostCols = new TblColRef[fk.length];
+            for (int i = 0; i < fk.length; i++) {
+                hostCols[i] = findColumnRef(fk[i].getTable(), fk[i].getName());
+                if (hostCols[i] == null || isDerived(hostCols[i])) {
+                    hostCols = null;
+                    break;
+                }
+            }
+            if (hostCols == null)
+                continue;
+
+            List<TblColRef> derivedCols = Lists.newArrayList();
+            for (ColumnDesc col : dim.getTableDesc().getColumns()) {
+                TblColRef ref = new TblColRef(col);
+                if (findColumnRef(ref.getTable(), ref.getName()) == null) {
+                    derivedCols.add(initDimensionColRef(ref));
+                }
+            }
+            if (derivedCols.isEmpty() == false) {
+                initDerivedMap(hostCols, DeriveType.LOOKUP, dim, derivedCols.toArray(new TblColRef[derivedCols.size()]), null);
+            }
+        }
+    }
+
     private String[][] splitDerivedColumnAndExtra(String[] derived) {
         String[] cols = new String[derived.length];
         String[] extra = new String[derived.length];
@@ -631,7 +682,7 @@ public class CubeDesc extends RootPersistentEntity {
             f.initReturnDataType();
 
             ParameterDesc p = f.getParameter();
-            p.normalizeColumnValue();
+            p.normalizeColumnValue(f.isTopN() == false);
 
             if (p.isColumnType()) {
                 ArrayList<TblColRef> colRefs = Lists.newArrayList();
@@ -118,6 +118,16 @@ public class FunctionRule implements IValidatorRule<CubeDesc> {
             if (rtype.isHLLC() == false && funcDesc.isHolisticCountDistinct() == false) {
                 context.addResult(ResultLevel.ERROR, "Return type for function " + func + " must be hllc(10), hllc(12) etc.");
             }
+        } else if (funcDesc.isTopN()) {
+            if (rtype.isTopN() == false) {
+                context.addResult(ResultLevel.ERROR, "Return type for function " + func + " must be topn(10), topn(100) etc.");
+            }
+            String[] columns = funcDesc.getParameter().getValue().split("\\s*,\\s*");
+            if (FunctionDesc.PARAMETER_TYPE_COLUMN.equalsIgnoreCase(funcDesc.getParameter().getType()) == false || columns.length != 2) {
+                context.addResult(ResultLevel.ERROR, "Parameter of function " + func + " must be two columns, the numeric measure and the column to rank by it");
+            } else {
+                validateTopNMeasureColumn(context, cube, func, columns[0]);
+            }
         } else if (funcDesc.isMax() || funcDesc.isMin() || funcDesc.isSum()) {
             if (rtype.isNumberFamily() == false) {
                 context.addResult(ResultLevel.ERROR, "Return type for function " + func + " must be one of " + DataType.NUMBER_FAMILY);
@@ -130,6 +140,17 @@ public class FunctionRule implements IValidatorRule<CubeDesc> {
 
     }
 
+    private void validateTopNMeasureColumn(ValidateContext context, CubeDesc cube, String func, String column) {
+        TableDesc table = MetadataManager.getInstance(cube.getConfig()).getTableDesc(cube.getFactTable());
+        if (table == null)
+            return; // reported by validateColumnParameter
+
+        ColumnDesc columnDesc = table.findColumnByName(column);
+        if (columnDesc != null && columnDesc.getType().isNumberFamily() == false) {
+            context.addResult(ResultLevel.ERROR, "First parameter of function " + func + " must be a numeric column, but " + column + " is " + columnDesc.getDatatype());
+        }
+    }
+
     /**
      * @param context
      * @param cube
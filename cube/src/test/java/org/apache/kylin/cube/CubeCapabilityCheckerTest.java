@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.cube;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.kylin.common.util.JsonUtil;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.JoinDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.ParameterDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.realization.SQLDigest;
+import org.apache.kylin.metadata.realization.SQLDigest.OrderEnum;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class CubeCapabilityCheckerTest extends LocalFileMetadataTestCase {
+
+    CubeDesc cube;
+    MeasureDesc topSellers; // TOP_N(PRICE, SELLER_ID), SELLER_ID is not a dimension
+    MeasureDesc topFormats; // TOP_N(PRICE, LSTG_FORMAT_NAME), LSTG_FORMAT_NAME is a dimension
+    FunctionDesc sumPrice;
+    TblColRef price;
+    TblColRef sellerId;
+    TblColRef calDt;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+
+        cube = JsonUtil.readValue(new File(LOCALMETA_TEST_DATA, "cube_desc/test_kylin_cube_without_slr_desc.json"), CubeDesc.class);
+        topSellers = addTopN("TOP_SELLER", "PRICE, SELLER_ID", "topn(100)");
+        topFormats = addTopN("TOP_FORMAT", "PRICE, LSTG_FORMAT_NAME", "topn(100)");
+        cube.init(getTestConfig(), MetadataManager.getInstance(getTestConfig()).getAllTablesMap());
+
+        for (MeasureDesc m : cube.getMeasures()) {
+            if (m.getName().equals("GMV_SUM"))
+                sumPrice = m.getFunction();
+        }
+        price = topSellers.getFunction().getTopNMeasureColumn();
+        sellerId = topSellers.getFunction().getTopNByColumn();
+        calDt = cube.findColumnRef("DEFAULT.TEST_KYLIN_FACT", "CAL_DT");
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testTopNShape() {
+        assertSame(topSellers, CubeCapabilityChecker.findTopNMeasure(cube, digest(sellerId, OrderEnum.DESCENDING, 10)));
+        assertSame(topSellers, CubeCapabilityChecker.findTopNMeasure(cube, digest(sellerId, OrderEnum.DESCENDING, 100)));
+    }
+
+    @Test
+    public void testLimitAbovePrecision() {
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, digest(sellerId, OrderEnum.DESCENDING, 101)));
+
+        // no limit at all
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, digest(sellerId, OrderEnum.DESCENDING, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testSortNotOnTheSum() {
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, digest(sellerId, OrderEnum.ASCENDING, 10)));
+
+        SQLDigest byDate = digest(sellerId, OrderEnum.DESCENDING, 10);
+        byDate.sortColumns = Collections.singletonList(calDt);
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, byDate));
+
+        SQLDigest noSort = digest(sellerId, OrderEnum.DESCENDING, 10);
+        noSort.sortColumns = Collections.emptyList();
+        noSort.sortOrders = Collections.emptyList();
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, noSort));
+    }
+
+    @Test
+    public void testNotSum() {
+        SQLDigest max = digest(sellerId, OrderEnum.DESCENDING, 10);
+        for (MeasureDesc m : cube.getMeasures()) {
+            if (m.getName().equals("GMV_MAX"))
+                max.aggregations = Collections.singletonList(m.getFunction());
+        }
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, max));
+    }
+
+    @Test
+    public void testByColumnFiltered() {
+        SQLDigest filtered = digest(sellerId, OrderEnum.DESCENDING, 10);
+        filtered.filterColumns = Collections.singletonList(sellerId);
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, filtered));
+    }
+
+    @Test
+    public void testByColumnNotGrouped() {
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, digest(calDt, OrderEnum.DESCENDING, 10)));
+    }
+
+    @Test
+    public void testByColumnIsDimension() {
+        // the cube answers exactly by the dimension, not by the estimate
+        TblColRef format = topFormats.getFunction().getTopNByColumn();
+        assertNull(CubeCapabilityChecker.findTopNMeasure(cube, digest(format, OrderEnum.DESCENDING, 10)));
+    }
+
+    private SQLDigest digest(TblColRef byColumn, OrderEnum order, int limit) {
+        List<TblColRef> groupBy = Lists.newArrayList(calDt);
+        if (groupBy.contains(byColumn) == false)
+            groupBy.add(byColumn);
+        List<TblColRef> allColumns = Lists.newArrayList(groupBy);
+        allColumns.add(price);
+
+        SQLDigest digest = new SQLDigest("DEFAULT.TEST_KYLIN_FACT", null, Collections.<JoinDesc> emptyList(), allColumns, //
+                groupBy, Collections.<TblColRef> emptyList(), Collections.singletonList(price), Collections.singletonList(sumPrice));
+        digest.sortColumns = Collections.singletonList(price);
+        digest.sortOrders = Collections.singletonList(order);
+        digest.limit = limit;
+        return digest;
+    }
+
+    private MeasureDesc addTopN(String name, String columns, String returnType) {
+        ParameterDesc param = new ParameterDesc();
+        param.setType(FunctionDesc.PARAMETER_TYPE_COLUMN);
+        param.setValue(columns);
+        FunctionDesc func = new FunctionDesc();
+        func.setExpression(FunctionDesc.FUNC_TOP_N);
+        func.setParameter(param);
+        func.setReturnType(returnType);
+        MeasureDesc measure = new MeasureDesc();
+        measure.setId(cube.getMeasures().size() + 1);
+        measure.setName(name);
+        measure.setFunction(func);
+        cube.getMeasures().add(measure);
+        return measure;
+    }
+}
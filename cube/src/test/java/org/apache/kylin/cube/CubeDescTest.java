@@ -24,6 +24,9 @@ import java.util.Map;
 import org.apache.kylin.common.util.JsonUtil;
 import org.apache.kylin.common.util.LocalFileMetadataTestCase;
 import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.cube.model.CubeDesc.DeriveInfo;
+import org.apache.kylin.cube.model.CubeDesc.DeriveType;
+import org.apache.kylin.metadata.model.TblColRef;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -61,6 +64,26 @@ public class CubeDescTest extends LocalFileMetadataTestCase {
         Assert.assertNotNull(cubeDesc);
     }
 
+    @Test
+    public void testLookupColumnsDerived() throws Exception {
+        CubeDesc cubeDesc = CubeDescManager.getInstance(getTestConfig()).getCubeDesc("test_kylin_cube_with_slr_desc");
+
+        // not on any dimension, derived from the FK like the declared SITE_NAME
+        TblColRef domainCode = cubeDesc.findColumnRef("EDW.TEST_SITES", "SITE_DOMAIN_CODE");
+        Assert.assertNotNull(domainCode);
+        Assert.assertTrue(cubeDesc.listDimensionColumnsIncludingDerived().contains(domainCode));
+
+        DeriveInfo hostInfo = cubeDesc.getHostInfo(domainCode);
+        Assert.assertEquals(DeriveType.LOOKUP, hostInfo.type);
+        Assert.assertEquals(cubeDesc.getHostInfo(cubeDesc.findColumnRef("EDW.TEST_SITES", "SITE_NAME")).columns[0], hostInfo.columns[0]);
+        Assert.assertFalse(cubeDesc.listDimensionColumnsExcludingDerived().contains(domainCode));
+
+        // does not count as a dimension when ranking cubes
+        Assert.assertFalse(cubeDesc.listDeclaredDimensionColumns().contains(domainCode));
+        Assert.assertTrue(cubeDesc.listDeclaredDimensionColumns().contains(cubeDesc.findColumnRef("EDW.TEST_SITES", "SITE_NAME")));
+        Assert.assertTrue(cubeDesc.listDeclaredDimensionColumns().containsAll(cubeDesc.listDimensionColumnsExcludingDerived()));
+    }
+
     @Test
     public void testSerializeMap() throws Exception {
         Map<String, String> map = Maps.newHashMap();
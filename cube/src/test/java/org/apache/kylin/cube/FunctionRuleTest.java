@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.cube;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.kylin.common.util.JsonUtil;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.cube.model.validation.ValidateContext;
+import org.apache.kylin.cube.model.validation.rule.FunctionRule;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.ParameterDesc;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FunctionRuleTest extends LocalFileMetadataTestCase {
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testValidTopN() throws Exception {
+        ValidateContext context = validate("PRICE, SELLER_ID", "topn(100)");
+        assertEquals(0, context.getResults().length);
+    }
+
+    @Test
+    public void testTopNReturnType() throws Exception {
+        ValidateContext context = validate("PRICE, SELLER_ID", "decimal(19,4)");
+        assertEquals(1, context.getResults().length);
+        assertTrue(context.getResults()[0].getMessage().startsWith("Return type for function TOP_N"));
+    }
+
+    @Test
+    public void testTopNParameterColumns() throws Exception {
+        ValidateContext context = validate("PRICE", "topn(100)");
+        assertEquals(1, context.getResults().length);
+        assertTrue(context.getResults()[0].getMessage().startsWith("Parameter of function TOP_N must be two columns"));
+    }
+
+    @Test
+    public void testTopNMeasureColumnNumeric() throws Exception {
+        ValidateContext context = validate("LSTG_FORMAT_NAME, SELLER_ID", "topn(100)");
+        assertEquals(1, context.getResults().length);
+        assertTrue(context.getResults()[0].getMessage().startsWith("First parameter of function TOP_N must be a numeric column"));
+    }
+
+    private ValidateContext validate(String columns, String returnType) throws Exception {
+        CubeDesc cube = JsonUtil.readValue(new File(LOCALMETA_TEST_DATA, "cube_desc/test_kylin_cube_without_slr_desc.json"), CubeDesc.class);
+        ParameterDesc param = new ParameterDesc();
+        param.setType(FunctionDesc.PARAMETER_TYPE_COLUMN);
+        param.setValue(columns);
+        FunctionDesc func = new FunctionDesc();
+        func.setExpression(FunctionDesc.FUNC_TOP_N);
+        func.setParameter(param);
+        func.setReturnType(returnType);
+        MeasureDesc measure = new MeasureDesc();
+        measure.setId(cube.getMeasures().size() + 1);
+        measure.setName("TOP_SELLER");
+        measure.setFunction(func);
+        cube.getMeasures().add(measure);
+        cube.init(getTestConfig(), MetadataManager.getInstance(getTestConfig()).getAllTablesMap());
+
+        ValidateContext context = new ValidateContext();
+        new FunctionRule().validate(cube, context);
+        return context;
+    }
+}
@@ -19,8 +19,14 @@
 package org.apache.kylin.cube.cuboid;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.kylin.common.util.LocalFileMetadataTestCase;
 import org.apache.kylin.cube.CubeDescManager;
 import org.apache.kylin.cube.model.CubeDesc;
@@ -117,6 +123,35 @@ public class CuboidTest extends LocalFileMetadataTestCase {
         assertEquals(toLong("11111111"), cuboid.getId());
     }
 
+    @Test
+    public void testFindByAncestor() {
+        CubeDesc cube = getTestKylinCubeWithoutSeller();
+        Map<Long, Long> rowCounts = new HashMap<Long, Long>();
+        rowCounts.put(toLong("10000010"), 500L);
+        rowCounts.put(toLong("11111111"), 100L);
+        rowCounts.put(toLong("10100000"), 10L);
+        // counted for a former desc, invalid or beyond the row key now
+        rowCounts.put(toLong("10001111"), 5L);
+        rowCounts.put(toLong("111111111"), 1L);
+
+        List<Long> ancestors = Cuboid.findAncestorsByRowCount(cube, toLong("00000010"), rowCounts);
+        assertEquals(Arrays.asList(toLong("11111111"), toLong("10000010")), ancestors);
+
+        Cuboid cuboid = Cuboid.findById(cube, toLong("00000010"), toLong("11111111"));
+        assertEquals(toLong("11111111"), cuboid.getId());
+        assertEquals(toLong("00000010"), cuboid.getInputID());
+        assertEquals(true, cuboid.requirePostAggregation());
+
+        assertSame(Cuboid.findById(cube, toLong("00000010")), Cuboid.findById(cube, toLong("00000010"), toLong("10000010")));
+
+        try {
+            Cuboid.findById(cube, toLong("00000010"), toLong("10100000"));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void testIsValid2() {
         CubeDesc cube = getTestKylinCubeWithoutSeller();
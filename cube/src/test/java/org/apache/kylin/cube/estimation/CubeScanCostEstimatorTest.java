@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.cube.estimation;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kylin.common.persistence.ResourceStore;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.filter.ColumnTupleFilter;
+import org.apache.kylin.metadata.filter.CompareTupleFilter;
+import org.apache.kylin.metadata.filter.ConstantTupleFilter;
+import org.apache.kylin.metadata.filter.LogicalTupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter.FilterOperatorEnum;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.JoinDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.realization.SQLDigest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+public class CubeScanCostEstimatorTest extends LocalFileMetadataTestCase {
+
+    private CubeInstance cube;
+    private TblColRef formatCol;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+
+        // TRANS_ID, CAL_DT, LSTG_FORMAT_NAME, LEAF_CATEG_ID, LSTG_SITE_ID, SLR_SEGMENT_CD, PRICE, ITEM_COUNT, SELLER_ID
+        String exd = "{\"cardinality\":\"10000,100,5,50,10,4,1000,10,1000\"}";
+        getStore().putResource(ResourceStore.TABLE_EXD_RESOURCE_ROOT + "/DEFAULT.TEST_KYLIN_FACT.json", new ByteArrayInputStream(Bytes.toBytes(exd)), System.currentTimeMillis());
+        MetadataManager.clearCache();
+
+        cube = CubeManager.getInstance(getTestConfig()).getCube("test_kylin_cube_with_slr_ready");
+        formatCol = cube.getDescriptor().findColumnRef("DEFAULT.TEST_KYLIN_FACT", "LSTG_FORMAT_NAME");
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    // group by LSTG_FORMAT_NAME hits the cuboid of it, the mandatory SELLER_ID and the LSTG_SITE_ID and
+    // SLR_SEGMENT_CD out of the aggregation group, 5 * 1000 * 10 * 4 rows in one segment
+    @Test
+    public void testCardinalityProduct() {
+        assertEquals(200000 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(null));
+    }
+
+    @Test
+    public void testSelectivity() {
+        assertEquals(40000 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(compare(FilterOperatorEnum.EQ, "ABIN")));
+        assertEquals(80000 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(compare(FilterOperatorEnum.IN, "ABIN", "Auction")));
+        assertEquals(66667 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(compare(FilterOperatorEnum.GT, "ABIN")));
+
+        TupleFilter and = new LogicalTupleFilter(FilterOperatorEnum.AND);
+        and.addChild(compare(FilterOperatorEnum.IN, "ABIN", "Auction"));
+        and.addChild(compare(FilterOperatorEnum.GT, "ABIN"));
+        assertEquals(26667 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(and));
+
+        // an OR keeps at most all the rows
+        TupleFilter or = new LogicalTupleFilter(FilterOperatorEnum.OR);
+        or.addChild(compare(FilterOperatorEnum.IN, "ABIN", "Auction", "FP-GTC"));
+        or.addChild(compare(FilterOperatorEnum.IN, "Others", "FP-non GTC", "ABIN"));
+        assertEquals(200000 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(or));
+    }
+
+    @Test
+    public void testInputRecordsCap() {
+        CubeSegment seg = cube.getSegments().get(0);
+        seg.setInputRecords(3000);
+        assertEquals(3000 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(null));
+        assertEquals(600 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(compare(FilterOperatorEnum.EQ, "ABIN")));
+    }
+
+    @Test
+    public void testCuboidRowCounts() {
+        CubeSegment seg = cube.getSegments().get(0);
+        seg.setInputRecords(3000);
+        Map<Long, Long> rowCounts = Maps.newHashMap();
+        rowCounts.put(Cuboid.getBaseCuboidId(cube.getDescriptor()), 700L);
+        seg.setCuboidRowCounts(rowCounts);
+
+        // counted rows win over the cardinality product and the cap
+        assertEquals(700 + CubeScanCostEstimator.SEGMENT_OVERHEAD_ROWS, estimate(null));
+    }
+
+    private long estimate(TupleFilter filter) {
+        List<TblColRef> groups = Lists.newArrayList(formatCol);
+        List<TblColRef> filterCols = filter == null ? Collections.<TblColRef> emptyList() : groups;
+        SQLDigest digest = new SQLDigest("DEFAULT.TEST_KYLIN_FACT", filter, Collections.<JoinDesc> emptyList(), groups, groups, filterCols, Collections.<TblColRef> emptyList(), Collections.<FunctionDesc> emptyList());
+        return CubeScanCostEstimator.estimateScanRows(cube, digest);
+    }
+
+    private CompareTupleFilter compare(FilterOperatorEnum op, String... values) {
+        CompareTupleFilter filter = new CompareTupleFilter(op);
+        filter.addChild(new ColumnTupleFilter(formatCol));
+        for (String value : values) {
+            filter.addChild(new ConstantTupleFilter(value));
+        }
+        return filter;
+    }
+}
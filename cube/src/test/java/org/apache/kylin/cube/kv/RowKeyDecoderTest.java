@@ -19,8 +19,12 @@
 package org.apache.kylin.cube.kv;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.kylin.common.util.Bytes;
@@ -30,6 +34,7 @@ import org.apache.kylin.cube.CubeManager;
 import org.apache.kylin.cube.cuboid.Cuboid;
 import org.apache.kylin.cube.model.CubeDesc;
 import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.model.TblColRef;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -68,6 +73,40 @@ public class RowKeyDecoderTest extends LocalFileMetadataTestCase {
 
     }
 
+    @Test
+    public void testDecodeIdOnly() throws Exception {
+        CubeInstance cube = CubeManager.getInstance(getTestConfig()).getCube("TEST_KYLIN_CUBE_WITHOUT_SLR_READY");
+        CubeDesc cubeDesc = cube.getDescriptor();
+
+        RowKeyDecoder rowKeyDecoder = new RowKeyDecoder(cube.getFirstSegment());
+
+        byte[] key = { 0, 0, 0, 0, 0, 0, 0, -1, 11, 55, -13, 13, 22, 34, 121, 70, 80, 45, 71, 84, 67, 9, 9, 9, 9, 9, 9, 0, 10, 5 };
+        boolean[] idOnly = new boolean[8];
+        Arrays.fill(idOnly, true);
+
+        rowKeyDecoder.decode(key, idOnly);
+        List<TblColRef> columns = rowKeyDecoder.getColumns();
+        List<String> values = rowKeyDecoder.getValues();
+        int skipped = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            if (cubeDesc.getRowkey().isUseDictionary(columns.get(i))) {
+                assertNull(values.get(i));
+                assertTrue(rowKeyDecoder.getValueId(i) >= 0);
+                skipped++;
+            } else {
+                assertNotNull(values.get(i));
+                assertEquals(-1, rowKeyDecoder.getValueId(i));
+            }
+        }
+        assertTrue(skipped > 0);
+
+        // skipped strings are decoded on demand
+        for (int i = 0; i < columns.size(); i++) {
+            rowKeyDecoder.getValue(i);
+        }
+        assertEquals("[2012-12-15, 11848, Health & Beauty, Fragrances, Women, FP-GTC, 0, 15]", values.toString());
+    }
+
     @Test
     public void testDecodeWithSlr() throws Exception {
         CubeInstance cube = CubeManager.getInstance(getTestConfig()).getCube("TEST_KYLIN_CUBE_WITH_SLR_READY");
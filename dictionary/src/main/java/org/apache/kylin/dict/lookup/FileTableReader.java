@@ -23,10 +23,14 @@ import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
@@ -42,7 +46,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Tables are typically CSV or SEQ file.
+ * Tables are typically CSV or SEQ file. If the path is a directory, all files
+ * in it are read one after another, e.g. the shard files of fact distinct
+ * columns output.
  * 
  * @author yangli9
  */
@@ -54,6 +60,9 @@ public class FileTableReader implements TableReader {
 
     private String filePath;
     private String delim;
+    private FileSystem fs;
+    private List<String> files;
+    private int curFile;
     private RowReader reader;
 
     private String curLine;
@@ -65,16 +74,38 @@ public class FileTableReader implements TableReader {
         this.delim = delim;
         this.expectedColumnNumber = expectedColumnNumber;
 
-        FileSystem fs = HadoopUtil.getFileSystem(filePath);
+        this.fs = HadoopUtil.getFileSystem(filePath);
+        this.files = listFiles(fs, filePath);
+        this.curFile = 0;
+        if (files.isEmpty() == false)
+            this.reader = openReader(files.get(0));
+    }
 
-        try {
-            this.reader = new SeqRowReader(HadoopUtil.getCurrentConfiguration(), fs, filePath);
+    private static List<String> listFiles(FileSystem fs, String path) throws IOException {
+        List<String> result = new ArrayList<String>();
+        FileStatus status = fs.getFileStatus(new Path(path));
+        if (status.isFile()) {
+            result.add(path);
+            return result;
+        }
 
+        for (FileStatus f : fs.listStatus(new Path(path))) {
+            String name = f.getPath().getName();
+            if (f.isFile() && !name.startsWith("_") && !name.startsWith("."))
+                result.add(f.getPath().toString());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private RowReader openReader(String path) throws IOException {
+        try {
+            return new SeqRowReader(HadoopUtil.getCurrentConfiguration(), fs, path);
         } catch (IOException e) {
             if (isExceptionSayingNotSeqFile(e) == false)
                 throw e;
 
-            this.reader = new CsvRowReader(fs, filePath);
+            return new CsvRowReader(fs, path);
         }
     }
 
@@ -90,7 +121,13 @@ public class FileTableReader implements TableReader {
 
     @Override
     public boolean next() throws IOException {
-        curLine = reader.nextLine();
+        curLine = reader == null ? null : reader.nextLine();
+        while (curLine == null && curFile + 1 < files.size()) {
+            reader.close();
+            curFile++;
+            reader = openReader(files.get(curFile));
+            curLine = reader.nextLine();
+        }
         curColumns = null;
         return curLine != null;
     }
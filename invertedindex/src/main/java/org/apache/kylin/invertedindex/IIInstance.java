@@ -82,6 +82,12 @@ public class IIInstance extends RootPersistentEntity implements IRealization {
     @JsonProperty("create_time_utc")
     private long createTimeUTC;
 
+    // shard count and hash salt recommended by the last build, for the next segment
+    @JsonProperty("tuned_sharding")
+    private short tunedSharding;
+    @JsonProperty("tuned_sharding_salt")
+    private int tunedShardingSalt;
+
     private String projectName;
 
     public long getAllocatedEndDate() {
@@ -264,6 +270,22 @@ public class IIInstance extends RootPersistentEntity implements IRealization {
         this.createTimeUTC = createTimeUTC;
     }
 
+    public short getTunedSharding() {
+        return tunedSharding;
+    }
+
+    public void setTunedSharding(short tunedSharding) {
+        this.tunedSharding = tunedSharding;
+    }
+
+    public int getTunedShardingSalt() {
+        return tunedShardingSalt;
+    }
+
+    public void setTunedShardingSalt(int tunedShardingSalt) {
+        this.tunedShardingSalt = tunedShardingSalt;
+    }
+
     @Override
     public boolean isCapable(SQLDigest digest) {
         //TODO: currently II is nearly omnipotent
@@ -237,6 +237,12 @@ public class IIManager implements IRealizationProvider {
         segment.setDateRangeEnd(endDate);
         segment.setStatus(SegmentStatusEnum.NEW);
         segment.setStorageLocationIdentifier(generateStorageLocation());
+        segment.setBitMapFormat(IIInstance.getDescriptor().getBitMapFormat());
+        if (config.isIIShardAutoTuneEnabled() && IIInstance.getTunedSharding() > 0) {
+            segment.setSharding(IIInstance.getTunedSharding());
+            segment.setShardingSalt(IIInstance.getTunedShardingSalt());
+            logger.info("Segment " + incrementalSegName + " uses tuned sharding " + IIInstance.getTunedSharding() + " with salt " + IIInstance.getTunedShardingSalt());
+        }
 
         segment.setIIInstance(IIInstance);
 
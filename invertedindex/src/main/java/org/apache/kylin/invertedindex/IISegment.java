@@ -27,6 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kylin.dict.Dictionary;
 import org.apache.kylin.dict.ISegment;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.invertedindex.index.TableRecordInfo;
 import org.apache.kylin.invertedindex.model.IIDesc;
 import org.apache.kylin.metadata.model.SegmentStatusEnum;
@@ -78,6 +79,13 @@ public class IISegment implements Comparable<IISegment>, ISegment {
     private String binarySignature; // a hash of schema and dictionary ID,
     // used for sanity check
 
+    @JsonProperty("sharding")
+    private short sharding; // 0 means the sharding of the descriptor
+    @JsonProperty("sharding_salt")
+    private int shardingSalt;
+    @JsonProperty("bitmap_format")
+    private String bitMapFormat; // concise if not specified, the format of segments built before it was selectable
+
     @JsonProperty("dictionaries")
     private ConcurrentHashMap<String, String> dictionaries; // table/column ==>
     // dictionary
@@ -196,6 +204,33 @@ public class IISegment implements Comparable<IISegment>, ISegment {
         this.binarySignature = binarySignature;
     }
 
+    public short getSharding() {
+        return sharding > 0 ? sharding : getIIDesc().getSharding();
+    }
+
+    public void setSharding(short sharding) {
+        this.sharding = sharding;
+    }
+
+    public int getShardingSalt() {
+        return shardingSalt;
+    }
+
+    public void setShardingSalt(int shardingSalt) {
+        this.shardingSalt = shardingSalt;
+    }
+
+    /**
+     * The bitmaps of a segment keep the format they were written in, whatever the descriptor says later
+     */
+    public BitMapFormat getBitMapFormat() {
+        return BitMapFormat.fromName(bitMapFormat);
+    }
+
+    public void setBitMapFormat(BitMapFormat bitMapFormat) {
+        this.bitMapFormat = bitMapFormat.name();
+    }
+
     public IIInstance getIIInstance() {
         return iiInstance;
     }
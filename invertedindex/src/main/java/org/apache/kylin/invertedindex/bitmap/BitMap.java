@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.bitmap;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+
+/**
+ * A set of record positions in a slice, ranging [0..N-1].
+ *
+ * Binary operations work only between bitmaps of the same format.
+ */
+public interface BitMap {
+
+    void add(int i);
+
+    boolean contains(int i);
+
+    int getCardinality();
+
+    boolean isEmpty();
+
+    /** in place union */
+    void or(BitMap other);
+
+    /** in place intersection */
+    void and(BitMap other);
+
+    /** in place difference */
+    void andNot(BitMap other);
+
+    /** in place complement within [0..size-1] */
+    void flip(int size);
+
+    BitMap copy();
+
+    /** iterates the positions in ascending order */
+    IntIterator iterator();
+
+    BitMapFormat getFormat();
+
+    ImmutableBytesWritable toBytes();
+
+    public static interface IntIterator {
+
+        boolean hasNext();
+
+        int next();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.bitmap;
+
+import java.util.List;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+
+/**
+ * On-disk format of the bitmaps of an inverted index, selected by IIDesc for new segments and
+ * recorded on each IISegment.
+ *
+ * CONCISE is the original format and keeps its headerless serialization, so existing segments
+ * remain readable. Newer formats lead each serialized bitmap with a version byte.
+ */
+public enum BitMapFormat {
+
+    CONCISE, ROARING;
+
+    public BitMap create() {
+        switch (this) {
+        case ROARING:
+            return new RoaringBitMap();
+        default:
+            return new ConciseBitMap();
+        }
+    }
+
+    public BitMap fromBytes(ImmutableBytesWritable bytes) {
+        switch (this) {
+        case ROARING:
+            return RoaringBitMap.fromBytes(bytes);
+        default:
+            return ConciseBitMap.fromBytes(bytes);
+        }
+    }
+
+    /**
+     * Multi-way union, the result is a new bitmap and the inputs are untouched
+     */
+    public BitMap or(List<BitMap> bitMaps) {
+        switch (this) {
+        case ROARING:
+            return RoaringBitMap.or(bitMaps);
+        default:
+            return ConciseBitMap.or(bitMaps);
+        }
+    }
+
+    public static BitMapFormat fromName(String name) {
+        return name == null ? CONCISE : valueOf(name.toUpperCase());
+    }
+}
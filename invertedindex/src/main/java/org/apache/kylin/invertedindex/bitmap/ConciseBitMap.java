@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.bitmap;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.kylin.common.util.BytesUtil;
+
+import it.uniroma3.mat.extendedset.intset.ConciseSet;
+import it.uniroma3.mat.extendedset.intset.IntSet;
+
+/**
+ * BitMap on ConciseSet, serialized as the raw concise words like before formats were introduced
+ */
+public class ConciseBitMap implements BitMap {
+
+    private final ConciseSet set;
+
+    public ConciseBitMap() {
+        this(new ConciseSet());
+    }
+
+    public ConciseBitMap(ConciseSet set) {
+        this.set = set;
+    }
+
+    public ConciseSet getSet() {
+        return set;
+    }
+
+    @Override
+    public void add(int i) {
+        set.add(i);
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return set.contains(i);
+    }
+
+    @Override
+    public int getCardinality() {
+        return set.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+
+    @Override
+    public void or(BitMap other) {
+        set.addAll(((ConciseBitMap) other).set);
+    }
+
+    @Override
+    public void and(BitMap other) {
+        set.retainAll(((ConciseBitMap) other).set);
+    }
+
+    @Override
+    public void andNot(BitMap other) {
+        set.removeAll(((ConciseBitMap) other).set);
+    }
+
+    @Override
+    public void flip(int size) {
+        // complement() flips up to the last set bit, so set the bit at size first
+        set.add(size);
+        set.complement();
+    }
+
+    @Override
+    public BitMap copy() {
+        return new ConciseBitMap(set.clone());
+    }
+
+    @Override
+    public IntIterator iterator() {
+        final IntSet.IntIterator iterator = set.iterator();
+        return new IntIterator() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    @Override
+    public BitMapFormat getFormat() {
+        return BitMapFormat.CONCISE;
+    }
+
+    @Override
+    public ImmutableBytesWritable toBytes() {
+        byte[] array;
+        if (set.isEmpty()) // ConciseSet.toByteBuffer() throws exception when set is empty
+            array = BytesUtil.EMPTY_BYTE_ARRAY;
+        else
+            array = set.toByteBuffer().array();
+        return new ImmutableBytesWritable(array);
+    }
+
+    public static ConciseBitMap fromBytes(ImmutableBytesWritable bytes) {
+        if (bytes.get() == null || bytes.getLength() == 0) {
+            return new ConciseBitMap();
+        } else {
+            IntBuffer intBuffer = ByteBuffer.wrap(bytes.get(), bytes.getOffset(), bytes.getLength()).asIntBuffer();
+            int[] words = new int[intBuffer.capacity()];
+            intBuffer.get(words);
+            return new ConciseBitMap(new ConciseSet(words, false));
+        }
+    }
+
+    public static ConciseBitMap or(List<BitMap> bitMaps) {
+        ConciseSet result = new ConciseSet();
+        for (BitMap bitMap : bitMaps) {
+            result.addAll(((ConciseBitMap) bitMap).set);
+        }
+        return new ConciseBitMap(result);
+    }
+
+    @Override
+    public int hashCode() {
+        return set.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        return set.equals(((ConciseBitMap) obj).set);
+    }
+
+    @Override
+    public String toString() {
+        return set.toString();
+    }
+}
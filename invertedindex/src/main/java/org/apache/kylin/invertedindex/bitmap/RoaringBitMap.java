@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.bitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * BitMap on RoaringBitmap, serialized as [version byte][roaring portable format]
+ */
+public class RoaringBitMap implements BitMap {
+
+    static final byte VERSION_1 = 1;
+
+    private final RoaringBitmap bitmap;
+
+    public RoaringBitMap() {
+        this(new RoaringBitmap());
+    }
+
+    public RoaringBitMap(RoaringBitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    @Override
+    public void add(int i) {
+        bitmap.add(i);
+    }
+
+    @Override
+    public boolean contains(int i) {
+        return bitmap.contains(i);
+    }
+
+    @Override
+    public int getCardinality() {
+        return bitmap.getCardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bitmap.isEmpty();
+    }
+
+    @Override
+    public void or(BitMap other) {
+        bitmap.or(((RoaringBitMap) other).bitmap);
+    }
+
+    @Override
+    public void and(BitMap other) {
+        bitmap.and(((RoaringBitMap) other).bitmap);
+    }
+
+    @Override
+    public void andNot(BitMap other) {
+        bitmap.andNot(((RoaringBitMap) other).bitmap);
+    }
+
+    @Override
+    public void flip(int size) {
+        bitmap.flip(0, size);
+    }
+
+    @Override
+    public BitMap copy() {
+        return new RoaringBitMap(bitmap.clone());
+    }
+
+    @Override
+    public IntIterator iterator() {
+        final org.roaringbitmap.IntIterator iterator = bitmap.getIntIterator();
+        return new IntIterator() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    @Override
+    public BitMapFormat getFormat() {
+        return BitMapFormat.ROARING;
+    }
+
+    @Override
+    public ImmutableBytesWritable toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 + bitmap.serializedSizeInBytes());
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(VERSION_1);
+            bitmap.serialize(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize roaring bitmap", e);
+        }
+        return new ImmutableBytesWritable(bytes.toByteArray());
+    }
+
+    public static RoaringBitMap fromBytes(ImmutableBytesWritable bytes) {
+        if (bytes.get() == null || bytes.getLength() == 0) {
+            return new RoaringBitMap();
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.get(), bytes.getOffset(), bytes.getLength()));
+        try {
+            byte version = in.readByte();
+            if (version != VERSION_1) {
+                throw new IllegalStateException("Unsupported roaring bitmap version " + version);
+            }
+            RoaringBitmap bitmap = new RoaringBitmap();
+            bitmap.deserialize(in);
+            return new RoaringBitMap(bitmap);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize roaring bitmap", e);
+        }
+    }
+
+    public static RoaringBitMap or(List<BitMap> bitMaps) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[bitMaps.size()];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = ((RoaringBitMap) bitMaps.get(i)).bitmap;
+        }
+        if (bitmaps.length == 0) {
+            return new RoaringBitMap();
+        }
+        if (bitmaps.length == 1) {
+            return new RoaringBitMap(bitmaps[0].clone());
+        }
+        return new RoaringBitMap(FastAggregation.or(bitmaps));
+    }
+
+    @Override
+    public int hashCode() {
+        return bitmap.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        return bitmap.equals(((RoaringBitMap) obj).bitmap);
+    }
+
+    @Override
+    public String toString() {
+        return bitmap.toString();
+    }
+}
@@ -18,8 +18,6 @@
 
 package org.apache.kylin.invertedindex.index;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -27,8 +25,8 @@ import java.util.List;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.kylin.common.util.BytesUtil;
 import org.apache.kylin.dict.Dictionary;
-
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 
 /**
  * @author yangli9
@@ -38,19 +36,20 @@ public class BitMapContainer implements ColumnValueContainer {
     int valueLen;
     int nValues;
     int size;
-    ConciseSet[] sets;
+    BitMap[] sets;
+    BitMapFormat format;
     boolean closedForChange;
 
-    transient byte[] temp;
+    // value IDs in record order, valueLen bytes each, rebuilt from the bitmaps on first value access
+    transient byte[] forward;
 
     public BitMapContainer(TableRecordInfoDigest digest, int col) {
         this.valueLen = digest.length(col);
         this.size = 0;
         this.nValues = digest.getMaxID(col) + 1;
         this.sets = null;
+        this.format = digest.getBitMapFormat();
         this.closedForChange = false;
-
-        this.temp = new byte[valueLen];
     }
 
     @Override
@@ -66,17 +65,16 @@ public class BitMapContainer implements ColumnValueContainer {
         }
         sets[value].add(size);
         size++;
+        forward = null;
     }
 
     @Override
     public void getValueAt(int i, ImmutableBytesWritable valueBytes) {
-        int value = getValueIntAt(i);
-        BytesUtil.writeUnsigned(value, temp, 0, valueLen);
-        valueBytes.set(temp, 0, valueLen);
+        valueBytes.set(getForwardIndex(), valueLen * i, valueLen);
     }
 
     @Override
-    public ConciseSet getBitMap(Integer startId, Integer endId) {
+    public BitMap getBitMap(Integer startId, Integer endId) {
         if (startId == null && endId == null) {
             return sets[this.nValues];
         }
@@ -90,15 +88,15 @@ public class BitMapContainer implements ColumnValueContainer {
             end = endId;
         }
 
-        ConciseSet ret = new ConciseSet();
+        // one multi-way union is much cheaper than folding the value bitmaps one by one
+        List<BitMap> bitMaps = new ArrayList<BitMap>(Math.max(0, end - start + 1));
         for (int i = start; i <= end; ++i) {
-            ConciseSet temp = getBitMap(i);
-            ret.addAll(temp);
+            bitMaps.add(getBitMap(i));
         }
-        return ret;
+        return format.or(bitMaps);
     }
 
-    private ConciseSet getBitMap(int valueId) {
+    private BitMap getBitMap(int valueId) {
         if (valueId >= 0 && valueId <= getMaxValueId())
             return sets[valueId];
         else
@@ -111,13 +109,30 @@ public class BitMapContainer implements ColumnValueContainer {
     }
 
     public int getValueIntAt(int i) {
-        for (int v = 0; v < nValues; v++) {
-            if (sets[v].contains(i)) {
-                return v;
+        return BytesUtil.readUnsigned(getForwardIndex(), valueLen * i, valueLen);
+    }
+
+    /**
+     * Looking a value up in the bitmaps costs a probe per value ID, so the values are
+     * materialized once in record order by walking each bitmap. Only containers whose
+     * values are actually read pay for it.
+     */
+    private byte[] getForwardIndex() {
+        if (forward == null) {
+            byte[] values = new byte[valueLen * size];
+            if (sets != null) {
+                for (int v = 0; v <= nValues; v++) {
+                    // set[nValues] holds NULL
+                    int value = v == nValues ? Dictionary.NULL_ID[valueLen] : v;
+                    BitMap.IntIterator iterator = sets[v].iterator();
+                    while (iterator.hasNext()) {
+                        BytesUtil.writeUnsigned(value, values, valueLen * iterator.next(), valueLen);
+                    }
+                }
             }
+            forward = values;
         }
-        // if v is not in [0..nValues-1], then it must be nValue (NULL)
-        return Dictionary.NULL_ID[valueLen];
+        return forward;
     }
 
     private void checkUpdateMode() {
@@ -125,9 +140,9 @@ public class BitMapContainer implements ColumnValueContainer {
             throw new IllegalStateException();
         }
         if (sets == null) {
-            sets = new ConciseSet[nValues + 1];
+            sets = new BitMap[nValues + 1];
             for (int i = 0; i <= nValues; i++) {
-                sets[i] = new ConciseSet();
+                sets[i] = format.create();
             }
         }
     }
@@ -152,43 +167,23 @@ public class BitMapContainer implements ColumnValueContainer {
 
         List<ImmutableBytesWritable> r = new ArrayList<ImmutableBytesWritable>(nValues + 1);
         for (int i = 0; i <= nValues; i++) {
-            r.add(setToBytes(sets[i]));
+            r.add(sets[i].toBytes());
         }
         return r;
     }
 
     public void fromBytes(List<ImmutableBytesWritable> bytes) {
         assert nValues + 1 == bytes.size();
-        sets = new ConciseSet[nValues + 1];
+        sets = new BitMap[nValues + 1];
         size = 0;
         for (int i = 0; i <= nValues; i++) {
-            sets[i] = bytesToSet(bytes.get(i));
-            size += sets[i].size();
+            sets[i] = format.fromBytes(bytes.get(i));
+            size += sets[i].getCardinality();
         }
+        forward = null;
         closedForChange = true;
     }
 
-    private ImmutableBytesWritable setToBytes(ConciseSet set) {
-        byte[] array;
-        if (set.isEmpty()) // ConciseSet.toByteBuffer() throws exception when
-                           // set is empty
-            array = BytesUtil.EMPTY_BYTE_ARRAY;
-        else
-            array = set.toByteBuffer().array();
-        return new ImmutableBytesWritable(array);
-    }
-
-    private ConciseSet bytesToSet(ImmutableBytesWritable bytes) {
-        if (bytes.get() == null || bytes.getLength() == 0) {
-            return new ConciseSet();
-        } else {
-            IntBuffer intBuffer = ByteBuffer.wrap(bytes.get(), bytes.getOffset(), bytes.getLength()).asIntBuffer();
-            int[] words = new int[intBuffer.capacity()];
-            intBuffer.get(words);
-            return new ConciseSet(words, false);
-        }
-    }
-
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -19,8 +19,7 @@
 package org.apache.kylin.invertedindex.index;
 
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
-
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
 
 /**
  * @author yangli9
@@ -36,7 +35,7 @@ public interface ColumnValueContainer {
     // works only after closeForChange()
     void getValueAt(int i, ImmutableBytesWritable valueBytes);
 
-    ConciseSet getBitMap(Integer startId, Integer endId);
+    BitMap getBitMap(Integer startId, Integer endId);
 
     int getMaxValueId();
 
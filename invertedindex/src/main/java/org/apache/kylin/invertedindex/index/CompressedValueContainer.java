@@ -25,10 +25,11 @@ import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.common.util.BytesUtil;
 import org.apache.kylin.dict.Dictionary;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 
 import com.ning.compress.lzf.LZFDecoder;
 import com.ning.compress.lzf.LZFEncoder;
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
 
 /**
  * @author yangli9
@@ -40,9 +41,11 @@ public class CompressedValueContainer implements ColumnValueContainer {
     int size;
     byte[] uncompressed;
     byte[] compressed;
+    BitMapFormat bitMapFormat;
 
     public CompressedValueContainer(TableRecordInfoDigest digest, int col, int cap) {
         this.valueLen = digest.length(col);
+        this.bitMapFormat = digest.getBitMapFormat();
         this.nValues = digest.getMaxID(col) + 1;
         this.cap = cap;
         this.size = 0;
@@ -63,8 +66,8 @@ public class CompressedValueContainer implements ColumnValueContainer {
     }
 
     @Override
-    public ConciseSet getBitMap(Integer startId, Integer endId) {
-        ConciseSet ret = new ConciseSet();
+    public BitMap getBitMap(Integer startId, Integer endId) {
+        BitMap ret = bitMapFormat.create();
         int nullId = Dictionary.NULL_ID[valueLen];
 
         if (startId == null && endId == null) {
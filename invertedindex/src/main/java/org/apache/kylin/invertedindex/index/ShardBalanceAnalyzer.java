@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.invertedindex.index;
+
+import java.util.Arrays;
+
+/**
+ * Measures how the records of a segment spread over its shards, and recommends a shard count
+ * and hash salt for the next segment.
+ *
+ * Records are sharded by the hash of their timestamp ID, so all records of one timestamp go to
+ * the same shard. The input is therefore the number of records per timestamp ID. The shard count
+ * is capped so every shard can fill at least one slice, and the salt is picked among a number of
+ * candidates to minimize the heaviest shard.
+ */
+public class ShardBalanceAnalyzer {
+
+    public static class Result {
+        private final short sharding;
+        private final int salt;
+        private final long[] shardRecords;
+        private final int sliceSize;
+
+        Result(short sharding, int salt, long[] shardRecords, int sliceSize) {
+            this.sharding = sharding;
+            this.salt = salt;
+            this.shardRecords = shardRecords;
+            this.sliceSize = sliceSize;
+        }
+
+        public short getSharding() {
+            return sharding;
+        }
+
+        public int getSalt() {
+            return salt;
+        }
+
+        public long[] getShardRecords() {
+            return shardRecords;
+        }
+
+        public long getMaxShardRecords() {
+            long max = 0;
+            for (long r : shardRecords) {
+                max = Math.max(max, r);
+            }
+            return max;
+        }
+
+        public long[] getShardSlices() {
+            long[] slices = new long[shardRecords.length];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = (shardRecords[i] + sliceSize - 1) / sliceSize;
+            }
+            return slices;
+        }
+
+        /**
+         * @return records in the heaviest shard over the average per shard, 1.0 is perfectly balanced
+         */
+        public double getImbalance() {
+            long total = 0;
+            for (long r : shardRecords) {
+                total += r;
+            }
+            if (total == 0) {
+                return 1.0;
+            }
+            return getMaxShardRecords() * (double) shardRecords.length / total;
+        }
+
+        @Override
+        public String toString() {
+            return "sharding=" + sharding + ", salt=" + salt + ", imbalance=" + String.format("%.2f", getImbalance()) + ", slices per shard=" + Arrays.toString(getShardSlices());
+        }
+    }
+
+    private final int[] timestampIDs;
+    private final long[] records;
+    private final int size;
+    private final int sliceSize;
+    private long totalRecords;
+
+    /**
+     * @param timestampIDs the distinct timestamp IDs
+     * @param records      number of records of each timestamp ID
+     * @param size         number of valid entries in the arrays
+     */
+    public ShardBalanceAnalyzer(int[] timestampIDs, long[] records, int size, int sliceSize) {
+        this.timestampIDs = timestampIDs;
+        this.records = records;
+        this.size = size;
+        this.sliceSize = Math.max(1, sliceSize);
+        for (int i = 0; i < size; i++) {
+            totalRecords += records[i];
+        }
+    }
+
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public Result analyze(short sharding, int salt) {
+        long[] shardRecords = new long[sharding];
+        for (int i = 0; i < size; i++) {
+            shardRecords[ShardingHash.getShard(timestampIDs[i], salt, sharding)] += records[i];
+        }
+        return new Result(sharding, salt, shardRecords, sliceSize);
+    }
+
+    /**
+     * @param maxSharding    the shard count is never raised above this
+     * @param saltCandidates number of salts to try, 0 to (saltCandidates - 1)
+     */
+    public Result recommend(short maxSharding, int saltCandidates) {
+        long slices = (totalRecords + sliceSize - 1) / sliceSize;
+        short sharding = (short) Math.max(1, Math.min(Math.min(maxSharding, slices), size));
+
+        Result best = null;
+        for (int salt = 0; salt < Math.max(1, saltCandidates); salt++) {
+            Result r = analyze(sharding, salt);
+            if (best == null || r.getMaxShardRecords() < best.getMaxShardRecords()) {
+                best = r;
+            }
+        }
+        return best;
+    }
+}
@@ -29,4 +29,18 @@ public class ShardingHash {
         return hashFunc.newHasher().putInt(integer).hash().asLong();
     }
 
+    /**
+     * a salt of 0 keeps the unsalted hash, so segments built before salting stay readable
+     */
+    public static long hashInt(int integer, int salt) {
+        if (salt == 0) {
+            return hashInt(integer);
+        }
+        return hashFunc.newHasher().putInt(salt).putInt(integer).hash().asLong();
+    }
+
+    public static short getShard(int integer, int salt, int sharding) {
+        return (short) (Math.abs(hashInt(integer, salt)) % sharding);
+    }
+
 }
@@ -27,7 +27,7 @@ public class ShardingSliceBuilder {
     SliceBuilder[] builders;
 
     public ShardingSliceBuilder(TableRecordInfo info) {
-        int sharding = info.getDescriptor().getSharding();
+        int sharding = info.getSharding();
         builders = new SliceBuilder[sharding];
         for (short i = 0; i < sharding; i++) {
             builders[i] = new SliceBuilder(info, i);
@@ -21,8 +21,8 @@ package org.apache.kylin.invertedindex.index;
 import java.util.Iterator;
 
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
-
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 
 /**
  * Within a partition (per timestampGranularity), records are further sliced
@@ -46,13 +46,23 @@ public class Slice implements Iterable<RawTableRecord>, Comparable<Slice> {
 
         this.shard = shard;
         this.timestamp = timestamp;
-        this.nRecords = containers[0].getSize();
+        this.nRecords = -1;
         this.containers = containers;
 
+        // containers of columns not projected at decoding are null
         assert nColumns == containers.length;
         for (int i = 0; i < nColumns; i++) {
+            if (containers[i] == null) {
+                continue;
+            }
+            if (nRecords < 0) {
+                nRecords = containers[i].getSize();
+            }
             assert nRecords == containers[i].getSize();
         }
+        if (nRecords < 0) {
+            throw new IllegalArgumentException("No column value container in slice");
+        }
     }
 
     public int getRecordCount() {
@@ -67,6 +77,10 @@ public class Slice implements Iterable<RawTableRecord>, Comparable<Slice> {
         return timestamp;
     }
 
+    public BitMapFormat getBitMapFormat() {
+        return info.getBitMapFormat();
+    }
+
     public ColumnValueContainer[] getColumnValueContainers() {
         return containers;
     }
@@ -75,7 +89,7 @@ public class Slice implements Iterable<RawTableRecord>, Comparable<Slice> {
         return containers[col];
     }
 
-    public Iterator<RawTableRecord> iterateWithBitmap(final ConciseSet resultBitMap) {
+    public Iterator<RawTableRecord> iterateWithBitmap(final BitMap resultBitMap) {
         if (resultBitMap == null) {
             return this.iterator();
         } else {
@@ -83,26 +97,22 @@ public class Slice implements Iterable<RawTableRecord>, Comparable<Slice> {
             final ImmutableBytesWritable temp = new ImmutableBytesWritable();
 
             return new Iterator<RawTableRecord>() {
-                int i = 0;
-                int iteratedCount = 0;
-                int resultSize = resultBitMap.size();
+                BitMap.IntIterator positions = resultBitMap.iterator();
 
                 @Override
                 public boolean hasNext() {
-                    return iteratedCount < resultSize;
+                    return positions.hasNext();
                 }
 
                 @Override
                 public RawTableRecord next() {
-                    while (!resultBitMap.contains(i)) {
-                        i++;
-                    }
+                    int i = positions.next();
                     for (int col = 0; col < nColumns; col++) {
-                        containers[col].getValueAt(i, temp);
-                        rec.setValueBytes(col, temp);
+                        if (containers[col] != null) {
+                            containers[col].getValueAt(i, temp);
+                            rec.setValueBytes(col, temp);
+                        }
                     }
-                    iteratedCount++;
-                    i++;
 
                     return rec;
                 }
@@ -131,8 +141,10 @@ public class Slice implements Iterable<RawTableRecord>, Comparable<Slice> {
             @Override
             public RawTableRecord next() {
                 for (int col = 0; col < nColumns; col++) {
-                    containers[col].getValueAt(i, temp);
-                    rec.setValueBytes(col, temp);
+                    if (containers[col] != null) {
+                        containers[col].getValueAt(i, temp);
+                        rec.setValueBytes(col, temp);
+                    }
                 }
                 i++;
                 return rec;
@@ -106,6 +106,13 @@ public class SliceBuilder {
             return timestamp;
     }
 
+    /**
+     * Closes the current slice, unlike close() later records must still come in time order after it
+     */
+    public Slice seal() {
+        return doneSlice();
+    }
+
     public Slice close() {
         Slice doneSlice = doneSlice();
         this.sliceTimestamp = Long.MIN_VALUE;
@@ -116,4 +123,18 @@ public class SliceBuilder {
     private boolean isFull() {
         return nRecords >= nRecordsCap;
     }
+
+    /**
+     * @return number of records in the open slice
+     */
+    public int getRecordCount() {
+        return nRecords;
+    }
+
+    /**
+     * @return timestamp of the open slice, or of the last slice if none is open, later records must not be older
+     */
+    public long getSliceTimestamp() {
+        return sliceTimestamp;
+    }
 }
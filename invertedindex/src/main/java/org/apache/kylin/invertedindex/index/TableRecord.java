@@ -115,9 +115,12 @@ public class TableRecord implements Cloneable {
         return rawRecord.getValueMetric(col);
     }
 
+    public int getTimestampID() {
+        return rawRecord.getValueID(info.getTimestampColumn());
+    }
+
     public short getShard() {
-        int timestampID = rawRecord.getValueID(info.getTimestampColumn());
-        return (short) (Math.abs(ShardingHash.hashInt(timestampID)) % info.getDescriptor().getSharding());
+        return ShardingHash.getShard(getTimestampID(), info.getShardingSalt(), info.getSharding());
     }
 
     @Override
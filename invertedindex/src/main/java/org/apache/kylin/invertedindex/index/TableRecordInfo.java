@@ -47,10 +47,16 @@ public class TableRecordInfo {
 
     final TableRecordInfoDigest digest;
 
+    // read per record to shard it, resolved once
+    final short sharding;
+    final int shardingSalt;
+
     public TableRecordInfo(IISegment iiSegment) {
 
         seg = iiSegment;
         desc = seg.getIIInstance().getDescriptor();
+        sharding = seg.getSharding();
+        shardingSalt = seg.getShardingSalt();
         allColumns = desc.listAllColumns();
         nColumns = allColumns.size();
         dictionaries = new Dictionary<?>[nColumns];
@@ -110,7 +116,7 @@ public class TableRecordInfo {
 
         int byteFormLen = pos;
 
-        return new TableRecordInfoDigest(nColumns, byteFormLen, offsets, dictMaxIds, lengths, isMetric, measureSerializers);
+        return new TableRecordInfoDigest(nColumns, byteFormLen, offsets, dictMaxIds, lengths, isMetric, measureSerializers, seg.getBitMapFormat());
     }
 
     public TableRecord createTableRecord() {
@@ -152,6 +158,14 @@ public class TableRecordInfo {
         return desc.getTimestampColumn();
     }
 
+    public short getSharding() {
+        return sharding;
+    }
+
+    public int getShardingSalt() {
+        return shardingSalt;
+    }
+
     /*
      * (non-Javadoc)
      * 
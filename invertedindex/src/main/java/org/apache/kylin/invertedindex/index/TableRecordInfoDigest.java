@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.kylin.common.util.BytesSerializer;
 import org.apache.kylin.common.util.BytesUtil;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.metadata.measure.fixedlen.FixedLenMeasureCodec;
 import org.apache.kylin.metadata.model.DataType;
 
@@ -41,7 +42,9 @@ public class TableRecordInfoDigest {
 
     protected FixedLenMeasureCodec<?>[] measureSerializers;
 
-    public TableRecordInfoDigest(int nColumns, int byteFormLen, int[] offsets, int[] dictMaxIds, int[] lengths, boolean[] isMetric, FixedLenMeasureCodec<?>[] measureSerializers) {
+    private BitMapFormat bitMapFormat = BitMapFormat.CONCISE;
+
+    public TableRecordInfoDigest(int nColumns, int byteFormLen, int[] offsets, int[] dictMaxIds, int[] lengths, boolean[] isMetric, FixedLenMeasureCodec<?>[] measureSerializers, BitMapFormat bitMapFormat) {
         this.nColumns = nColumns;
         this.byteFormLen = byteFormLen;
         this.offsets = offsets;
@@ -49,6 +52,7 @@ public class TableRecordInfoDigest {
         this.lengths = lengths;
         this.isMetric = isMetric;
         this.measureSerializers = measureSerializers;
+        this.bitMapFormat = bitMapFormat;
     }
 
     public TableRecordInfoDigest() {
@@ -78,6 +82,10 @@ public class TableRecordInfoDigest {
         return dictMaxIds[col];
     }
 
+    public BitMapFormat getBitMapFormat() {
+        return bitMapFormat;
+    }
+
     public int getMetricCount() {
         int ret = 0;
         for (int i = 0; i < nColumns; ++i) {
@@ -135,6 +143,7 @@ public class TableRecordInfoDigest {
                     BytesUtil.writeAsciiString(null, out);
                 }
             }
+            BytesUtil.writeAsciiString(value.bitMapFormat.name(), out);
         }
 
         @Override
@@ -156,6 +165,8 @@ public class TableRecordInfoDigest {
                     result.measureSerializers[i] = FixedLenMeasureCodec.get(DataType.getInstance(typeStr));
                 }
             }
+            // absent from digests serialized before the bitmap format was configurable
+            result.bitMapFormat = in.hasRemaining() ? BitMapFormat.fromName(BytesUtil.readAsciiString(in)) : BitMapFormat.CONCISE;
 
             return result;
         }
@@ -32,6 +32,7 @@ import org.apache.kylin.common.persistence.RootPersistentEntity;
 import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.common.util.JsonUtil;
 import org.apache.kylin.common.util.StringUtil;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.metadata.MetadataConstants;
 import org.apache.kylin.metadata.MetadataManager;
 import org.apache.kylin.metadata.model.ColumnDesc;
@@ -78,6 +79,8 @@ public class IIDesc extends RootPersistentEntity {
     private short sharding = 1; // parallelism
     @JsonProperty("slice_size")
     private int sliceSize = 50000; // no. rows
+    @JsonProperty("bitmap_format")
+    private String bitMapFormat; // concise if not specified
     @JsonProperty("signature")
     private String signature;
 
@@ -313,6 +316,17 @@ public class IIDesc extends RootPersistentEntity {
         return sliceSize;
     }
 
+    /**
+     * @return the bitmap format of new segments, existing segments keep their own
+     */
+    public BitMapFormat getBitMapFormat() {
+        return BitMapFormat.fromName(bitMapFormat);
+    }
+
+    public void setBitMapFormat(BitMapFormat bitMapFormat) {
+        this.bitMapFormat = bitMapFormat.name();
+    }
+
     public String getSignature() {
         return signature;
     }
@@ -19,6 +19,7 @@
 package org.apache.kylin.invertedindex.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -106,14 +107,50 @@ public class IIKeyValueCodec {
         return i - offset;
     }
 
+    /**
+     * @return the row key prefix shared by all slices of the shard
+     */
+    public static byte[] encodeShardPrefix(short shard) {
+        byte[] bytes = new byte[SHARD_LEN];
+        BytesUtil.writeUnsigned(shard, bytes, 0, SHARD_LEN);
+        return bytes;
+    }
+
+    /**
+     * @return the row key prefix shared by all key values of a slice
+     */
+    public static byte[] encodeSlicePrefix(short shard, long sliceTimestamp) {
+        byte[] bytes = new byte[SHARD_LEN + TIMEPART_LEN];
+        BytesUtil.writeUnsigned(shard, bytes, 0, SHARD_LEN);
+        BytesUtil.writeLong(sliceTimestamp, bytes, SHARD_LEN, TIMEPART_LEN);
+        return bytes;
+    }
+
+    public static long decodeSliceTimestamp(byte[] key, int offset) {
+        return BytesUtil.readLong(key, offset + SHARD_LEN, TIMEPART_LEN);
+    }
+
+    public static short decodeShard(byte[] key, int offset) {
+        return (short) BytesUtil.readUnsigned(key, offset, SHARD_LEN);
+    }
+
     public Iterable<Slice> decodeKeyValue(Iterable<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs) {
-        return new Decoder(infoDigest, kvs);
+        return new Decoder(infoDigest, kvs, null);
+    }
+
+    /**
+     * Decodes only the given columns, the containers of other columns are left
+     * null in the slices, and so are their values in the records.
+     */
+    public Iterable<Slice> decodeKeyValue(Iterable<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs, BitSet projectedColumns) {
+        return new Decoder(infoDigest, kvs, projectedColumns);
     }
 
     private static class Decoder implements Iterable<Slice> {
 
         TableRecordInfoDigest info;
         Iterator<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> iterator;
+        BitSet projectedColumns;
 
         Slice next = null;
         short curShard = Short.MIN_VALUE;
@@ -126,9 +163,10 @@ public class IIKeyValueCodec {
         ColumnValueContainer[] containers = null;
         List<ImmutableBytesWritable> bitMapValues = Lists.newArrayList();
 
-        Decoder(TableRecordInfoDigest info, Iterable<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs) {
+        Decoder(TableRecordInfoDigest info, Iterable<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs, BitSet projectedColumns) {
             this.info = info;
             this.iterator = kvs.iterator();
+            this.projectedColumns = projectedColumns;
         }
 
         private void goToNext() {
@@ -142,6 +180,9 @@ public class IIKeyValueCodec {
                 ImmutableBytesWritable k = kv.getFirst();
                 ImmutableBytesWritable v = kv.getSecond();
                 decodeKey(k);
+                if (projectedColumns != null && !projectedColumns.get(curCol)) {
+                    continue;
+                }
 
                 if (curShard != lastShard || curSliceTimestamp != lastSliceTimestamp) {
                     makeNext();
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.streaming;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.kylin.common.util.Pair;
+import org.apache.kylin.invertedindex.index.Slice;
+import org.apache.kylin.invertedindex.index.TableRecordInfoDigest;
+import org.apache.kylin.invertedindex.model.IIDesc;
+import org.apache.kylin.invertedindex.model.IIKeyValueCodec;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Writes slices to the II HTable with the same key values as the batch build
+ */
+public class HTableSliceSink implements SliceSink {
+
+    private final HTableInterface table;
+    private final IIKeyValueCodec codec;
+
+    public HTableSliceSink(HTableInterface table, TableRecordInfoDigest digest) {
+        this.table = table;
+        this.codec = new IIKeyValueCodec(digest);
+    }
+
+    @Override
+    public void write(List<Slice> slices) throws IOException {
+        List<Put> puts = Lists.newArrayList();
+        for (Slice slice : slices) {
+            for (Pair<ImmutableBytesWritable, ImmutableBytesWritable> pair : codec.encodeKeyValue(slice)) {
+                Put put = new Put(pair.getFirst().copyBytes());
+                put.add(IIDesc.HBASE_FAMILY_BYTES, IIDesc.HBASE_QUALIFIER_BYTES, pair.getSecond().copyBytes());
+                puts.add(put);
+            }
+        }
+        table.put(puts);
+        table.flushCommits();
+    }
+}
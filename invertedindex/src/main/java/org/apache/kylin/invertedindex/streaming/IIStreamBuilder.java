@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.streaming;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.invertedindex.IISegment;
+import org.apache.kylin.invertedindex.index.Slice;
+import org.apache.kylin.invertedindex.index.SliceBuilder;
+import org.apache.kylin.invertedindex.index.TableRecord;
+import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ingests a stream of records into an II segment.
+ *
+ * Records are encoded with the dictionaries of the segment and appended to a slice per shard like
+ * the batch build. A slice is closed when full or when it has been open for the max age, then it
+ * stays in the IIStreamTail until the next flush writes the closed slices to the sink. Slices that
+ * fail to write stay in the tail and are retried by the next flush. If the last flush at the end of
+ * the stream still fails after a few attempts, the slices left in the tail are lost and run() throws.
+ *
+ * Records must come in time order per shard. A record older than the open slice of its shard, or
+ * with a value missing from the dictionaries, is dropped and counted.
+ */
+public class IIStreamBuilder implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IIStreamBuilder.class);
+
+    private static final long POLL_TIMEOUT_MS = 1000;
+    private static final int LAST_FLUSH_ATTEMPTS = 3;
+
+    private final String iiName;
+    private final TableRecordInfo info;
+    private final StreamSource source;
+    private final SliceSink sink;
+    private final long sliceMaxAgeMs;
+    private final long flushIntervalMs;
+
+    private final SliceBuilder[] builders;
+    private final long[] sliceOpenTime; // when the open slice got its first record
+    private final TableRecord rec;
+    private final IIStreamTail tail;
+
+    private volatile boolean stopped = false;
+    private long lastFlushTime;
+    private long recordCount = 0;
+    private long droppedCount = 0;
+
+    public IIStreamBuilder(IISegment segment, StreamSource source, SliceSink sink) {
+        this(segment, source, sink, KylinConfig.getInstanceFromEnv().getIIStreamingSliceMaxAgeSeconds() * 1000L, KylinConfig.getInstanceFromEnv().getIIStreamingFlushIntervalSeconds() * 1000L);
+    }
+
+    public IIStreamBuilder(IISegment segment, StreamSource source, SliceSink sink, long sliceMaxAgeMs, long flushIntervalMs) {
+        this.iiName = segment.getIIInstance().getName();
+        this.info = new TableRecordInfo(segment);
+        this.source = source;
+        this.sink = sink;
+        this.sliceMaxAgeMs = sliceMaxAgeMs;
+        this.flushIntervalMs = flushIntervalMs;
+
+        int sharding = info.getSharding();
+        this.builders = new SliceBuilder[sharding];
+        this.sliceOpenTime = new long[sharding];
+        for (short i = 0; i < sharding; i++) {
+            builders[i] = new SliceBuilder(info, i);
+        }
+        this.rec = info.createTableRecord();
+        this.tail = IIStreamTail.register(iiName);
+    }
+
+    @Override
+    public void run() {
+        logger.info("Start streaming into II " + iiName);
+        lastFlushTime = System.currentTimeMillis();
+        try {
+            while (!stopped && !source.isExhausted()) {
+                String[] values = source.poll(POLL_TIMEOUT_MS);
+                if (values != null) {
+                    append(values);
+                }
+
+                long now = System.currentTimeMillis();
+                sealOldSlices(now);
+                if (now - lastFlushTime >= flushIntervalMs) {
+                    flush();
+                }
+            }
+
+            for (int i = 0; i < builders.length; i++) {
+                seal(i);
+            }
+            flushLast();
+        } catch (IOException e) {
+            logger.error("Streaming into II " + iiName + " failed", e);
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Streaming into II " + iiName + " is interrupted");
+        } finally {
+            IIStreamTail.unregister(iiName);
+            IOUtils.closeQuietly(source);
+            logger.info("Stop streaming into II " + iiName + ", " + recordCount + " records ingested, " + droppedCount + " records dropped");
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    private void append(String[] values) {
+        rec.reset();
+        try {
+            for (int col = 0; col < values.length; col++) {
+                rec.setValueString(col, values[col]);
+            }
+        } catch (IllegalArgumentException e) {
+            // value not in dictionary, or not a number for a metric
+            drop(e.getMessage());
+            return;
+        }
+
+        short shard = rec.getShard();
+        SliceBuilder builder = builders[shard];
+        // SliceBuilder requires slices in time order, and records older than their slice would defeat time range pruning
+        if (rec.getTimestamp() < builder.getSliceTimestamp()) {
+            drop("record at " + rec.getTimestamp() + " is older than the open slice of shard " + shard);
+            return;
+        }
+
+        Slice closed = builder.append(rec);
+        if (closed != null) {
+            tail.add(Collections.singletonList(closed));
+        }
+        if (builder.getRecordCount() == 1) {
+            sliceOpenTime[shard] = System.currentTimeMillis();
+        }
+        recordCount++;
+    }
+
+    private void drop(String reason) {
+        droppedCount++;
+        if (droppedCount % 1000 == 1) {
+            logger.warn(droppedCount + " records dropped so far, the latest because " + reason);
+        }
+    }
+
+    private void sealOldSlices(long now) {
+        for (int i = 0; i < builders.length; i++) {
+            if (builders[i].getRecordCount() > 0 && now - sliceOpenTime[i] >= sliceMaxAgeMs) {
+                seal(i);
+            }
+        }
+    }
+
+    private void seal(int shard) {
+        Slice slice = builders[shard].seal();
+        if (slice != null) {
+            tail.add(Collections.singletonList(slice));
+        }
+    }
+
+    private void flushLast() throws IOException, InterruptedException {
+        for (int attempt = 1; !flush(); attempt++) {
+            if (attempt >= LAST_FLUSH_ATTEMPTS) {
+                throw new IOException("Failed to flush " + tail.getSlices().size() + " slices of II " + iiName + " in " + attempt + " attempts, they are lost");
+            }
+            TimeUnit.MILLISECONDS.sleep(POLL_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * @return false if the slices failed to write, they stay in the tail for the next flush
+     */
+    private boolean flush() throws InterruptedException {
+        lastFlushTime = System.currentTimeMillis();
+        List<Slice> slices = tail.getSlices();
+        if (slices.isEmpty()) {
+            return true;
+        }
+
+        // a flush waits at most one flush interval for the queries on the tail
+        tail.beginFlush(flushIntervalMs);
+        boolean written = false;
+        try {
+            sink.write(slices);
+            written = true;
+        } catch (IOException e) {
+            logger.error("Failed to flush " + slices.size() + " slices of II " + iiName + ", will retry on the next flush", e);
+        } finally {
+            tail.endFlush(written ? slices : Collections.<Slice> emptyList());
+        }
+        if (written) {
+            logger.info("Flushed " + slices.size() + " slices of II " + iiName);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.streaming;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.kylin.invertedindex.index.Slice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The closed slices of a stream that are not in the HTable yet, visible to queries in the same JVM.
+ *
+ * A query pins the tail for its whole life, and a flush waits for the pins to be released before
+ * moving slices to the HTable. So a query sees every slice exactly once, either here or in the HTable.
+ * The wait is bounded, new queries may still pin while a flush waits and a query running longer
+ * than the bound may see the flushed slices twice. New pins wait only while the slices are written.
+ */
+public class IIStreamTail {
+
+    private static final Logger logger = LoggerFactory.getLogger(IIStreamTail.class);
+
+    private static final ConcurrentMap<String, IIStreamTail> TAILS = Maps.newConcurrentMap();
+
+    /**
+     * @return the tail of the streaming II in this JVM, or null if it is not streaming here
+     */
+    public static IIStreamTail get(String iiName) {
+        return TAILS.get(iiName);
+    }
+
+    static IIStreamTail register(String iiName) {
+        IIStreamTail tail = new IIStreamTail();
+        if (TAILS.putIfAbsent(iiName, tail) != null) {
+            throw new IllegalStateException("II " + iiName + " is already streaming");
+        }
+        return tail;
+    }
+
+    static void unregister(String iiName) {
+        TAILS.remove(iiName);
+    }
+
+    private final List<Slice> slices = Lists.newArrayList();
+    private int pins = 0;
+    private boolean flushing = false;
+
+    IIStreamTail() {
+    }
+
+    synchronized void add(Collection<Slice> closed) {
+        slices.addAll(closed);
+    }
+
+    synchronized List<Slice> getSlices() {
+        return ImmutableList.copyOf(slices);
+    }
+
+    /**
+     * Waits up to maxWaitMs for the pins to be released, then blocks new pins until endFlush()
+     */
+    synchronized void beginFlush(long maxWaitMs) throws InterruptedException {
+        while (flushing) {
+            wait();
+        }
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        long remaining = maxWaitMs;
+        while (pins > 0 && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        if (pins > 0) {
+            logger.warn("Flushing with " + pins + " queries still pinned after " + maxWaitMs + " ms, they may see the flushed slices twice");
+        }
+        flushing = true;
+    }
+
+    synchronized void endFlush(Collection<Slice> flushed) {
+        slices.removeAll(flushed);
+        flushing = false;
+        notifyAll();
+    }
+
+    /**
+     * @return the slices to query in memory, release() must be called when the query is done
+     */
+    public synchronized List<Slice> pin() throws InterruptedException {
+        while (flushing) {
+            wait();
+        }
+        pins++;
+        return ImmutableList.copyOf(slices);
+    }
+
+    public synchronized void release() {
+        pins--;
+        notifyAll();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.streaming;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Reads one delimited record per line
+ */
+public abstract class LineStreamSource implements StreamSource {
+
+    private final Pattern delimiter;
+    private BufferedReader reader;
+    private boolean exhausted = false;
+
+    protected LineStreamSource(String delimiter) {
+        this.delimiter = Pattern.compile(Pattern.quote(delimiter));
+    }
+
+    protected abstract BufferedReader open() throws IOException;
+
+    /**
+     * @return the next line, or null if there is none within the timeout
+     */
+    protected String readLine(BufferedReader reader, long timeoutMillis) throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public String[] poll(long timeoutMillis) throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        if (reader == null) {
+            reader = open();
+        }
+
+        String line = readLine(reader, timeoutMillis);
+        if (line == null) {
+            if (isEndOfStream()) {
+                exhausted = true;
+            }
+            return null;
+        }
+        return delimiter.split(line, -1);
+    }
+
+    /**
+     * @return whether the last null line means the end of the stream
+     */
+    protected boolean isEndOfStream() {
+        return true;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.closeQuietly(reader);
+    }
+}
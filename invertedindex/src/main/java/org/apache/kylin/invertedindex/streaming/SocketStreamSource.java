@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.streaming;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Reads lines from a TCP socket, e.g. fed by "nc -l", a stand-in for a message queue
+ */
+public class SocketStreamSource extends LineStreamSource {
+
+    private final String host;
+    private final int port;
+    private Socket socket;
+    private boolean timedOut = false;
+
+    public SocketStreamSource(String host, int port, String delimiter) {
+        super(delimiter);
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    protected BufferedReader open() throws IOException {
+        socket = new Socket(host, port);
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+    }
+
+    @Override
+    protected String readLine(BufferedReader reader, long timeoutMillis) throws IOException {
+        socket.setSoTimeout((int) Math.max(1, timeoutMillis));
+        try {
+            timedOut = false;
+            return reader.readLine();
+        } catch (SocketTimeoutException e) {
+            timedOut = true;
+            return null;
+        }
+    }
+
+    @Override
+    protected boolean isEndOfStream() {
+        return !timedOut;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.closeQuietly(socket);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.tools;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.common.persistence.HBaseConnection;
+import org.apache.kylin.invertedindex.IIInstance;
+import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.IISegment;
+import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.apache.kylin.invertedindex.streaming.FileStreamSource;
+import org.apache.kylin.invertedindex.streaming.HTableSliceSink;
+import org.apache.kylin.invertedindex.streaming.IIStreamBuilder;
+import org.apache.kylin.invertedindex.streaming.SocketStreamSource;
+import org.apache.kylin.invertedindex.streaming.StreamSource;
+
+/**
+ * Streams records into the first segment of an II.
+ *
+ * Usage: IIStreamingCLI ii_name file:/path/to/data|socket:host:port [delimiter]
+ */
+public class IIStreamingCLI {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: IIStreamingCLI ii_name file:/path/to/data|socket:host:port [delimiter]");
+            System.exit(1);
+        }
+
+        KylinConfig config = KylinConfig.getInstanceFromEnv();
+        IIInstance ii = IIManager.getInstance(config).getII(args[0]);
+        IISegment seg = ii.getFirstSegment();
+        String delimiter = args.length > 2 ? args[2] : ",";
+
+        StreamSource source;
+        String spec = args[1];
+        if (spec.startsWith("file:")) {
+            source = new FileStreamSource(new File(spec.substring("file:".length())), delimiter);
+        } else if (spec.startsWith("socket:")) {
+            String[] hostPort = spec.substring("socket:".length()).split(":");
+            source = new SocketStreamSource(hostPort[0], Integer.parseInt(hostPort[1]), delimiter);
+        } else {
+            throw new IllegalArgumentException("Unknown source " + spec);
+        }
+
+        HTableInterface table = HBaseConnection.get(config.getStorageUrl()).getTable(seg.getStorageLocationIdentifier());
+        try {
+            HTableSliceSink sink = new HTableSliceSink(table, new TableRecordInfo(seg).getDigest());
+            new IIStreamBuilder(seg, source, sink).run();
+        } finally {
+            IOUtils.closeQuietly(table);
+        }
+    }
+}
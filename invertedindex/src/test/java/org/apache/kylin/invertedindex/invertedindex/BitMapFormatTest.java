@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.invertedindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
+import org.junit.Test;
+
+public class BitMapFormatTest {
+
+    @Test
+    public void testSerialization() {
+        for (BitMapFormat format : BitMapFormat.values()) {
+            BitMap empty = format.create();
+            assertEquals(empty, format.fromBytes(empty.toBytes()));
+
+            BitMap bitMap = bitMap(format, 1, 5, 100, 70000);
+            ImmutableBytesWritable bytes = bitMap.toBytes();
+            // decode from the middle of a buffer like from a key value
+            byte[] buffer = new byte[bytes.getLength() + 3];
+            System.arraycopy(bytes.get(), bytes.getOffset(), buffer, 2, bytes.getLength());
+            BitMap decoded = format.fromBytes(new ImmutableBytesWritable(buffer, 2, bytes.getLength()));
+            assertEquals(bitMap, decoded);
+            assertEquals(4, decoded.getCardinality());
+        }
+    }
+
+    @Test
+    public void testOperations() {
+        for (BitMapFormat format : BitMapFormat.values()) {
+            BitMap a = bitMap(format, 0, 2, 4, 6);
+            BitMap b = bitMap(format, 4, 5, 6, 7);
+
+            BitMap or = format.or(Arrays.asList(a, b, bitMap(format, 9)));
+            assertEquals(bitMap(format, 0, 2, 4, 5, 6, 7, 9), or);
+            assertEquals(4, a.getCardinality()); // inputs untouched
+
+            BitMap and = a.copy();
+            and.and(b);
+            assertEquals(bitMap(format, 4, 6), and);
+
+            BitMap andNot = a.copy();
+            andNot.andNot(b);
+            assertEquals(bitMap(format, 0, 2), andNot);
+
+            BitMap flip = a.copy();
+            flip.flip(8);
+            assertEquals(bitMap(format, 1, 3, 5, 7), flip);
+
+            BitMap all = format.create();
+            all.flip(3);
+            assertEquals(bitMap(format, 0, 1, 2), all);
+            assertTrue(all.contains(2));
+            assertFalse(all.contains(3));
+
+            BitMap.IntIterator iterator = or.iterator();
+            int last = -1;
+            int count = 0;
+            while (iterator.hasNext()) {
+                int i = iterator.next();
+                assertTrue(i > last);
+                last = i;
+                count++;
+            }
+            assertEquals(or.getCardinality(), count);
+        }
+    }
+
+    private BitMap bitMap(BitMapFormat format, int... positions) {
+        BitMap bitMap = format.create();
+        for (int i : positions) {
+            bitMap.add(i);
+        }
+        return bitMap;
+    }
+}
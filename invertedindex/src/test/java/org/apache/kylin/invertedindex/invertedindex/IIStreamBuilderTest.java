@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.invertedindex.invertedindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.invertedindex.IIInstance;
+import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.index.Slice;
+import org.apache.kylin.invertedindex.index.TableRecord;
+import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.apache.kylin.invertedindex.streaming.FileStreamSource;
+import org.apache.kylin.invertedindex.streaming.IIStreamBuilder;
+import org.apache.kylin.invertedindex.streaming.IIStreamTail;
+import org.apache.kylin.invertedindex.streaming.SliceSink;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class IIStreamBuilderTest extends LocalFileMetadataTestCase {
+
+    private static final long HOUR = 3600 * 1000L;
+
+    IIInstance ii;
+    TableRecordInfo info;
+    File streamFile;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+        this.ii = IIManager.getInstance(getTestConfig()).getII("test_kylin_ii");
+        this.info = new TableRecordInfo(ii.getFirstSegment());
+        this.streamFile = File.createTempFile("IIStreamBuilderTest", ".csv");
+    }
+
+    @After
+    public void after() throws Exception {
+        FileUtils.deleteQuietly(streamFile);
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testTimeOrderedStream() throws IOException {
+        List<String> lines = loadLinesSorted();
+        FileUtils.writeLines(streamFile, "UTF-8", lines);
+
+        MemorySink sink = new MemorySink();
+        IIStreamBuilder builder = new IIStreamBuilder(ii.getFirstSegment(), new FileStreamSource(streamFile, ","), sink, HOUR, HOUR);
+        builder.run();
+
+        assertEquals(lines.size(), builder.getRecordCount());
+        assertEquals(0, builder.getDroppedCount());
+        assertEquals(lines.size(), sink.getRecordCount());
+        assertNull(IIStreamTail.get(ii.getName()));
+        // slices are full or sealed at the end, far fewer than records
+        assertTrue(sink.slices.size() < lines.size());
+    }
+
+    @Test
+    public void testSlicesSealedByAge() throws IOException {
+        List<String> lines = loadLinesSorted();
+        FileUtils.writeLines(streamFile, "UTF-8", lines);
+
+        // a zero max age seals the open slice after every record, records at the time of a sealed slice
+        // are dropped once the next slice of the shard got a later timestamp
+        MemorySink sink = new MemorySink();
+        IIStreamBuilder builder = new IIStreamBuilder(ii.getFirstSegment(), new FileStreamSource(streamFile, ","), sink, 0, HOUR);
+        builder.run();
+
+        assertEquals(lines.size(), builder.getRecordCount() + builder.getDroppedCount());
+        assertEquals(builder.getRecordCount(), sink.slices.size());
+        assertEquals(builder.getRecordCount(), sink.getRecordCount());
+    }
+
+    @Test
+    public void testFailedFlushRetried() throws IOException {
+        List<String> lines = loadLinesSorted();
+        FileUtils.writeLines(streamFile, "UTF-8", lines);
+
+        // flush after every record, the first writes fail
+        FailingSink sink = new FailingSink(5);
+        IIStreamBuilder builder = new IIStreamBuilder(ii.getFirstSegment(), new FileStreamSource(streamFile, ","), sink, 0, 0);
+        builder.run();
+
+        assertEquals(5, sink.failures);
+        assertEquals(lines.size(), builder.getRecordCount() + builder.getDroppedCount());
+        assertEquals(builder.getRecordCount(), sink.getRecordCount());
+    }
+
+    @Test
+    public void testLastFlushFails() throws IOException {
+        List<String> lines = loadLinesSorted();
+        FileUtils.writeLines(streamFile, "UTF-8", lines);
+
+        FailingSink sink = new FailingSink(Integer.MAX_VALUE);
+        IIStreamBuilder builder = new IIStreamBuilder(ii.getFirstSegment(), new FileStreamSource(streamFile, ","), sink, HOUR, HOUR);
+        try {
+            builder.run();
+            fail("slices not written must not be lost silently");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(0, sink.getRecordCount());
+        assertNull(IIStreamTail.get(ii.getName()));
+    }
+
+    @Test
+    public void testLateRecordsDropped() throws IOException {
+        List<String> lines = loadLinesSorted();
+        Collections.reverse(lines);
+        FileUtils.writeLines(streamFile, "UTF-8", lines);
+
+        MemorySink sink = new MemorySink();
+        IIStreamBuilder builder = new IIStreamBuilder(ii.getFirstSegment(), new FileStreamSource(streamFile, ","), sink, HOUR, HOUR);
+        builder.run();
+
+        assertTrue(builder.getDroppedCount() > 0);
+        assertEquals(lines.size(), builder.getRecordCount() + builder.getDroppedCount());
+        assertEquals(builder.getRecordCount(), sink.getRecordCount());
+    }
+
+    private List<String> loadLinesSorted() throws IOException {
+        List<String> lines = FileUtils.readLines(new File(LOCALMETA_TEST_DATA, "data/flatten_data_for_ii.csv"), "UTF-8");
+        final TableRecord rec = info.createTableRecord();
+        Collections.sort(lines, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                long x = timestamp(a) - timestamp(b);
+                return x > 0 ? 1 : (x == 0 ? 0 : -1);
+            }
+
+            private long timestamp(String line) {
+                String[] fields = line.split(",");
+                for (int col = 0; col < fields.length; col++) {
+                    rec.setValueString(col, fields[col]);
+                }
+                return rec.getTimestamp();
+            }
+        });
+        return lines;
+    }
+
+    static class MemorySink implements SliceSink {
+        List<Slice> slices = Lists.newArrayList();
+
+        @Override
+        public void write(List<Slice> slices) throws IOException {
+            this.slices.addAll(slices);
+        }
+
+        int getRecordCount() {
+            int count = 0;
+            for (Slice slice : slices) {
+                count += slice.getRecordCount();
+            }
+            return count;
+        }
+    }
+
+    static class FailingSink extends MemorySink {
+        int failuresLeft;
+        int failures = 0;
+
+        FailingSink(int failures) {
+            this.failuresLeft = failures;
+        }
+
+        @Override
+        public void write(List<Slice> slices) throws IOException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                failures++;
+                throw new IOException("write failure " + failures);
+            }
+            super.write(slices);
+        }
+    }
+}
@@ -19,10 +19,12 @@
 package org.apache.kylin.invertedindex.invertedindex;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -36,6 +38,8 @@ import org.apache.kylin.common.util.Pair;
 import org.apache.kylin.dict.Dictionary;
 import org.apache.kylin.invertedindex.IIInstance;
 import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.IISegment;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.invertedindex.index.BitMapContainer;
 import org.apache.kylin.invertedindex.index.CompressedValueContainer;
 import org.apache.kylin.invertedindex.index.RawTableRecord;
@@ -149,6 +153,61 @@ public class InvertedIndexLocalTest extends LocalFileMetadataTestCase {
         dump(recordsCopy);
     }
 
+    @Test
+    public void testProjectedDecode() throws IOException {
+        List<Slice> slices = buildTimeSlices(loadRecordsSorted());
+        IIKeyValueCodec codec = new IIKeyValueCodec(info.getDigest());
+        List<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs = encodeKVs(codec, slices);
+
+        BitSet projected = new BitSet();
+        projected.set(0);
+        projected.set(3);
+        List<Slice> slicesCopy = Lists.newArrayList();
+        for (Slice slice : codec.decodeKeyValue(kvs, projected)) {
+            slicesCopy.add(slice);
+        }
+        assertEquals(slices, slicesCopy);
+
+        ImmutableBytesWritable expected = new ImmutableBytesWritable();
+        ImmutableBytesWritable actual = new ImmutableBytesWritable();
+        for (int i = 0; i < slices.size(); i++) {
+            Slice slice = slices.get(i);
+            Slice sliceCopy = slicesCopy.get(i);
+            assertEquals(slice.getRecordCount(), sliceCopy.getRecordCount());
+            for (int col = 0; col < info.getDigest().getColumnCount(); col++) {
+                if (!projected.get(col)) {
+                    assertNull(sliceCopy.getColumnValueContainer(col));
+                    continue;
+                }
+                for (int r = 0; r < slice.getRecordCount(); r++) {
+                    slice.getColumnValueContainer(col).getValueAt(r, expected);
+                    sliceCopy.getColumnValueContainer(col).getValueAt(r, actual);
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBitMapFormatAfterDescChange() throws IOException {
+        List<TableRecord> records = loadRecordsSorted();
+        List<Slice> slices = buildTimeSlices(records);
+        assertEquals(BitMapFormat.CONCISE, info.getDigest().getBitMapFormat());
+        List<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs = encodeKVs(new IIKeyValueCodec(info.getDigest()), slices);
+
+        // the existing segment is still read in the format it was written in
+        ii.getDescriptor().setBitMapFormat(BitMapFormat.ROARING);
+        TableRecordInfo infoAfterChange = new TableRecordInfo(ii.getFirstSegment());
+        assertEquals(BitMapFormat.CONCISE, infoAfterChange.getDigest().getBitMapFormat());
+        List<Slice> slicesCopy = decodeKVs(new IIKeyValueCodec(infoAfterChange.getDigest()), kvs);
+        assertEquals(slices.size(), slicesCopy.size());
+        assertEquals(new HashSet<TableRecord>(records), new HashSet<TableRecord>(iterateRecords(slicesCopy)));
+
+        // new segments take the format of the descriptor
+        IISegment newSegment = IIManager.getInstance(getTestConfig()).buildSegment(ii, 0, 0);
+        assertEquals(BitMapFormat.ROARING, newSegment.getBitMapFormat());
+    }
+
     private List<TableRecord> loadRecordsSorted() throws IOException {
         File file = new File(LOCALMETA_TEST_DATA, "data/flatten_data_for_ii.csv");
         FileInputStream in = new FileInputStream(file);
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.invertedindex.invertedindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.kylin.invertedindex.index.ShardBalanceAnalyzer;
+import org.apache.kylin.invertedindex.index.ShardingHash;
+import org.junit.Test;
+
+public class ShardBalanceAnalyzerTest {
+
+    @Test
+    public void testUnsaltedHashUnchanged() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ShardingHash.hashInt(i), ShardingHash.hashInt(i, 0));
+        }
+    }
+
+    @Test
+    public void testRecommendSalt() {
+        // a few hot timestamps among many cold ones
+        int n = 1000;
+        int[] ids = new int[n];
+        long[] records = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            records[i] = i % 100 == 0 ? 5000 : 10;
+        }
+        ShardBalanceAnalyzer analyzer = new ShardBalanceAnalyzer(ids, records, n, 100);
+
+        ShardBalanceAnalyzer.Result current = analyzer.analyze((short) 8, 0);
+        ShardBalanceAnalyzer.Result recommended = analyzer.recommend((short) 8, 64);
+        assertEquals(8, recommended.getSharding());
+        assertTrue(recommended.getMaxShardRecords() <= current.getMaxShardRecords());
+        assertTrue(recommended.getImbalance() >= 1.0);
+
+        long total = 0;
+        for (long r : recommended.getShardRecords()) {
+            total += r;
+        }
+        assertEquals(analyzer.getTotalRecords(), total);
+    }
+
+    @Test
+    public void testSmallDataUsesFewerShards() {
+        int[] ids = { 1, 2, 3, 4, 5 };
+        long[] records = { 30, 30, 30, 30, 30 };
+        ShardBalanceAnalyzer analyzer = new ShardBalanceAnalyzer(ids, records, ids.length, 100);
+
+        // 150 records fill 2 slices, more shards would only hold partial slices
+        assertEquals(2, analyzer.recommend((short) 8, 16).getSharding());
+        assertEquals(1.0, analyzer.analyze((short) 1, 0).getImbalance(), 0.0001);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.invertedindex.streaming;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.invertedindex.IIInstance;
+import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.index.Slice;
+import org.apache.kylin.invertedindex.index.SliceBuilder;
+import org.apache.kylin.invertedindex.index.TableRecord;
+import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class IIStreamTailTest extends LocalFileMetadataTestCase {
+
+    IIStreamTail tail;
+    Slice first;
+    Slice second;
+    ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+        IIInstance ii = IIManager.getInstance(getTestConfig()).getII("test_kylin_ii");
+        TableRecordInfo info = new TableRecordInfo(ii.getFirstSegment());
+        List<String> lines = FileUtils.readLines(new File(LOCALMETA_TEST_DATA, "data/flatten_data_for_ii.csv"), "UTF-8");
+        this.first = buildSlice(info, lines.get(0));
+        this.second = buildSlice(info, lines.get(1));
+
+        this.tail = new IIStreamTail();
+        this.tail.add(Lists.newArrayList(first, second));
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void after() throws Exception {
+        executor.shutdownNow();
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testFlushWaitsForPin() throws Exception {
+        assertEquals(2, tail.pin().size());
+
+        Future<?> flush = beginFlush(60000);
+        assertBlocked(flush);
+
+        tail.release();
+        flush.get(10, TimeUnit.SECONDS);
+        tail.endFlush(Collections.singletonList(first));
+        assertEquals(Collections.singletonList(second), tail.pin());
+        tail.release();
+    }
+
+    @Test
+    public void testFlushWaitIsBounded() throws Exception {
+        tail.pin();
+
+        long start = System.currentTimeMillis();
+        tail.beginFlush(200);
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        tail.endFlush(Collections.<Slice> emptyList());
+        tail.release();
+    }
+
+    @Test
+    public void testPinWhileFlushWaits() throws Exception {
+        tail.pin();
+        Future<?> flush = beginFlush(60000);
+        assertBlocked(flush);
+
+        // a waiting flush does not block new queries
+        Future<List<Slice>> pin = pin();
+        assertEquals(2, pin.get(10, TimeUnit.SECONDS).size());
+
+        tail.release();
+        tail.release();
+        flush.get(10, TimeUnit.SECONDS);
+        tail.endFlush(Collections.<Slice> emptyList());
+    }
+
+    @Test
+    public void testPinWaitsForWrite() throws Exception {
+        tail.beginFlush(0);
+
+        Future<List<Slice>> pin = pin();
+        assertBlocked(pin);
+
+        tail.endFlush(Lists.newArrayList(first, second));
+        assertTrue(pin.get(10, TimeUnit.SECONDS).isEmpty());
+        tail.release();
+    }
+
+    private Future<?> beginFlush(final long maxWaitMs) {
+        return executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                tail.beginFlush(maxWaitMs);
+                return null;
+            }
+        });
+    }
+
+    private Future<List<Slice>> pin() {
+        return executor.submit(new Callable<List<Slice>>() {
+            @Override
+            public List<Slice> call() throws Exception {
+                return tail.pin();
+            }
+        });
+    }
+
+    private void assertBlocked(Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            fail("expected to block");
+        } catch (TimeoutException e) {
+            // expected
+        }
+    }
+
+    private Slice buildSlice(TableRecordInfo info, String line) {
+        TableRecord rec = info.createTableRecord();
+        String[] fields = line.split(",");
+        for (int col = 0; col < fields.length; col++) {
+            rec.setValueString(col, fields[col]);
+        }
+        SliceBuilder builder = new SliceBuilder(info, rec.getShard());
+        builder.append(rec);
+        return builder.seal();
+    }
+}
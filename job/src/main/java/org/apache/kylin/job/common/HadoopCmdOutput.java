@@ -25,6 +25,7 @@ import java.util.Map;
 import org.apache.hadoop.mapreduce.Counters;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.TaskCounter;
+import org.apache.kylin.job.constant.BatchConstants;
 import org.apache.kylin.job.constant.ExecutableConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +69,7 @@ public class HadoopCmdOutput {
     private String mapInputRecords;
     private String hdfsBytesWritten;
     private String hdfsBytesRead;
+    private String hfileBytesWritten;
 
     public String getMapInputRecords() {
         return mapInputRecords;
@@ -81,6 +83,10 @@ public class HadoopCmdOutput {
         return hdfsBytesRead;
     }
 
+    public String getHFileBytesWritten() {
+        return hfileBytesWritten;
+    }
+
     public void updateJobCounter() {
         try {
             Counters counters = job.getCounters();
@@ -96,6 +102,7 @@ public class HadoopCmdOutput {
             mapInputRecords = String.valueOf(counters.findCounter(TaskCounter.MAP_INPUT_RECORDS).getValue());
             hdfsBytesWritten = String.valueOf(counters.findCounter("FileSystemCounters", "HDFS_BYTES_WRITTEN").getValue());
             hdfsBytesRead = String.valueOf(counters.findCounter("FileSystemCounters", "HDFS_BYTES_READ").getValue());
+            hfileBytesWritten = String.valueOf(counters.findCounter(BatchConstants.MAPREDUCE_COUNTER_GROUP_NAME, BatchConstants.COUNTER_HFILE_BYTES_WRITTEN).getValue());
         } catch (Exception e) {
             log.error(e.getLocalizedMessage(), e);
             output.append(e.getLocalizedMessage());
@@ -103,6 +110,7 @@ public class HadoopCmdOutput {
             mapInputRecords = "0";
             hdfsBytesWritten = "0";
             hdfsBytesRead = "0";
+            hfileBytesWritten = "0";
         }
     }
 
@@ -151,6 +151,7 @@ public class MapReduceExecutable extends AbstractExecutable {
                     info.put(ExecutableConstants.SOURCE_RECORDS_COUNT, hadoopCmdOutput.getMapInputRecords());
                     info.put(ExecutableConstants.SOURCE_RECORDS_SIZE, hadoopCmdOutput.getHdfsBytesRead());
                     info.put(ExecutableConstants.HDFS_BYTES_WRITTEN, hadoopCmdOutput.getHdfsBytesWritten());
+                    info.put(ExecutableConstants.HFILE_BYTES_WRITTEN, hadoopCmdOutput.getHFileBytesWritten());
                     executableManager.addJobInfo(getId(), info);
 
                     if (status == JobStepStatusEnum.FINISHED) {
@@ -37,9 +37,17 @@ public interface BatchConstants {
     String TABLE_NAME = "table.name";
     String TABLE_COLUMNS = "table.columns";
 
+    String CFG_FACT_DISTINCT_COLUMN_SHARDS = "fact.distinct.column.shards";
+
+    String CFG_HFILE_OUTPUT_PATH = "cube.hfile.output.path";
+    String CFG_HFILE_FAMILY_PREFIX = "cube.hfile.family.";
+    String CFG_REGION_SPLIT_KEYS = "cube.region.split.keys";
+    String CFG_CUBOID_STATS_PATH = "cube.cuboid.stats.path";
+
     String CFG_CUBE_INTERMEDIATE_TABLE_ROW_DELIMITER = "cube.intermediate.table.row.delimiter";
 
     String MAPREDUCE_COUNTER_GROUP_NAME = "Cube Builder";
+    String COUNTER_HFILE_BYTES_WRITTEN = "HFile bytes written";
 
     String MAPPER_SAMPLE_NUMBER = "mapper.sample.number";
     String REGION_NUMBER = "region.number";
@@ -31,6 +31,7 @@ public final class ExecutableConstants {
     public static final String YARN_APP_URL = "yarn_application_tracking_url";
     public static final String MR_JOB_ID = "mr_job_id";
     public static final String HDFS_BYTES_WRITTEN = "hdfs_bytes_written";
+    public static final String HFILE_BYTES_WRITTEN = "hfile_bytes_written";
     public static final String SOURCE_RECORDS_COUNT = "source_records_count";
     public static final String SOURCE_RECORDS_SIZE = "source_records_size";
     public static final String GLOBAL_LISTENER_NAME = "ChainListener";
@@ -46,7 +47,9 @@ public final class ExecutableConstants {
     public static final String STEP_NAME_FACT_DISTINCT_COLUMNS = "Extract Fact Table Distinct Columns";
     public static final String STEP_NAME_BUILD_BASE_CUBOID = "Build Base Cuboid Data";
     public static final String STEP_NAME_BUILD_N_D_CUBOID = "Build N-Dimension Cuboid Data";
+    public static final String STEP_NAME_BUILD_IN_MEM_CUBE = "Build Cube In-Memory";
     public static final String STEP_NAME_GET_CUBOID_KEY_DISTRIBUTION = "Calculate HTable Region Splits";
+    public static final String STEP_NAME_ESTIMATE_REGION_SPLITS = "Estimate HTable Region Splits";
     public static final String STEP_NAME_CREATE_HBASE_TABLE = "Create HTable";
     public static final String STEP_NAME_CONVERT_CUBOID_TO_HFILE = "Convert Cuboid Data to HFile";
     public static final String STEP_NAME_BULK_LOAD_HFILE = "Load HFile to HBase Table";
@@ -56,6 +59,7 @@ public final class ExecutableConstants {
     public static final String STEP_NAME_GARBAGE_COLLECTION = "Garbage Collection";
 
     public static final String STEP_NAME_BUILD_II = "Build Inverted Index";
+    public static final String STEP_NAME_ANALYZE_II_SHARDS = "Analyze Inverted Index Shard Balance";
     public static final String STEP_NAME_CONVERT_II_TO_HFILE = "Convert Inverted Index Data to HFile";
 
     public static final String PROP_ENGINE_CONTEXT = "jobengineConfig";
@@ -28,6 +28,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.kylin.common.util.HadoopUtil;
 import org.apache.kylin.common.util.Pair;
 import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.CuboidCLI;
 import org.apache.kylin.job.AbstractJobBuilder;
 import org.apache.kylin.job.common.HadoopShellExecutable;
 import org.apache.kylin.job.common.MapReduceExecutable;
@@ -44,6 +45,7 @@ import org.apache.kylin.job.hadoop.dict.CreateDictionaryJob;
 import org.apache.kylin.job.hadoop.hbase.BulkLoadJob;
 import org.apache.kylin.job.hadoop.hbase.CreateHTableJob;
 import org.apache.kylin.job.hadoop.hive.CubeJoinedFlatTableDesc;
+import org.apache.kylin.metadata.model.SegmentStatusEnum;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
@@ -66,16 +68,44 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         final List<String> toDeletePathsOnHadoopCluster = Lists.newArrayList();
         final List<String> toDeletePathsOnHBaseCluster = Lists.newArrayList();
 
-        // cubing
-        Pair<AbstractExecutable, AbstractExecutable> twoSteps = addCubingSteps(seg, cuboidRootPath, result, toDeletePathsOnHadoopCluster);
-        String intermediateHiveTableStepId = twoSteps.getFirst().getId();
-        String baseCuboidStepId = twoSteps.getSecond().getId();
-
-        // convert htable
-        AbstractExecutable convertCuboidToHfileStep = addHTableSteps(seg, cuboidRootPath, result);
+        final String intermediateHiveTableStepId;
+        final String baseCuboidStepId;
+        final String convertToHFileStepId;
+        final boolean directHFile;
+        if (isInMemCubingApplicable(seg)) {
+            // cubing within the job engine, for small segments
+            AbstractExecutable inMemCubingStep = addInMemCubingSteps(seg, result, toDeletePathsOnHadoopCluster);
+            intermediateHiveTableStepId = inMemCubingStep.getId();
+            baseCuboidStepId = inMemCubingStep.getId();
+            convertToHFileStepId = inMemCubingStep.getId();
+            directHFile = true;
+        } else if (engineConfig.getConfig().isCubingDirectHFileEnabled()) {
+            // cubing, with cuboid reducers writing hfiles directly
+            List<String> cuboidStepIds = Lists.newArrayList();
+            Pair<AbstractExecutable, AbstractExecutable> twoSteps = addCubingSteps(seg, cuboidRootPath, result, toDeletePathsOnHadoopCluster, cuboidStepIds);
+            intermediateHiveTableStepId = twoSteps.getFirst().getId();
+            baseCuboidStepId = twoSteps.getSecond().getId();
+
+            // bulk load step
+            result.addTask(createBulkLoadStep(seg, jobId));
+            convertToHFileStepId = StringUtils.join(cuboidStepIds, ",");
+            directHFile = true;
+        } else {
+            // cubing
+            Pair<AbstractExecutable, AbstractExecutable> twoSteps = addCubingSteps(seg, cuboidRootPath, result, toDeletePathsOnHadoopCluster);
+            intermediateHiveTableStepId = twoSteps.getFirst().getId();
+            baseCuboidStepId = twoSteps.getSecond().getId();
+
+            // convert htable
+            AbstractExecutable convertCuboidToHfileStep = addHTableSteps(seg, cuboidRootPath, result);
+            convertToHFileStepId = convertCuboidToHfileStep.getId();
+            directHFile = false;
+        }
 
         // update cube info
-        result.addTask(createUpdateCubeInfoAfterBuildStep(seg, intermediateHiveTableStepId, baseCuboidStepId, convertCuboidToHfileStep.getId(), jobId));
+        UpdateCubeInfoAfterBuildStep updateCubeInfoStep = createUpdateCubeInfoAfterBuildStep(seg, intermediateHiveTableStepId, baseCuboidStepId, convertToHFileStepId, jobId);
+        updateCubeInfoStep.setDirectHFile(directHFile);
+        result.addTask(updateCubeInfoStep);
 
         final CubeJoinedFlatTableDesc intermediateTableDesc = new CubeJoinedFlatTableDesc(seg.getCubeDesc(), seg);
         final String hiveIntermediateTable = this.getIntermediateHiveTableName(intermediateTableDesc, jobId);
@@ -179,6 +209,15 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
     }
 
     Pair<AbstractExecutable, AbstractExecutable> addCubingSteps(CubeSegment seg, String cuboidRootPath, CubingJob result, List<String> toDeletePaths) {
+        return addCubingSteps(seg, cuboidRootPath, result, toDeletePaths, null);
+    }
+
+    /**
+     * @param directHFileStepIds
+     *            if not null, the htable is created before cubing and the cuboid
+     *            steps write hfiles directly; their step ids are added to the list
+     */
+    private Pair<AbstractExecutable, AbstractExecutable> addCubingSteps(CubeSegment seg, String cuboidRootPath, CubingJob result, List<String> toDeletePaths, List<String> directHFileStepIds) {
         final int groupRowkeyColumnsCount = seg.getCubeDesc().getRowkey().getNCuboidBuildLevels();
         final int totalRowkeyColumnsCount = seg.getCubeDesc().getRowkey().getRowKeyColumns().length;
 
@@ -192,18 +231,35 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         final AbstractExecutable intermediateHiveTableStep = createIntermediateHiveTableStep(intermediateTableDesc, jobId);
         result.addTask(intermediateHiveTableStep);
 
-        result.addTask(createFactDistinctColumnsStep(seg, intermediateHiveTableName, jobId));
+        final MapReduceExecutable factDistinctColumnsStep = createFactDistinctColumnsStep(seg, intermediateHiveTableName, jobId);
+        result.addTask(factDistinctColumnsStep);
 
         result.addTask(createBuildDictionaryStep(seg, factDistinctColumnsPath));
 
+        final boolean directHFile = directHFileStepIds != null;
+        if (directHFile) {
+            result.addTask(createEstimateRegionSplitsStep(seg, factDistinctColumnsStep.getId(), jobId));
+            // create htable step
+            result.addTask(createCreateHTableStep(seg, jobId));
+        }
+
         // base cuboid step
-        final MapReduceExecutable baseCuboidStep = createBaseCuboidStep(seg, intermediateHiveTableLocation, cuboidOutputTempPath);
+        final MapReduceExecutable baseCuboidStep = createBaseCuboidStep(seg, intermediateHiveTableLocation, cuboidOutputTempPath, jobId);
         result.addTask(baseCuboidStep);
+        if (directHFile) {
+            appendHFileOutputParameters(baseCuboidStep, seg, jobId);
+            directHFileStepIds.add(baseCuboidStep.getId());
+        }
 
         // n dim cuboid steps
         for (int i = 1; i <= groupRowkeyColumnsCount; i++) {
             int dimNum = totalRowkeyColumnsCount - i;
-            result.addTask(createNDimensionCuboidStep(seg, cuboidOutputTempPath, dimNum, totalRowkeyColumnsCount));
+            final MapReduceExecutable ndCuboidStep = createNDimensionCuboidStep(seg, cuboidOutputTempPath, dimNum, totalRowkeyColumnsCount, jobId);
+            result.addTask(ndCuboidStep);
+            if (directHFile) {
+                appendHFileOutputParameters(ndCuboidStep, seg, jobId);
+                directHFileStepIds.add(ndCuboidStep.getId());
+            }
         }
 
         toDeletePaths.add(intermediateHiveTableLocation);
@@ -212,6 +268,63 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         return new Pair<AbstractExecutable, AbstractExecutable>(intermediateHiveTableStep, baseCuboidStep);
     }
 
+    /**
+     * Whether a segment is small enough to build in memory, judging by the input
+     * size of built segments in proportion to date ranges.
+     */
+    private boolean isInMemCubingApplicable(CubeSegment seg) {
+        long maxInputMB = engineConfig.getConfig().getInMemCubingMaxInputMB();
+        if (maxInputMB <= 0) {
+            return false;
+        }
+        if (CuboidCLI.mathCalcCuboidCount(seg.getCubeDesc()) > engineConfig.getConfig().getInMemCubingMaxCuboids()) {
+            return false;
+        }
+
+        long builtBytes = 0, builtRange = 0;
+        for (CubeSegment built : seg.getCubeInstance().getSegments(SegmentStatusEnum.READY)) {
+            long range = built.getDateRangeEnd() - built.getDateRangeStart();
+            if (built.getInputRecordsSize() > 0 && range > 0) {
+                builtBytes += built.getInputRecordsSize();
+                builtRange += range;
+            }
+        }
+        long range = seg.getDateRangeEnd() - seg.getDateRangeStart();
+        if (builtRange == 0 || range <= 0) {
+            return false;
+        }
+        double estimatedMB = (double) builtBytes / builtRange * range / (1024 * 1024);
+        return estimatedMB <= maxInputMB;
+    }
+
+    private AbstractExecutable addInMemCubingSteps(CubeSegment seg, CubingJob result, List<String> toDeletePaths) {
+        final String jobId = result.getId();
+        final CubeJoinedFlatTableDesc intermediateTableDesc = new CubeJoinedFlatTableDesc(seg.getCubeDesc(), seg);
+        final String intermediateHiveTableLocation = getIntermediateHiveTableLocation(intermediateTableDesc, jobId);
+        final String factDistinctColumnsPath = getFactDistinctColumnsPath(seg, jobId);
+
+        result.addTask(createIntermediateHiveTableStep(intermediateTableDesc, jobId));
+        // no region split is given, the htable starts with a single region
+        result.addTask(createCreateHTableStep(seg, jobId));
+
+        InMemCubingStep inMemCubingStep = new InMemCubingStep();
+        inMemCubingStep.setName(ExecutableConstants.STEP_NAME_BUILD_IN_MEM_CUBE);
+        inMemCubingStep.setCubeName(seg.getCubeInstance().getName());
+        inMemCubingStep.setSegmentId(seg.getUuid());
+        inMemCubingStep.setFlatTablePath(intermediateHiveTableLocation);
+        inMemCubingStep.setFactDistinctColumnsPath(factDistinctColumnsPath);
+        inMemCubingStep.setHFilePath(getHFilePath(seg, jobId));
+        inMemCubingStep.setHTableName(seg.getStorageLocationIdentifier());
+        inMemCubingStep.setCuboidStatsPath(getCuboidStatsPath(seg, jobId));
+        result.addTask(inMemCubingStep);
+
+        result.addTask(createBulkLoadStep(seg, jobId));
+
+        toDeletePaths.add(intermediateHiveTableLocation);
+        toDeletePaths.add(factDistinctColumnsPath);
+        return inMemCubingStep;
+    }
+
     AbstractExecutable addHTableSteps(CubeSegment seg, String cuboidRootPath, CubingJob result) {
         final String jobId = result.getId();
         final String cuboidPath = cuboidRootPath + "*";
@@ -283,6 +396,11 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         return getJobWorkingDir(jobUuid) + "/" + seg.getCubeInstance().getName() + "/fact_distinct_columns";
     }
 
+    // not under the cuboid folder, whose content is all taken as cuboid data
+    private String getCuboidStatsPath(CubeSegment seg, String jobId) {
+        return getJobWorkingDir(jobId) + "/" + seg.getCubeInstance().getName() + "/cuboid_stats/" + seg.getUuid();
+    }
+
     private String getHFilePath(CubeSegment seg, String jobId) {
         return HadoopUtil.makeQualifiedPathInHBaseCluster(getJobWorkingDir(jobId) + "/" + seg.getCubeInstance().getName() + "/hfile/");
     }
@@ -316,7 +434,7 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         return buildDictionaryStep;
     }
 
-    private MapReduceExecutable createBaseCuboidStep(CubeSegment seg, String intermediateHiveTableLocation, String[] cuboidOutputTempPath) {
+    private MapReduceExecutable createBaseCuboidStep(CubeSegment seg, String intermediateHiveTableLocation, String[] cuboidOutputTempPath, String jobId) {
         // base cuboid job
         MapReduceExecutable baseCuboidStep = new MapReduceExecutable();
 
@@ -331,13 +449,14 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         appendExecCmdParameters(cmd, "output", cuboidOutputTempPath[0]);
         appendExecCmdParameters(cmd, "jobname", "Kylin_Base_Cuboid_Builder_" + seg.getCubeInstance().getName());
         appendExecCmdParameters(cmd, "level", "0");
+        appendExecCmdParameters(cmd, "cuboidstats", getCuboidStatsPath(seg, jobId));
 
         baseCuboidStep.setMapReduceParams(cmd.toString());
         baseCuboidStep.setMapReduceJobClass(BaseCuboidJob.class);
         return baseCuboidStep;
     }
 
-    private MapReduceExecutable createNDimensionCuboidStep(CubeSegment seg, String[] cuboidOutputTempPath, int dimNum, int totalRowkeyColumnCount) {
+    private MapReduceExecutable createNDimensionCuboidStep(CubeSegment seg, String[] cuboidOutputTempPath, int dimNum, int totalRowkeyColumnCount, String jobId) {
         // ND cuboid job
         MapReduceExecutable ndCuboidStep = new MapReduceExecutable();
 
@@ -351,6 +470,7 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         appendExecCmdParameters(cmd, "output", cuboidOutputTempPath[totalRowkeyColumnCount - dimNum]);
         appendExecCmdParameters(cmd, "jobname", "Kylin_ND-Cuboid_Builder_" + seg.getCubeInstance().getName() + "_Step");
         appendExecCmdParameters(cmd, "level", "" + (totalRowkeyColumnCount - dimNum));
+        appendExecCmdParameters(cmd, "cuboidstats", getCuboidStatsPath(seg, jobId));
 
         ndCuboidStep.setMapReduceParams(cmd.toString());
         ndCuboidStep.setMapReduceJobClass(NDCuboidJob.class);
@@ -373,6 +493,23 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         return rowkeyDistributionStep;
     }
 
+    private EstimateRegionSplitsStep createEstimateRegionSplitsStep(CubeSegment seg, String sourceRecordsStepId, String jobId) {
+        EstimateRegionSplitsStep result = new EstimateRegionSplitsStep();
+        result.setName(ExecutableConstants.STEP_NAME_ESTIMATE_REGION_SPLITS);
+        result.setCubeName(seg.getCubeInstance().getName());
+        result.setSegmentId(seg.getUuid());
+        result.setSourceRecordsStepId(sourceRecordsStepId);
+        result.setOutputPath(getRowkeyDistributionOutputPath(seg, jobId));
+        return result;
+    }
+
+    private void appendHFileOutputParameters(MapReduceExecutable cuboidStep, CubeSegment seg, String jobId) {
+        StringBuilder cmd = new StringBuilder(cuboidStep.getMapReduceParams());
+        appendExecCmdParameters(cmd, "hfileoutput", getHFilePath(seg, jobId));
+        appendExecCmdParameters(cmd, "htablename", seg.getStorageLocationIdentifier());
+        cuboidStep.setMapReduceParams(cmd.toString());
+    }
+
     private HadoopShellExecutable createCreateHTableStep(CubeSegment seg, String jobId) {
         HadoopShellExecutable createHtableStep = new HadoopShellExecutable();
         createHtableStep.setName(ExecutableConstants.STEP_NAME_CREATE_HBASE_TABLE);
@@ -430,6 +567,7 @@ public final class CubingJobBuilder extends AbstractJobBuilder {
         updateCubeInfoStep.setBaseCuboidStepId(baseCuboidStepId);
         updateCubeInfoStep.setConvertToHFileStepId(convertToHFileStepId);
         updateCubeInfoStep.setCubingJobId(jobId);
+        updateCubeInfoStep.setCuboidStatsPath(getCuboidStatsPath(seg, jobId));
         return updateCubeInfoStep;
     }
 
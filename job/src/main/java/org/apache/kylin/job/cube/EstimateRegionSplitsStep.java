@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.cube;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.BytesUtil;
+import org.apache.kylin.common.util.HadoopUtil;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.cube.cuboid.CuboidScheduler;
+import org.apache.kylin.cube.kv.RowConstants;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.dict.Dictionary;
+import org.apache.kylin.job.constant.ExecutableConstants;
+import org.apache.kylin.job.exception.ExecuteException;
+import org.apache.kylin.job.execution.AbstractExecutable;
+import org.apache.kylin.job.execution.ExecutableContext;
+import org.apache.kylin.job.execution.ExecuteResult;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+
+/**
+ * Estimates the HTable region split points before any cuboid is built, so
+ * that cuboid reducers can be partitioned by region and write HFiles directly.
+ * <p>
+ * The size of each cuboid is estimated from the dictionary cardinalities and
+ * the source record count. Splits fall on cuboid boundaries, or inside a large
+ * cuboid by even ranges of its first dictionary encoded column. The result is
+ * written in the same format as RangeKeyDistributionJob output, for
+ * CreateHTableJob to consume.
+ */
+public class EstimateRegionSplitsStep extends AbstractExecutable {
+
+    private static final long ONE_GIGA_BYTES = 1024L * 1024L * 1024L;
+
+    private static final String CUBE_NAME = "cubeName";
+    private static final String SEGMENT_ID = "segmentId";
+    private static final String SOURCE_RECORDS_STEP_ID = "sourceRecordsStepId";
+    private static final String OUTPUT_PATH = "outputPath";
+
+    public EstimateRegionSplitsStep() {
+        super();
+    }
+
+    @Override
+    protected ExecuteResult doWork(ExecutableContext context) throws ExecuteException {
+        KylinConfig config = context.getConfig();
+        final CubeInstance cube = CubeManager.getInstance(config).getCube(getCubeName());
+        final CubeSegment segment = cube.getSegmentById(getSegmentId());
+
+        String sourceRecords = executableManager.getOutput(getSourceRecordsStepId()).getExtra().get(ExecutableConstants.SOURCE_RECORDS_COUNT);
+        long sourceCount = StringUtils.isNotEmpty(sourceRecords) ? Long.parseLong(sourceRecords) : 0;
+        if (sourceCount <= 0) {
+            logger.warn("Can not get source record count, HTable will be one region");
+        }
+
+        try {
+            int regionCut = config.getHBaseRegionCut(cube.getDescriptor().getModel().getCapacity().toString());
+            List<byte[]> splitKeys = estimateSplitKeys(segment, sourceCount, regionCut, config.getHBaseRegionCountMin(), config.getHBaseRegionCountMax());
+            writeSplitKeys(splitKeys, new Path(getOutputPath(), "part-r-00000"));
+            return new ExecuteResult(ExecuteResult.State.SUCCEED, (splitKeys.size() + 1) + " regions estimated");
+        } catch (IOException e) {
+            logger.error("fail to estimate region splits", e);
+            return new ExecuteResult(ExecuteResult.State.ERROR, e.getLocalizedMessage());
+        }
+    }
+
+    static List<byte[]> estimateSplitKeys(CubeSegment segment, long sourceCount, int regionCutGB, int minRegionCount, int maxRegionCount) {
+        CubeDesc cubeDesc = segment.getCubeDesc();
+        List<Long> cuboidIds = getAllCuboidIds(cubeDesc);
+        // in the order of row keys
+        Collections.sort(cuboidIds);
+
+        int measureSpace = 0;
+        for (MeasureDesc measure : cubeDesc.getMeasures()) {
+            measureSpace += measure.getFunction().getReturnDataType().getSpaceEstimate();
+        }
+
+        long[] cuboidBytes = new long[cuboidIds.size()];
+        long totalBytes = 0;
+        for (int i = 0; i < cuboidIds.size(); i++) {
+            Cuboid cuboid = Cuboid.findById(cubeDesc, cuboidIds.get(i));
+            long rows = 1;
+            int rowBytes = RowConstants.ROWKEY_CUBOIDID_LEN + measureSpace;
+            for (TblColRef col : cuboid.getColumns()) {
+                rows = Math.min(sourceCount, rows * getCardinality(segment, col, sourceCount));
+                rowBytes += segment.getColumnLength(col);
+            }
+            cuboidBytes[i] = rows * rowBytes;
+            totalBytes += cuboidBytes[i];
+        }
+
+        int nRegion = Math.round((float) totalBytes / ONE_GIGA_BYTES / regionCutGB);
+        nRegion = Math.max(minRegionCount, nRegion);
+        nRegion = Math.min(maxRegionCount, nRegion);
+        logger.info("Estimated cube size " + totalBytes + " bytes, " + nRegion + " regions");
+
+        List<byte[]> splitKeys = new ArrayList<byte[]>();
+        if (nRegion <= 1 || totalBytes == 0) {
+            return splitKeys;
+        }
+
+        long bytesPerRegion = totalBytes / nRegion;
+        long boundary = bytesPerRegion;
+        long cuboidStart = 0;
+        for (int i = 0; i < cuboidIds.size() && splitKeys.size() < nRegion - 1; i++) {
+            long cuboidEnd = cuboidStart + cuboidBytes[i];
+            while (boundary < cuboidEnd && splitKeys.size() < nRegion - 1) {
+                byte[] key = makeSplitKey(segment, cuboidIds.get(i), (double) (boundary - cuboidStart) / cuboidBytes[i]);
+                if (splitKeys.isEmpty() || Bytes.compareTo(key, splitKeys.get(splitKeys.size() - 1)) > 0) {
+                    splitKeys.add(key);
+                }
+                boundary += bytesPerRegion;
+            }
+            cuboidStart = cuboidEnd;
+        }
+        return splitKeys;
+    }
+
+    private static List<Long> getAllCuboidIds(CubeDesc cubeDesc) {
+        CuboidScheduler scheduler = new CuboidScheduler(cubeDesc);
+        List<Long> result = new ArrayList<Long>();
+        LinkedList<Long> queue = new LinkedList<Long>();
+        queue.push(Cuboid.getBaseCuboidId(cubeDesc));
+        while (!queue.isEmpty()) {
+            long cuboidId = queue.pop();
+            result.add(cuboidId);
+            queue.addAll(scheduler.getSpanningCuboid(cuboidId));
+        }
+        return result;
+    }
+
+    private static long getCardinality(CubeSegment segment, TblColRef col, long sourceCount) {
+        Dictionary<?> dict = segment.getDictionary(col);
+        if (dict != null) {
+            return Math.max(1, dict.getMaxId() - dict.getMinId() + 1);
+        }
+        int length = segment.getColumnLength(col);
+        return length >= 8 ? sourceCount : Math.min(sourceCount, 1L << (8 * length));
+    }
+
+    /**
+     * The split key at the given fraction of a cuboid. Splitting inside the
+     * cuboid assumes rows are even across the ID range of its first column.
+     */
+    private static byte[] makeSplitKey(CubeSegment segment, long cuboidId, double fraction) {
+        byte[] cuboidBytes = Bytes.toBytes(cuboidId);
+        List<TblColRef> columns = Cuboid.findById(segment.getCubeDesc(), cuboidId).getColumns();
+        Dictionary<?> dict = columns.isEmpty() ? null : segment.getDictionary(columns.get(0));
+        if (dict == null || fraction <= 0) {
+            return cuboidBytes;
+        }
+
+        int id = dict.getMinId() + (int) (fraction * (dict.getMaxId() - dict.getMinId() + 1));
+        byte[] key = new byte[cuboidBytes.length + dict.getSizeOfId()];
+        System.arraycopy(cuboidBytes, 0, key, 0, cuboidBytes.length);
+        BytesUtil.writeUnsigned(id, key, cuboidBytes.length, dict.getSizeOfId());
+        return key;
+    }
+
+    private static void writeSplitKeys(List<byte[]> splitKeys, Path path) throws IOException {
+        Configuration conf = HadoopUtil.getCurrentHBaseConfiguration();
+        FileSystem fs = path.getFileSystem(conf);
+        if (fs.exists(path.getParent())) {
+            fs.delete(path.getParent(), true);
+        }
+
+        SequenceFile.Writer writer = SequenceFile.createWriter(conf, SequenceFile.Writer.file(path), SequenceFile.Writer.keyClass(Text.class), SequenceFile.Writer.valueClass(LongWritable.class));
+        try {
+            for (int i = 0; i < splitKeys.size(); i++) {
+                writer.append(new Text(splitKeys.get(i)), new LongWritable(i + 1));
+            }
+        } finally {
+            IOUtils.closeStream(writer);
+        }
+        logger.info((splitKeys.size() + 1) + " regions estimated, written to " + path);
+    }
+
+    public void setCubeName(String cubeName) {
+        this.setParam(CUBE_NAME, cubeName);
+    }
+
+    private String getCubeName() {
+        return getParam(CUBE_NAME);
+    }
+
+    public void setSegmentId(String segmentId) {
+        this.setParam(SEGMENT_ID, segmentId);
+    }
+
+    private String getSegmentId() {
+        return getParam(SEGMENT_ID);
+    }
+
+    public void setSourceRecordsStepId(String id) {
+        this.setParam(SOURCE_RECORDS_STEP_ID, id);
+    }
+
+    private String getSourceRecordsStepId() {
+        return getParam(SOURCE_RECORDS_STEP_ID);
+    }
+
+    public void setOutputPath(String path) {
+        this.setParam(OUTPUT_PATH, path);
+    }
+
+    private String getOutputPath() {
+        return getParam(OUTPUT_PATH);
+    }
+}
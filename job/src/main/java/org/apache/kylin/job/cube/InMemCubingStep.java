@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.cube;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.BytesSplitter;
+import org.apache.kylin.common.util.HadoopUtil;
+import org.apache.kylin.common.util.SplittedBytes;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cli.DictionaryGeneratorCLI;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.dict.DictionaryManager;
+import org.apache.kylin.job.constant.BatchConstants;
+import org.apache.kylin.job.constant.ExecutableConstants;
+import org.apache.kylin.job.exception.ExecuteException;
+import org.apache.kylin.job.execution.AbstractExecutable;
+import org.apache.kylin.job.execution.ExecutableContext;
+import org.apache.kylin.job.execution.ExecuteResult;
+import org.apache.kylin.job.hadoop.cube.BaseCuboidMapper;
+import org.apache.kylin.job.hadoop.cube.CuboidHFileWriter;
+import org.apache.kylin.job.hadoop.cube.CuboidRowCounts;
+import org.apache.kylin.job.hadoop.cube.FactDistinctColumnsMapper;
+import org.apache.kylin.job.hadoop.hive.CubeJoinedFlatTableDesc;
+import org.apache.kylin.job.inmemcubing.InMemCubeBuilder;
+import org.apache.kylin.metadata.model.TblColRef;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Builds a small segment within the job engine process, instead of the fact
+ * distinct columns, dictionary, cuboid and HFile MapReduce steps. The flat
+ * table is read once into memory, dictionaries are built from it, then all
+ * cuboids are computed by InMemCubeBuilder and written as HFiles for bulk load.
+ */
+public class InMemCubingStep extends AbstractExecutable {
+
+    private static final String CUBE_NAME = "cubeName";
+    private static final String SEGMENT_ID = "segmentId";
+    private static final String FLAT_TABLE_PATH = "flatTablePath";
+    private static final String FACT_DISTINCT_COLUMNS_PATH = "factDistinctColumnsPath";
+    private static final String HFILE_PATH = "hfilePath";
+    private static final String HTABLE_NAME = "htableName";
+    private static final String CUBOID_STATS_PATH = "cuboidStatsPath";
+
+    public InMemCubingStep() {
+        super();
+    }
+
+    @Override
+    protected ExecuteResult doWork(ExecutableContext context) throws ExecuteException {
+        KylinConfig config = context.getConfig();
+        CubeManager cubeMgr = CubeManager.getInstance(config);
+
+        try {
+            long[] sourceSize = new long[1];
+            InMemCubeBuilder builder = buildBaseCuboid(config, sourceSize);
+            builder.build(config.getInMemCubingThreads());
+
+            // cuboids are released as they are written
+            writeCuboidRowCounts(builder);
+            CubeSegment segment = cubeMgr.getCube(getCubeName()).getSegmentById(getSegmentId());
+            long hfileBytes = writeHFiles(segment, builder);
+
+            Map<String, String> info = Maps.newHashMap();
+            info.put(ExecutableConstants.SOURCE_RECORDS_COUNT, String.valueOf(builder.getRowCount()));
+            info.put(ExecutableConstants.SOURCE_RECORDS_SIZE, String.valueOf(sourceSize[0]));
+            info.put(ExecutableConstants.HFILE_BYTES_WRITTEN, String.valueOf(hfileBytes));
+            executableManager.addJobInfo(getId(), info);
+
+            return new ExecuteResult(ExecuteResult.State.SUCCEED, "succeed");
+        } catch (IOException e) {
+            logger.error("fail to build cube in memory", e);
+            return new ExecuteResult(ExecuteResult.State.ERROR, e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Read the flat table, build the dictionaries and aggregate the rows into
+     * the base cuboid. The flat table rows are not referenced once this returns.
+     */
+    private InMemCubeBuilder buildBaseCuboid(KylinConfig config, long[] sourceSize) throws IOException {
+        CubeManager cubeMgr = CubeManager.getInstance(config);
+        List<byte[]> rows = readFlatTable(new Path(getFlatTablePath()), sourceSize);
+        logger.info("Read " + rows.size() + " rows, " + sourceSize[0] + " bytes from " + getFlatTablePath());
+
+        CubeSegment segment = cubeMgr.getCube(getCubeName()).getSegmentById(getSegmentId());
+        writeFactDistinctColumns(segment, rows, config);
+        DictionaryGeneratorCLI.processSegment(config, getCubeName(), segment.getName(), getFactDistinctColumnsPath());
+
+        // reload for the new dictionaries
+        segment = cubeMgr.getCube(getCubeName()).getSegmentById(getSegmentId());
+        InMemCubeBuilder builder = new InMemCubeBuilder(segment);
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            byte[] row = rows.set(i, null);
+            builder.addRow(row, row.length, (byte) BatchConstants.INTERMEDIATE_TABLE_ROW_DELIMITER);
+        }
+        return builder;
+    }
+
+    private List<byte[]> readFlatTable(Path flatTablePath, long[] sourceSize) throws IOException {
+        Configuration conf = HadoopUtil.getCurrentConfiguration();
+        FileSystem fs = flatTablePath.getFileSystem(conf);
+        List<byte[]> rows = new ArrayList<byte[]>();
+        for (FileStatus file : fs.listStatus(flatTablePath)) {
+            String name = file.getPath().getName();
+            if (file.isDirectory() || name.startsWith("_") || name.startsWith(".")) {
+                continue;
+            }
+            sourceSize[0] += file.getLen();
+
+            SequenceFile.Reader reader = new SequenceFile.Reader(conf, SequenceFile.Reader.file(file.getPath()));
+            try {
+                Writable key = (Writable) ReflectionUtils.newInstance(reader.getKeyClass(), conf);
+                Text value = new Text();
+                while (reader.next(key, value)) {
+                    rows.add(value.copyBytes());
+                }
+            } finally {
+                IOUtils.closeStream(reader);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Write distinct values of the dictionary columns on fact table, in the
+     * same layout as FactDistinctColumnsJob.
+     */
+    private void writeFactDistinctColumns(CubeSegment segment, List<byte[]> rows, KylinConfig config) throws IOException {
+        int[] factDictCols = FactDistinctColumnsMapper.getFactDictColumnIndexes(segment.getCubeDesc(), DictionaryManager.getInstance(config));
+        int[] flatTableIndexes = new CubeJoinedFlatTableDesc(segment.getCubeDesc(), segment).getRowKeyColumnIndexes();
+        List<TblColRef> columns = Cuboid.findById(segment.getCubeDesc(), Cuboid.getBaseCuboidId(segment.getCubeDesc())).getColumns();
+
+        List<SortedSet<String>> values = new ArrayList<SortedSet<String>>();
+        for (int i = 0; i < factDictCols.length; i++) {
+            values.add(new TreeSet<String>());
+        }
+        BytesSplitter splitter = new BytesSplitter(200, 4096);
+        for (byte[] row : rows) {
+            splitter.split(row, row.length, (byte) BatchConstants.INTERMEDIATE_TABLE_ROW_DELIMITER);
+            for (int i = 0; i < factDictCols.length; i++) {
+                SplittedBytes split = splitter.getSplitBuffer(flatTableIndexes[factDictCols[i]]);
+                if (!Bytes.equals(split.value, 0, split.length, BaseCuboidMapper.HIVE_NULL, 0, BaseCuboidMapper.HIVE_NULL.length)) {
+                    values.get(i).add(Bytes.toString(split.value, 0, split.length));
+                }
+            }
+        }
+
+        Path outputPath = new Path(getFactDistinctColumnsPath());
+        FileSystem fs = HadoopUtil.getFileSystem(getFactDistinctColumnsPath());
+        fs.delete(outputPath, true);
+        for (int i = 0; i < factDictCols.length; i++) {
+            FSDataOutputStream out = fs.create(new Path(new Path(outputPath, columns.get(factDictCols[i]).getName()), "part-r-00000"));
+            try {
+                for (String v : values.get(i)) {
+                    out.write(Bytes.toBytes(v));
+                    out.write('\n');
+                }
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    private long writeHFiles(CubeSegment segment, InMemCubeBuilder builder) throws IOException {
+        Configuration conf = HBaseConfiguration.create(HadoopUtil.getCurrentHBaseConfiguration());
+        conf.set(BatchConstants.CFG_HFILE_OUTPUT_PATH, getHFilePath());
+
+        HTable htable = new HTable(conf, getHTableName());
+        try {
+            CuboidHFileWriter.configureFamilies(conf, htable.getTableDescriptor().getColumnFamilies());
+        } finally {
+            htable.close();
+        }
+
+        CuboidHFileWriter writer = new CuboidHFileWriter(segment.getCubeDesc(), conf, getId(), "inmem");
+        try {
+            builder.write(writer);
+        } finally {
+            writer.close();
+        }
+        Path tempPath = CuboidHFileWriter.getTempPath(new Path(getHFilePath()));
+        tempPath.getFileSystem(conf).delete(tempPath, true);
+        return writer.getBytesWritten();
+    }
+
+    private void writeCuboidRowCounts(InMemCubeBuilder builder) throws IOException {
+        if (getCuboidStatsPath() == null) {
+            return;
+        }
+        CuboidRowCounts rowCounts = new CuboidRowCounts();
+        for (Long cuboidId : builder.getCuboidIds()) {
+            rowCounts.add(cuboidId, builder.getCuboid(cuboidId).size());
+        }
+        rowCounts.write(HadoopUtil.getCurrentConfiguration(), new Path(getCuboidStatsPath(), "inmem"));
+    }
+
+    public void setCubeName(String cubeName) {
+        this.setParam(CUBE_NAME, cubeName);
+    }
+
+    private String getCubeName() {
+        return getParam(CUBE_NAME);
+    }
+
+    public void setSegmentId(String segmentId) {
+        this.setParam(SEGMENT_ID, segmentId);
+    }
+
+    private String getSegmentId() {
+        return getParam(SEGMENT_ID);
+    }
+
+    public void setFlatTablePath(String path) {
+        this.setParam(FLAT_TABLE_PATH, path);
+    }
+
+    private String getFlatTablePath() {
+        return getParam(FLAT_TABLE_PATH);
+    }
+
+    public void setFactDistinctColumnsPath(String path) {
+        this.setParam(FACT_DISTINCT_COLUMNS_PATH, path);
+    }
+
+    private String getFactDistinctColumnsPath() {
+        return getParam(FACT_DISTINCT_COLUMNS_PATH);
+    }
+
+    public void setHFilePath(String path) {
+        this.setParam(HFILE_PATH, path);
+    }
+
+    private String getHFilePath() {
+        return getParam(HFILE_PATH);
+    }
+
+    public void setHTableName(String htableName) {
+        this.setParam(HTABLE_NAME, htableName);
+    }
+
+    private String getHTableName() {
+        return getParam(HTABLE_NAME);
+    }
+
+    public void setCuboidStatsPath(String path) {
+        this.setParam(CUBOID_STATS_PATH, path);
+    }
+
+    private String getCuboidStatsPath() {
+        return getParam(CUBOID_STATS_PATH);
+    }
+}
@@ -19,6 +19,8 @@
 package org.apache.kylin.job.cube;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.kylin.common.util.HadoopUtil;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
 import org.apache.kylin.cube.CubeSegment;
@@ -28,8 +30,10 @@ import org.apache.kylin.job.execution.AbstractExecutable;
 import org.apache.kylin.job.execution.ExecutableContext;
 import org.apache.kylin.job.execution.ExecuteResult;
 import org.apache.kylin.job.execution.Output;
+import org.apache.kylin.job.hadoop.cube.CuboidRowCounts;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * Created by qianzhou on 1/4/15.
@@ -42,6 +46,8 @@ public class UpdateCubeInfoAfterBuildStep extends AbstractExecutable {
     private static final String BASE_CUBOID_STEP_ID = "baseCuboidStepId";
     private static final String CREATE_FLAT_TABLE_STEP_ID = "createFlatTableStepId";
     private static final String CUBING_JOB_ID = "cubingJobId";
+    private static final String CUBOID_STATS_PATH = "cuboidStatsPath";
+    private static final String DIRECT_HFILE = "directHFile";
 
     public UpdateCubeInfoAfterBuildStep() {
         super();
@@ -91,6 +97,26 @@ public class UpdateCubeInfoAfterBuildStep extends AbstractExecutable {
         return getParam(CUBING_JOB_ID);
     }
 
+    public void setCuboidStatsPath(String path) {
+        setParam(CUBOID_STATS_PATH, path);
+    }
+
+    private String getCuboidStatsPath() {
+        return getParam(CUBOID_STATS_PATH);
+    }
+
+    /**
+     * @param directHFile whether the steps of convertToHFileStepId write hfiles beside other
+     *            output, so that only their hfile bytes counter measures the segment
+     */
+    public void setDirectHFile(boolean directHFile) {
+        setParam(DIRECT_HFILE, String.valueOf(directHFile));
+    }
+
+    private boolean isDirectHFile() {
+        return Boolean.parseBoolean(getParam(DIRECT_HFILE));
+    }
+
     @Override
     protected ExecuteResult doWork(ExecutableContext context) throws ExecuteException {
         final CubeManager cubeManager = CubeManager.getInstance(context.getConfig());
@@ -117,11 +143,19 @@ public class UpdateCubeInfoAfterBuildStep extends AbstractExecutable {
         long size = 0;
         boolean segmentReady = true;
         if (!StringUtils.isBlank(getConvertToHfileStepId())) {
-            String cubeSizeString = executableManager.getOutput(getConvertToHfileStepId()).getExtra().get(ExecutableConstants.HDFS_BYTES_WRITTEN);
-            if (StringUtils.isNotEmpty(cubeSizeString)) {
-                size = Long.parseLong(cubeSizeString) / 1024;
-            } else {
-                logger.warn("Can't get cube segment size.");
+            // there are multiple steps if hfiles are written directly by cuboid steps
+            for (String stepId : StringUtils.split(getConvertToHfileStepId(), ',')) {
+                Map<String, String> extra = executableManager.getOutput(stepId).getExtra();
+                String cubeSizeString = extra.get(ExecutableConstants.HFILE_BYTES_WRITTEN);
+                // a cuboid step's hdfs bytes are mostly its cuboid files, not to be taken for hfiles
+                if (!isDirectHFile() && (StringUtils.isEmpty(cubeSizeString) || "0".equals(cubeSizeString))) {
+                    cubeSizeString = extra.get(ExecutableConstants.HDFS_BYTES_WRITTEN);
+                }
+                if (StringUtils.isNotEmpty(cubeSizeString)) {
+                    size += Long.parseLong(cubeSizeString) / 1024;
+                } else {
+                    logger.warn("Can't get cube segment size.");
+                }
             }
         } else {
             // for the increment & merge case, the increment segment is only built to be merged, won't serve query by itself
@@ -133,6 +167,7 @@ public class UpdateCubeInfoAfterBuildStep extends AbstractExecutable {
         segment.setSizeKB(size);
         segment.setInputRecords(sourceCount);
         segment.setInputRecordsSize(sourceSize);
+        segment.setCuboidRowCounts(readCuboidRowCounts());
 
         try {
             if (segmentReady) {
@@ -146,4 +181,22 @@ public class UpdateCubeInfoAfterBuildStep extends AbstractExecutable {
             return new ExecuteResult(ExecuteResult.State.ERROR, e.getLocalizedMessage());
         }
     }
+
+    private Map<Long, Long> readCuboidRowCounts() {
+        if (StringUtils.isBlank(getCuboidStatsPath())) {
+            return null;
+        }
+        try {
+            CuboidRowCounts rowCounts = CuboidRowCounts.read(HadoopUtil.getCurrentConfiguration(), new Path(getCuboidStatsPath()));
+            if (rowCounts.isEmpty()) {
+                logger.warn("Can not get cuboid row counts.");
+                return null;
+            }
+            return rowCounts.getCounts();
+        } catch (IOException e) {
+            // only for choosing cuboids at query time, not worth failing the build
+            logger.warn("fail to read cuboid row counts", e);
+            return null;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.kylin.common.KylinConfig;
@@ -35,6 +36,7 @@ import org.apache.kylin.job.execution.ExecutableContext;
 import org.apache.kylin.job.execution.ExecuteResult;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /**
  * Created by qianzhou on 1/7/15.
@@ -77,16 +79,27 @@ public class UpdateCubeInfoAfterMergeStep extends AbstractExecutable {
         }
         long sourceCount = 0L;
         long sourceSize = 0L;
+        // merging neither adds nor removes cuboid rows unless segments overlap, the sum is an upper bound
+        Map<Long, Long> cuboidRowCounts = Maps.newHashMap();
         for (String id : mergingSegmentIds) {
             CubeSegment segment = cube.getSegmentById(id);
             sourceCount += segment.getInputRecords();
             sourceSize += segment.getInputRecordsSize();
+            if (cuboidRowCounts != null && segment.getCuboidRowCounts() != null) {
+                for (Map.Entry<Long, Long> entry : segment.getCuboidRowCounts().entrySet()) {
+                    Long sum = cuboidRowCounts.get(entry.getKey());
+                    cuboidRowCounts.put(entry.getKey(), sum == null ? entry.getValue() : sum + entry.getValue());
+                }
+            } else {
+                cuboidRowCounts = null; // unknown for some merging segment
+            }
         }
 
         // update segment info
         mergedSegment.setSizeKB(cubeSize);
         mergedSegment.setInputRecords(sourceCount);
         mergedSegment.setInputRecordsSize(sourceSize);
+        mergedSegment.setCuboidRowCounts(cuboidRowCounts);
         mergedSegment.setLastBuildJobID(getCubingJobId());
         mergedSegment.setLastBuildTime(System.currentTimeMillis());
 
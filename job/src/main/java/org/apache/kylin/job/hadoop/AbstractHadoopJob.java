@@ -42,11 +42,20 @@ import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.Lz4Codec;
+import org.apache.hadoop.io.compress.SnappyCodec;
 import org.apache.hadoop.mapreduce.Counters;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.MRJobConfig;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.NativeCodeLoader;
 import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.hadoop.util.Tool;
 import org.apache.kylin.common.KylinConfig;
@@ -294,6 +303,67 @@ public abstract class AbstractHadoopJob extends Configured implements Tool {
         }
     }
 
+    /**
+     * Block compress the sequence file output and the map output, unless
+     * output compression is set by the job conf already. In block mode the
+     * sorted row keys are compressed together, so the repeating cuboid ID and
+     * common key prefixes take little space.
+     */
+    protected void setIntermediateCompression(Job job, KylinConfig config) {
+        Configuration conf = job.getConfiguration();
+        if (FileOutputFormat.getCompressOutput(job)) {
+            logger.info("Output compression is set by job conf, codec " + conf.get(FileOutputFormat.COMPRESS_CODEC));
+            return;
+        }
+
+        Class<? extends CompressionCodec> codec = getIntermediateCompressionCodec(config.getCubingIntermediateCompressionCodec());
+        if (codec == null) {
+            return;
+        }
+
+        FileOutputFormat.setCompressOutput(job, true);
+        FileOutputFormat.setOutputCompressorClass(job, codec);
+        SequenceFileOutputFormat.setOutputCompressionType(job, CompressionType.BLOCK);
+        if (!conf.getBoolean(MRJobConfig.MAP_OUTPUT_COMPRESS, false)) {
+            conf.setBoolean(MRJobConfig.MAP_OUTPUT_COMPRESS, true);
+            conf.setClass(MRJobConfig.MAP_OUTPUT_COMPRESS_CODEC, codec, CompressionCodec.class);
+        }
+        logger.info("Intermediate output is block compressed by " + codec.getName());
+    }
+
+    static Class<? extends CompressionCodec> getIntermediateCompressionCodec(String name) {
+        // the check is on the job client, assuming the cluster has the same native libraries
+        boolean nativeLoaded = NativeCodeLoader.isNativeCodeLoaded();
+        return getIntermediateCompressionCodec(name, nativeLoaded, nativeLoaded && NativeCodeLoader.buildSupportsSnappy());
+    }
+
+    /**
+     * @param name "auto", "none" or a codec class name
+     * @return the codec, null for "none"
+     * @throws IllegalArgumentException if the name is not a compression codec class,
+     *         so a typo fails the job before submit
+     */
+    static Class<? extends CompressionCodec> getIntermediateCompressionCodec(String name, boolean nativeLoaded, boolean snappySupported) {
+        if ("none".equalsIgnoreCase(name)) {
+            return null;
+        }
+        if (!"auto".equalsIgnoreCase(name)) {
+            try {
+                return Class.forName(name).asSubclass(CompressionCodec.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Compression codec " + name + " not found", e);
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException(name + " is not a " + CompressionCodec.class.getName(), e);
+            }
+        }
+
+        if (nativeLoaded) {
+            return snappySupported ? SnappyCodec.class : Lz4Codec.class;
+        }
+        // zlib, which falls back to java.util.zip without native hadoop
+        return DefaultCodec.class;
+    }
+
     protected void deletePath(Configuration conf, Path path) throws IOException {
         FileSystem fs = FileSystem.get(path.toUri(), conf);
         if (fs.exists(path)) {
@@ -40,6 +40,7 @@ import org.apache.kylin.job.constant.BatchConstants;
 import org.apache.kylin.job.hadoop.AbstractHadoopJob;
 import org.apache.kylin.job.hadoop.hive.CubeJoinedFlatTableDesc;
 import org.apache.kylin.metadata.measure.MeasureCodec;
+import org.apache.kylin.metadata.measure.TopNSerializer;
 import org.apache.kylin.metadata.model.FunctionDesc;
 import org.apache.kylin.metadata.model.MeasureDesc;
 import org.apache.kylin.metadata.model.ParameterDesc;
@@ -161,6 +162,29 @@ public class BaseCuboidMapper<KEYIN> extends KylinMapper<KEYIN, Text, Text, Text
         measureCodec.encode(measures, valueBuf);
     }
 
+    /**
+     * Joins the values of the measure parameter columns. Top-n values are separated by
+     * {@link TopNSerializer#VALUE_SEPARATOR} so TopNSerializer can split them again.
+     */
+    public static byte[] joinMeasureValues(SplittedBytes[] splitBuffers, int[] flatTableIdx, boolean separated) {
+        int sepLen = separated ? 1 : 0;
+        int len = sepLen * (flatTableIdx.length - 1);
+        for (int idx : flatTableIdx) {
+            len += splitBuffers[idx].length;
+        }
+        byte[] result = new byte[len];
+        int offset = 0;
+        for (int i = 0; i < flatTableIdx.length; i++) {
+            if (i > 0 && separated) {
+                result[offset++] = TopNSerializer.VALUE_SEPARATOR;
+            }
+            SplittedBytes split = splitBuffers[flatTableIdx[i]];
+            System.arraycopy(split.value, 0, result, offset, split.length);
+            offset += split.length;
+        }
+        return result;
+    }
+
     private byte[] getValueBytes(SplittedBytes[] splitBuffers, int measureIdx) {
         MeasureDesc desc = cubeDesc.getMeasures().get(measureIdx);
         FunctionDesc func = desc.getFunction();
@@ -175,18 +199,7 @@ public class BaseCuboidMapper<KEYIN> extends KylinMapper<KEYIN, Text, Text, Text
         }
         // column values
         else {
-            // for multiple columns, their values are joined
-            for (int i = 0; i < flatTableIdx.length; i++) {
-                SplittedBytes split = splitBuffers[flatTableIdx[i]];
-                if (result == null) {
-                    result = Arrays.copyOf(split.value, split.length);
-                } else {
-                    byte[] newResult = new byte[result.length + split.length];
-                    System.arraycopy(result, 0, newResult, 0, result.length);
-                    System.arraycopy(split.value, 0, newResult, result.length, split.length);
-                    result = newResult;
-                }
-            }
+            result = joinMeasureValues(splitBuffers, flatTableIdx, func.isTopN());
         }
 
         if (func.isCount() || func.isHolisticCountDistinct()) {
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
+import org.apache.hadoop.hbase.regionserver.BloomType;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.io.Text;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.cube.model.HBaseColumnDesc;
+import org.apache.kylin.cube.model.HBaseColumnFamilyDesc;
+import org.apache.kylin.job.constant.BatchConstants;
+import org.apache.kylin.metadata.measure.MeasureCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes cuboid records as HFiles, the same way HFileOutputFormat does, so that
+ * a cuboid reducer can produce bulk-loadable data without a separate
+ * conversion job. Records must come in row key order, which is the case for
+ * reducer output.
+ * <p>
+ * Files are written under a temporary directory and moved to
+ * <code>hfileRoot/FAMILY/fileName</code> on close, so a failed task never
+ * leaves a partial HFile for bulk load.
+ */
+public class CuboidHFileWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuboidHFileWriter.class);
+
+    private final Configuration conf;
+    private final FileSystem fs;
+    private final Path hfileRoot;
+    private final Path tempRoot;
+    private final String fileName;
+
+    private final MeasureCodec inputCodec;
+    private final Object[] inputMeasures;
+    private final List<FamilyWriter> families = new ArrayList<FamilyWriter>();
+
+    private long bytesWritten;
+
+    public CuboidHFileWriter(CubeDesc cubeDesc, Configuration conf, String taskAttemptId, String fileName) throws IOException {
+        this.conf = conf;
+        this.hfileRoot = new Path(conf.get(BatchConstants.CFG_HFILE_OUTPUT_PATH));
+        this.fs = hfileRoot.getFileSystem(conf);
+        this.tempRoot = new Path(getTempPath(hfileRoot), taskAttemptId);
+        this.fileName = fileName;
+
+        this.inputCodec = new MeasureCodec(cubeDesc.getMeasures());
+        this.inputMeasures = new Object[cubeDesc.getMeasures().size()];
+
+        for (HBaseColumnFamilyDesc cfDesc : cubeDesc.getHBaseMapping().getColumnFamily()) {
+            List<KeyValueCreator> creators = new ArrayList<KeyValueCreator>();
+            for (HBaseColumnDesc colDesc : cfDesc.getColumns()) {
+                creators.add(new KeyValueCreator(cubeDesc, colDesc));
+            }
+            // cells of a row must be appended in qualifier order
+            Collections.sort(creators, new Comparator<KeyValueCreator>() {
+                @Override
+                public int compare(KeyValueCreator o1, KeyValueCreator o2) {
+                    return Bytes.compareTo(o1.qBytes, o2.qBytes);
+                }
+            });
+            families.add(new FamilyWriter(cfDesc.getName(), creators));
+        }
+    }
+
+    public static Path getTempPath(Path hfileRoot) {
+        return new Path(hfileRoot.getParent(), hfileRoot.getName() + "_temporary");
+    }
+
+    /**
+     * Save the settings of HTable column families into job configuration, for
+     * the HFiles to be written accordingly.
+     */
+    public static void configureFamilies(Configuration conf, HColumnDescriptor[] families) {
+        for (HColumnDescriptor family : families) {
+            String prefix = BatchConstants.CFG_HFILE_FAMILY_PREFIX + family.getNameAsString();
+            conf.set(prefix + ".compression", family.getCompression().getName());
+            conf.set(prefix + ".encoding", family.getDataBlockEncoding().name());
+            conf.set(prefix + ".bloom", family.getBloomFilterType().name());
+            conf.setInt(prefix + ".blocksize", family.getBlocksize());
+        }
+    }
+
+    public void write(Text key, Text value) throws IOException {
+        boolean measuresDecoded = false;
+        for (FamilyWriter family : families) {
+            for (KeyValueCreator creator : family.creators) {
+                KeyValue kv;
+                if (creator.isFullCopy) {
+                    kv = creator.create(key, value.getBytes(), 0, value.getLength());
+                } else {
+                    if (!measuresDecoded) {
+                        inputCodec.decode(value, inputMeasures);
+                        measuresDecoded = true;
+                    }
+                    kv = creator.create(key, inputMeasures);
+                }
+                family.append(kv);
+            }
+        }
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void close() throws IOException {
+        for (FamilyWriter family : families) {
+            family.close();
+        }
+        fs.delete(tempRoot, true);
+    }
+
+    private class FamilyWriter {
+        final String familyName;
+        final List<KeyValueCreator> creators;
+        StoreFile.Writer writer;
+        Path tempFile;
+
+        FamilyWriter(String familyName, List<KeyValueCreator> creators) {
+            this.familyName = familyName;
+            this.creators = creators;
+        }
+
+        void append(KeyValue kv) throws IOException {
+            if (writer == null)
+                open();
+            writer.append(kv);
+        }
+
+        private void open() throws IOException {
+            String prefix = BatchConstants.CFG_HFILE_FAMILY_PREFIX + familyName;
+            Compression.Algorithm compression = Compression.getCompressionAlgorithmByName(conf.get(prefix + ".compression", Compression.Algorithm.NONE.getName()));
+            DataBlockEncoding encoding = DataBlockEncoding.valueOf(conf.get(prefix + ".encoding", DataBlockEncoding.NONE.name()));
+            BloomType bloomType = BloomType.valueOf(conf.get(prefix + ".bloom", BloomType.NONE.name()));
+            int blockSize = conf.getInt(prefix + ".blocksize", HColumnDescriptor.DEFAULT_BLOCKSIZE);
+
+            HFileContext context = new HFileContextBuilder().withCompression(compression).withDataBlockEncoding(encoding).withBlockSize(blockSize).build();
+
+            // the block cache is of no use for a write-only task
+            Configuration tempConf = new Configuration(conf);
+            tempConf.setFloat("hfile.block.cache.size", 0.0f);
+
+            Path familyDir = new Path(tempRoot, familyName);
+            writer = new StoreFile.WriterBuilder(conf, new CacheConfig(tempConf), fs).withOutputDir(familyDir).withBloomType(bloomType).withComparator(KeyValue.COMPARATOR).withFileContext(context).build();
+            tempFile = writer.getPath();
+        }
+
+        void close() throws IOException {
+            if (writer == null)
+                return;
+
+            writer.appendFileInfo(StoreFile.BULKLOAD_TIME_KEY, Bytes.toBytes(System.currentTimeMillis()));
+            writer.appendFileInfo(StoreFile.BULKLOAD_TASK_KEY, Bytes.toBytes(fileName));
+            writer.appendFileInfo(StoreFile.MAJOR_COMPACTION_KEY, Bytes.toBytes(true));
+            writer.appendFileInfo(StoreFile.EXCLUDE_FROM_MINOR_COMPACTION_KEY, Bytes.toBytes(false));
+            writer.appendTrackedTimestampsToMetadata();
+            writer.close();
+            writer = null;
+
+            Path target = new Path(new Path(hfileRoot, familyName), fileName);
+            fs.mkdirs(target.getParent());
+            if (fs.exists(target)) // left by a previous attempt of the same task
+                fs.delete(target, false);
+            if (!fs.rename(tempFile, target))
+                throw new IOException("Failed to move " + tempFile + " to " + target);
+            bytesWritten += fs.getFileStatus(target).getLen();
+            logger.info("HFile written: " + target);
+        }
+    }
+}
@@ -19,10 +19,16 @@
 package org.apache.kylin.job.hadoop.cube;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.Mapper;
@@ -50,6 +56,13 @@ public class CuboidJob extends AbstractHadoopJob {
     protected static final Logger logger = LoggerFactory.getLogger(CuboidJob.class);
     private static final String MAPRED_REDUCE_TASKS = "mapred.reduce.tasks";
 
+    @SuppressWarnings("static-access")
+    private static final Option OPTION_HFILE_OUTPUT_PATH = OptionBuilder.withArgName("path").hasArg().isRequired(false).withDescription("HFile output path, given to write HFiles directly from cuboid reducers").create("hfileoutput");
+    @SuppressWarnings("static-access")
+    private static final Option OPTION_HFILE_HTABLE_NAME = OptionBuilder.withArgName("htable name").hasArg().isRequired(false).withDescription("HTable the HFiles are written for").create("htablename");
+    @SuppressWarnings("static-access")
+    private static final Option OPTION_CUBOID_STATS_PATH = OptionBuilder.withArgName("path").hasArg().isRequired(false).withDescription("Folder to write the row count of each cuboid").create("cuboidstats");
+
     @SuppressWarnings("rawtypes")
     private Class<? extends Mapper> mapperClass;
 
@@ -65,6 +78,9 @@ public class CuboidJob extends AbstractHadoopJob {
             options.addOption(OPTION_OUTPUT_PATH);
             options.addOption(OPTION_NCUBOID_LEVEL);
             options.addOption(OPTION_INPUT_FORMAT);
+            options.addOption(OPTION_HFILE_OUTPUT_PATH);
+            options.addOption(OPTION_HFILE_HTABLE_NAME);
+            options.addOption(OPTION_CUBOID_STATS_PATH);
             parseOptions(options, args);
 
             Path input = new Path(getOptionValue(OPTION_INPUT_PATH));
@@ -111,18 +127,30 @@ public class CuboidJob extends AbstractHadoopJob {
             job.setOutputValueClass(Text.class);
 
             FileOutputFormat.setOutputPath(job, output);
+            setIntermediateCompression(job, config);
 
             // set job configuration
             job.getConfiguration().set(BatchConstants.CFG_CUBE_NAME, cubeName);
             job.getConfiguration().set(BatchConstants.CFG_CUBE_SEGMENT_NAME, segmentName);
+            if (hasOption(OPTION_CUBOID_STATS_PATH)) {
+                job.getConfiguration().set(BatchConstants.CFG_CUBOID_STATS_PATH, getOptionValue(OPTION_CUBOID_STATS_PATH));
+            }
             // add metadata to distributed cache
             attachKylinPropsAndMetadata(cube, job.getConfiguration());
 
-            setReduceTaskNum(job, config, cubeName, nCuboidLevel);
+            if (hasOption(OPTION_HFILE_OUTPUT_PATH)) {
+                setupHFileOutput(job, getOptionValue(OPTION_HFILE_OUTPUT_PATH), getOptionValue(OPTION_HFILE_HTABLE_NAME));
+            } else {
+                setReduceTaskNum(job, config, cubeName, nCuboidLevel);
+            }
 
             this.deletePath(job.getConfiguration(), output);
 
-            return waitForCompletion(job);
+            int result = waitForCompletion(job);
+            if (hasOption(OPTION_HFILE_OUTPUT_PATH)) {
+                this.deletePath(job.getConfiguration(), CuboidHFileWriter.getTempPath(new Path(getOptionValue(OPTION_HFILE_OUTPUT_PATH))));
+            }
+            return result;
         } catch (Exception e) {
             logger.error("error in CuboidJob", e);
             printUsage(options);
@@ -180,6 +208,41 @@ public class CuboidJob extends AbstractHadoopJob {
         logger.info("Setting " + MAPRED_REDUCE_TASKS + "=" + numReduceTasks);
     }
 
+    /**
+     * Let each reducer cover exactly one region of the HTable, and write its
+     * part of the region as HFiles besides the cuboid output.
+     */
+    private void setupHFileOutput(Job job, String hfileOutput, String htableName) throws IOException {
+        if (htableName == null) {
+            throw new IllegalArgumentException("HTable name is required for HFile output");
+        }
+        Configuration jobConf = job.getConfiguration();
+
+        HTable htable = new HTable(HBaseConfiguration.create(jobConf), htableName.toUpperCase());
+        List<byte[]> splitKeys = new ArrayList<byte[]>();
+        try {
+            byte[][] startKeys = htable.getStartKeys();
+            // the first region starts with the empty key
+            for (int i = 1; i < startKeys.length; i++) {
+                splitKeys.add(startKeys[i]);
+            }
+            CuboidHFileWriter.configureFamilies(jobConf, htable.getTableDescriptor().getColumnFamilies());
+        } finally {
+            htable.close();
+        }
+
+        jobConf.set(BatchConstants.CFG_HFILE_OUTPUT_PATH, hfileOutput);
+        jobConf.set(BatchConstants.CFG_REGION_SPLIT_KEYS, CuboidRegionPartitioner.encodeSplitKeys(splitKeys));
+        // a speculative attempt would write a duplicate HFile for the same region
+        jobConf.setBoolean("mapreduce.reduce.speculative", false);
+        job.setPartitionerClass(CuboidRegionPartitioner.class);
+        job.setCombinerClass(CuboidCombiner.class);
+
+        int numReduceTasks = splitKeys.size() + 1;
+        jobConf.setInt(MAPRED_REDUCE_TASKS, numReduceTasks);
+        logger.info("Writing HFiles to " + hfileOutput + " for " + htableName + ", setting " + MAPRED_REDUCE_TASKS + "=" + numReduceTasks);
+    }
+
     /**
      * @param mapperClass
      *            the mapperClass to set
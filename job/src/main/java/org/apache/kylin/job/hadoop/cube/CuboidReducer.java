@@ -22,7 +22,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.common.mr.KylinReducer;
 import org.apache.kylin.cube.CubeManager;
@@ -58,6 +60,9 @@ public class CuboidReducer extends KylinReducer<Text, Text, Text, Text> {
     private ByteBuffer valueBuf = ByteBuffer.allocate(RowConstants.ROWVALUE_BUFFER_SIZE);
     private Text outputValue = new Text();
 
+    private CuboidHFileWriter hfileWriter;
+    private CuboidRowCounts rowCounts;
+
     @Override
     protected void setup(Context context) throws IOException {
         super.publishConfiguration(context.getConfiguration());
@@ -73,6 +78,14 @@ public class CuboidReducer extends KylinReducer<Text, Text, Text, Text> {
 
         input = new Object[measuresDescs.size()];
         result = new Object[measuresDescs.size()];
+
+        if (context.getConfiguration().get(BatchConstants.CFG_HFILE_OUTPUT_PATH) != null && !isCombiner()) {
+            String fileName = FileOutputFormat.getOutputPath(context).getName() + "-" + context.getTaskAttemptID().getTaskID().getId();
+            hfileWriter = new CuboidHFileWriter(cubeDesc, context.getConfiguration(), context.getTaskAttemptID().toString(), fileName);
+        }
+        if (context.getConfiguration().get(BatchConstants.CFG_CUBOID_STATS_PATH) != null && !isCombiner()) {
+            rowCounts = new CuboidRowCounts();
+        }
     }
 
     @Override
@@ -91,6 +104,12 @@ public class CuboidReducer extends KylinReducer<Text, Text, Text, Text> {
 
         outputValue.set(valueBuf.array(), 0, valueBuf.position());
         context.write(key, outputValue);
+        if (hfileWriter != null) {
+            hfileWriter.write(key, outputValue);
+        }
+        if (rowCounts != null) {
+            rowCounts.addRow(key.getBytes());
+        }
 
         counter++;
         if (counter % BatchConstants.COUNTER_MAX == 0) {
@@ -98,4 +117,24 @@ public class CuboidReducer extends KylinReducer<Text, Text, Text, Text> {
         }
     }
 
+    /**
+     * A combiner may also run in reduce tasks, it must not write HFiles or count rows there.
+     */
+    protected boolean isCombiner() {
+        return false;
+    }
+
+    @Override
+    protected void cleanup(Context context) throws IOException, InterruptedException {
+        if (hfileWriter != null) {
+            hfileWriter.close();
+            context.getCounter(BatchConstants.MAPREDUCE_COUNTER_GROUP_NAME, BatchConstants.COUNTER_HFILE_BYTES_WRITTEN).increment(hfileWriter.getBytesWritten());
+        }
+        if (rowCounts != null && !rowCounts.isEmpty()) {
+            // named by task rather than attempt, a rerun overwrites the file
+            String fileName = FileOutputFormat.getOutputPath(context).getName() + "-" + context.getTaskAttemptID().getTaskID().getId();
+            rowCounts.write(context.getConfiguration(), new Path(context.getConfiguration().get(BatchConstants.CFG_CUBOID_STATS_PATH), fileName));
+        }
+    }
+
 }
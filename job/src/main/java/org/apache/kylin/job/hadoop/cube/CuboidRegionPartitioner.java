@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Partitioner;
+import org.apache.hadoop.util.StringUtils;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.job.constant.BatchConstants;
+
+/**
+ * Partitions cuboid rows by HTable region, so that each reducer covers exactly
+ * one region and its HFiles can be bulk loaded without being split.
+ */
+public class CuboidRegionPartitioner extends Partitioner<Text, Text> implements Configurable {
+
+    private Configuration conf;
+    private byte[][] splitKeys; // sorted, the start keys of region 1..n
+
+    @Override
+    public int getPartition(Text key, Text value, int numPartitions) {
+        byte[] bytes = key.getBytes();
+        int len = key.getLength();
+
+        // binary search for the last split key that is <= row key
+        int low = 0, high = splitKeys.length - 1, region = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            byte[] split = splitKeys[mid];
+            if (Bytes.compareTo(split, 0, split.length, bytes, 0, len) <= 0) {
+                region = mid + 1;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return region % numPartitions;
+    }
+
+    public static String encodeSplitKeys(List<byte[]> splitKeys) {
+        StringBuilder buf = new StringBuilder();
+        for (byte[] split : splitKeys) {
+            if (buf.length() > 0)
+                buf.append(",");
+            buf.append(StringUtils.byteToHexString(split));
+        }
+        return buf.toString();
+    }
+
+    public static byte[][] decodeSplitKeys(String str) {
+        List<byte[]> result = new ArrayList<byte[]>();
+        if (str != null && str.trim().length() > 0) {
+            for (String hex : str.split(",")) {
+                result.add(StringUtils.hexStringToByte(hex.trim()));
+            }
+        }
+        return result.toArray(new byte[result.size()][]);
+    }
+
+    @Override
+    public void setConf(Configuration conf) {
+        this.conf = conf;
+        this.splitKeys = decodeSplitKeys(conf.get(BatchConstants.CFG_REGION_SPLIT_KEYS));
+    }
+
+    @Override
+    public Configuration getConf() {
+        return conf;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.cube.kv.RowConstants;
+
+/**
+ * Counts rows per cuboid while cubing. Each task writes its counts as a text
+ * file of "cuboid ID, tab, rows" lines into a shared folder, which is summed up
+ * when the segment is updated after build.
+ */
+public class CuboidRowCounts {
+
+    private final Map<Long, Long> counts = new HashMap<Long, Long>();
+
+    public void addRow(byte[] rowkey) {
+        add(Bytes.toLong(rowkey, 0, RowConstants.ROWKEY_CUBOIDID_LEN), 1);
+    }
+
+    public void add(long cuboidId, long rows) {
+        Long sum = counts.get(cuboidId);
+        counts.put(cuboidId, sum == null ? rows : sum + rows);
+    }
+
+    public Map<Long, Long> getCounts() {
+        return counts;
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /**
+     * Overwrites the file, so a retried task attempt leaves a single copy.
+     */
+    public void write(Configuration conf, Path file) throws IOException {
+        FileSystem fs = file.getFileSystem(conf);
+        FSDataOutputStream out = fs.create(file, true);
+        Writer writer = new OutputStreamWriter(out, "UTF-8");
+        try {
+            for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    /**
+     * @return the counts summed over all files in the folder, empty if the folder does not exist
+     */
+    public static CuboidRowCounts read(Configuration conf, Path folder) throws IOException {
+        CuboidRowCounts result = new CuboidRowCounts();
+        FileSystem fs = folder.getFileSystem(conf);
+        if (!fs.exists(folder)) {
+            return result;
+        }
+
+        for (FileStatus file : fs.listStatus(folder)) {
+            String name = file.getPath().getName();
+            if (file.isDirectory() || name.startsWith("_") || name.startsWith(".")) {
+                continue;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(file.getPath()), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int cut = line.indexOf('\t');
+                    if (cut > 0) {
+                        result.add(Long.parseLong(line.substring(0, cut)), Long.parseLong(line.substring(cut + 1)));
+                    }
+                }
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+        }
+        return result;
+    }
+}
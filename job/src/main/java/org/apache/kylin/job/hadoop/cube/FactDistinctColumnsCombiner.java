@@ -19,20 +19,18 @@
 package org.apache.kylin.job.hadoop.cube;
 
 import java.io.IOException;
-import java.util.HashSet;
 
-import org.apache.hadoop.io.ShortWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.kylin.common.mr.KylinReducer;
-import org.apache.kylin.common.util.ByteArray;
-import org.apache.kylin.common.util.Bytes;
 
 /**
+ * The key carries both column index and value, so emitting each key once is
+ * all it takes to de-duplicate on the map side.
+ * 
  * @author yangli9
  */
-public class FactDistinctColumnsCombiner extends KylinReducer<ShortWritable, Text, ShortWritable, Text> {
-
-    private Text outputValue = new Text();
+public class FactDistinctColumnsCombiner extends KylinReducer<Text, NullWritable, Text, NullWritable> {
 
     @Override
     protected void setup(Context context) throws IOException {
@@ -40,18 +38,8 @@ public class FactDistinctColumnsCombiner extends KylinReducer<ShortWritable, Tex
     }
 
     @Override
-    public void reduce(ShortWritable key, Iterable<Text> values, Context context) throws IOException, InterruptedException {
-
-        HashSet<ByteArray> set = new HashSet<ByteArray>();
-        for (Text textValue : values) {
-            ByteArray value = new ByteArray(Bytes.copy(textValue.getBytes(), 0, textValue.getLength()));
-            set.add(value);
-        }
-
-        for (ByteArray value : set) {
-            outputValue.set(value.data);
-            context.write(key, outputValue);
-        }
+    public void reduce(Text key, Iterable<NullWritable> values, Context context) throws IOException, InterruptedException {
+        context.write(key, NullWritable.get());
     }
 
 }
@@ -19,12 +19,14 @@
 package org.apache.kylin.job.hadoop.cube;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.cli.Options;
+import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
-import org.apache.hadoop.io.ShortWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
@@ -35,8 +37,14 @@ import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.common.util.HadoopUtil;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.dict.DictionaryManager;
 import org.apache.kylin.job.constant.BatchConstants;
 import org.apache.kylin.job.hadoop.AbstractHadoopJob;
+import org.apache.kylin.metadata.MetadataConstants;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.model.TblColRef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,7 +83,7 @@ public class FactDistinctColumnsJob extends AbstractHadoopJob {
             setJobClasspath(job);
 
             setupMapper(intermediateTable);
-            setupReducer(output);
+            setupReducer(output, cubeInstance.getDescriptor());
 
             // CubeSegment seg = cubeMgr.getCube(cubeName).getTheOnlySegment();
             attachKylinPropsAndMetadata(cubeInstance, job.getConfiguration());
@@ -103,11 +111,12 @@ public class FactDistinctColumnsJob extends AbstractHadoopJob {
         job.setInputFormatClass(HCatInputFormat.class);
         job.setMapperClass(FactDistinctColumnsMapper.class);
         job.setCombinerClass(FactDistinctColumnsCombiner.class);
-        job.setMapOutputKeyClass(ShortWritable.class);
-        job.setMapOutputValueClass(Text.class);
+        job.setMapOutputKeyClass(Text.class);
+        job.setMapOutputValueClass(NullWritable.class);
     }
 
-    private void setupReducer(Path output) throws IOException {
+    private void setupReducer(Path output, CubeDesc cubeDesc) throws IOException {
+        job.setPartitionerClass(FactDistinctColumnsPartitioner.class);
         job.setReducerClass(FactDistinctColumnsReducer.class);
         job.setOutputFormatClass(SequenceFileOutputFormat.class);
         job.setOutputKeyClass(NullWritable.class);
@@ -116,11 +125,58 @@ public class FactDistinctColumnsJob extends AbstractHadoopJob {
         FileOutputFormat.setOutputPath(job, output);
         job.getConfiguration().set(BatchConstants.OUTPUT_PATH, output.toString());
 
-        job.setNumReduceTasks(1);
+        int[] shards = calculateColumnShards(cubeDesc);
+        int numReducers = 0;
+        for (int n : shards)
+            numReducers += n;
+        numReducers = Math.max(1, Math.min(numReducers, KylinConfig.getInstanceFromEnv().getHadoopJobMaxReducerNumber()));
+        job.getConfiguration().set(BatchConstants.CFG_FACT_DISTINCT_COLUMN_SHARDS, FactDistinctColumnsPartitioner.encodeShards(shards));
+        logger.info("Fact distinct column shards: " + FactDistinctColumnsPartitioner.encodeShards(shards) + ", reducer number: " + numReducers);
+
+        job.setNumReduceTasks(numReducers);
 
         deletePath(job.getConfiguration(), output);
     }
 
+    /**
+     * Decide how many reducers each base cuboid column gets. Columns not
+     * collected from fact table get none; a high cardinality column (as known
+     * from the table's cardinality statistics) is hash-sharded so that no single
+     * reducer has to take all its values.
+     */
+    private int[] calculateColumnShards(CubeDesc cubeDesc) throws IOException {
+        KylinConfig config = KylinConfig.getInstanceFromEnv();
+        List<TblColRef> columns = Cuboid.findById(cubeDesc, Cuboid.getBaseCuboidId(cubeDesc)).getColumns();
+        int[] factDictCols = FactDistinctColumnsMapper.getFactDictColumnIndexes(cubeDesc, DictionaryManager.getInstance(config));
+
+        long valuesPerReducer = Math.max(1, config.getFactDistinctValuesPerReducer());
+        int maxShards = Math.max(1, config.getFactDistinctMaxShardsPerColumn());
+
+        int[] shards = new int[columns.size()];
+        for (int i : factDictCols) {
+            long cardinality = getColumnCardinality(columns.get(i));
+            shards[i] = (int) Math.max(1, Math.min(maxShards, (cardinality + valuesPerReducer - 1) / valuesPerReducer));
+        }
+        return shards;
+    }
+
+    private long getColumnCardinality(TblColRef col) {
+        Map<String, String> exd = MetadataManager.getInstance(KylinConfig.getInstanceFromEnv()).getTableDescExd(col.getTable());
+        if (exd == null || !exd.containsKey(MetadataConstants.TABLE_EXD_CARDINALITY))
+            return 0;
+
+        String[] cards = StringUtils.split(exd.get(MetadataConstants.TABLE_EXD_CARDINALITY), ",");
+        int idx = col.getColumn().getZeroBasedIndex();
+        if (cards == null || idx >= cards.length)
+            return 0;
+
+        try {
+            return Long.parseLong(cards[idx].trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         FactDistinctColumnsJob job = new FactDistinctColumnsJob();
         int exitCode = ToolRunner.run(job, args);
@@ -23,7 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.io.ShortWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hive.hcatalog.data.HCatRecord;
 import org.apache.hive.hcatalog.data.schema.HCatFieldSchema;
@@ -44,9 +44,12 @@ import org.apache.kylin.job.hadoop.hive.CubeJoinedFlatTableDesc;
 import org.apache.kylin.metadata.model.TblColRef;
 
 /**
+ * Emits (column index + value) as the key, so that the shuffle sorts and
+ * de-duplicates the distinct values and the reducers never hold them in memory.
+ * 
  * @author yangli9
  */
-public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRecord, ShortWritable, Text> {
+public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRecord, Text, NullWritable> {
 
     private String cubeName;
     private CubeInstance cube;
@@ -55,8 +58,8 @@ public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRec
 
     private CubeJoinedFlatTableDesc intermediateTableDesc;
 
-    private ShortWritable outputKey = new ShortWritable();
-    private Text outputValue = new Text();
+    private Text outputKey = new Text();
+    private byte[] keyBuf = new byte[256];
     private int errorRecordCounter;
 
     private HCatSchema schema = null;
@@ -73,26 +76,7 @@ public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRec
         cubeDesc = cube.getDescriptor();
         intermediateTableDesc = new CubeJoinedFlatTableDesc(cubeDesc, null);
 
-        long baseCuboidId = Cuboid.getBaseCuboidId(cubeDesc);
-        Cuboid baseCuboid = Cuboid.findById(cubeDesc, baseCuboidId);
-        List<TblColRef> columns = baseCuboid.getColumns();
-
-        ArrayList<Integer> factDictCols = new ArrayList<Integer>();
-        RowKeyDesc rowkey = cubeDesc.getRowkey();
-        DictionaryManager dictMgr = DictionaryManager.getInstance(config);
-        for (int i = 0; i < columns.size(); i++) {
-            TblColRef col = columns.get(i);
-            if (rowkey.isUseDictionary(col) == false)
-                continue;
-
-            String scanTable = (String) dictMgr.decideSourceData(cubeDesc.getModel(), cubeDesc.getRowkey().getDictionary(col), col, null)[0];
-            if (cubeDesc.getModel().isFactTable(scanTable)) {
-                factDictCols.add(i);
-            }
-        }
-        this.factDictCols = new int[factDictCols.size()];
-        for (int i = 0; i < factDictCols.size(); i++)
-            this.factDictCols[i] = factDictCols.get(i);
+        this.factDictCols = getFactDictColumnIndexes(cubeDesc, DictionaryManager.getInstance(config));
 
         schema = HCatInputFormat.getTableSchema(context.getConfiguration());
     }
@@ -105,14 +89,13 @@ public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRec
             int[] flatTableIndexes = intermediateTableDesc.getRowKeyColumnIndexes();
             HCatFieldSchema fieldSchema = null;
             for (int i : factDictCols) {
-                outputKey.set((short) i);
                 fieldSchema = schema.get(flatTableIndexes[i]);
                 Object fieldValue = record.get(fieldSchema.getName(), schema);
                 if (fieldValue == null)
                     continue;
                 byte[] bytes = Bytes.toBytes(fieldValue.toString());
-                outputValue.set(bytes, 0, bytes.length);
-                context.write(outputKey, outputValue);
+                setOutputKey((short) i, bytes);
+                context.write(outputKey, NullWritable.get());
             }
         } catch (Exception ex) {
             handleErrorRecord(record, ex);
@@ -120,6 +103,42 @@ public class FactDistinctColumnsMapper<KEYIN> extends KylinMapper<KEYIN, HCatRec
 
     }
 
+    private void setOutputKey(short colIndex, byte[] value) {
+        int len = Bytes.SIZEOF_SHORT + value.length;
+        if (keyBuf.length < len)
+            keyBuf = new byte[Math.max(len, keyBuf.length * 2)];
+        Bytes.putShort(keyBuf, 0, colIndex);
+        System.arraycopy(value, 0, keyBuf, Bytes.SIZEOF_SHORT, value.length);
+        outputKey.set(keyBuf, 0, len);
+    }
+
+    /**
+     * @return indexes (in base cuboid columns) of the dictionary columns whose
+     *         distinct values are collected from the fact table
+     */
+    public static int[] getFactDictColumnIndexes(CubeDesc cubeDesc, DictionaryManager dictMgr) throws IOException {
+        long baseCuboidId = Cuboid.getBaseCuboidId(cubeDesc);
+        Cuboid baseCuboid = Cuboid.findById(cubeDesc, baseCuboidId);
+        List<TblColRef> columns = baseCuboid.getColumns();
+
+        ArrayList<Integer> factDictCols = new ArrayList<Integer>();
+        RowKeyDesc rowkey = cubeDesc.getRowkey();
+        for (int i = 0; i < columns.size(); i++) {
+            TblColRef col = columns.get(i);
+            if (rowkey.isUseDictionary(col) == false)
+                continue;
+
+            String scanTable = (String) dictMgr.decideSourceData(cubeDesc.getModel(), rowkey.getDictionary(col), col, null)[0];
+            if (cubeDesc.getModel().isFactTable(scanTable)) {
+                factDictCols.add(i);
+            }
+        }
+        int[] result = new int[factDictCols.size()];
+        for (int i = 0; i < factDictCols.size(); i++)
+            result[i] = factDictCols.get(i);
+        return result;
+    }
+
     private void handleErrorRecord(HCatRecord record, Exception ex) throws IOException {
 
         System.err.println("Insane record: " + record.getAll());
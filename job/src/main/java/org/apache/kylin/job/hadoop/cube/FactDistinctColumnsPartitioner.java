@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.mapreduce.Partitioner;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.job.constant.BatchConstants;
+
+/**
+ * Gives every fact dictionary column its own range of reducers. A column with
+ * more than one shard is further split by the hash of its values, so the
+ * shards of one column hold disjoint value sets.
+ * 
+ * @author yangli9
+ */
+public class FactDistinctColumnsPartitioner extends Partitioner<Text, NullWritable> implements Configurable {
+
+    private Configuration conf;
+    private int[] shards; // shard count by column index
+    private int[] offsets; // first reducer by column index
+
+    @Override
+    public int getPartition(Text key, NullWritable value, int numPartitions) {
+        byte[] bytes = key.getBytes();
+        int colIndex = Bytes.toShort(bytes, 0);
+
+        int shard = 0;
+        if (colIndex < shards.length && shards[colIndex] > 1) {
+            int hash = WritableComparator.hashBytes(bytes, Bytes.SIZEOF_SHORT, key.getLength() - Bytes.SIZEOF_SHORT);
+            shard = (hash & Integer.MAX_VALUE) % shards[colIndex];
+        }
+        int offset = colIndex < offsets.length ? offsets[colIndex] : colIndex;
+        return (offset + shard) % numPartitions;
+    }
+
+    public static String encodeShards(int[] shards) {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            if (i > 0)
+                buf.append(",");
+            buf.append(shards[i]);
+        }
+        return buf.toString();
+    }
+
+    public static int[] decodeShards(String str) {
+        if (StringUtils.isBlank(str))
+            return new int[0];
+
+        String[] split = StringUtils.split(str, ",");
+        int[] shards = new int[split.length];
+        for (int i = 0; i < split.length; i++)
+            shards[i] = Integer.parseInt(split[i].trim());
+        return shards;
+    }
+
+    @Override
+    public void setConf(Configuration conf) {
+        this.conf = conf;
+        this.shards = decodeShards(conf.get(BatchConstants.CFG_FACT_DISTINCT_COLUMN_SHARDS));
+        this.offsets = new int[shards.length];
+        int next = 0;
+        for (int i = 0; i < shards.length; i++) {
+            offsets[i] = next;
+            next += shards[i];
+        }
+    }
+
+    @Override
+    public Configuration getConf() {
+        return conf;
+    }
+
+}
@@ -23,11 +23,9 @@ import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
-import org.apache.hadoop.io.ShortWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.common.mr.KylinReducer;
-import org.apache.kylin.common.util.ByteArray;
 import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
@@ -39,16 +37,27 @@ import org.apache.kylin.metadata.model.TblColRef;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 
 /**
+ * Keys arrive sorted by (column index, value) and each distinct key is reduced
+ * once, so values are streamed to output without being buffered. Each reducer
+ * writes one sorted file per column shard it owns, under
+ * <code>output/COLUMN_NAME/</code>.
+ * 
  * @author yangli9
  */
-public class FactDistinctColumnsReducer extends KylinReducer<ShortWritable, Text, NullWritable, Text> {
+public class FactDistinctColumnsReducer extends KylinReducer<Text, NullWritable, NullWritable, Text> {
 
     private List<TblColRef> columnList = new ArrayList<TblColRef>();
 
+    private FileSystem fs;
+    private String outputPath;
+    private String partName;
+
+    private int curColIndex = -1;
+    private FSDataOutputStream out;
+
     @Override
     protected void setup(Context context) throws IOException {
         super.publishConfiguration(context.getConfiguration());
@@ -62,32 +71,38 @@ public class FactDistinctColumnsReducer extends KylinReducer<ShortWritable, Text
         long baseCuboidId = Cuboid.getBaseCuboidId(cubeDesc);
         Cuboid baseCuboid = Cuboid.findById(cubeDesc, baseCuboidId);
         columnList = baseCuboid.getColumns();
+
+        fs = FileSystem.get(conf);
+        outputPath = conf.get(BatchConstants.OUTPUT_PATH);
+        partName = String.format("part-r-%05d", context.getTaskAttemptID().getTaskID().getId());
     }
 
     @Override
-    public void reduce(ShortWritable key, Iterable<Text> values, Context context) throws IOException, InterruptedException {
-        TblColRef col = columnList.get(key.get());
+    public void reduce(Text key, Iterable<NullWritable> values, Context context) throws IOException, InterruptedException {
+        byte[] bytes = key.getBytes();
+        int colIndex = Bytes.toShort(bytes, 0);
 
-        HashSet<ByteArray> set = new HashSet<ByteArray>();
-        for (Text textValue : values) {
-            ByteArray value = new ByteArray(Bytes.copy(textValue.getBytes(), 0, textValue.getLength()));
-            set.add(value);
+        if (colIndex != curColIndex) {
+            closeOutput();
+            TblColRef col = columnList.get(colIndex);
+            out = fs.create(new Path(new Path(outputPath, col.getName()), partName));
+            curColIndex = colIndex;
         }
 
-        Configuration conf = context.getConfiguration();
-        FileSystem fs = FileSystem.get(conf);
-        String outputPath = conf.get(BatchConstants.OUTPUT_PATH);
-        FSDataOutputStream out = fs.create(new Path(outputPath, col.getName()));
-
-        try {
-            for (ByteArray value : set) {
-                out.write(value.data);
-                out.write('\n');
-            }
-        } finally {
+        out.write(bytes, Bytes.SIZEOF_SHORT, key.getLength() - Bytes.SIZEOF_SHORT);
+        out.write('\n');
+    }
+
+    @Override
+    protected void cleanup(Context context) throws IOException, InterruptedException {
+        closeOutput();
+    }
+
+    private void closeOutput() throws IOException {
+        if (out != null) {
             out.close();
+            out = null;
         }
-
     }
 
 }
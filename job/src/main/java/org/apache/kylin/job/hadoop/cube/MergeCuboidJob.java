@@ -65,6 +65,7 @@ public class MergeCuboidJob extends CuboidJob {
 
             Path output = new Path(getOptionValue(OPTION_OUTPUT_PATH));
             FileOutputFormat.setOutputPath(job, output);
+            setIntermediateCompression(job, config);
 
             // Mapper
             job.setInputFormatClass(SequenceFileInputFormat.class);
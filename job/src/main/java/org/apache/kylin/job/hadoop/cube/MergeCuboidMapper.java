@@ -66,6 +66,7 @@ public class MergeCuboidMapper extends KylinMapper<Text, Text, Text, Text> {
     private RowKeySplitter rowKeySplitter;
 
     private HashMap<TblColRef, Boolean> dictsNeedMerging = new HashMap<TblColRef, Boolean>();
+    private HashMap<TblColRef, DictIdRemap> dictIdRemaps = new HashMap<TblColRef, DictIdRemap>();
 
     private static final Pattern JOB_NAME_PATTERN = Pattern.compile("kylin-([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12})");
 
@@ -79,11 +80,66 @@ public class MergeCuboidMapper extends KylinMapper<Text, Text, Text, Text> {
                 String dictTable = (String) DictionaryManager.getInstance(config).decideSourceData(cubeDesc.getModel(), cubeDesc.getRowkey().getDictionary(col), col, null)[0];
                 ret = cubeDesc.getFactTable().equalsIgnoreCase(dictTable);
             }
+            if (ret) {
+                // identical dictionaries, IDs can be kept as they are
+                DictionaryManager dictMgr = DictionaryManager.getInstance(config);
+                Dictionary<?> sourceDict = dictMgr.getDictionary(sourceCubeSegment.getDictResPath(col));
+                Dictionary<?> mergedDict = dictMgr.getDictionary(mergedCubeSegment.getDictResPath(col));
+                ret = !sourceDict.equals(mergedDict);
+            }
             dictsNeedMerging.put(col, ret);
             return ret;
         }
     }
 
+    /**
+     * Old ID to new ID lookup of one column, from the source segment dictionary
+     * to the merged dictionary. A mapper only reads files of one source
+     * segment, so each table is built once and then serves every row.
+     */
+    static class DictIdRemap {
+        final int sourceMinId;
+        final int sourceNullId;
+        final int mergedNullId;
+        final int mergedIdSize;
+        final int[] newIds; // indexed by (old ID - sourceMinId)
+
+        DictIdRemap(Dictionary<?> sourceDict, Dictionary<?> mergedDict) {
+            this.sourceMinId = sourceDict.getMinId();
+            this.sourceNullId = sourceDict.nullId();
+            this.mergedNullId = mergedDict.nullId();
+            this.mergedIdSize = mergedDict.getSizeOfId();
+            this.newIds = new int[Math.max(0, sourceDict.getMaxId() - sourceMinId + 1)];
+
+            byte[] buf = new byte[Math.max(1, sourceDict.getSizeOfValue())];
+            for (int i = 0; i < newIds.length; i++) {
+                int size = sourceDict.getValueBytesFromId(sourceMinId + i, buf, 0);
+                newIds[i] = size < 0 ? mergedNullId : mergedDict.getIdFromValueBytes(buf, 0, size);
+            }
+        }
+
+        int remap(int oldId) {
+            int idx = oldId - sourceMinId;
+            if (idx >= 0 && idx < newIds.length)
+                return newIds[idx];
+            if (oldId == sourceNullId)
+                return mergedNullId;
+            throw new IllegalArgumentException("ID " + oldId + " not found in source dictionary");
+        }
+    }
+
+    private DictIdRemap getDictIdRemap(TblColRef col) throws IOException {
+        DictIdRemap remap = dictIdRemaps.get(col);
+        if (remap == null) {
+            DictionaryManager dictMgr = DictionaryManager.getInstance(config);
+            Dictionary<?> sourceDict = dictMgr.getDictionary(sourceCubeSegment.getDictResPath(col));
+            Dictionary<?> mergedDict = dictMgr.getDictionary(mergedCubeSegment.getDictResPath(col));
+            remap = new DictIdRemap(sourceDict, mergedDict);
+            dictIdRemaps.put(col, remap);
+        }
+        return remap;
+    }
+
     private String extractJobIDFromPath(String path) {
         Matcher matcher = JOB_NAME_PATTERN.matcher(path);
         // check the first occurance
@@ -150,28 +206,19 @@ public class MergeCuboidMapper extends KylinMapper<Text, Text, Text, Text> {
 
             if (this.checkNeedMerging(col)) {
                 // if dictionary on fact table column, needs rewrite
-                DictionaryManager dictMgr = DictionaryManager.getInstance(config);
-                Dictionary<?> sourceDict = dictMgr.getDictionary(sourceCubeSegment.getDictResPath(col));
-                Dictionary<?> mergedDict = dictMgr.getDictionary(mergedCubeSegment.getDictResPath(col));
+                DictIdRemap remap = getDictIdRemap(col);
 
-                while (sourceDict.getSizeOfValue() > newKeyBuf.length - bufOffset || mergedDict.getSizeOfValue() > newKeyBuf.length - bufOffset) {
+                while (remap.mergedIdSize > newKeyBuf.length - bufOffset) {
                     byte[] oldBuf = newKeyBuf;
                     newKeyBuf = new byte[2 * newKeyBuf.length];
                     System.arraycopy(oldBuf, 0, newKeyBuf, 0, oldBuf.length);
                 }
 
                 int idInSourceDict = BytesUtil.readUnsigned(splittedByteses[i + 1].value, 0, splittedByteses[i + 1].length);
-                int idInMergedDict;
-
-                int size = sourceDict.getValueBytesFromId(idInSourceDict, newKeyBuf, bufOffset);
-                if (size < 0) {
-                    idInMergedDict = mergedDict.nullId();
-                } else {
-                    idInMergedDict = mergedDict.getIdFromValueBytes(newKeyBuf, bufOffset, size);
-                }
+                int idInMergedDict = remap.remap(idInSourceDict);
 
-                BytesUtil.writeUnsigned(idInMergedDict, newKeyBuf, bufOffset, mergedDict.getSizeOfId());
-                bufOffset += mergedDict.getSizeOfId();
+                BytesUtil.writeUnsigned(idInMergedDict, newKeyBuf, bufOffset, remap.mergedIdSize);
+                bufOffset += remap.mergedIdSize;
             } else {
                 // keep as it is
                 while (splittedByteses[i + 1].length > newKeyBuf.length - bufOffset) {
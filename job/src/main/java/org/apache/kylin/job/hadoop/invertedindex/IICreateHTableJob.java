@@ -59,7 +59,7 @@ public class IICreateHTableJob extends AbstractHadoopJob {
             KylinConfig config = KylinConfig.getInstanceFromEnv();
             IIManager iiManager = IIManager.getInstance(config);
             IIInstance ii = iiManager.getII(iiName);
-            int sharding = ii.getDescriptor().getSharding();
+            int sharding = ii.getFirstSegment().getSharding();
 
             HTableDescriptor tableDesc = new HTableDescriptor(TableName.valueOf(tableName));
             HColumnDescriptor cf = new HColumnDescriptor(IIDesc.HBASE_FAMILY);
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.job.hadoop.invertedindex;
+
+import java.util.Arrays;
+
+import org.apache.commons.cli.Options;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.common.util.HadoopUtil;
+import org.apache.kylin.invertedindex.IIInstance;
+import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.IISegment;
+import org.apache.kylin.invertedindex.index.ShardBalanceAnalyzer;
+import org.apache.kylin.job.hadoop.AbstractHadoopJob;
+
+/**
+ * Reports how the records of the segment just built spread over its shards, and recommends
+ * a shard count and hash salt for the next segment. The recommendation is saved on the II
+ * when kylin.ii.shard.auto.tune is on.
+ */
+public class IIShardBalanceJob extends AbstractHadoopJob {
+
+    @Override
+    public int run(String[] args) throws Exception {
+        Options options = new Options();
+
+        try {
+            options.addOption(OPTION_II_NAME);
+            options.addOption(OPTION_INPUT_PATH);
+            parseOptions(options, args);
+
+            String iiname = getOptionValue(OPTION_II_NAME);
+            Path statsDir = new Path(getOptionValue(OPTION_INPUT_PATH), InvertedIndexReducer.SHARD_STATS_DIR);
+            KylinConfig config = KylinConfig.getInstanceFromEnv();
+
+            IIManager mgr = IIManager.getInstance(config);
+            IIInstance ii = mgr.getII(iiname);
+            IISegment seg = ii.getFirstSegment();
+
+            ShardBalanceAnalyzer analyzer = readShardStats(statsDir, ii.getDescriptor().getSliceSize());
+            ShardBalanceAnalyzer.Result current = analyzer.analyze(seg.getSharding(), seg.getShardingSalt());
+            ShardBalanceAnalyzer.Result recommended = analyzer.recommend(ii.getDescriptor().getSharding(), config.getIIShardSaltCandidates());
+
+            System.out.println("Records: " + analyzer.getTotalRecords());
+            System.out.println("Records per shard: " + Arrays.toString(current.getShardRecords()));
+            System.out.println("Shard balance of " + seg.getName() + ": " + current);
+            System.out.println("Recommended for the next segment: " + recommended);
+
+            if (config.isIIShardAutoTuneEnabled()) {
+                ii.setTunedSharding(recommended.getSharding());
+                ii.setTunedShardingSalt(recommended.getSalt());
+                mgr.updateII(ii);
+                System.out.println("The next segment of " + iiname + " will use sharding " + recommended.getSharding() + " with salt " + recommended.getSalt());
+            }
+            return 0;
+        } catch (Exception e) {
+            printUsage(options);
+            throw e;
+        }
+    }
+
+    private ShardBalanceAnalyzer readShardStats(Path statsDir, int sliceSize) throws Exception {
+        FileSystem fs = statsDir.getFileSystem(getConf());
+        FileStatus[] files = fs.exists(statsDir) ? fs.listStatus(statsDir) : new FileStatus[0];
+
+        long entries = 0;
+        for (FileStatus file : files) {
+            entries += file.getLen() / 12;
+        }
+        if (entries > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct timestamps to analyze: " + entries);
+        }
+
+        int[] timestampIDs = new int[(int) entries];
+        long[] records = new long[(int) entries];
+        int size = 0;
+        for (FileStatus file : files) {
+            FSDataInputStream in = fs.open(file.getPath());
+            try {
+                for (long i = file.getLen() / 12; i > 0; i--) {
+                    timestampIDs[size] = in.readInt();
+                    records[size] = in.readLong();
+                    size++;
+                }
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+        return new ShardBalanceAnalyzer(timestampIDs, records, size, sliceSize);
+    }
+
+    public static void main(String[] args) throws Exception {
+        IIShardBalanceJob job = new IIShardBalanceJob();
+        job.setConf(HadoopUtil.getCurrentConfiguration());
+        int exitCode = ToolRunner.run(job, args);
+        System.exit(exitCode);
+    }
+}
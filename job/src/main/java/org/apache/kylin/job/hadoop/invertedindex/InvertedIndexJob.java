@@ -67,7 +67,7 @@ public class InvertedIndexJob extends AbstractHadoopJob {
             System.out.println("Starting: " + job.getJobName());
 
             IIInstance ii = getII(iiname);
-            short sharding = ii.getDescriptor().getSharding();
+            short sharding = ii.getFirstSegment().getSharding();
 
             setJobClasspath(job);
 
@@ -18,11 +18,15 @@
 
 package org.apache.kylin.job.hadoop.invertedindex;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.common.mr.KylinReducer;
 import org.apache.kylin.common.util.Pair;
@@ -43,13 +47,21 @@ import org.apache.kylin.metadata.model.SegmentStatusEnum;
  */
 public class InvertedIndexReducer extends KylinReducer<LongWritable, ImmutableBytesWritable, ImmutableBytesWritable, ImmutableBytesWritable> {
 
+    /**
+     * under the output path, one file per reducer holding (timestamp ID int, record count long) pairs;
+     * written to the task's work path, so only the committed attempt's file shows up
+     */
+    public static final String SHARD_STATS_DIR = "_shard_stats";
+    public static final String COUNTER_GROUP_SHARD_SLICES = "II Shard Slices";
+
     private TableRecordInfo info;
     private TableRecord rec;
     private SliceBuilder builder;
     private IIKeyValueCodec kv;
+    private DataOutputStream shardStats;
 
     @Override
-    protected void setup(Context context) throws IOException {
+    protected void setup(Context context) throws IOException, InterruptedException {
         super.publishConfiguration(context.getConfiguration());
 
         Configuration conf = context.getConfiguration();
@@ -61,12 +73,17 @@ public class InvertedIndexReducer extends KylinReducer<LongWritable, ImmutableBy
         rec = info.createTableRecord();
         builder = null;
         kv = new IIKeyValueCodec(info.getDigest());
+
+        Path statsPath = new Path(new Path(FileOutputFormat.getWorkOutputPath(context), SHARD_STATS_DIR), "stats-" + context.getTaskAttemptID().getTaskID().getId());
+        shardStats = statsPath.getFileSystem(conf).create(statsPath, true);
     }
 
     @Override
     public void reduce(LongWritable key, Iterable<ImmutableBytesWritable> values, Context context) //
             throws IOException, InterruptedException {
+        long count = 0;
         for (ImmutableBytesWritable v : values) {
+            count++;
             rec.setBytes(v.get(), v.getOffset(), v.getLength());
 
             if (builder == null) {
@@ -81,6 +98,10 @@ public class InvertedIndexReducer extends KylinReducer<LongWritable, ImmutableBy
                 output(slice, context);
             }
         }
+
+        // all records of a reduce key share one timestamp
+        shardStats.writeInt(rec.getTimestampID());
+        shardStats.writeLong(count);
     }
 
     @Override
@@ -89,9 +110,11 @@ public class InvertedIndexReducer extends KylinReducer<LongWritable, ImmutableBy
         if (slice != null) {
             output(slice, context);
         }
+        IOUtils.closeQuietly(shardStats);
     }
 
     private void output(Slice slice, Context context) throws IOException, InterruptedException {
+        context.getCounter(COUNTER_GROUP_SHARD_SLICES, "Shard " + slice.getShard()).increment(1L);
         for (Pair<ImmutableBytesWritable, ImmutableBytesWritable> pair : kv.encodeKeyValue(slice)) {
             context.write(pair.getFirst(), pair.getSecond());
         }
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.inmemcubing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.hadoop.io.Text;
+import org.apache.kylin.common.util.ByteArray;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.BytesSplitter;
+import org.apache.kylin.common.util.Pair;
+import org.apache.kylin.common.util.SplittedBytes;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.cube.cuboid.CuboidScheduler;
+import org.apache.kylin.cube.kv.AbstractRowKeyEncoder;
+import org.apache.kylin.cube.kv.RowConstants;
+import org.apache.kylin.cube.model.CubeDesc;
+import org.apache.kylin.job.hadoop.cube.BaseCuboidMapper;
+import org.apache.kylin.job.hadoop.cube.CuboidHFileWriter;
+import org.apache.kylin.job.hadoop.hive.CubeJoinedFlatTableDesc;
+import org.apache.kylin.metadata.measure.MeasureAggregators;
+import org.apache.kylin.metadata.measure.MeasureCodec;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Builds all cuboids of a segment in memory, for segments too small to be
+ * worth a chain of MapReduce jobs. The dictionaries of the segment must be
+ * built before any row is added.
+ * <p>
+ * Flat table rows are aggregated into the base cuboid the same way as
+ * BaseCuboidMapper does. Then every cuboid is aggregated from its parent in the
+ * CuboidScheduler tree, with sibling cuboids computed in parallel by a
+ * fork-join pool. Once the children of a cuboid are done, its aggregators are
+ * released and only its encoded rows are kept until they are written.
+ */
+public class InMemCubeBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemCubeBuilder.class);
+
+    private final CubeSegment cubeSegment;
+    private final CubeDesc cubeDesc;
+    private final CuboidScheduler cuboidScheduler;
+    private final Cuboid baseCuboid;
+    private final CubeJoinedFlatTableDesc intermediateTableDesc;
+
+    private final BytesSplitter bytesSplitter = new BytesSplitter(200, 4096);
+    private final AbstractRowKeyEncoder rowKeyEncoder;
+    private final MeasureCodec measureCodec;
+    private final List<byte[]> nullBytes;
+    private final byte[][] keyBytesBuf;
+    private final Object[] measures;
+
+    // cuboids being aggregated or having children being aggregated from them
+    private final Map<Long, SortedMap<ByteArray, MeasureAggregators>> cuboids = new ConcurrentHashMap<Long, SortedMap<ByteArray, MeasureAggregators>>();
+    // cuboids done, rows in row key order with encoded measures
+    private final Map<Long, List<Pair<byte[], byte[]>>> builtCuboids = new ConcurrentHashMap<Long, List<Pair<byte[], byte[]>>>();
+    private SortedMap<ByteArray, MeasureAggregators> baseCuboidRows = new TreeMap<ByteArray, MeasureAggregators>();
+    private long rowCount;
+
+    public InMemCubeBuilder(CubeSegment cubeSegment) {
+        this.cubeSegment = cubeSegment;
+        this.cubeDesc = cubeSegment.getCubeDesc();
+        this.cuboidScheduler = new CuboidScheduler(cubeDesc);
+        this.baseCuboid = Cuboid.findById(cubeDesc, Cuboid.getBaseCuboidId(cubeDesc));
+        this.intermediateTableDesc = new CubeJoinedFlatTableDesc(cubeDesc, cubeSegment);
+
+        this.rowKeyEncoder = AbstractRowKeyEncoder.createInstance(cubeSegment, baseCuboid);
+        this.measureCodec = new MeasureCodec(cubeDesc.getMeasures());
+        this.keyBytesBuf = new byte[baseCuboid.getColumns().size()][];
+        this.measures = new Object[cubeDesc.getMeasures().size()];
+
+        this.nullBytes = Lists.newArrayList();
+        nullBytes.add(BaseCuboidMapper.HIVE_NULL);
+        if (cubeDesc.getNullStrings() != null) {
+            for (String s : cubeDesc.getNullStrings()) {
+                nullBytes.add(Bytes.toBytes(s));
+            }
+        }
+    }
+
+    /**
+     * Aggregate a row of the flat table into the base cuboid.
+     */
+    public void addRow(byte[] row, int length, byte delimiter) {
+        bytesSplitter.split(row, length, delimiter);
+        SplittedBytes[] splitBuffers = bytesSplitter.getSplitBuffers();
+
+        int[] rowKeyColumnIndexes = intermediateTableDesc.getRowKeyColumnIndexes();
+        for (int i = 0; i < keyBytesBuf.length; i++) {
+            SplittedBytes split = splitBuffers[rowKeyColumnIndexes[i]];
+            keyBytesBuf[i] = Arrays.copyOf(split.value, split.length);
+            if (isNull(keyBytesBuf[i])) {
+                keyBytesBuf[i] = null;
+            }
+        }
+        ByteArray key = new ByteArray(rowKeyEncoder.encode(keyBytesBuf));
+
+        for (int i = 0; i < measures.length; i++) {
+            measures[i] = measureCodec.getSerializer(i).valueOf(getValueBytes(splitBuffers, i));
+        }
+
+        MeasureAggregators aggs = baseCuboidRows.get(key);
+        if (aggs == null) {
+            aggs = new MeasureAggregators(cubeDesc.getMeasures());
+            baseCuboidRows.put(key, aggs);
+        }
+        aggs.aggregate(measures);
+        rowCount++;
+    }
+
+    private byte[] getValueBytes(SplittedBytes[] splitBuffers, int measureIdx) {
+        MeasureDesc desc = cubeDesc.getMeasures().get(measureIdx);
+        FunctionDesc func = desc.getFunction();
+        int[] flatTableIdx = intermediateTableDesc.getMeasureColumnIndexes()[measureIdx];
+
+        if (func.isCount() || func.isHolisticCountDistinct()) {
+            return BaseCuboidMapper.ONE;
+        }
+
+        byte[] result;
+        if (flatTableIdx == null) {
+            // constant
+            result = Bytes.toBytes(func.getParameter().getValue());
+        } else {
+            result = BaseCuboidMapper.joinMeasureValues(splitBuffers, flatTableIdx, func.isTopN());
+        }
+        return isNull(result) ? null : result;
+    }
+
+    private boolean isNull(byte[] v) {
+        for (byte[] nullByte : nullBytes) {
+            if (Bytes.equals(v, nullByte))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compute all cuboids from the base cuboid, no more rows can be added after.
+     */
+    public void build(int parallelism) {
+        long start = System.currentTimeMillis();
+        cuboids.put(baseCuboid.getId(), baseCuboidRows);
+        baseCuboidRows = null;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new CuboidTask(-1, baseCuboid.getId()));
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("Built " + builtCuboids.size() + " cuboids from " + rowCount + " rows in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    @SuppressWarnings("serial")
+    private class CuboidTask extends RecursiveAction {
+        final long parentId;
+        final long cuboidId;
+
+        CuboidTask(long parentId, long cuboidId) {
+            this.parentId = parentId;
+            this.cuboidId = cuboidId;
+        }
+
+        @Override
+        protected void compute() {
+            if (parentId >= 0) {
+                cuboids.put(cuboidId, aggregateFromParent(parentId, cuboidId));
+            }
+
+            Collection<Long> children = cuboidScheduler.getSpanningCuboid(cuboidId);
+            List<CuboidTask> tasks = new ArrayList<CuboidTask>(children.size());
+            for (Long child : children) {
+                tasks.add(new CuboidTask(cuboidId, child));
+            }
+            invokeAll(tasks);
+
+            // no more children to aggregate, keep the encoded rows only
+            builtCuboids.put(cuboidId, encode(cuboids.remove(cuboidId)));
+        }
+    }
+
+    private List<Pair<byte[], byte[]>> encode(SortedMap<ByteArray, MeasureAggregators> rows) {
+        MeasureCodec codec = new MeasureCodec(cubeDesc.getMeasures());
+        ByteBuffer valueBuf = ByteBuffer.allocate(RowConstants.ROWVALUE_BUFFER_SIZE);
+        Object[] states = new Object[measures.length];
+        List<Pair<byte[], byte[]>> result = new ArrayList<Pair<byte[], byte[]>>(rows.size());
+        for (Map.Entry<ByteArray, MeasureAggregators> entry : rows.entrySet()) {
+            entry.getValue().collectStates(states);
+            valueBuf.clear();
+            codec.encode(states, valueBuf);
+            result.add(new Pair<byte[], byte[]>(entry.getKey().data, Arrays.copyOf(valueBuf.array(), valueBuf.position())));
+        }
+        return result;
+    }
+
+    private SortedMap<ByteArray, MeasureAggregators> aggregateFromParent(long parentId, long childId) {
+        Cuboid parentCuboid = Cuboid.findById(cubeDesc, parentId);
+        Cuboid childCuboid = Cuboid.findById(cubeDesc, childId);
+
+        // the parent row key ranges to keep, in the same way as NDCuboidMapper
+        List<TblColRef> parentColumns = parentCuboid.getColumns();
+        List<int[]> keepRanges = new ArrayList<int[]>();
+        int childKeyLength = RowConstants.ROWKEY_CUBOIDID_LEN;
+        int offset = RowConstants.ROWKEY_CUBOIDID_LEN;
+        long mask = Long.highestOneBit(parentId);
+        int index = 0;
+        for (int i = 0, n = Long.SIZE - Long.numberOfLeadingZeros(parentId); i < n; i++) {
+            if ((mask & parentId) > 0) {
+                int len = cubeSegment.getColumnLength(parentColumns.get(index));
+                if ((mask & childId) > 0) {
+                    keepRanges.add(new int[] { offset, len });
+                    childKeyLength += len;
+                }
+                offset += len;
+                index++;
+            }
+            mask = mask >> 1;
+        }
+
+        SortedMap<ByteArray, MeasureAggregators> parentRows = cuboids.get(parentId);
+        SortedMap<ByteArray, MeasureAggregators> childRows = new TreeMap<ByteArray, MeasureAggregators>();
+        Object[] states = new Object[measures.length];
+        for (Map.Entry<ByteArray, MeasureAggregators> entry : parentRows.entrySet()) {
+            byte[] parentKey = entry.getKey().data;
+            byte[] childKey = new byte[childKeyLength];
+            System.arraycopy(childCuboid.getBytes(), 0, childKey, 0, RowConstants.ROWKEY_CUBOIDID_LEN);
+            int pos = RowConstants.ROWKEY_CUBOIDID_LEN;
+            for (int[] range : keepRanges) {
+                System.arraycopy(parentKey, range[0], childKey, pos, range[1]);
+                pos += range[1];
+            }
+
+            ByteArray key = new ByteArray(childKey);
+            MeasureAggregators aggs = childRows.get(key);
+            if (aggs == null) {
+                aggs = new MeasureAggregators(cubeDesc.getMeasures());
+                childRows.put(key, aggs);
+            }
+            entry.getValue().collectStates(states);
+            aggs.aggregate(states);
+        }
+        return childRows;
+    }
+
+    /**
+     * Write all cuboids in row key order, each cuboid is released once written.
+     */
+    public void write(CuboidHFileWriter writer) throws IOException {
+        Text key = new Text();
+        Text value = new Text();
+        for (Long cuboidId : getCuboidIds()) {
+            for (Pair<byte[], byte[]> row : builtCuboids.remove(cuboidId)) {
+                key.set(row.getFirst());
+                value.set(row.getSecond());
+                writer.write(key, value);
+            }
+        }
+    }
+
+    public List<Long> getCuboidIds() {
+        List<Long> result = new ArrayList<Long>(builtCuboids.keySet());
+        // cuboid ID leads the row key
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * @return rows of a built cuboid in row key order, measures encoded by MeasureCodec
+     */
+    public List<Pair<byte[], byte[]>> getCuboid(long cuboidId) {
+        return builtCuboids.get(cuboidId);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.kylin.job.hadoop.invertedindex.IIBulkLoadJob;
 import org.apache.kylin.job.hadoop.invertedindex.IICreateHFileJob;
 import org.apache.kylin.job.hadoop.invertedindex.IICreateHTableJob;
 import org.apache.kylin.job.hadoop.invertedindex.IIDistinctColumnsJob;
+import org.apache.kylin.job.hadoop.invertedindex.IIShardBalanceJob;
 import org.apache.kylin.job.hadoop.invertedindex.InvertedIndexJob;
 import org.apache.kylin.metadata.model.DataModelDesc.RealizationCapacity;
 
@@ -70,6 +71,8 @@ public final class IIJobBuilder extends AbstractJobBuilder {
 
         result.addTask(createInvertedIndexStep(seg, intermediateHiveTableName, iiRootPath));
 
+        result.addTask(createAnalyzeShardsStep(seg, iiRootPath));
+
         // create htable step
         result.addTask(createCreateHTableStep(seg));
 
@@ -164,6 +167,18 @@ public final class IIJobBuilder extends AbstractJobBuilder {
         return buildIIStep;
     }
 
+    private HadoopShellExecutable createAnalyzeShardsStep(IISegment seg, String iiOutputTempPath) {
+        HadoopShellExecutable analyzeShardsStep = new HadoopShellExecutable();
+        analyzeShardsStep.setName(ExecutableConstants.STEP_NAME_ANALYZE_II_SHARDS);
+        StringBuilder cmd = new StringBuilder();
+        appendExecCmdParameters(cmd, "iiname", seg.getIIInstance().getName());
+        appendExecCmdParameters(cmd, "input", iiOutputTempPath);
+
+        analyzeShardsStep.setJobParams(cmd.toString());
+        analyzeShardsStep.setJobClass(IIShardBalanceJob.class);
+        return analyzeShardsStep;
+    }
+
     private HadoopShellExecutable createCreateHTableStep(IISegment seg) {
         HadoopShellExecutable createHtableStep = new HadoopShellExecutable();
         createHtableStep.setName(ExecutableConstants.STEP_NAME_CREATE_HBASE_TABLE);
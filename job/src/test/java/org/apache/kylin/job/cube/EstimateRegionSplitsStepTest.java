@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.cube;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EstimateRegionSplitsStepTest extends LocalFileMetadataTestCase {
+
+    private CubeSegment segment;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+        segment = CubeManager.getInstance(getTestConfig()).getCube("test_kylin_cube_with_slr_ready").getSegments().get(0);
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testNoSourceRecords() {
+        assertTrue(EstimateRegionSplitsStep.estimateSplitKeys(segment, 0, 10, 1, 100).isEmpty());
+    }
+
+    @Test
+    public void testMinRegionCount() {
+        // a few rows fit one region, but no fewer than the minimum
+        List<byte[]> keys = EstimateRegionSplitsStep.estimateSplitKeys(segment, 1000, 10, 3, 100);
+        assertEquals(2, keys.size());
+        assertSplitKeys(keys);
+    }
+
+    @Test
+    public void testMaxRegionCount() {
+        List<byte[]> keys = EstimateRegionSplitsStep.estimateSplitKeys(segment, 1000L * 1000 * 1000 * 1000, 1, 1, 5);
+        assertEquals(4, keys.size());
+        assertSplitKeys(keys);
+    }
+
+    @Test
+    public void testRegionsBySize() {
+        List<byte[]> bigRegions = EstimateRegionSplitsStep.estimateSplitKeys(segment, 1000L * 1000, 10, 1, 1000);
+        List<byte[]> smallRegions = EstimateRegionSplitsStep.estimateSplitKeys(segment, 1000L * 1000, 1, 1, 1000);
+        assertFalse(smallRegions.isEmpty());
+        assertTrue(smallRegions.size() > bigRegions.size());
+        assertSplitKeys(smallRegions);
+    }
+
+    // ascending, each leading with the id of a valid cuboid
+    private void assertSplitKeys(List<byte[]> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] key = keys.get(i);
+            assertTrue(key.length >= 8);
+            assertTrue(Cuboid.isValid(segment.getCubeDesc(), Bytes.toLong(key, 0, 8)));
+            if (i > 0) {
+                assertTrue(Bytes.compareTo(keys.get(i - 1), key) < 0);
+            }
+        }
+    }
+}
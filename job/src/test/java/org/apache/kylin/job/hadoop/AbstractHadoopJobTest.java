@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.GzipCodec;
+import org.apache.hadoop.io.compress.Lz4Codec;
+import org.apache.hadoop.io.compress.SnappyCodec;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.MRJobConfig;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractHadoopJobTest extends LocalFileMetadataTestCase {
+
+    private static final String CODEC_KEY = "kylin.job.cubing.intermediate.compression.codec";
+
+    private AbstractHadoopJob hadoopJob;
+
+    @Before
+    public void setUp() throws Exception {
+        createTestMetadata();
+        hadoopJob = new AbstractHadoopJob() {
+            @Override
+            public int run(String[] args) throws Exception {
+                return 0;
+            }
+        };
+    }
+
+    @After
+    public void after() throws Exception {
+        cleanupTestMetadata();
+    }
+
+    @Test
+    public void testAutoCodec() {
+        assertEquals(SnappyCodec.class, AbstractHadoopJob.getIntermediateCompressionCodec("auto", true, true));
+        assertEquals(Lz4Codec.class, AbstractHadoopJob.getIntermediateCompressionCodec("auto", true, false));
+        assertEquals(DefaultCodec.class, AbstractHadoopJob.getIntermediateCompressionCodec("AUTO", false, false));
+    }
+
+    @Test
+    public void testNoneCodec() {
+        assertNull(AbstractHadoopJob.getIntermediateCompressionCodec("none", true, true));
+    }
+
+    @Test
+    public void testCodecClassName() {
+        assertEquals(GzipCodec.class, AbstractHadoopJob.getIntermediateCompressionCodec(GzipCodec.class.getName(), true, true));
+    }
+
+    @Test
+    public void testInvalidCodecClassName() {
+        try {
+            AbstractHadoopJob.getIntermediateCompressionCodec("org.apache.hadoop.io.compress.NoSuchCodec", true, true);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("NoSuchCodec"));
+        }
+        try {
+            AbstractHadoopJob.getIntermediateCompressionCodec(String.class.getName(), true, true);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(String.class.getName()));
+        }
+    }
+
+    @Test
+    public void testSetIntermediateCompression() throws Exception {
+        KylinConfig config = getTestConfig();
+        config.setProperty(CODEC_KEY, GzipCodec.class.getName());
+        Job job = Job.getInstance(new Configuration());
+        hadoopJob.setIntermediateCompression(job, config);
+
+        assertTrue(FileOutputFormat.getCompressOutput(job));
+        assertEquals(GzipCodec.class, FileOutputFormat.getOutputCompressorClass(job, DefaultCodec.class));
+        assertTrue(job.getConfiguration().getBoolean(MRJobConfig.MAP_OUTPUT_COMPRESS, false));
+        assertEquals(GzipCodec.class, job.getConfiguration().getClass(MRJobConfig.MAP_OUTPUT_COMPRESS_CODEC, null, CompressionCodec.class));
+    }
+
+    @Test
+    public void testSetIntermediateCompressionNone() throws Exception {
+        KylinConfig config = getTestConfig();
+        config.setProperty(CODEC_KEY, "none");
+        Job job = Job.getInstance(new Configuration());
+        hadoopJob.setIntermediateCompression(job, config);
+
+        assertFalse(FileOutputFormat.getCompressOutput(job));
+        assertFalse(job.getConfiguration().getBoolean(MRJobConfig.MAP_OUTPUT_COMPRESS, false));
+    }
+}
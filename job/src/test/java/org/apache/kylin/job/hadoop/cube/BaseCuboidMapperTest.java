@@ -32,11 +32,14 @@ import org.apache.hadoop.mrunit.mapreduce.MapDriver;
 import org.apache.hadoop.mrunit.types.Pair;
 import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.common.util.SplittedBytes;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
 import org.apache.kylin.cube.kv.RowKeyDecoder;
 import org.apache.kylin.job.constant.BatchConstants;
 import org.apache.kylin.metadata.measure.MeasureCodec;
+import org.apache.kylin.metadata.measure.TopNSerializer;
+import org.apache.kylin.metadata.measure.topn.TopNCounter;
 import org.apache.kylin.metadata.model.MeasureDesc;
 import org.junit.After;
 import org.junit.Before;
@@ -97,6 +100,34 @@ public class BaseCuboidMapperTest extends LocalFileMetadataTestCase {
         verifyMeasures(cube.getDescriptor().getMeasures(), result.get(0).getSecond(), "132.33", "132.33", "132.33", "1", "22");
     }
 
+    @Test
+    public void testJoinMeasureValues() {
+        SplittedBytes[] splits = new SplittedBytes[] { split("x"), split("12.5"), split("seller 100") };
+        int[] idx = new int[] { 1, 2 };
+
+        assertEquals("12.5seller 100", Bytes.toString(BaseCuboidMapper.joinMeasureValues(splits, idx, false)));
+
+        // top-n values are separated, the serializer splits them into the count and the item
+        TopNCounter counter = new TopNSerializer(10).valueOf(BaseCuboidMapper.joinMeasureValues(splits, idx, true));
+        assertEquals(1, counter.size());
+        assertEquals("seller 100", Bytes.toString(counter.topK(1).get(0).getItem()));
+        assertEquals(12.5, counter.topK(1).get(0).getCount(), 0);
+
+        // an empty measure value is still separated from the item, and counts nothing
+        splits[1] = split("");
+        byte[] joined = BaseCuboidMapper.joinMeasureValues(splits, idx, true);
+        assertEquals(TopNSerializer.VALUE_SEPARATOR, joined[0]);
+        assertEquals(0, new TopNSerializer(10).valueOf(joined).size());
+    }
+
+    private static SplittedBytes split(String value) {
+        byte[] bytes = Bytes.toBytes(value);
+        SplittedBytes split = new SplittedBytes(bytes.length);
+        System.arraycopy(bytes, 0, split.value, 0, bytes.length);
+        split.length = bytes.length;
+        return split;
+    }
+
     private void verifyMeasures(List<MeasureDesc> measures, Text valueBytes, String... valueStr) {
         MeasureCodec codec = new MeasureCodec(measures);
         Object[] values = new Object[measures.size()];
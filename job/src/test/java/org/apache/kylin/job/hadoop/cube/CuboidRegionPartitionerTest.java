@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
+import org.apache.kylin.job.constant.BatchConstants;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CuboidRegionPartitionerTest {
+
+    CuboidRegionPartitioner partitioner;
+
+    @Before
+    public void setUp() {
+        List<byte[]> splitKeys = Arrays.asList(new byte[] { 0, 0, 5 }, new byte[] { 0, 1 }, new byte[] { (byte) 0xf0 });
+        Configuration conf = new Configuration();
+        conf.set(BatchConstants.CFG_REGION_SPLIT_KEYS, CuboidRegionPartitioner.encodeSplitKeys(splitKeys));
+        partitioner = new CuboidRegionPartitioner();
+        partitioner.setConf(conf);
+    }
+
+    @Test
+    public void testEncodeSplitKeys() {
+        byte[][] decoded = CuboidRegionPartitioner.decodeSplitKeys("000005,0001");
+        assertEquals(2, decoded.length);
+        assertArrayEquals(new byte[] { 0, 0, 5 }, decoded[0]);
+        assertArrayEquals(new byte[] { 0, 1 }, decoded[1]);
+        assertEquals(0, CuboidRegionPartitioner.decodeSplitKeys("").length);
+    }
+
+    @Test
+    public void testPartition() {
+        assertEquals(0, partition(0, 0, 4));
+        assertEquals(1, partition(0, 0, 5));
+        assertEquals(1, partition(0, 0, 5, 1));
+        assertEquals(2, partition(0, 1));
+        assertEquals(2, partition(0x7f, 0x7f));
+        assertEquals(3, partition(0xf0));
+        assertEquals(3, partition(0xff, 0xff));
+    }
+
+    private int partition(int... bytes) {
+        byte[] key = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            key[i] = (byte) bytes[i];
+        }
+        return partitioner.getPartition(new Text(key), new Text(), 4);
+    }
+}
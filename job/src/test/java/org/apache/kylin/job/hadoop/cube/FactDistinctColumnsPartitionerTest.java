@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.hadoop.cube;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.job.constant.BatchConstants;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FactDistinctColumnsPartitionerTest {
+
+    FactDistinctColumnsPartitioner partitioner;
+
+    @Before
+    public void setUp() {
+        Configuration conf = new Configuration();
+        // column 0: not collected, column 1: one shard, column 2: three shards
+        conf.set(BatchConstants.CFG_FACT_DISTINCT_COLUMN_SHARDS, FactDistinctColumnsPartitioner.encodeShards(new int[] { 0, 1, 3 }));
+        partitioner = new FactDistinctColumnsPartitioner();
+        partitioner.setConf(conf);
+    }
+
+    @Test
+    public void testEncodeShards() {
+        assertArrayEquals(new int[] { 0, 1, 3 }, FactDistinctColumnsPartitioner.decodeShards("0,1,3"));
+        assertArrayEquals(new int[0], FactDistinctColumnsPartitioner.decodeShards(""));
+    }
+
+    @Test
+    public void testPartition() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, partitioner.getPartition(key(1, "v" + i), NullWritable.get(), 4));
+        }
+
+        Set<Integer> parts = new HashSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            int p = partitioner.getPartition(key(2, "v" + i), NullWritable.get(), 4);
+            assertTrue(p >= 1 && p <= 3);
+            assertEquals(p, partitioner.getPartition(key(2, "v" + i), NullWritable.get(), 4));
+            parts.add(p);
+        }
+        assertEquals(3, parts.size());
+    }
+
+    private Text key(int colIndex, String value) {
+        byte[] v = Bytes.toBytes(value);
+        byte[] bytes = new byte[Bytes.SIZEOF_SHORT + v.length];
+        Bytes.putShort(bytes, 0, (short) colIndex);
+        System.arraycopy(v, 0, bytes, Bytes.SIZEOF_SHORT, v.length);
+        return new Text(bytes);
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.kylin.job.hadoop.cube;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -183,4 +184,29 @@ public class MergeCuboidMapperTest extends LocalFileMetadataTestCase {
         //
         //        mapDriver.runTest();
     }
+
+    @Test
+    public void testDictIdRemap() {
+        TableSignature signature = new TableSignature();
+        signature.setPath("fake_dict_for_remap");
+
+        List<byte[]> sourceValues = new ArrayList<byte[]>();
+        sourceValues.add(new byte[] { 98, 98, 98 });
+        sourceValues.add(new byte[] { 100, 100, 100 });
+        Dictionary<?> sourceDict = DictionaryGenerator.buildDictionaryFromValueList(new DictionaryInfo("", "", 0, "string", signature), sourceValues);
+
+        List<byte[]> mergedValues = new ArrayList<byte[]>();
+        mergedValues.add(new byte[] { 97, 97, 97 });
+        mergedValues.addAll(sourceValues);
+        mergedValues.add(new byte[] { 99, 99, 99 });
+        Dictionary<?> mergedDict = DictionaryGenerator.buildDictionaryFromValueList(new DictionaryInfo("", "", 0, "string", signature), mergedValues);
+
+        MergeCuboidMapper.DictIdRemap remap = new MergeCuboidMapper.DictIdRemap(sourceDict, mergedDict);
+        byte[] buf = new byte[sourceDict.getSizeOfValue()];
+        for (int id = sourceDict.getMinId(); id <= sourceDict.getMaxId(); id++) {
+            int size = sourceDict.getValueBytesFromId(id, buf, 0);
+            assertEquals(mergedDict.getIdFromValueBytes(buf, 0, size), remap.remap(id));
+        }
+        assertEquals(mergedDict.nullId(), remap.remap(sourceDict.nullId()));
+    }
 }
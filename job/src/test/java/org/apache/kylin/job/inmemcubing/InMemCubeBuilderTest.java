@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.job.inmemcubing;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.hadoop.io.LongWritable;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.common.util.Pair;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.cube.CubeSegment;
+import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.cube.cuboid.CuboidScheduler;
+import org.apache.kylin.metadata.measure.MeasureCodec;
+import org.apache.kylin.metadata.model.SegmentStatusEnum;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemCubeBuilderTest extends LocalFileMetadataTestCase {
+
+    private static final byte DELIM = 127;
+
+    CubeSegment segment;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+        CubeInstance cube = CubeManager.getInstance(getTestConfig()).getCube("test_kylin_cube_with_slr_1_new_segment");
+        segment = cube.getSegment("20130331080000_20131212080000", SegmentStatusEnum.NEW);
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testBuild() throws Exception {
+        InMemCubeBuilder builder = new InMemCubeBuilder(segment);
+        addRow(builder, "2012-12-15", "11848", "0", "Health & Beauty", "Fragrances", "Women", "Auction", "15", "123456789", "132.33", "22");
+        addRow(builder, "2012-12-15", "11848", "0", "Health & Beauty", "Fragrances", "Women", "Auction", "15", "123456789", "100", "8");
+        addRow(builder, "2012-12-15", "11848", "0", "Health & Beauty", "Fragrances", "\\N", "Auction", "15", "123456789", "10", "1");
+        builder.build(2);
+
+        assertEquals(3, builder.getRowCount());
+
+        // base cuboid, the first two rows are aggregated
+        long baseCuboidId = Cuboid.getBaseCuboidId(segment.getCubeDesc());
+        List<Pair<byte[], byte[]>> baseCuboid = builder.getCuboid(baseCuboidId);
+        assertEquals(2, baseCuboid.size());
+        boolean found = false;
+        for (Pair<byte[], byte[]> row : baseCuboid) {
+            Object[] states = decode(row.getSecond());
+            if (new LongWritable(2).equals(states[3])) {
+                assertEquals(0, new BigDecimal("232.33").compareTo((BigDecimal) states[0]));
+                assertEquals(new LongWritable(30), states[4]);
+                found = true;
+            }
+        }
+        assertTrue(found);
+
+        // all cuboids are built, each keeps the total count
+        assertEquals(countCuboids(segment), builder.getCuboidIds().size());
+        for (Long cuboidId : builder.getCuboidIds()) {
+            long count = 0;
+            byte[] lastKey = null;
+            for (Pair<byte[], byte[]> row : builder.getCuboid(cuboidId)) {
+                assertEquals(cuboidId.longValue(), Bytes.toLong(row.getFirst(), 0, 8));
+                // rows are kept in row key order for the hfile writer
+                assertTrue(lastKey == null || Bytes.compareTo(lastKey, row.getFirst()) < 0);
+                lastKey = row.getFirst();
+                count += ((LongWritable) decode(row.getSecond())[3]).get();
+            }
+            assertEquals(3, count);
+            assertTrue(builder.getCuboid(cuboidId).size() <= 2);
+        }
+    }
+
+    private Object[] decode(byte[] value) {
+        Object[] states = new Object[segment.getCubeDesc().getMeasures().size()];
+        new MeasureCodec(segment.getCubeDesc().getMeasures()).decode(ByteBuffer.wrap(value), states);
+        return states;
+    }
+
+    private int countCuboids(CubeSegment seg) {
+        CuboidScheduler scheduler = new CuboidScheduler(seg.getCubeDesc());
+        LinkedList<Long> queue = new LinkedList<Long>();
+        queue.add(Cuboid.getBaseCuboidId(seg.getCubeDesc()));
+        int count = 0;
+        while (!queue.isEmpty()) {
+            queue.addAll(scheduler.getSpanningCuboid(queue.poll()));
+            count++;
+        }
+        return count;
+    }
+
+    private void addRow(InMemCubeBuilder builder, String... values) {
+        StringBuilder buf = new StringBuilder();
+        for (String v : values) {
+            if (buf.length() > 0)
+                buf.append((char) DELIM);
+            buf.append(v);
+        }
+        byte[] row = Bytes.toBytes(buf.toString());
+        builder.addRow(row, row.length, DELIM);
+    }
+}
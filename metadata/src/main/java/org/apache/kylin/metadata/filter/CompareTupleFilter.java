@@ -110,11 +110,27 @@ public class CompareTupleFilter extends TupleFilter {
     }
 
     public void bindVariable(String variable, String value) {
-        this.dynamicVariables.put(variable, value);
+        String previous = this.dynamicVariables.put(variable, value);
+        // a filter may be bound again when its compiled plan is reused, drop the stale value
+        if (previous != null && !previous.equals(value) && !isValueStillReferenced(previous)) {
+            this.conditionValues.remove(previous);
+        }
         this.conditionValues.add(value);
         this.firstCondValue = this.conditionValues.iterator().next();
     }
 
+    private boolean isValueStillReferenced(String value) {
+        if (this.dynamicVariables.containsValue(value)) {
+            return true;
+        }
+        for (TupleFilter child : this.children) {
+            if (child instanceof ConstantTupleFilter && child.getValues().contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public String getNullString() {
         return nullString;
     }
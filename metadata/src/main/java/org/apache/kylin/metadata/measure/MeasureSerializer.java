@@ -45,6 +45,9 @@ abstract public class MeasureSerializer<T> implements BytesSerializer<T> {
         if (type.isHLLC()) {
             return new HLLCSerializer(type.getPrecision());
         }
+        if (type.isTopN()) {
+            return new TopNSerializer(type.getPrecision());
+        }
 
         Class<?> clz = implementations.get(type.getName());
         if (clz == null)
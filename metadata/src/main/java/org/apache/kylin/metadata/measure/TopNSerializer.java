@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.metadata.measure;
+
+import java.nio.ByteBuffer;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.metadata.measure.topn.TopNCounter;
+
+/**
+ * Serializer of top-n summaries. The raw value of a top-n measure is the numeric measure
+ * column and the "top by" column joined by {@link #VALUE_SEPARATOR}.
+ */
+public class TopNSerializer extends MeasureSerializer<TopNCounter> {
+
+    // never appears in the text of a number, the item may contain anything after it
+    public static final byte VALUE_SEPARATOR = 0;
+
+    TopNCounter current;
+
+    public TopNSerializer(int precision) {
+        current = new TopNCounter(precision * TopNCounter.EXTRA_SPACE_RATE);
+    }
+
+    @Override
+    public void serialize(TopNCounter value, ByteBuffer out) {
+        value.writeTo(out);
+    }
+
+    @Override
+    public TopNCounter deserialize(ByteBuffer in) {
+        current.readFrom(in);
+        return current;
+    }
+
+    @Override
+    public TopNCounter valueOf(byte[] value) {
+        current.clear();
+        if (value == null)
+            return current;
+
+        int sep = 0;
+        while (sep < value.length && value[sep] != VALUE_SEPARATOR)
+            sep++;
+        if (sep == value.length)
+            throw new IllegalArgumentException("Top-n value must be a number and an item joined by separator " + VALUE_SEPARATOR);
+
+        double number;
+        try {
+            number = Double.parseDouble(Bytes.toString(value, 0, sep));
+        } catch (NumberFormatException e) {
+            return current; // null measure counts nothing
+        }
+        byte[] item = new byte[value.length - sep - 1];
+        System.arraycopy(value, sep + 1, item, 0, item.length);
+        current.offer(item, number);
+        return current;
+    }
+
+}
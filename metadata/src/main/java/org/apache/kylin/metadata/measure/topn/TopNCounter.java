@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.metadata.measure.topn;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.kylin.common.util.ByteArray;
+import org.apache.kylin.common.util.BytesUtil;
+
+/**
+ * Space-saving summary of the heaviest items of a weighted stream, e.g. the top sellers by
+ * sum(price). At most capacity counters are kept; a new item evicts the lightest counter and
+ * inherits its count as the error bound, so an item's count is an over-estimate by at most its
+ * error. Two summaries merge into one of the same capacity (Cafaro et al., parallel space
+ * saving), which is what cube build and post aggregation do.
+ * 
+ * Weights are expected to be non-negative.
+ */
+public class TopNCounter {
+
+    // counters kept for each requested top item, the extra ones absorb the eviction error
+    public static final int EXTRA_SPACE_RATE = 2;
+
+    public static class Counter {
+        private final ByteArray item;
+        private double count;
+        private double error;
+
+        Counter(ByteArray item, double count, double error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public byte[] getItem() {
+            return item.data;
+        }
+
+        public double getCount() {
+            return count;
+        }
+
+        public double getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "Counter [item=" + BytesUtil.toReadableText(item.data) + ", count=" + count + ", error=" + error + "]";
+        }
+    }
+
+    private static final Comparator<Counter> DESCENDING = new Comparator<Counter>() {
+        @Override
+        public int compare(Counter o1, Counter o2) {
+            int comp = Double.compare(o2.count, o1.count);
+            return comp != 0 ? comp : o1.item.compareTo(o2.item); // tie break for a stable result
+        }
+    };
+
+    private final int capacity;
+    private final HashMap<ByteArray, Counter> counters;
+
+    public TopNCounter(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive, but is " + capacity);
+        this.capacity = capacity;
+        this.counters = new HashMap<ByteArray, Counter>();
+    }
+
+    public TopNCounter(TopNCounter another) {
+        this(another.capacity);
+        merge(another);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public boolean isFull() {
+        return counters.size() >= capacity;
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    public void offer(byte[] item, double increment) {
+        offer(new ByteArray(item), increment, 0);
+    }
+
+    private void offer(ByteArray item, double increment, double error) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += increment;
+            counter.error += error;
+        } else if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, increment, error));
+        } else {
+            Counter min = getMinCounter();
+            counters.remove(min.item);
+            counters.put(item, new Counter(item, min.count + increment, min.count + error));
+        }
+    }
+
+    public void merge(TopNCounter another) {
+        if (another.counters.isEmpty())
+            return;
+
+        // a single item from a summary that is not full is exact, same as offering it
+        if (another.size() == 1 && another.isFull() == false) {
+            Counter c = another.counters.values().iterator().next();
+            offer(c.item, c.count, c.error);
+            return;
+        }
+
+        // an item missing in a full summary may have had up to its minimum count there
+        double minThis = isFull() ? getMinCounter().count : 0;
+        double minAnother = another.isFull() ? another.getMinCounter().count : 0;
+
+        if (minAnother > 0) {
+            for (Counter c : counters.values()) {
+                if (another.counters.containsKey(c.item) == false) {
+                    c.count += minAnother;
+                    c.error += minAnother;
+                }
+            }
+        }
+        for (Counter c : another.counters.values()) {
+            Counter mine = counters.get(c.item);
+            if (mine != null) {
+                mine.count += c.count;
+                mine.error += c.error;
+            } else {
+                counters.put(c.item, new Counter(c.item, c.count + minThis, c.error + minThis));
+            }
+        }
+        retain(capacity);
+    }
+
+    /**
+     * Drops all but the heaviest n counters.
+     */
+    public void retain(int n) {
+        if (counters.size() <= n)
+            return;
+
+        List<Counter> sorted = sortedCounters();
+        for (int i = n; i < sorted.size(); i++) {
+            counters.remove(sorted.get(i).item);
+        }
+    }
+
+    /**
+     * @return the heaviest k counters, heaviest first
+     */
+    public List<Counter> topK(int k) {
+        List<Counter> sorted = sortedCounters();
+        return sorted.size() <= k ? sorted : sorted.subList(0, k);
+    }
+
+    private List<Counter> sortedCounters() {
+        List<Counter> sorted = new ArrayList<Counter>(counters.values());
+        Collections.sort(sorted, DESCENDING);
+        return sorted;
+    }
+
+    // linear scan, eviction happens once per new item on a full summary
+    private Counter getMinCounter() {
+        Counter min = null;
+        for (Counter c : counters.values()) {
+            if (min == null || DESCENDING.compare(c, min) > 0)
+                min = c;
+        }
+        return min;
+    }
+
+    public int getMemBytes() {
+        int bytes = 0;
+        for (Counter c : counters.values()) {
+            bytes += 4 + 4 + 16 + 4 + c.item.data.length + 12; // map entry, counter, array
+        }
+        return bytes;
+    }
+
+    public void writeTo(ByteBuffer out) {
+        BytesUtil.writeVInt(counters.size(), out);
+        for (Counter c : sortedCounters()) {
+            BytesUtil.writeByteArray(c.item.data, out);
+            out.putDouble(c.count);
+            out.putDouble(c.error);
+        }
+    }
+
+    public void readFrom(ByteBuffer in) {
+        counters.clear();
+        int size = BytesUtil.readVInt(in);
+        for (int i = 0; i < size; i++) {
+            ByteArray item = new ByteArray(BytesUtil.readByteArray(in));
+            double count = in.getDouble();
+            double error = in.getDouble();
+            counters.put(item, new Counter(item, count, error));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TopNCounter [capacity=" + capacity + ", counters=" + sortedCounters() + "]";
+    }
+}
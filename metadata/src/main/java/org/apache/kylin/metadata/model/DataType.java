@@ -35,7 +35,7 @@ public class DataType {
 
     public static final String VALID_TYPES_STRING = "any|char|varchar|boolean|binary" //
             + "|integer|tinyint|smallint|bigint|decimal|numeric|float|real|double" //
-            + "|date|time|datetime|timestamp|byte|int|short|long|string|hllc" //
+            + "|date|time|datetime|timestamp|byte|int|short|long|string|hllc|topn" //
             + "|" + TblColRef.InnerDataTypeEnum.LITERAL.getDataType() //
             + "|" + TblColRef.InnerDataTypeEnum.DERIVED.getDataType();
 
@@ -51,6 +51,8 @@ public class DataType {
     public static final Set<String> STRING_FAMILY = new HashSet<String>();
     private static final Set<Integer> HLLC_PRECISIONS = new HashSet<Integer>();
     private static final Map<String, String> LEGACY_TYPE_MAP = new HashMap<String, String>();
+    // topn(n) keeps 2n counters, each a guessed 16 bytes item plus count and error
+    private static final int TOPN_SPACE_PER_ITEM = 2 * (16 + 8 + 8);
     static {
         INTEGER_FAMILY.add("tinyint");
         INTEGER_FAMILY.add("smallint");
@@ -159,6 +161,9 @@ public class DataType {
 
         if (isHLLC() && HLLC_PRECISIONS.contains(precision) == false)
             throw new IllegalArgumentException("HLLC precision must be one of " + HLLC_PRECISIONS);
+
+        if (isTopN() && precision <= 0)
+            throw new IllegalArgumentException("TopN precision must be a positive integer, e.g. topn(100)");
     }
 
     private String replaceLegacy(String str) {
@@ -183,6 +188,8 @@ public class DataType {
             return 8;
         } else if (isHLLC()) {
             return 1 << precision;
+        } else if (isTopN()) {
+            return precision * TOPN_SPACE_PER_ITEM;
         }
         throw new IllegalStateException("The return type : " + name + " is not recognized;");
     }
@@ -235,6 +242,10 @@ public class DataType {
         return name.equals("hllc");
     }
 
+    public boolean isTopN() {
+        return name.equals("topn");
+    }
+
     public String getName() {
         return name;
     }
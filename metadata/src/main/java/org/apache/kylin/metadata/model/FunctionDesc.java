@@ -36,6 +36,7 @@ public class FunctionDesc {
     public static final String FUNC_MAX = "MAX";
     public static final String FUNC_COUNT = "COUNT";
     public static final String FUNC_COUNT_DISTINCT = "COUNT_DISTINCT";
+    public static final String FUNC_TOP_N = "TOP_N";
 
     public static final String PARAMTER_TYPE_CONSTANT = "constant";
     public static final String PARAMETER_TYPE_COLUMN = "column";
@@ -85,6 +86,22 @@ public class FunctionDesc {
         return FUNC_COUNT_DISTINCT.equalsIgnoreCase(expression);
     }
 
+    /**
+     * Top-n takes two columns in order, the numeric measure and the column to rank by it,
+     * e.g. TOP_N(PRICE, SELLER_ID) for the top sellers by sum(price).
+     */
+    public boolean isTopN() {
+        return FUNC_TOP_N.equalsIgnoreCase(expression);
+    }
+
+    public TblColRef getTopNMeasureColumn() {
+        return isTopN() ? parameter.getColRefs().get(0) : null;
+    }
+
+    public TblColRef getTopNByColumn() {
+        return isTopN() ? parameter.getColRefs().get(1) : null;
+    }
+
     public boolean isHolisticCountDistinct() {
         if (isCountDistinct() && returnDataType != null && returnDataType.isBigInt()) {
             return true;
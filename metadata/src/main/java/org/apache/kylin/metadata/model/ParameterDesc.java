@@ -77,11 +77,19 @@ public class ParameterDesc {
     }
 
     public void normalizeColumnValue() {
+        normalizeColumnValue(true);
+    }
+
+    /**
+     * @param sortColumns false if the column order is significant, like in top-n
+     */
+    public void normalizeColumnValue(boolean sortColumns) {
         if (isColumnType()) {
             String values[] = value.split("\\s*,\\s*");
             for (int i = 0; i < values.length; i++)
                 values[i] = values[i].toUpperCase();
-            Arrays.sort(values);
+            if (sortColumns)
+                Arrays.sort(values);
             value = StringUtils.join(",", values);
         }
     }
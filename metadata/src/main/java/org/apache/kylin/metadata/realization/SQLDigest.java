@@ -19,6 +19,8 @@
 package org.apache.kylin.metadata.realization;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.kylin.metadata.filter.TupleFilter;
 import org.apache.kylin.metadata.model.FunctionDesc;
@@ -29,6 +31,11 @@ import org.apache.kylin.metadata.model.TblColRef;
  * Created by Hongbin Ma(Binmahone) on 1/8/15.
  */
 public class SQLDigest {
+
+    public enum OrderEnum {
+        ASCENDING, DESCENDING
+    }
+
     public String factTable;
     public TupleFilter filter;
     public Collection<JoinDesc> joinDescs;
@@ -38,6 +45,11 @@ public class SQLDigest {
     public Collection<TblColRef> metricColumns;
     public Collection<FunctionDesc> aggregations;
 
+    // ORDER BY and LIMIT (plus OFFSET) on top of the aggregation, if any
+    public List<TblColRef> sortColumns = Collections.emptyList();
+    public List<OrderEnum> sortOrders = Collections.emptyList();
+    public int limit = Integer.MAX_VALUE;
+
     public SQLDigest(String factTable, TupleFilter filter, Collection<JoinDesc> joinDescs, Collection<TblColRef> allColumns, //
             Collection<TblColRef> groupbyColumns, Collection<TblColRef> filterColumns, Collection<TblColRef> aggregatedColumns, Collection<FunctionDesc> aggregateFunnc) {
         this.factTable = factTable;
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.metadata.filter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.kylin.metadata.filter.TupleFilter.FilterOperatorEnum;
+import org.junit.Test;
+
+public class CompareTupleFilterTest {
+
+    @Test
+    public void testRebindReplacesValue() {
+        CompareTupleFilter filter = new CompareTupleFilter(FilterOperatorEnum.EQ);
+        filter.addChild(new DynamicTupleFilter("?0"));
+
+        filter.bindVariable("?0", "5");
+        assertEquals(new HashSet<String>(Arrays.asList("5")), filter.getValues());
+        assertEquals("5", filter.getFirstValue());
+
+        // a reused plan binds the next execution's value
+        filter.bindVariable("?0", "6");
+        assertEquals(new HashSet<String>(Arrays.asList("6")), filter.getValues());
+        assertEquals("6", filter.getFirstValue());
+
+        filter.bindVariable("?0", "6");
+        assertEquals(new HashSet<String>(Arrays.asList("6")), filter.getValues());
+    }
+
+    @Test
+    public void testRebindKeepsReferencedValue() {
+        CompareTupleFilter filter = new CompareTupleFilter(FilterOperatorEnum.IN);
+        filter.addChild(new ConstantTupleFilter("A"));
+        filter.addChild(new DynamicTupleFilter("?0"));
+        filter.addChild(new DynamicTupleFilter("?1"));
+
+        filter.bindVariable("?0", "B");
+        filter.bindVariable("?1", "B");
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B")), filter.getValues());
+
+        // B is still bound to ?1
+        filter.bindVariable("?0", "C");
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B", "C")), filter.getValues());
+
+        // A is still a constant of the filter
+        filter.bindVariable("?1", "A");
+        assertEquals(new HashSet<String>(Arrays.asList("A", "C")), filter.getValues());
+        filter.bindVariable("?1", "D");
+        assertEquals(new HashSet<String>(Arrays.asList("A", "C", "D")), filter.getValues());
+    }
+}
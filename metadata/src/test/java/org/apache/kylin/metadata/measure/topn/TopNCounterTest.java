@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.metadata.measure.topn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.metadata.measure.TopNSerializer;
+import org.junit.Test;
+
+public class TopNCounterTest {
+
+    @Test
+    public void testExactUnderCapacity() {
+        TopNCounter counter = new TopNCounter(10);
+        counter.offer(Bytes.toBytes("A"), 1);
+        counter.offer(Bytes.toBytes("B"), 5);
+        counter.offer(Bytes.toBytes("A"), 2);
+        counter.offer(Bytes.toBytes("C"), 4);
+
+        List<TopNCounter.Counter> top = counter.topK(2);
+        assertEquals(2, top.size());
+        assertEquals("B", Bytes.toString(top.get(0).getItem()));
+        assertEquals(5, top.get(0).getCount(), 0);
+        assertEquals("C", Bytes.toString(top.get(1).getItem()));
+        assertEquals(0, top.get(1).getError(), 0);
+        assertEquals(3, counter.topK(10).get(2).getCount(), 0);
+    }
+
+    @Test
+    public void testHeavyItemsSurvive() {
+        TopNCounter counter = new TopNCounter(20);
+        Map<String, Double> truth = feed(counter, new Random(1), 0, 20000);
+        assertTopItems(counter, truth);
+    }
+
+    @Test
+    public void testMerge() {
+        TopNCounter c1 = new TopNCounter(20);
+        TopNCounter c2 = new TopNCounter(20);
+        Map<String, Double> truth = feed(c1, new Random(1), 0, 10000);
+        Map<String, Double> truth2 = feed(c2, new Random(2), 10000, 10000);
+        for (Map.Entry<String, Double> e : truth2.entrySet()) {
+            Double v = truth.get(e.getKey());
+            truth.put(e.getKey(), v == null ? e.getValue() : v + e.getValue());
+        }
+
+        c1.merge(c2);
+        assertEquals(20, c1.size());
+        assertTopItems(c1, truth);
+    }
+
+    @Test
+    public void testSerialize() {
+        TopNCounter counter = new TopNCounter(20);
+        feed(counter, new Random(1), 0, 1000);
+
+        ByteBuffer buf = ByteBuffer.allocate(1024 * 1024);
+        counter.writeTo(buf);
+        buf.flip();
+        TopNCounter copy = new TopNCounter(20);
+        copy.readFrom(buf);
+
+        assertEquals(counter.toString(), copy.toString());
+    }
+
+    @Test
+    public void testSerializerValueOf() {
+        TopNSerializer serializer = new TopNSerializer(10);
+        byte[] value = Bytes.add(Bytes.toBytes("12.5"), new byte[] { TopNSerializer.VALUE_SEPARATOR }, Bytes.toBytes("SELLER_1"));
+
+        TopNCounter counter = serializer.valueOf(value);
+        assertEquals(20, counter.getCapacity());
+        assertEquals(1, counter.size());
+        assertEquals("SELLER_1", Bytes.toString(counter.topK(1).get(0).getItem()));
+        assertEquals(12.5, counter.topK(1).get(0).getCount(), 0);
+
+        // null measure
+        value = Bytes.add(Bytes.toBytes("\\N"), new byte[] { TopNSerializer.VALUE_SEPARATOR }, Bytes.toBytes("SELLER_1"));
+        assertEquals(0, serializer.valueOf(value).size());
+    }
+
+    // 5 heavy items among many light ones
+    private Map<String, Double> feed(TopNCounter counter, Random rand, int lightStart, int count) {
+        Map<String, Double> truth = new HashMap<String, Double>();
+        for (int i = 0; i < count; i++) {
+            String item;
+            double weight;
+            if (i % 10 == 0) {
+                item = "HEAVY_" + rand.nextInt(5);
+                weight = 100 + rand.nextInt(100);
+            } else {
+                item = "LIGHT_" + (lightStart + i);
+                weight = rand.nextInt(100);
+            }
+            counter.offer(Bytes.toBytes(item), weight);
+            Double v = truth.get(item);
+            truth.put(item, v == null ? weight : v + weight);
+        }
+        return truth;
+    }
+
+    private void assertTopItems(TopNCounter counter, Map<String, Double> truth) {
+        List<TopNCounter.Counter> top = counter.topK(5);
+        for (TopNCounter.Counter c : top) {
+            String item = Bytes.toString(c.getItem());
+            assertTrue(item, item.startsWith("HEAVY_"));
+            // an over-estimate by at most the error
+            assertTrue(c.getCount() >= truth.get(item));
+            assertTrue(c.getCount() - c.getError() <= truth.get(item));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.metadata.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class DataTypeTest {
+
+    @Test
+    public void testTopN() {
+        DataType type = DataType.getInstance("topn(100)");
+        assertTrue(type.isTopN());
+        assertFalse(type.isNumberFamily());
+        assertEquals(100, type.getPrecision());
+        assertEquals(100 * DataType.getInstance("topn(1)").getSpaceEstimate(), type.getSpaceEstimate());
+        assertSame(type, DataType.getInstance("TOPN(100)"));
+    }
+
+    @Test
+    public void testTopNWithoutPrecision() {
+        try {
+            DataType.getInstance("topn");
+            fail("top-n needs its n");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            DataType.getInstance("topn(0)");
+            fail("top-n needs a positive n");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -89,6 +89,7 @@ public class CubeEnumerator implements Enumerator<Object[]> {
     @Override
     public void close() {
         if (cursor != null) {
+            olapContext.storageContext.removeOpenIterator(cursor);
             cursor.close();
         }
     }
@@ -135,8 +136,10 @@ public class CubeEnumerator implements Enumerator<Object[]> {
         bindVariable(olapContext.filter);
 
         // query storage engine
+        olapContext.storageContext.checkCancelled();
         IStorageEngine storageEngine = StorageEngineFactory.getStorageEngine(olapContext.realization);
         ITupleIterator iterator = storageEngine.search(olapContext.storageContext, olapContext.getSQLDigest());
+        olapContext.storageContext.addOpenIterator(iterator);
         if (logger.isDebugEnabled()) {
             logger.debug("return TupleIterator...");
         }
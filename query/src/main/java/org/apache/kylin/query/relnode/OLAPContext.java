@@ -46,6 +46,17 @@ public class OLAPContext {
 
     private static final ThreadLocal<Map<Integer, OLAPContext>> _localContexts = new ThreadLocal<Map<Integer, OLAPContext>>();
 
+    // receives the contexts registered by the query thread, so another thread can cancel the query
+    private static final ThreadLocal<Collection<OLAPContext>> _localCollector = new ThreadLocal<Collection<OLAPContext>>();
+
+    public static void setContextCollector(Collection<OLAPContext> collector) {
+        _localCollector.set(collector);
+    }
+
+    public static void clearContextCollector() {
+        _localCollector.remove();
+    }
+
     public static void setParameters(Map<String, String> parameters) {
         _localPrarameters.set(parameters);
     }
@@ -60,6 +71,23 @@ public class OLAPContext {
             _localContexts.set(contextMap);
         }
         _localContexts.get().put(ctx.id, ctx);
+
+        Collection<OLAPContext> collector = _localCollector.get();
+        if (collector != null) {
+            collector.add(ctx);
+        }
+    }
+
+    public static void unregisterContext(OLAPContext ctx) {
+        Map<Integer, OLAPContext> map = _localContexts.get();
+        if (map != null && map.get(ctx.id) == ctx) {
+            map.remove(ctx.id);
+        }
+
+        Collection<OLAPContext> collector = _localCollector.get();
+        if (collector != null) {
+            collector.remove(ctx);
+        }
     }
 
     public static Collection<OLAPContext> getThreadLocalContexts() {
@@ -90,6 +118,19 @@ public class OLAPContext {
     public final int id;
     public final StorageContext storageContext;
 
+    /**
+     * Copies what a finished query reports about this context (realization, cuboid, scan count,
+     * partial result), so that the context itself can be reused by another query.
+     */
+    public OLAPContext copyQueryResult() {
+        OLAPContext copy = new OLAPContext(id);
+        copy.realization = realization;
+        copy.storageContext.setCuboid(storageContext.getCuboid());
+        copy.storageContext.increaseTotalScanCount(storageContext.getTotalScanCount());
+        copy.storageContext.setPartialResultReturned(storageContext.isPartialResultReturned());
+        return copy;
+    }
+
     // query info
     public OLAPSchema olapSchema = null;
     public OLAPTableScan firstTableScan = null; // to be fact table scan except "select * from lookupTable"
@@ -108,6 +149,8 @@ public class OLAPContext {
     public Collection<TblColRef> filterColumns = new HashSet<TblColRef>();
     public TupleFilter filter;
     public List<JoinDesc> joins = new LinkedList<JoinDesc>();
+    public List<TblColRef> sortColumns = new ArrayList<TblColRef>();
+    public List<SQLDigest.OrderEnum> sortOrders = new ArrayList<SQLDigest.OrderEnum>();
 
     // rewrite info
     public Map<String, RelDataType> rewriteFields = new HashMap<String, RelDataType>();
@@ -122,8 +165,13 @@ public class OLAPContext {
     private SQLDigest sqlDigest;
 
     public SQLDigest getSQLDigest() {
-        if (sqlDigest == null)
+        if (sqlDigest == null) {
             sqlDigest = new SQLDigest(firstTableScan.getTableName(), filter, joins, allColumns, groupByColumns, filterColumns, metricsColumns, aggregations);
+            sqlDigest.sortColumns = sortColumns;
+            sqlDigest.sortOrders = sortOrders;
+            if (storageContext.getLimit() < StorageContext.DEFAULT_THRESHOLD && storageContext.hasPostAggregationFilter() == false)
+                sqlDigest.limit = storageContext.getLimit() + storageContext.getOffset();
+        }
         return sqlDigest;
     }
 }
@@ -260,6 +260,9 @@ public class OLAPFilterRel extends Filter implements OLAPRel {
         // only translate where clause and don't translate having clause
         if (!context.afterAggregate) {
             translateFilter(context);
+        } else {
+            // storage must not cut the groups by limit before having is evaluated
+            context.storageContext.markPostAggregationFilter();
         }
     }
 
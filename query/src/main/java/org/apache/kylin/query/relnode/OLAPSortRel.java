@@ -35,6 +35,7 @@ import org.apache.calcite.rel.core.Sort;
 import org.apache.calcite.rex.RexNode;
 import org.apache.kylin.metadata.model.MeasureDesc;
 import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.realization.SQLDigest;
 import org.apache.kylin.storage.StorageContext;
 
 import com.google.common.base.Preconditions;
@@ -68,6 +69,14 @@ public class OLAPSortRel extends Sort implements OLAPRel {
 
         this.context = implementor.getContext();
         this.columnRowType = buildColumnRowType();
+
+        // sort keys as columns, for realization selection
+        for (RelFieldCollation fieldCollation : this.collation.getFieldCollations()) {
+            TblColRef orderCol = this.columnRowType.getAllColumns().get(fieldCollation.getFieldIndex());
+            boolean descending = fieldCollation.getDirection() == RelFieldCollation.Direction.DESCENDING;
+            this.context.sortColumns.add(orderCol);
+            this.context.sortOrders.add(descending ? SQLDigest.OrderEnum.DESCENDING : SQLDigest.OrderEnum.ASCENDING);
+        }
     }
 
     private ColumnRowType buildColumnRowType() {
@@ -86,9 +95,7 @@ public class OLAPSortRel extends Sort implements OLAPRel {
             OLAPRel olapChild = (OLAPRel) this.getInput();
             TblColRef orderCol = olapChild.getColumnRowType().getAllColumns().get(index);
             MeasureDesc measure = findMeasure(orderCol);
-            if (measure != null) {
-                this.context.storageContext.addSort(measure, order);
-            }
+            this.context.storageContext.addSort(measure, order);
             this.context.storageContext.markSort();
         }
 
@@ -53,7 +53,7 @@ public class CubesSortRule extends RoutingRule {
                 CubeDesc schema1 = c1.getDescriptor();
                 CubeDesc schema2 = c2.getDescriptor();
 
-                comp = schema1.listDimensionColumnsIncludingDerived().size() - schema2.listDimensionColumnsIncludingDerived().size();
+                comp = schema1.listDeclaredDimensionColumns().size() - schema2.listDeclaredDimensionColumns().size();
                 if (comp != 0)
                     return comp;
 
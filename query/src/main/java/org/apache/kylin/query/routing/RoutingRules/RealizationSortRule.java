@@ -21,20 +21,33 @@ package org.apache.kylin.query.routing.RoutingRules;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.kylin.common.KylinConfig;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.estimation.CubeScanCostEstimator;
 import org.apache.kylin.metadata.realization.IRealization;
+import org.apache.kylin.metadata.realization.SQLDigest;
 import org.apache.kylin.query.relnode.OLAPContext;
 import org.apache.kylin.query.routing.RoutingRule;
 import org.apache.kylin.storage.hybrid.HybridInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Maps;
 
 /**
  */
 public class RealizationSortRule extends RoutingRule {
+    private static final Logger logger = LoggerFactory.getLogger(RealizationSortRule.class);
+
     @Override
     public void apply(List<IRealization> realizations, final OLAPContext olapContext) {
 
-        // sort cube candidates, 0) the priority 1) the cost indicator, 2) the lesser header
-        // columns the better, 3) the lesser body columns the better 4) the larger date range the better
+        // sort cube candidates, 0) the priority 1) the estimated rows scanned, unknown last 2) the cost indicator,
+        // 3) a hybrid before a single realization
+
+        final Map<IRealization, Long> estimates = estimateScanRows(realizations, olapContext);
 
         Collections.sort(realizations, new Comparator<IRealization>() {
             @Override
@@ -46,20 +59,71 @@ public class RealizationSortRule extends RoutingRule {
                     return comp;
                 }
 
+                // unknown estimates sort last, so that every pair compares the same way
+                long e1 = estimates.containsKey(o1) ? estimates.get(o1) : Long.MAX_VALUE;
+                long e2 = estimates.containsKey(o2) ? estimates.get(o2) : Long.MAX_VALUE;
+                if (e1 != e2) {
+                    return e1 < e2 ? -1 : 1;
+                }
+
                 comp = o1.getCost(olapContext.getSQLDigest()) - o2.getCost(olapContext.getSQLDigest());
                 if (comp != 0) {
                     return comp;
                 }
 
-                if (o1 instanceof HybridInstance)
-                    return -1;
-                else if (o2 instanceof HybridInstance)
-                    return 1;
+                boolean h1 = o1 instanceof HybridInstance;
+                boolean h2 = o2 instanceof HybridInstance;
+                if (h1 != h2)
+                    return h1 ? -1 : 1;
 
                 return 0;
             }
         });
 
+        if (estimates.isEmpty() == false) {
+            logger.info("Estimated rows scanned " + estimates + " for " + olapContext.getSQLDigest());
+        }
+    }
+
+    /**
+     * @return the estimated rows scanned by each cube or hybrid of cubes, others are left out
+     */
+    private Map<IRealization, Long> estimateScanRows(List<IRealization> realizations, OLAPContext olapContext) {
+        Map<IRealization, Long> estimates = Maps.newHashMap();
+        if (realizations.size() < 2 || KylinConfig.getInstanceFromEnv().isQueryRoutingCostBased() == false)
+            return estimates;
+
+        SQLDigest digest = olapContext.getSQLDigest();
+        for (IRealization r : realizations) {
+            try {
+                Long rows = estimateScanRows(r, digest);
+                if (rows != null)
+                    estimates.put(r, rows);
+            } catch (Exception e) {
+                logger.warn("Failed to estimate rows scanned on " + r.getName(), e);
+            }
+        }
+        return estimates;
+    }
+
+    /**
+     * @return the estimated rows scanned by a cube, or the sum of the members of a hybrid; null if unknown
+     */
+    static Long estimateScanRows(IRealization r, SQLDigest digest) {
+        if (r instanceof CubeInstance) {
+            return CubeScanCostEstimator.estimateScanRows((CubeInstance) r, digest);
+        }
+        if (r instanceof HybridInstance) {
+            long sum = 0;
+            for (IRealization member : ((HybridInstance) r).getRealizations()) {
+                Long rows = estimateScanRows(member, digest);
+                if (rows == null)
+                    return null;
+                sum = CubeScanCostEstimator.saturatedAdd(sum, rows);
+            }
+            return sum;
+        }
+        return null;
     }
 
 }
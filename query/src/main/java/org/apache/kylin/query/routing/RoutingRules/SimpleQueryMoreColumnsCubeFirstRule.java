@@ -42,7 +42,7 @@ public class SimpleQueryMoreColumnsCubeFirstRule extends RoutingRule {
                 public int compare(IRealization o1, IRealization o2) {
                     CubeInstance c1 = (CubeInstance) o1;
                     CubeInstance c2 = (CubeInstance) o2;
-                    return c1.getDescriptor().listDimensionColumnsIncludingDerived().size() - c2.getDescriptor().listDimensionColumnsIncludingDerived().size();
+                    return c1.getDescriptor().listDeclaredDimensionColumns().size() - c2.getDescriptor().listDeclaredDimensionColumns().size();
                 }
             });
         }
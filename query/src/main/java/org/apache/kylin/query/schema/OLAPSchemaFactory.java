@@ -67,6 +67,26 @@ public class OLAPSchemaFactory implements SchemaFactory {
     }
 
     public static File createTempOLAPJson(String project, KylinConfig config) {
+        String model = createOLAPModelJson(project, config);
+        try {
+            File tmp = File.createTempFile("olap_model_", ".json");
+
+            FileWriter out = new FileWriter(tmp);
+            out.write(model);
+            out.close();
+
+            tmp.deleteOnExit();
+            return tmp;
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The calcite model of a project, can be given to the driver inline by "model=inline:" + json
+     */
+    public static String createOLAPModelJson(String project, KylinConfig config) {
         project = ProjectInstance.getNormalizedProjectName(project);
 
         Set<TableDesc> tables = ProjectManager.getInstance(config).listExposedTables(project);
@@ -90,41 +110,31 @@ public class OLAPSchemaFactory implements SchemaFactory {
             }
         }
 
-        try {
-            File tmp = File.createTempFile("olap_model_", ".json");
-
-            FileWriter out = new FileWriter(tmp);
-            out.write("{\n");
-            out.write("    \"version\": \"1.0\",\n");
-            out.write("    \"defaultSchema\": \"" + majoritySchemaName + "\",\n");
-            out.write("    \"schemas\": [\n");
-
-            int counter = 0;
-            for (String schemaName : schemaCounts.keySet()) {
-                out.write("        {\n");
-                out.write("            \"type\": \"custom\",\n");
-                out.write("            \"name\": \"" + schemaName + "\",\n");
-                out.write("            \"factory\": \"org.apache.kylin.query.schema.OLAPSchemaFactory\",\n");
-                out.write("            \"operand\": {\n");
-                out.write("                \"" + SCHEMA_PROJECT + "\": \"" + project + "\"\n");
-                out.write("            }\n");
-                out.write("        }\n");
-
-                if (++counter != schemaCounts.size()) {
-                    out.write(",\n");
-                }
+        StringBuilder out = new StringBuilder();
+        out.append("{\n");
+        out.append("    \"version\": \"1.0\",\n");
+        out.append("    \"defaultSchema\": \"" + majoritySchemaName + "\",\n");
+        out.append("    \"schemas\": [\n");
+
+        int counter = 0;
+        for (String schemaName : schemaCounts.keySet()) {
+            out.append("        {\n");
+            out.append("            \"type\": \"custom\",\n");
+            out.append("            \"name\": \"" + schemaName + "\",\n");
+            out.append("            \"factory\": \"org.apache.kylin.query.schema.OLAPSchemaFactory\",\n");
+            out.append("            \"operand\": {\n");
+            out.append("                \"" + SCHEMA_PROJECT + "\": \"" + project + "\"\n");
+            out.append("            }\n");
+            out.append("        }\n");
+
+            if (++counter != schemaCounts.size()) {
+                out.append(",\n");
             }
-
-            out.write("    ]\n");
-            out.write("}\n");
-            out.close();
-
-            tmp.deleteOnExit();
-            return tmp;
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
+
+        out.append("    ]\n");
+        out.append("}\n");
+        return out.toString();
     }
 
 }
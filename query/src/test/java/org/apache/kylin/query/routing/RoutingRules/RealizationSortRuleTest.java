@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.query.routing.RoutingRules;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.kylin.common.persistence.ResourceStore;
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.cube.CubeInstance;
+import org.apache.kylin.cube.CubeManager;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.JoinDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.realization.SQLDigest;
+import org.apache.kylin.storage.hybrid.HybridInstance;
+import org.apache.kylin.storage.hybrid.HybridManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class RealizationSortRuleTest extends LocalFileMetadataTestCase {
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+
+        String exd = "{\"cardinality\":\"10000,100,5,50,10,4,1000,10,1000\"}";
+        getStore().putResource(ResourceStore.TABLE_EXD_RESOURCE_ROOT + "/DEFAULT.TEST_KYLIN_FACT.json", new ByteArrayInputStream(Bytes.toBytes(exd)), System.currentTimeMillis());
+        MetadataManager.clearCache();
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testHybridSum() {
+        CubeManager cubeMgr = CubeManager.getInstance(getTestConfig());
+        CubeInstance oneSegment = cubeMgr.getCube("test_kylin_cube_with_slr_ready");
+        CubeInstance twoSegments = cubeMgr.getCube("test_kylin_cube_with_slr_ready_2_segments");
+        HybridInstance hybrid = HybridManager.getInstance(getTestConfig()).getHybridInstance("test_kylin_hybrid_ready");
+
+        TblColRef formatCol = oneSegment.getDescriptor().findColumnRef("DEFAULT.TEST_KYLIN_FACT", "LSTG_FORMAT_NAME");
+        List<TblColRef> groups = Lists.newArrayList(formatCol);
+        SQLDigest digest = new SQLDigest("DEFAULT.TEST_KYLIN_FACT", null, Collections.<JoinDesc> emptyList(), groups, groups, Collections.<TblColRef> emptyList(), Collections.<TblColRef> emptyList(), Collections.<FunctionDesc> emptyList());
+
+        long one = RealizationSortRule.estimateScanRows(oneSegment, digest);
+        long two = RealizationSortRule.estimateScanRows(twoSegments, digest);
+        assertEquals(2 * one, two);
+        assertEquals(Long.valueOf(one + two), RealizationSortRule.estimateScanRows(hybrid, digest));
+    }
+
+    @Test
+    public void testHybridSumSaturates() throws Exception {
+        // no cardinality and no input records, each member estimates Long.MAX_VALUE
+        getStore().deleteResource(ResourceStore.TABLE_EXD_RESOURCE_ROOT + "/DEFAULT.TEST_KYLIN_FACT.json");
+        MetadataManager.clearCache();
+
+        CubeInstance oneSegment = CubeManager.getInstance(getTestConfig()).getCube("test_kylin_cube_with_slr_ready");
+        HybridInstance hybrid = HybridManager.getInstance(getTestConfig()).getHybridInstance("test_kylin_hybrid_ready");
+        TblColRef formatCol = oneSegment.getDescriptor().findColumnRef("DEFAULT.TEST_KYLIN_FACT", "LSTG_FORMAT_NAME");
+        List<TblColRef> groups = Lists.newArrayList(formatCol);
+        SQLDigest digest = new SQLDigest("DEFAULT.TEST_KYLIN_FACT", null, Collections.<JoinDesc> emptyList(), groups, groups, Collections.<TblColRef> emptyList(), Collections.<TblColRef> emptyList(), Collections.<FunctionDesc> emptyList());
+
+        assertEquals(Long.valueOf(Long.MAX_VALUE), RealizationSortRule.estimateScanRows(oneSegment, digest));
+        // the sum must not wrap to a negative, i.e. the cheapest, estimate
+        assertEquals(Long.valueOf(Long.MAX_VALUE), RealizationSortRule.estimateScanRows(hybrid, digest));
+    }
+}
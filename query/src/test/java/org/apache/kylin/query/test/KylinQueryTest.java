@@ -18,6 +18,7 @@
 
 package org.apache.kylin.query.test;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -259,6 +260,16 @@ public class KylinQueryTest extends KylinTestBase {
         assertLimitWasEnabled();
     }
 
+    @Test
+    public void testTopNNotPushedDownWithHaving() throws Exception {
+        runSqlFile("src/test/resources/query/sql_optimize/having-topn01.sql");
+        OLAPContext context = getFirstOLAPContext();
+        assertTrue(context.storageContext.hasPostAggregationFilter());
+        // groups out of the top N by SUM may pass the having filter
+        assertFalse(context.storageContext.isTopNEnabled());
+        assertFalse(context.storageContext.isLimitEnabled());
+    }
+
     private void assertLimitWasEnabled() {
         OLAPContext context = getFirstOLAPContext();
         assertTrue(context.storageContext.isLimitEnabled());
@@ -34,6 +34,7 @@ import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.rest.constant.Constant;
 import org.apache.kylin.rest.exception.InternalErrorException;
+import org.apache.kylin.rest.exception.NotFoundException;
 import org.apache.kylin.rest.model.Query;
 import org.apache.kylin.rest.model.SelectedColumnMeta;
 import org.apache.kylin.rest.model.TableMeta;
@@ -42,6 +43,7 @@ import org.apache.kylin.rest.request.PrepareSqlRequest;
 import org.apache.kylin.rest.request.SQLRequest;
 import org.apache.kylin.rest.request.SaveSqlRequest;
 import org.apache.kylin.rest.response.SQLResponse;
+import org.apache.kylin.rest.service.QueryExecutor;
 import org.apache.kylin.rest.service.QueryService;
 import org.apache.kylin.rest.util.QueryUtil;
 import org.slf4j.Logger;
@@ -91,6 +93,19 @@ public class QueryController extends BasicController {
         return doQueryWithCache(sqlRequest);
     }
 
+    @RequestMapping(value = "/query/runnings", method = RequestMethod.GET)
+    @ResponseBody
+    public List<QueryExecutor.RunningQuery> getRunningQueries() {
+        return queryService.getRunningQueries();
+    }
+
+    @RequestMapping(value = "/query/runnings/{queryId}", method = RequestMethod.DELETE)
+    @ResponseBody
+    public void killQuery(@PathVariable String queryId) {
+        if (!queryService.killQuery(queryId))
+            throw new NotFoundException("Query " + queryId + " is not running");
+    }
+
     @RequestMapping(value = "/saved_queries", method = RequestMethod.POST)
     @ResponseBody
     public void saveQuery(@RequestBody SaveSqlRequest sqlRequest) throws IOException {
@@ -191,8 +206,8 @@ public class QueryController extends BasicController {
 
             sqlResponse = new SQLResponse(null, null, 0, true, errMsg);
 
-            // Access exception is bind with each user, it will not be cached
-            if ((e instanceof AccessDeniedException) == false) {
+            // Access exception is bind with each user, it will not be cached; nor a timed out or killed query
+            if ((e instanceof AccessDeniedException) == false && (e instanceof QueryExecutor.QueryCancelledException) == false) {
                 Cache exceptionCache = cacheManager.getCache(EXCEPTION_QUERY_CACHE);
                 exceptionCache.put(new Element(sqlRequest, sqlResponse));
             }
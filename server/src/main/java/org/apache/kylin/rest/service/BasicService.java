@@ -18,9 +18,7 @@
 
 package org.apache.kylin.rest.service;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -35,7 +33,6 @@ import java.util.concurrent.ConcurrentMap;
 
 import javax.sql.DataSource;
 
-import org.apache.calcite.jdbc.Driver;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.cube.CubeDescManager;
@@ -60,19 +57,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Lists;
-import com.google.common.io.Files;
 
 public abstract class BasicService {
 
     private static final Logger logger = LoggerFactory.getLogger(BasicService.class);
 
-    private static ConcurrentMap<String, DataSource> olapDataSources = new ConcurrentHashMap<String, DataSource>();
+    private static ConcurrentMap<String, OLAPConnectionPool> olapDataSources = new ConcurrentHashMap<String, OLAPConnectionPool>();
+
+    private static QueryPlanCache queryPlanCache = null;
 
     //    @Autowired
     //    protected JdbcTemplate jdbcTemplate;
@@ -86,50 +83,87 @@ public abstract class BasicService {
             throw new IllegalArgumentException("removeOLAPDataSource: project name not given");
 
         project = ProjectInstance.getNormalizedProjectName(project);
-        olapDataSources.remove(project);
+        OLAPConnectionPool removed = olapDataSources.remove(project);
+        if (removed != null) {
+            removed.close();
+        }
+        invalidateQueryPlans();
     }
 
     public static void resetOLAPDataSources() {
         // brutal, yet simplest way
         logger.info("resetOLAPDataSources is called.");
-        olapDataSources.clear();
+        for (String project : olapDataSources.keySet()) {
+            OLAPConnectionPool removed = olapDataSources.remove(project);
+            if (removed != null) {
+                removed.close();
+            }
+        }
+        invalidateQueryPlans();
+    }
+
+    public static synchronized QueryPlanCache getQueryPlanCache() {
+        if (queryPlanCache == null) {
+            queryPlanCache = new QueryPlanCache(KylinConfig.getInstanceFromEnv().getQueryPlanCacheMaxEntries());
+        }
+        return queryPlanCache;
+    }
+
+    public static void invalidateQueryPlans() {
+        QueryPlanCache cache;
+        synchronized (BasicService.class) {
+            cache = queryPlanCache;
+        }
+        if (cache != null) {
+            cache.invalidateAll();
+        }
     }
 
     public DataSource getOLAPDataSource(String project) {
 
         project = ProjectInstance.getNormalizedProjectName(project);
 
-        DataSource ret = olapDataSources.get(project);
+        OLAPConnectionPool ret = olapDataSources.get(project);
         if (ret == null) {
             logger.debug("Creating a new data source");
             logger.debug("OLAP data source pointing to " + getConfig());
 
-            File modelJson = OLAPSchemaFactory.createTempOLAPJson(project, getConfig());
+            // the model is handed to calcite inline, no temp file round trip
+            String model = OLAPSchemaFactory.createOLAPModelJson(project, getConfig());
+            logger.debug("The new olap model is :");
+            logger.debug(model);
 
-            try {
-                List<String> text = Files.readLines(modelJson, Charset.defaultCharset());
-                logger.debug("The new temp olap json is :");
-                for (String line : text)
-                    logger.debug(line);
-            } catch (IOException e) {
-                e.printStackTrace(); // logging failure is not critical
-            }
-
-            DriverManagerDataSource ds = new DriverManagerDataSource();
             Properties props = new Properties();
             props.setProperty(OLAPQuery.PROP_SCAN_THRESHOLD, String.valueOf(KylinConfig.getInstanceFromEnv().getScanThreshold()));
-            ds.setConnectionProperties(props);
-            ds.setDriverClassName(Driver.class.getName());
-            ds.setUrl("jdbc:calcite:model=" + modelJson.getAbsolutePath());
+            OLAPConnectionPool pool = new OLAPConnectionPool(project, "jdbc:calcite:model=inline:" + model, props, getConfig().getQueryConnectionPoolMaxIdle());
 
-            ret = olapDataSources.putIfAbsent(project, ds);
+            ret = olapDataSources.putIfAbsent(project, pool);
             if (ret == null) {
-                ret = ds;
+                ret = pool;
             }
         }
         return ret;
     }
 
+    /**
+     * Opens the connections of every project ahead of the first query.
+     */
+    public void warmUpOLAPDataSources() {
+        int count = getConfig().getQueryConnectionPoolWarmup();
+        if (count <= 0)
+            return;
+
+        for (ProjectInstance project : getProjectManager().listAllProjects()) {
+            if (Thread.currentThread().isInterrupted())
+                return;
+            try {
+                ((OLAPConnectionPool) getOLAPDataSource(project.getName())).warmUp(count);
+            } catch (Exception e) {
+                logger.warn("Failed to warm up connections of project " + project.getName(), e);
+            }
+        }
+    }
+
     /**
      * Reload changed cube into cache
      * 
@@ -63,6 +63,7 @@ public class CacheService extends BasicService {
                 break;
             case PROJECT:
                 getProjectManager().reloadProject(cacheKey);
+                removeOLAPDataSource(cacheKey);
                 break;
             case INVERTED_INDEX:
                 getIIManager().loadIICache(cacheKey);
@@ -76,11 +77,14 @@ public class CacheService extends BasicService {
                 getMetadataManager().reloadTableCache(cacheKey);
                 IIDescManager.clearCache();
                 CubeDescManager.clearCache();
+                // pooled connections hold schemas built on the old table
+                BasicService.resetOLAPDataSources();
                 break;
             case DATA_MODEL:
                 getMetadataManager().reloadDataModelDesc(cacheKey);
                 IIDescManager.clearCache();
                 CubeDescManager.clearCache();
+                BasicService.resetOLAPDataSources();
                 break;
             case ALL:
                 MetadataManager.clearCache();
@@ -98,6 +102,9 @@ public class CacheService extends BasicService {
             }
         } catch (IOException e) {
             throw new RuntimeException("error " + log, e);
+        } finally {
+            // compiled plans carry the routed realization, re-plan after any metadata change
+            BasicService.invalidateQueryPlans();
         }
 
     }
@@ -123,6 +130,7 @@ public class CacheService extends BasicService {
                 break;
                 case PROJECT:
                 ProjectManager.clearCache();
+                BasicService.resetOLAPDataSources();
                 break;
             case INVERTED_INDEX:
                 getIIManager().removeIILocalCache(cacheKey);
@@ -139,6 +147,9 @@ public class CacheService extends BasicService {
             }
         } catch (IOException e) {
             throw new RuntimeException("error " + log, e);
+        } finally {
+            // compiled plans carry the routed realization, re-plan after any metadata change
+            BasicService.invalidateQueryPlans();
         }
     }
 }
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import javax.sql.DataSource;
+
+import org.apache.calcite.jdbc.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per project pool of Calcite connections.
+ *
+ * Opening a Calcite connection parses the model and builds the OLAP schemas, which costs
+ * tens of milliseconds per query. Pooled connections keep their schemas; the pool is
+ * closed and replaced when the project's metadata changes. Closing a pooled connection
+ * closes the statements left open on it before the connection goes back to the pool.
+ */
+public class OLAPConnectionPool implements DataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(OLAPConnectionPool.class);
+
+    private final String project;
+    private final String url;
+    private final Properties props;
+    private final Driver driver;
+    private final LinkedBlockingDeque<Connection> idle;
+    private volatile boolean closed = false;
+
+    public OLAPConnectionPool(String project, String url, Properties props, int maxIdle) {
+        this.project = project;
+        this.url = url;
+        this.props = props;
+        this.driver = new Driver();
+        this.idle = new LinkedBlockingDeque<Connection>(Math.max(1, maxIdle));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool of project " + project + " is closed");
+
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            if (!physical.isClosed())
+                return wrap(physical);
+        }
+        return wrap(connect());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Opens connections up to the given number of idle ones ahead of the first query.
+     * Stops early when the pool is closed or the calling thread is interrupted.
+     */
+    public void warmUp(int count) throws SQLException {
+        while (!closed && idle.size() < count && !Thread.currentThread().isInterrupted()) {
+            Connection physical = connect();
+            if (!idle.offerLast(physical)) {
+                closeQuietly(physical);
+                break;
+            }
+        }
+        if (closed) { // closed meanwhile, don't leave connections in the idle queue
+            close();
+            return;
+        }
+        logger.info("Warmed up " + idle.size() + " connections for project " + project);
+    }
+
+    /**
+     * Closes the idle connections; the ones in use are closed when given back.
+     */
+    public void close() {
+        closed = true;
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            closeQuietly(physical);
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection physical = driver.connect(url, props);
+        if (physical == null)
+            throw new SQLException("Calcite driver does not accept url " + url);
+        return physical;
+    }
+
+    private void release(Connection physical) {
+        // most recently used first, so surplus connections go idle at the tail
+        if (closed || !idle.offerFirst(physical)) {
+            closeQuietly(physical);
+        } else if (closed) { // closed meanwhile, don't leave it in the idle queue
+            close();
+        }
+    }
+
+    private Connection wrap(final Connection physical) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, new InvocationHandler() {
+            private final List<Statement> statements = new ArrayList<Statement>();
+            private boolean released = false;
+
+            @Override
+            public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("close".equals(name) && args == null) {
+                    if (!released) {
+                        released = true;
+                        closeStatements();
+                        release(physical);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name) && args == null) {
+                    return released || physical.isClosed();
+                }
+                if (released) {
+                    throw new SQLException("Connection has been returned to the pool");
+                }
+
+                Object result;
+                try {
+                    result = method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement) { // createStatement, prepareStatement or prepareCall
+                    forgetClosedStatements();
+                    statements.add((Statement) result);
+                }
+                return result;
+            }
+
+            private void closeStatements() {
+                for (Statement stmt : statements) {
+                    try {
+                        stmt.close();
+                    } catch (SQLException e) {
+                        logger.error("failed to close statement", e);
+                    }
+                }
+                statements.clear();
+            }
+
+            private void forgetClosedStatements() throws SQLException {
+                for (Iterator<Statement> it = statements.iterator(); it.hasNext();) {
+                    if (it.next().isClosed()) {
+                        it.remove();
+                    }
+                }
+            }
+        });
+    }
+
+    private static void closeQuietly(Connection physical) {
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            logger.error("failed to close", e);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return 0;
+    }
+
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return (T) this;
+        throw new SQLException(getClass().getName() + " is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+}
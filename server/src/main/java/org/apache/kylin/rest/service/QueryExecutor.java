@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kylin.query.relnode.OLAPContext;
+import org.apache.kylin.rest.request.SQLRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Runs queries on worker threads instead of the servlet thread, so that a query can be
+ * timed out or killed.
+ *
+ * The request thread waits for the worker up to the configured timeout. Cancelling a query
+ * cancels the storage context of each of its OLAP contexts, which closes the open tuple
+ * iterators (and their HBase scanners) and makes the worker fail at its next check.
+ * The number of queries running at once can be limited per project. A project permit is held
+ * until the worker exits, not until the request thread gives up waiting for it.
+ */
+public class QueryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryExecutor.class);
+
+    public static class QueryCancelledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public QueryCancelledException(String message) {
+            super(message);
+        }
+    }
+
+    public static class RunningQuery {
+        private final String id;
+        private final String project;
+        private final String sql;
+        private final String user;
+        private final long startTime;
+        private final Collection<OLAPContext> contexts = new CopyOnWriteArraySet<OLAPContext>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean add(OLAPContext ctx) {
+                boolean added = super.add(ctx);
+                if (cancelReason != null) // registered after the query was cancelled
+                    ctx.storageContext.cancel();
+                return added;
+            }
+        };
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<?> future;
+        private volatile String cancelReason;
+
+        RunningQuery(SQLRequest sqlRequest, String user) {
+            this.id = UUID.randomUUID().toString();
+            this.project = sqlRequest.getProject();
+            this.sql = sqlRequest.getSql();
+            this.user = user;
+            this.startTime = System.currentTimeMillis();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getProject() {
+            return project;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getUser() {
+            return user;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getRunningMillis() {
+            return System.currentTimeMillis() - startTime;
+        }
+
+        public boolean isCancelled() {
+            return cancelReason != null;
+        }
+
+        synchronized void cancel(String reason) {
+            if (cancelReason != null)
+                return;
+
+            cancelReason = reason;
+            for (OLAPContext ctx : contexts) {
+                ctx.storageContext.cancel();
+            }
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    public interface QueryCallable<T> {
+        T call(SQLRequest sqlRequest) throws Exception;
+    }
+
+    private final ExecutorService workers;
+    private final ConcurrentMap<String, RunningQuery> runningQueries = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, Semaphore> projectPermits = Maps.newConcurrentMap();
+    private final int timeoutSeconds;
+    private final int projectConcurrency;
+
+    /**
+     * @param timeoutSeconds 0 means a query runs until it finishes
+     * @param projectConcurrency 0 means no limit of queries running at once in a project
+     */
+    public QueryExecutor(int timeoutSeconds, int projectConcurrency) {
+        this.timeoutSeconds = timeoutSeconds;
+        this.projectConcurrency = projectConcurrency;
+        this.workers = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger seq = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Query-Worker-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    public <T> T execute(final SQLRequest sqlRequest, final QueryCallable<T> callable) throws Exception {
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        Authentication auth = securityContext.getAuthentication();
+        final RunningQuery query = new RunningQuery(sqlRequest, auth == null ? null : auth.getName());
+        long deadline = timeoutSeconds > 0 ? query.startTime + timeoutSeconds * 1000L : Long.MAX_VALUE;
+
+        final Semaphore permits = acquirePermit(query.project, deadline);
+        try {
+            runningQueries.put(query.id, query);
+            Future<T> future = workers.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    // the request thread has given up on the query and released the permit
+                    if (!query.started.compareAndSet(false, true))
+                        throw new QueryCancelledException(query.cancelReason);
+
+                    SecurityContextHolder.setContext(securityContext);
+                    OLAPContext.setContextCollector(query.contexts);
+                    try {
+                        return callable.call(sqlRequest);
+                    } finally {
+                        OLAPContext.clearContextCollector();
+                        OLAPContext.clearThreadLocalContexts();
+                        SecurityContextHolder.clearContext();
+                        if (permits != null)
+                            permits.release();
+                    }
+                }
+            });
+            query.future = future;
+            if (query.isCancelled()) // killed before it was submitted
+                future.cancel(true);
+
+            try {
+                T result;
+                if (timeoutSeconds > 0) {
+                    result = future.get(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                } else {
+                    result = future.get();
+                }
+                exposeContexts(query);
+                return result;
+            } catch (TimeoutException e) {
+                query.cancel("Query timeout after " + timeoutSeconds + " seconds");
+                throw new QueryCancelledException(query.cancelReason);
+            } catch (InterruptedException e) {
+                query.cancel("Query is interrupted");
+                throw new QueryCancelledException(query.cancelReason);
+            } catch (Exception e) { // ExecutionException or CancellationException
+                if (query.isCancelled())
+                    throw new QueryCancelledException(query.cancelReason);
+                exposeContexts(query);
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                throw cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+            }
+        } finally {
+            runningQueries.remove(query.id);
+            // a worker that never started, e.g. cancelled in the queue or rejected, cannot release the permit
+            if (query.started.compareAndSet(false, true) && permits != null)
+                permits.release();
+        }
+    }
+
+    public List<RunningQuery> getRunningQueries() {
+        List<RunningQuery> result = new ArrayList<RunningQuery>(runningQueries.values());
+        Collections.sort(result, new Comparator<RunningQuery>() {
+            @Override
+            public int compare(RunningQuery o1, RunningQuery o2) {
+                return Long.compare(o1.startTime, o2.startTime);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return false if no such query is running
+     */
+    public boolean kill(String queryId, String killedBy) {
+        RunningQuery query = runningQueries.get(queryId);
+        if (query == null)
+            return false;
+
+        logger.info("Query " + queryId + " is killed by " + killedBy + " -- " + query.sql);
+        query.cancel("Query is killed by " + killedBy);
+        return true;
+    }
+
+    /**
+     * Runs a server side task, e.g. the connection warm up, on the worker threads, so that it is
+     * interrupted on shutdown.
+     */
+    public Future<?> submit(Runnable task) {
+        return workers.submit(task);
+    }
+
+    public void shutdown() {
+        for (RunningQuery query : runningQueries.values()) {
+            query.cancel("Query server is shutting down");
+        }
+        workers.shutdownNow();
+    }
+
+    private Semaphore acquirePermit(String project, long deadline) throws InterruptedException {
+        if (projectConcurrency <= 0)
+            return null;
+
+        String key = String.valueOf(project).toUpperCase();
+        Semaphore permits = projectPermits.get(key);
+        if (permits == null) {
+            projectPermits.putIfAbsent(key, new Semaphore(projectConcurrency, true));
+            permits = projectPermits.get(key);
+        }
+
+        if (deadline == Long.MAX_VALUE) {
+            permits.acquire();
+        } else if (!permits.tryAcquire(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) {
+            throw new QueryCancelledException("Query timeout after " + timeoutSeconds + " seconds, waiting for " + projectConcurrency + " running queries of project " + project);
+        }
+        return permits;
+    }
+
+    // the request thread logs the realizations and cuboids of the query, as if it ran the query itself
+    private void exposeContexts(RunningQuery query) {
+        OLAPContext.clearThreadLocalContexts();
+        for (OLAPContext ctx : query.contexts) {
+            OLAPContext.registerContext(ctx);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.apache.kylin.query.relnode.OLAPContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache of compiled query plans, keyed on project and parameterized sql.
+ *
+ * An entry holds the prepared statement (whose Calcite signature carries the generated
+ * bindable) together with the OLAP contexts captured at planning time, i.e. the routed
+ * realization and the filter with dynamic parameters. Both are mutable while a query runs,
+ * so an entry is borrowed exclusively and returned after the result set is consumed.
+ *
+ * Any metadata change bumps the version; entries planned against an older version are
+ * closed on return instead of being put back.
+ */
+public class QueryPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanCache.class);
+
+    public static class Entry {
+        private final String key;
+        private final long version;
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final List<OLAPContext> contexts;
+
+        Entry(String key, long version, Connection connection, PreparedStatement statement, List<OLAPContext> contexts) {
+            this.key = key;
+            this.version = version;
+            this.connection = connection;
+            this.statement = statement;
+            this.contexts = contexts;
+        }
+
+        public PreparedStatement getStatement() {
+            return statement;
+        }
+
+        public List<OLAPContext> getContexts() {
+            return contexts;
+        }
+
+        void close() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.error("failed to close", e);
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("failed to close", e);
+            }
+        }
+    }
+
+    // marks a template Calcite can not prepare, so it is not attempted again
+    private static final Entry UNCACHEABLE = new Entry(null, -1, null, null, null);
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+    private long version = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    public QueryPlanCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    }
+
+    public static String getKey(String project, String template) {
+        return project + "\n" + template;
+    }
+
+    /**
+     * Key of a prepared statement sent by the JDBC driver. Its plan accepts any parameter type,
+     * so it must not be borrowed to bind the literals of the same sql, and the other way round.
+     */
+    public static String getPreparedKey(String project, String sql) {
+        // a normalized project name never starts with '?'
+        return "?" + getKey(project, sql);
+    }
+
+    /**
+     * @return the cached entry, now owned by the caller; or null if none is available
+     */
+    public synchronized Entry borrow(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry == UNCACHEABLE) {
+            misses++;
+            return null;
+        }
+        entries.remove(key);
+        hits++;
+        return entry;
+    }
+
+    public synchronized boolean isUncacheable(String key) {
+        return entries.get(key) == UNCACHEABLE;
+    }
+
+    public void markUncacheable(String key) {
+        List<Entry> toClose;
+        synchronized (this) {
+            toClose = putAndTrim(key, UNCACHEABLE);
+        }
+        closeAll(toClose);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public Entry newEntry(String key, long version, Connection connection, PreparedStatement statement, Collection<OLAPContext> contexts) {
+        return new Entry(key, version, connection, statement, new ArrayList<OLAPContext>(contexts));
+    }
+
+    /**
+     * Hands a borrowed (or newly created) entry back to the cache.
+     */
+    public void giveBack(Entry entry) {
+        List<Entry> toClose;
+        synchronized (this) {
+            if (entry.version != version) {
+                toClose = new ArrayList<Entry>();
+                toClose.add(entry);
+            } else {
+                toClose = putAndTrim(entry.key, entry);
+            }
+        }
+        closeAll(toClose);
+    }
+
+    /**
+     * Drops all entries; the ones currently borrowed are closed when given back.
+     */
+    public void invalidateAll() {
+        List<Entry> toClose;
+        synchronized (this) {
+            version++;
+            toClose = new ArrayList<Entry>(entries.values());
+            entries.clear();
+            logger.info("Query plan cache invalidated, version " + version + ", hits " + hits + ", misses " + misses);
+        }
+        closeAll(toClose);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private List<Entry> putAndTrim(String key, Entry entry) {
+        List<Entry> removed = new ArrayList<Entry>();
+        Entry replaced = entries.put(key, entry);
+        if (replaced != null)
+            removed.add(replaced);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            removed.add(it.next());
+            it.remove();
+        }
+        return removed;
+    }
+
+    private void closeAll(List<Entry> toClose) {
+        for (Entry e : toClose) {
+            if (e != UNCACHEABLE)
+                e.close();
+        }
+    }
+}
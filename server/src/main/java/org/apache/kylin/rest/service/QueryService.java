@@ -19,8 +19,10 @@
 package org.apache.kylin.rest.service;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -28,8 +30,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -53,6 +57,7 @@ import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
 import org.apache.kylin.cube.cuboid.Cuboid;
+import org.apache.kylin.metadata.project.ProjectInstance;
 import org.apache.kylin.query.relnode.OLAPContext;
 import org.apache.kylin.rest.constant.Constant;
 import org.apache.kylin.rest.model.ColumnMeta;
@@ -64,8 +69,11 @@ import org.apache.kylin.rest.request.SQLRequest;
 import org.apache.kylin.rest.response.SQLResponse;
 import org.apache.kylin.rest.util.QueryUtil;
 import org.apache.kylin.rest.util.Serializer;
+import org.apache.kylin.rest.util.SqlParameterizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -75,7 +83,7 @@ import org.springframework.stereotype.Component;
  * @author xduo
  */
 @Component("queryService")
-public class QueryService extends BasicService {
+public class QueryService extends BasicService implements InitializingBean, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(QueryService.class);
 
@@ -86,6 +94,7 @@ public class QueryService extends BasicService {
 
     private final Serializer<Query[]> querySerializer = new Serializer<Query[]>(Query[].class);
     private final BadQueryDetector badQueryDetector = new BadQueryDetector();
+    private final QueryExecutor queryExecutor;
 
     private final String hbaseUrl;
     private final String tableNameBase;
@@ -98,23 +107,72 @@ public class QueryService extends BasicService {
         tableNameBase = cut < 0 ? DEFAULT_TABLE_PREFIX : metadataUrl.substring(0, cut);
         hbaseUrl = cut < 0 ? metadataUrl : metadataUrl.substring(cut + 1);
         userTableName = tableNameBase + USER_TABLE_NAME;
+
+        KylinConfig config = KylinConfig.getInstanceFromEnv();
+        queryExecutor = new QueryExecutor(config.getQueryTimeoutSeconds(), config.getQueryProjectConcurrency());
         
         badQueryDetector.start();
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        // open the calcite connections of each project off the startup path
+        queryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                warmUpOLAPDataSources();
+            }
+        });
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.springframework.beans.factory.DisposableBean#destroy()
+     */
+    @Override
+    public void destroy() throws Exception {
+        queryExecutor.shutdown();
+    }
+
     public List<TableMeta> getMetadata(String project) throws SQLException {
         return getMetadata(getCubeManager(), project, true);
     }
 
     public SQLResponse query(SQLRequest sqlRequest) throws Exception {
-        try {
-            badQueryDetector.queryStart(Thread.currentThread(), sqlRequest);
-            
-            return queryWithSqlMassage(sqlRequest);
-            
-        } finally {
-            badQueryDetector.queryEnd(Thread.currentThread());
-        }
+        return queryExecutor.execute(sqlRequest, new QueryExecutor.QueryCallable<SQLResponse>() {
+            @Override
+            public SQLResponse call(SQLRequest sqlRequest) throws Exception {
+                try {
+                    badQueryDetector.queryStart(Thread.currentThread(), sqlRequest);
+
+                    return queryWithSqlMassage(sqlRequest);
+
+                } finally {
+                    badQueryDetector.queryEnd(Thread.currentThread());
+                }
+            }
+        });
+    }
+
+    @PreAuthorize(Constant.ACCESS_HAS_ROLE_ADMIN)
+    public List<QueryExecutor.RunningQuery> getRunningQueries() {
+        return queryExecutor.getRunningQueries();
+    }
+
+    /**
+     * @return false if no such query is running
+     */
+    @PreAuthorize(Constant.ACCESS_HAS_ROLE_ADMIN)
+    public boolean killQuery(String queryId) {
+        String user = SecurityContextHolder.getContext().getAuthentication().getName();
+        return queryExecutor.kill(queryId, user);
     }
 
     public void saveQuery(final String creator, final Query query) throws IOException {
@@ -337,20 +395,36 @@ public class QueryService extends BasicService {
         List<List<String>> results = new LinkedList<List<String>>();
         List<SelectedColumnMeta> columnMetas = new LinkedList<SelectedColumnMeta>();
 
-        try {
-            conn = getOLAPDataSource(sqlRequest.getProject()).getConnection();
+        QueryPlanCache.Entry cachedPlan = null;
+        boolean succeed = false;
 
+        try {
             if (sqlRequest instanceof PrepareSqlRequest) {
-                PreparedStatement preparedState = conn.prepareStatement(sql);
+                PrepareSqlRequest.StateParam[] params = getParams((PrepareSqlRequest) sqlRequest);
+                cachedPlan = getPreparedPlan(sql, sqlRequest, params.length);
+                PreparedStatement preparedState;
+                if (cachedPlan != null) {
+                    preparedState = cachedPlan.getStatement();
+                } else {
+                    conn = getOLAPDataSource(sqlRequest.getProject()).getConnection();
+                    preparedState = conn.prepareStatement(sql);
+                    stat = preparedState;
+                }
 
-                for (int i = 0; i < ((PrepareSqlRequest) sqlRequest).getParams().length; i++) {
-                    setParam(preparedState, i + 1, ((PrepareSqlRequest) sqlRequest).getParams()[i]);
+                for (int i = 0; i < params.length; i++) {
+                    setParam(preparedState, i + 1, params[i]);
                 }
 
                 resultSet = preparedState.executeQuery();
             } else {
-                stat = conn.createStatement();
-                resultSet = stat.executeQuery(sql);
+                cachedPlan = getCachedPlan(sql, sqlRequest);
+                if (cachedPlan != null) {
+                    resultSet = cachedPlan.getStatement().executeQuery();
+                } else {
+                    conn = getOLAPDataSource(sqlRequest.getProject()).getConnection();
+                    stat = conn.createStatement();
+                    resultSet = stat.executeQuery(sql);
+                }
             }
 
             ResultSetMetaData metaData = resultSet.getMetaData();
@@ -372,8 +446,17 @@ public class QueryService extends BasicService {
                 results.add(new LinkedList<String>(oneRow));
                 oneRow.clear();
             }
+            succeed = true;
         } finally {
             close(resultSet, stat, conn);
+            if (cachedPlan != null) {
+                detachContexts(cachedPlan);
+                if (succeed) {
+                    getQueryPlanCache().giveBack(cachedPlan);
+                } else {
+                    cachedPlan.close();
+                }
+            }
         }
 
         boolean isPartialResult = false;
@@ -394,6 +477,212 @@ public class QueryService extends BasicService {
         return response;
     }
 
+    /**
+     * Replaces the contexts of a plan on the current thread by copies of their query result, before
+     * the plan is given back and another query may borrow and reset the contexts.
+     */
+    private static void detachContexts(QueryPlanCache.Entry entry) {
+        for (OLAPContext ctx : entry.getContexts()) {
+            OLAPContext.unregisterContext(ctx);
+            OLAPContext.registerContext(ctx.copyQueryResult());
+        }
+    }
+
+    /**
+     * Gets a compiled plan for the sql from the query plan cache, or compiles and registers
+     * a new one. The literals of the sql are bound as parameters of the cached statement and
+     * the OLAP contexts of the plan are registered on the current thread.
+     * 
+     * @return the plan to execute, or null if the sql should be executed without the cache
+     */
+    private QueryPlanCache.Entry getCachedPlan(String sql, SQLRequest sqlRequest) throws SQLException {
+        KylinConfig config = getConfig();
+        if (!config.isQueryPlanCacheEnabled())
+            return null;
+        if (sqlRequest.getBackdoorToggles() != null && !sqlRequest.getBackdoorToggles().isEmpty())
+            return null;
+
+        SqlParameterizer.Result parameterized = SqlParameterizer.parameterize(sql);
+        if (parameterized.hasDynamicParam())
+            return null;
+
+        String project = ProjectInstance.getNormalizedProjectName(sqlRequest.getProject());
+        String key = QueryPlanCache.getKey(project, parameterized.getTemplate());
+        QueryPlanCache cache = getQueryPlanCache();
+        if (cache.isUncacheable(key))
+            return null;
+
+        QueryPlanCache.Entry entry = cache.borrow(key);
+        if (entry != null) {
+            registerContexts(entry, sqlRequest);
+        } else {
+            entry = compilePlan(cache, key, project, parameterized.getTemplate(), parameterized.getLiterals().size(), true);
+            if (entry == null)
+                return null;
+        }
+
+        try {
+            bindLiterals(entry.getStatement(), parameterized.getLiterals());
+        } catch (IllegalArgumentException e) {
+            // e.g. '1.5' compared with an integer column, leave it to the planner
+            logger.debug("Literal does not fit the cached plan, execute without plan cache: " + e.getMessage());
+            cache.giveBack(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the compiled plan of a prepared statement sent by the JDBC driver, keyed on its sql
+     * with '?' parameters, so that executing it again with new parameter values only binds them
+     * to the dynamic filters of the plan.
+     *
+     * @return the plan to bind and execute, or null if the statement should be prepared without the cache
+     */
+    private QueryPlanCache.Entry getPreparedPlan(String sql, SQLRequest sqlRequest, int paramCount) throws SQLException {
+        KylinConfig config = getConfig();
+        if (!config.isQueryPlanCacheEnabled())
+            return null;
+        if (sqlRequest.getBackdoorToggles() != null && !sqlRequest.getBackdoorToggles().isEmpty())
+            return null;
+
+        String project = ProjectInstance.getNormalizedProjectName(sqlRequest.getProject());
+        String key = QueryPlanCache.getPreparedKey(project, sql);
+        QueryPlanCache cache = getQueryPlanCache();
+        if (cache.isUncacheable(key))
+            return null;
+
+        QueryPlanCache.Entry entry = cache.borrow(key);
+        if (entry != null) {
+            registerContexts(entry, sqlRequest);
+            return entry;
+        }
+        return compilePlan(cache, key, project, sql, paramCount, false);
+    }
+
+    private void registerContexts(QueryPlanCache.Entry entry, SQLRequest sqlRequest) {
+        OLAPContext.clearThreadLocalContexts();
+        for (OLAPContext ctx : entry.getContexts()) {
+            ctx.storageContext.resetRuntimeState();
+            ctx.storageContext.setAcceptPartialResult(sqlRequest.isAcceptPartial());
+            OLAPContext.registerContext(ctx);
+        }
+    }
+
+    private static PrepareSqlRequest.StateParam[] getParams(PrepareSqlRequest sqlRequest) {
+        return sqlRequest.getParams() == null ? new PrepareSqlRequest.StateParam[0] : sqlRequest.getParams();
+    }
+
+    /**
+     * @param bindLiterals whether the parameters will be bound from sql literals, which limits the parameter types
+     */
+    private QueryPlanCache.Entry compilePlan(QueryPlanCache cache, String key, String project, String sql, int paramCount, boolean bindLiterals) throws SQLException {
+        long version = cache.getVersion();
+        Connection conn = getOLAPDataSource(project).getConnection();
+        PreparedStatement stat = null;
+        try {
+            stat = conn.prepareStatement(sql);
+
+            Collection<OLAPContext> contexts = OLAPContext.getThreadLocalContexts();
+            ParameterMetaData meta = stat.getParameterMetaData();
+            boolean cacheable = contexts != null && (bindLiterals ? isBindable(meta, paramCount) : meta.getParameterCount() == paramCount);
+            if (cacheable) {
+                for (OLAPContext ctx : contexts) {
+                    cacheable &= ctx.realization != null;
+                }
+            }
+
+            if (cacheable) {
+                return cache.newEntry(key, version, conn, stat, contexts);
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to compile parameterized sql, execute without plan cache: " + e.getMessage());
+        }
+
+        cache.markUncacheable(key);
+        closeQuietly(stat, conn);
+        return null;
+    }
+
+    private static boolean isBindable(ParameterMetaData meta, int literalCount) throws SQLException {
+        if (meta.getParameterCount() != literalCount)
+            return false;
+
+        for (int i = 1; i <= literalCount; i++) {
+            switch (meta.getParameterType(i)) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DATE:
+                break;
+            default:
+                // e.g. timestamp, whose bound value does not render the way the filter expects
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void bindLiterals(PreparedStatement stat, List<String> literals) throws SQLException {
+        ParameterMetaData meta = stat.getParameterMetaData();
+        for (int i = 1; i <= literals.size(); i++) {
+            String literal = literals.get(i - 1);
+            switch (meta.getParameterType(i)) {
+            case Types.TINYINT:
+                stat.setByte(i, Byte.valueOf(literal));
+                break;
+            case Types.SMALLINT:
+                stat.setShort(i, Short.valueOf(literal));
+                break;
+            case Types.INTEGER:
+                stat.setInt(i, Integer.valueOf(literal));
+                break;
+            case Types.BIGINT:
+                stat.setLong(i, Long.valueOf(literal));
+                break;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                stat.setBigDecimal(i, new BigDecimal(literal));
+                break;
+            case Types.REAL:
+                stat.setFloat(i, Float.valueOf(literal));
+                break;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                stat.setDouble(i, Double.valueOf(literal));
+                break;
+            case Types.DATE:
+                stat.setDate(i, java.sql.Date.valueOf(literal));
+                break;
+            default:
+                stat.setString(i, literal);
+            }
+        }
+    }
+
+    private static void closeQuietly(Statement stat, Connection conn) {
+        if (stat != null)
+            try {
+                stat.close();
+            } catch (SQLException e) {
+                logger.error("failed to close", e);
+            }
+        if (conn != null)
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                logger.error("failed to close", e);
+            }
+    }
+
     /**
      * @param preparedState
      * @param param
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Turns the literals of a SQL statement into dynamic parameters, so that queries
+ * differing only in their filter values share one template (and one compiled plan).
+ *
+ * Only string and numeric literals that directly follow a comparison operator,
+ * a BETWEEN / AND, or sit in an IN list are replaced. Literals elsewhere (select list,
+ * group by ordinals, LIMIT, typed literals like DATE '2015-01-01') stay in the
+ * template since they change the shape of the plan.
+ */
+public class SqlParameterizer {
+
+    public static class Result {
+        private final String template;
+        private final List<String> literals;
+        private final boolean hasDynamicParam;
+
+        Result(String template, List<String> literals, boolean hasDynamicParam) {
+            this.template = template;
+            this.literals = Collections.unmodifiableList(literals);
+            this.hasDynamicParam = hasDynamicParam;
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * literal values in parameter order, string literals are unquoted and unescaped
+         */
+        public List<String> getLiterals() {
+            return literals;
+        }
+
+        /**
+         * whether the original sql already contained '?' parameters
+         */
+        public boolean hasDynamicParam() {
+            return hasDynamicParam;
+        }
+    }
+
+    private static final String PREV_COMPARE = "<CMP>";
+    private static final String PREV_IN_LIST = "<IN_LIST>";
+    private static final String PREV_BETWEEN_AND = "<BETWEEN_AND>";
+    private static final String PREV_LITERAL = "<LITERAL>";
+    private static final String PREV_IDENTIFIER = "<IDENTIFIER>";
+
+    public static Result parameterize(String sql) {
+        StringBuilder buf = new StringBuilder(sql.length());
+        List<String> literals = new ArrayList<String>();
+        boolean hasDynamicParam = false;
+
+        String prev = "";
+        boolean inList = false;
+        boolean betweenPending = false;
+
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                buf.append(c);
+                i++;
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                end = end < 0 ? n : end;
+                buf.append(sql, i, end);
+                i = end;
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? n : end + 2;
+                buf.append(sql, i, end);
+                i = end;
+            } else if (c == '"') {
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? n : end + 1;
+                buf.append(sql, i, end);
+                i = end;
+                prev = PREV_IDENTIFIER;
+            } else if (c == '\'') {
+                StringBuilder value = new StringBuilder();
+                int j = i + 1;
+                while (j < n) {
+                    char d = sql.charAt(j);
+                    if (d == '\'') {
+                        if (j + 1 < n && sql.charAt(j + 1) == '\'') {
+                            value.append('\'');
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    value.append(d);
+                    j++;
+                }
+                int end = Math.min(j + 1, n);
+                if (isParameterPosition(prev) && j < n) {
+                    buf.append('?');
+                    literals.add(value.toString());
+                } else {
+                    buf.append(sql, i, end);
+                }
+                i = end;
+                prev = PREV_LITERAL;
+            } else if (isDigit(c) || (c == '.' && i + 1 < n && isDigit(sql.charAt(i + 1)))) {
+                int end = scanNumber(sql, i);
+                if (isParameterPosition(prev)) {
+                    buf.append('?');
+                    literals.add(sql.substring(i, end));
+                } else {
+                    buf.append(sql, i, end);
+                }
+                i = end;
+                prev = PREV_LITERAL;
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int end = i + 1;
+                while (end < n && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_' || sql.charAt(end) == '$'))
+                    end++;
+                String word = sql.substring(i, end).toUpperCase();
+                buf.append(sql, i, end);
+                i = end;
+
+                if (prev == PREV_IN_LIST) // e.g. IN (SELECT ...), not a value list
+                    inList = false;
+                if ("BETWEEN".equals(word)) {
+                    betweenPending = true;
+                    prev = word;
+                } else if ("AND".equals(word) && betweenPending) {
+                    betweenPending = false;
+                    prev = PREV_BETWEEN_AND;
+                } else {
+                    prev = word;
+                }
+            } else if (c == '<' || c == '>' || c == '=' || c == '!') {
+                int end = i + 1;
+                if (end < n && (sql.charAt(end) == '=' || (c == '<' && sql.charAt(end) == '>')))
+                    end++;
+                buf.append(sql, i, end);
+                i = end;
+                prev = PREV_COMPARE;
+            } else {
+                if (c == '(') {
+                    inList = "IN".equals(prev);
+                    prev = inList ? PREV_IN_LIST : "(";
+                } else if (c == ',' && inList) {
+                    prev = PREV_IN_LIST;
+                } else if (c == ')') {
+                    inList = false;
+                    prev = ")";
+                } else {
+                    if (c == '?')
+                        hasDynamicParam = true;
+                    prev = String.valueOf(c);
+                }
+                buf.append(c);
+                i++;
+            }
+        }
+
+        return new Result(buf.toString(), literals, hasDynamicParam);
+    }
+
+    private static boolean isParameterPosition(String prev) {
+        return prev == PREV_COMPARE || prev == PREV_IN_LIST || prev == PREV_BETWEEN_AND || "BETWEEN".equals(prev);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int scanNumber(String sql, int start) {
+        int n = sql.length();
+        int i = start;
+        while (i < n && (isDigit(sql.charAt(i)) || sql.charAt(i) == '.'))
+            i++;
+        if (i < n && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < n && (sql.charAt(j) == '+' || sql.charAt(j) == '-'))
+                j++;
+            if (j < n && isDigit(sql.charAt(j))) {
+                while (j < n && isDigit(sql.charAt(j)))
+                    j++;
+                i = j;
+            }
+        }
+        return i;
+    }
+}
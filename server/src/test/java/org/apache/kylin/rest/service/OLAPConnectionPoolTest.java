@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OLAPConnectionPoolTest {
+
+    private OLAPConnectionPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new OLAPConnectionPool("default", "jdbc:calcite:", new Properties(), 2);
+    }
+
+    @After
+    public void after() {
+        pool.close();
+    }
+
+    @Test
+    public void testCloseReturnsToPool() throws SQLException {
+        Connection conn = pool.getConnection();
+        assertEquals(0, pool.getIdleCount());
+
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertEquals(1, pool.getIdleCount());
+
+        Connection reused = pool.getConnection();
+        assertEquals(0, pool.getIdleCount());
+        assertFalse(reused.isClosed());
+        reused.close();
+    }
+
+    @Test
+    public void testDoubleClose() throws SQLException {
+        Connection conn = pool.getConnection();
+        conn.close();
+        conn.close();
+        assertEquals(1, pool.getIdleCount());
+
+        try {
+            conn.createStatement();
+            fail("a returned connection should not be usable");
+        } catch (SQLException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCloseClosesOpenStatements() throws SQLException {
+        Connection conn = pool.getConnection();
+        Statement closedStmt = conn.createStatement();
+        closedStmt.close();
+        Statement openStmt = conn.createStatement();
+
+        conn.close();
+        assertTrue(openStmt.isClosed());
+    }
+
+    @Test
+    public void testIdleBound() throws SQLException {
+        Connection c1 = pool.getConnection();
+        Connection c2 = pool.getConnection();
+        Connection c3 = pool.getConnection();
+        c1.close();
+        c2.close();
+        c3.close();
+        assertEquals(2, pool.getIdleCount());
+
+        pool.warmUp(5);
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testClosedPool() throws SQLException {
+        pool.warmUp(1);
+        Connection inUse = pool.getConnection();
+        pool.close();
+        assertEquals(0, pool.getIdleCount());
+
+        try {
+            pool.getConnection();
+            fail("a closed pool should not give out connections");
+        } catch (SQLException e) {
+            // expected
+        }
+
+        // given back after the pool is closed, not pooled again
+        inUse.close();
+        assertEquals(0, pool.getIdleCount());
+
+        pool.warmUp(1);
+        assertEquals(0, pool.getIdleCount());
+    }
+}
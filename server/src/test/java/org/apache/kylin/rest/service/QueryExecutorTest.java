@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kylin.rest.request.SQLRequest;
+import org.junit.Test;
+
+public class QueryExecutorTest {
+
+    private static final QueryExecutor.QueryCallable<String> SLOW_QUERY = new QueryExecutor.QueryCallable<String>() {
+        @Override
+        public String call(SQLRequest sqlRequest) throws Exception {
+            Thread.sleep(60 * 1000);
+            return "done";
+        }
+    };
+
+    @Test
+    public void testResult() throws Exception {
+        QueryExecutor executor = new QueryExecutor(10, 0);
+        String result = executor.execute(newRequest(), new QueryExecutor.QueryCallable<String>() {
+            @Override
+            public String call(SQLRequest sqlRequest) throws Exception {
+                return sqlRequest.getSql();
+            }
+        });
+        assertEquals("select * from just_a_test", result);
+        assertTrue(executor.getRunningQueries().isEmpty());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        QueryExecutor executor = new QueryExecutor(1, 0);
+        try {
+            executor.execute(newRequest(), SLOW_QUERY);
+            fail("query should time out");
+        } catch (QueryExecutor.QueryCancelledException e) {
+            assertTrue(e.getMessage().contains("timeout"));
+        }
+        assertTrue(executor.getRunningQueries().isEmpty());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testKill() throws Exception {
+        final QueryExecutor executor = new QueryExecutor(0, 0);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        Thread killer = new Thread() {
+            public void run() {
+                try {
+                    started.await(10, TimeUnit.SECONDS);
+                    String queryId = executor.getRunningQueries().get(0).getId();
+                    assertTrue(executor.kill(queryId, "ADMIN"));
+                } catch (InterruptedException e) {
+                    // test fails on timeout below
+                }
+            }
+        };
+        killer.start();
+
+        try {
+            executor.execute(newRequest(), new QueryExecutor.QueryCallable<String>() {
+                @Override
+                public String call(SQLRequest sqlRequest) throws Exception {
+                    started.countDown();
+                    return SLOW_QUERY.call(sqlRequest);
+                }
+            });
+            fail("query should be killed");
+        } catch (QueryExecutor.QueryCancelledException e) {
+            assertEquals("Query is killed by ADMIN", e.getMessage());
+        }
+        killer.join();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testPermitHeldUntilWorkerExits() throws Exception {
+        QueryExecutor executor = new QueryExecutor(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch exited = new CountDownLatch(1);
+
+        // a worker that does not respond to the interrupt in time
+        try {
+            executor.execute(newRequest(), new QueryExecutor.QueryCallable<String>() {
+                @Override
+                public String call(SQLRequest sqlRequest) throws Exception {
+                    try {
+                        while (release.getCount() > 0) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                // keep running
+                            }
+                        }
+                        return "done";
+                    } finally {
+                        exited.countDown();
+                    }
+                }
+            });
+            fail("query should time out");
+        } catch (QueryExecutor.QueryCancelledException e) {
+            assertTrue(e.getMessage().contains("timeout"));
+        }
+
+        QueryExecutor.QueryCallable<String> fastQuery = new QueryExecutor.QueryCallable<String>() {
+            @Override
+            public String call(SQLRequest sqlRequest) throws Exception {
+                return "fast";
+            }
+        };
+        try {
+            executor.execute(newRequest(), fastQuery);
+            fail("the permit should be held by the timed out worker");
+        } catch (QueryExecutor.QueryCancelledException e) {
+            assertTrue(e.getMessage().contains("waiting for"));
+        }
+
+        release.countDown();
+        assertTrue(exited.await(10, TimeUnit.SECONDS));
+        assertEquals("fast", executor.execute(newRequest(), fastQuery));
+        executor.shutdown();
+    }
+
+    private SQLRequest newRequest() {
+        SQLRequest sqlRequest = new SQLRequest();
+        sqlRequest.setProject("default");
+        sqlRequest.setSql("select * from just_a_test");
+        return sqlRequest;
+    }
+}
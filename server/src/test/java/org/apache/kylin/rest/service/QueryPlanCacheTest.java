@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.service;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kylin.query.relnode.OLAPContext;
+import org.junit.Test;
+
+public class QueryPlanCacheTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    public void testBorrowAndGiveBack() {
+        QueryPlanCache cache = new QueryPlanCache(10);
+        String key = QueryPlanCache.getKey("default", "select * from t where c = ?");
+        assertNull(cache.borrow(key));
+
+        QueryPlanCache.Entry entry = newEntry(cache, key);
+        cache.giveBack(entry);
+        assertEquals(1, cache.size());
+
+        // borrowed exclusively
+        assertSame(entry, cache.borrow(key));
+        assertEquals(0, cache.size());
+        assertNull(cache.borrow(key));
+
+        cache.giveBack(entry);
+        assertSame(entry, cache.borrow(key));
+        assertEquals(0, closed.get());
+    }
+
+    @Test
+    public void testPreparedKeySpace() {
+        QueryPlanCache cache = new QueryPlanCache(10);
+        String sql = "select * from t where c = ?";
+        String literalKey = QueryPlanCache.getKey("default", sql);
+        String preparedKey = QueryPlanCache.getPreparedKey("default", sql);
+        assertFalse(literalKey.equals(preparedKey));
+
+        cache.giveBack(newEntry(cache, preparedKey));
+        assertNull(cache.borrow(literalKey));
+        cache.markUncacheable(literalKey);
+        assertFalse(cache.isUncacheable(preparedKey));
+        assertNotNull(cache.borrow(preparedKey));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testReplaceAndTrim() {
+        QueryPlanCache cache = new QueryPlanCache(2);
+        String key1 = QueryPlanCache.getKey("default", "q1");
+        String key2 = QueryPlanCache.getKey("default", "q2");
+        String key3 = QueryPlanCache.getKey("default", "q3");
+
+        // a second plan of the same key, e.g. compiled while the first was borrowed
+        cache.giveBack(newEntry(cache, key1));
+        cache.giveBack(newEntry(cache, key1));
+        assertEquals(1, cache.size());
+        assertEquals(1, closed.get());
+
+        // least recently used is closed
+        cache.giveBack(newEntry(cache, key2));
+        cache.giveBack(newEntry(cache, key3));
+        assertEquals(2, cache.size());
+        assertEquals(2, closed.get());
+        assertNull(cache.borrow(key1));
+        assertNotNull(cache.borrow(key3));
+    }
+
+    @Test
+    public void testInvalidate() {
+        QueryPlanCache cache = new QueryPlanCache(10);
+        String key1 = QueryPlanCache.getKey("default", "q1");
+        String key2 = QueryPlanCache.getKey("default", "q2");
+
+        cache.giveBack(newEntry(cache, key1));
+        QueryPlanCache.Entry inFlight = newEntry(cache, key2);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(1, closed.get());
+
+        // planned against the old metadata, closed instead of cached
+        cache.giveBack(inFlight);
+        assertEquals(0, cache.size());
+        assertEquals(2, closed.get());
+
+        cache.giveBack(newEntry(cache, key2));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testUncacheable() {
+        QueryPlanCache cache = new QueryPlanCache(10);
+        String key = QueryPlanCache.getKey("default", "q1");
+        assertFalse(cache.isUncacheable(key));
+
+        cache.markUncacheable(key);
+        assertTrue(cache.isUncacheable(key));
+        assertNull(cache.borrow(key));
+
+        // invalidation forgets the mark, the new metadata may make it cacheable
+        cache.invalidateAll();
+        assertFalse(cache.isUncacheable(key));
+    }
+
+    private QueryPlanCache.Entry newEntry(QueryPlanCache cache, String key) {
+        return cache.newEntry(key, cache.getVersion(), mock(Connection.class), mock(PreparedStatement.class), new ArrayList<OLAPContext>());
+    }
+
+    // counts closes of the statement only, the connection of an entry is closed along with it
+    private <T> T mock(final Class<T> clazz) {
+        return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] { clazz }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("close".equals(method.getName()) && clazz == PreparedStatement.class)
+                    closed.incrementAndGet();
+                return null;
+            }
+        }));
+    }
+}
@@ -23,6 +23,7 @@ import java.sql.SQLException;
 
 import org.apache.kylin.job.exception.JobException;
 import org.apache.kylin.metadata.project.ProjectInstance;
+import org.apache.kylin.rest.request.PrepareSqlRequest;
 import org.apache.kylin.rest.request.SQLRequest;
 import org.apache.kylin.rest.response.SQLResponse;
 import org.junit.Assert;
@@ -59,4 +60,36 @@ public class QueryServiceTest extends ServiceTestBase {
         response.setHitCache(true);
         queryService.logQuery(request, response);
     }
+
+    @Test
+    public void testPreparedPlanReuse() throws Exception {
+        String sql = "select count(*) from test_kylin_fact where lstg_format_name = ?";
+        QueryPlanCache cache = BasicService.getQueryPlanCache();
+
+        SQLResponse first = queryService.query(newPrepareRequest(sql, "FP-GTC"));
+        long hits = cache.getHitCount();
+
+        // the second execution binds the new parameter to the cached plan
+        SQLResponse second = queryService.query(newPrepareRequest(sql, "ABIN"));
+        Assert.assertEquals(hits + 1, cache.getHitCount());
+
+        // the same parameter on a freshly compiled plan
+        BasicService.invalidateQueryPlans();
+        SQLResponse expected = queryService.query(newPrepareRequest(sql, "ABIN"));
+
+        Assert.assertEquals(expected.getResults(), second.getResults());
+        Assert.assertFalse(first.getResults().equals(second.getResults()));
+    }
+
+    private PrepareSqlRequest newPrepareRequest(String sql, String value) {
+        PrepareSqlRequest.StateParam param = new PrepareSqlRequest.StateParam();
+        param.setClassName(String.class.getName());
+        param.setValue(value);
+
+        PrepareSqlRequest request = new PrepareSqlRequest();
+        request.setProject(ProjectInstance.DEFAULT_PROJECT_NAME);
+        request.setSql(sql);
+        request.setParams(new PrepareSqlRequest.StateParam[] { param });
+        return request;
+    }
 }
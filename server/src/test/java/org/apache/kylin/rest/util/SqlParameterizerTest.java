@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.rest.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class SqlParameterizerTest {
+
+    @Test
+    public void testComparison() {
+        SqlParameterizer.Result r = SqlParameterizer.parameterize("select sum(price) from test_kylin_fact where lstg_format_name = 'ABIN' and seller_id >= 1000 group by cal_dt");
+        assertEquals("select sum(price) from test_kylin_fact where lstg_format_name = ? and seller_id >= ? group by cal_dt", r.getTemplate());
+        assertEquals(Arrays.asList("ABIN", "1000"), r.getLiterals());
+        assertFalse(r.hasDynamicParam());
+    }
+
+    @Test
+    public void testSameTemplate() {
+        SqlParameterizer.Result r1 = SqlParameterizer.parameterize("select count(*) from t where a in ('x', 'y') and b between 1 and 10");
+        SqlParameterizer.Result r2 = SqlParameterizer.parameterize("select count(*) from t where a in ('z', 'w') and b between 5 and 7");
+        assertEquals("select count(*) from t where a in (?, ?) and b between ? and ?", r1.getTemplate());
+        assertEquals(r1.getTemplate(), r2.getTemplate());
+        assertEquals(Arrays.asList("z", "w", "5", "7"), r2.getLiterals());
+    }
+
+    @Test
+    public void testLiteralsKept() {
+        String sql = "select 1, \"A=1\", sum(x) from t where d = date '2015-01-01' and y = -1 and z in (select k from u) group by 1 limit 50 -- x = 2";
+        SqlParameterizer.Result r = SqlParameterizer.parameterize(sql);
+        assertEquals(sql, r.getTemplate());
+        assertTrue(r.getLiterals().isEmpty());
+    }
+
+    @Test
+    public void testQuotedString() {
+        SqlParameterizer.Result r = SqlParameterizer.parameterize("select * from t where name <> 'it''s' and v < 1.5e3");
+        assertEquals("select * from t where name <> ? and v < ?", r.getTemplate());
+        assertEquals(Arrays.asList("it's", "1.5e3"), r.getLiterals());
+    }
+
+    @Test
+    public void testDynamicParam() {
+        assertTrue(SqlParameterizer.parameterize("select * from t where a = ?").hasDynamicParam());
+    }
+}
@@ -19,12 +19,18 @@
 package org.apache.kylin.storage;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.kylin.common.persistence.StorageException;
 import org.apache.kylin.cube.cuboid.Cuboid;
 import org.apache.kylin.metadata.model.MeasureDesc;
 import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.tuple.ITupleIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
@@ -34,6 +40,8 @@ import com.google.common.collect.HashBiMap;
  */
 public class StorageContext {
 
+    private static final Logger logger = LoggerFactory.getLogger(StorageContext.class);
+
     public static final int DEFAULT_THRESHOLD = 1000000;
 
     public enum OrderEnum {
@@ -45,6 +53,7 @@ public class StorageContext {
     private int limit;
     private int offset;
     private boolean hasSort;
+    private boolean hasPostAggregationFilter;
     private List<MeasureDesc> sortMeasures;
     private List<OrderEnum> sortOrders;
     private boolean acceptPartialResult;
@@ -53,11 +62,18 @@ public class StorageContext {
     private boolean exactAggregation;
     private boolean enableLimit;
     private boolean enableCoprocessor;
+    private boolean enableTopN;
+    private boolean splitAcrossRealizations;
 
     private AtomicLong totalScanCount;
     private Cuboid cuboid;
+    private Collection<TblColRef> derivedColumns;
     private boolean partialResultReturned;
 
+    // set by another thread to kill the query, which closes the open iterators
+    private volatile boolean cancelled;
+    private final List<ITupleIterator> openIterators = new CopyOnWriteArrayList<ITupleIterator>();
+
     public StorageContext() {
         this.threshold = DEFAULT_THRESHOLD;
         this.limit = DEFAULT_THRESHOLD;
@@ -65,12 +81,15 @@ public class StorageContext {
         this.cuboid = null;
         this.aliasMap = HashBiMap.create();
         this.hasSort = false;
+        this.hasPostAggregationFilter = false;
         this.sortOrders = new ArrayList<OrderEnum>();
         this.sortMeasures = new ArrayList<MeasureDesc>();
 
         this.exactAggregation = false;
         this.enableLimit = false;
         this.enableCoprocessor = false;
+        this.enableTopN = false;
+        this.splitAcrossRealizations = false;
 
         this.acceptPartialResult = false;
         this.partialResultReturned = false;
@@ -136,11 +155,20 @@ public class StorageContext {
         return aliasMap;
     }
 
+    /**
+     * @param measure the measure of the sort key, or null if the key is not a measure
+     */
     public void addSort(MeasureDesc measure, OrderEnum order) {
-        if (measure != null) {
-            sortMeasures.add(measure);
-            sortOrders.add(order);
-        }
+        sortMeasures.add(measure);
+        sortOrders.add(order);
+    }
+
+    public List<MeasureDesc> getSortMeasures() {
+        return sortMeasures;
+    }
+
+    public List<OrderEnum> getSortOrders() {
+        return sortOrders;
     }
 
     public void markSort() {
@@ -151,6 +179,17 @@ public class StorageContext {
         return this.hasSort;
     }
 
+    /**
+     * Marks a filter evaluated after aggregation, i.e. HAVING, which may drop any group returned by storage.
+     */
+    public void markPostAggregationFilter() {
+        this.hasPostAggregationFilter = true;
+    }
+
+    public boolean hasPostAggregationFilter() {
+        return this.hasPostAggregationFilter;
+    }
+
     public void setCuboid(Cuboid c) {
         cuboid = c;
     }
@@ -159,6 +198,17 @@ public class StorageContext {
         return cuboid;
     }
 
+    public void setDerivedColumns(Collection<TblColRef> derivedColumns) {
+        this.derivedColumns = derivedColumns;
+    }
+
+    /**
+     * @return the derived columns to fill in tuples, or null for all
+     */
+    public Collection<TblColRef> getDerivedColumns() {
+        return derivedColumns;
+    }
+
     public long getTotalScanCount() {
         return totalScanCount.get();
     }
@@ -167,6 +217,63 @@ public class StorageContext {
         return this.totalScanCount.addAndGet(count);
     }
 
+    /**
+     * Clears the counters and storage decisions of a previous run, for a context whose plan is reused.
+     * The decisions depend on the filter values, and the storage engine makes them again on search.
+     */
+    public void resetRuntimeState() {
+        this.totalScanCount.set(0);
+        this.partialResultReturned = false;
+        this.exactAggregation = false;
+        this.enableLimit = false;
+        this.enableCoprocessor = false;
+        this.enableTopN = false;
+        this.cancelled = false;
+        this.openIterators.clear();
+    }
+
+    /**
+     * Registers an iterator returned by the storage engine, to be closed if the query is cancelled.
+     */
+    public void addOpenIterator(ITupleIterator iterator) {
+        openIterators.add(iterator);
+        if (cancelled) // cancelled while the iterator was being opened
+            closeOpenIterators();
+    }
+
+    public void removeOpenIterator(ITupleIterator iterator) {
+        openIterators.remove(iterator);
+    }
+
+    /**
+     * Kills the query from another thread; the open iterators (and their HBase scanners) are closed
+     * and the query thread fails at its next check.
+     */
+    public void cancel() {
+        cancelled = true;
+        closeOpenIterators();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void checkCancelled() {
+        if (cancelled)
+            throw new StorageException("Query is cancelled");
+    }
+
+    private void closeOpenIterators() {
+        for (ITupleIterator iterator : openIterators) {
+            openIterators.remove(iterator);
+            try {
+                iterator.close();
+            } catch (Throwable t) {
+                logger.warn("Error when close iterator of cancelled query", t);
+            }
+        }
+    }
+
     public boolean isAcceptPartialResult() {
         return acceptPartialResult;
     }
@@ -199,4 +306,27 @@ public class StorageContext {
         return this.enableCoprocessor;
     }
 
+    /**
+     * Lets each region return only its top (limit + offset) groups by the single sort measure.
+     */
+    public void enableTopN() {
+        this.enableTopN = true;
+    }
+
+    public boolean isTopNEnabled() {
+        return this.enableTopN;
+    }
+
+    /**
+     * Whether the query is answered by more than one realization, e.g. members of a hybrid,
+     * so the same group may come back from each of them.
+     */
+    public boolean isSplitAcrossRealizations() {
+        return splitAcrossRealizations;
+    }
+
+    public void setSplitAcrossRealizations(boolean splitAcrossRealizations) {
+        this.splitAcrossRealizations = splitAcrossRealizations;
+    }
+
 }
@@ -50,12 +50,14 @@ import org.apache.kylin.cube.kv.RowKeyDecoder;
 import org.apache.kylin.cube.kv.RowValueDecoder;
 import org.apache.kylin.cube.model.CubeDesc.DeriveInfo;
 import org.apache.kylin.cube.model.HBaseColumnDesc;
+import org.apache.kylin.dict.Dictionary;
 import org.apache.kylin.metadata.filter.TupleFilter;
 import org.apache.kylin.metadata.model.MeasureDesc;
 import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.metadata.tuple.ITupleIterator;
 import org.apache.kylin.storage.StorageContext;
 import org.apache.kylin.storage.hbase.coprocessor.observer.ObserverEnabler;
+import org.apache.kylin.storage.tuple.DictionaryValueCache;
 import org.apache.kylin.storage.tuple.Tuple;
 import org.apache.kylin.storage.tuple.Tuple.IDerivedColumnFiller;
 import org.apache.kylin.storage.tuple.TupleInfo;
@@ -81,8 +83,9 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
     private final Collection<TblColRef> groupBy;
     private final Collection<RowValueDecoder> rowValueDecoders;
     private final StorageContext context;
+    private final Collection<TblColRef> derivedColumns;
     private final String tableName;
-    private final HTableInterface table;
+    private HTableInterface table;
     private final RowKeyDecoder rowKeyDecoder;
     private final Iterator<HBaseKeyRange> rangeIterator;
 
@@ -91,6 +94,11 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
     private Iterator<Result> resultIterator;
     private TupleInfo tupleInfo;
     private Tuple tuple;
+    // by row key column of the current cuboid: tuple field index (-1 if not selected), data type and converted values by dictionary id
+    private int[] dimensionFieldIndexes;
+    private String[] dimensionDataTypes;
+    private Object[][] dimensionValueCaches;
+    private boolean[] dimensionIdOnly;
     private int scanCount;
     private int scanCountDelta;
 
@@ -102,6 +110,7 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
         this.groupBy = groupBy;
         this.rowValueDecoders = rowValueDecoders;
         this.context = context;
+        this.derivedColumns = context.getDerivedColumns(); // the context is shared by realizations of a hybrid
         this.tableName = cubeSeg.getStorageLocationIdentifier();
         this.rowKeyDecoder = new RowKeyDecoder(this.cubeSeg);
 
@@ -145,6 +154,7 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
         try {
             if (table != null) {
                 table.close();
+                table = null;
             }
         } catch (Throwable t) {
             throw new StorageException("Error when close table " + tableName, t);
@@ -164,8 +174,10 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
             if (resultIterator.hasNext()) {
                 result = this.resultIterator.next();
                 scanCount++;
-                if (++scanCountDelta >= 1000)
+                if (++scanCountDelta >= 1000) {
                     flushScanCountDelta();
+                    context.checkCancelled();
+                }
                 break;
             } else {
                 scanNextRange();
@@ -194,6 +206,7 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
     }
 
     private void scanNextRange() {
+        context.checkCancelled();
         if (this.rangeIterator.hasNext()) {
             closeScanner();
             HBaseKeyRange keyRange = this.rangeIterator.next();
@@ -300,19 +313,39 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
         rowKeyDecoder.setCuboid(cuboid);
         List<TblColRef> rowColumns = rowKeyDecoder.getColumns();
         List<String> colNames = rowKeyDecoder.getNames(context.getAliasMap());
+        dimensionFieldIndexes = new int[rowColumns.size()];
+        dimensionDataTypes = new String[rowColumns.size()];
+        dimensionValueCaches = new Object[rowColumns.size()][];
+        dimensionIdOnly = new boolean[rowColumns.size()];
         for (int i = 0; i < rowColumns.size(); i++) {
             TblColRef column = rowColumns.get(i);
             if (!dimensions.contains(column)) {
+                dimensionFieldIndexes[i] = -1;
                 continue;
             }
             // add normal column
-            info.setField(colNames.get(i), rowColumns.get(i), rowColumns.get(i).getType().getName(), index++);
+            String dataType = column.getType().getName();
+            dimensionFieldIndexes[i] = index;
+            dimensionDataTypes[i] = dataType;
+            Dictionary<?> dict = cubeSeg.getDictionary(column);
+            if (dict != null) {
+                dimensionValueCaches[i] = DictionaryValueCache.getValues(dict, dataType);
+                dimensionIdOnly[i] = dimensionValueCaches[i] != null;
+            }
+            info.setField(colNames.get(i), column, dataType, index++);
         }
 
         // derived columns and filler
-        Map<Array<TblColRef>, List<DeriveInfo>> hostToDerivedInfo = cubeSeg.getCubeDesc().getHostToDerivedInfo(rowColumns, null);
+        Map<Array<TblColRef>, List<DeriveInfo>> hostToDerivedInfo = cubeSeg.getCubeDesc().getHostToDerivedInfo(rowColumns, derivedColumns);
         for (Entry<Array<TblColRef>, List<DeriveInfo>> entry : hostToDerivedInfo.entrySet()) {
             TblColRef[] hostCols = entry.getKey().data;
+            // derived column fillers read the strings of host columns
+            for (TblColRef hostCol : hostCols) {
+                int hostIndex = rowColumns.indexOf(hostCol);
+                if (hostIndex >= 0) {
+                    dimensionIdOnly[hostIndex] = false;
+                }
+            }
             for (DeriveInfo deriveInfo : entry.getValue()) {
                 // mark name for each derived field
                 for (TblColRef derivedCol : deriveInfo.columns) {
@@ -349,16 +382,25 @@ public class CubeSegmentTupleIterator implements ITupleIterator {
     private void translateResult(Result res, Tuple tuple) throws IOException {
         // groups
         byte[] rowkey = res.getRow();
-        rowKeyDecoder.decode(rowkey);
-        List<TblColRef> columns = rowKeyDecoder.getColumns();
-        List<String> dimensionNames = rowKeyDecoder.getNames(context.getAliasMap());
+        rowKeyDecoder.decode(rowkey, dimensionIdOnly);
         List<String> dimensionValues = rowKeyDecoder.getValues();
-        for (int i = 0; i < dimensionNames.size(); i++) {
-            TblColRef column = columns.get(i);
-            if (!tuple.hasColumn(column)) {
+        for (int i = 0; i < dimensionFieldIndexes.length; i++) {
+            int fieldIndex = dimensionFieldIndexes[i];
+            if (fieldIndex < 0) {
                 continue;
             }
-            tuple.setDimensionValue(dimensionNames.get(i), dimensionValues.get(i));
+            // a cached value needs neither the string decoded nor converted
+            Object[] valueCache = dimensionValueCaches[i];
+            int valueId = rowKeyDecoder.getValueId(i);
+            Object value;
+            if (valueCache != null && DictionaryValueCache.isCached(valueCache, valueId)) {
+                value = DictionaryValueCache.getValue(valueCache, valueId);
+            } else if (valueCache != null) {
+                value = DictionaryValueCache.putValue(valueCache, valueId, rowKeyDecoder.getValue(i), dimensionDataTypes[i]);
+            } else {
+                value = Tuple.convertOptiqCellValue(dimensionValues.get(i), dimensionDataTypes[i]);
+            }
+            tuple.setFieldObjectValue(fieldIndex, value);
         }
 
         // derived
@@ -36,6 +36,7 @@ import org.apache.hadoop.hbase.client.HConnection;
 import org.apache.kylin.common.persistence.HBaseConnection;
 import org.apache.kylin.common.util.Bytes;
 import org.apache.kylin.common.util.Pair;
+import org.apache.kylin.cube.CubeCapabilityChecker;
 import org.apache.kylin.cube.CubeInstance;
 import org.apache.kylin.cube.CubeManager;
 import org.apache.kylin.cube.CubeSegment;
@@ -97,6 +98,18 @@ public class CubeStorageEngine implements IStorageEngine {
         Collection<FunctionDesc> metrics = new HashSet<FunctionDesc>();
         buildDimensionsAndMetrics(dimensions, metrics, sqlDigest);
 
+        // top-n measure replaces the ranked column and the sum, see CubeCapabilityChecker
+        MeasureDesc topN = CubeCapabilityChecker.findTopNMeasure(cubeDesc, sqlDigest);
+        if (topN != null) {
+            TblColRef byColumn = topN.getFunction().getTopNByColumn();
+            groups = Lists.newArrayList(groups);
+            groups.remove(byColumn);
+            dimensions.remove(byColumn);
+            metrics.clear();
+            metrics.add(topN.getFunction());
+            logger.info("Answer with top-n measure " + topN.getName());
+        }
+
         // all dimensions = groups + others
         Set<TblColRef> others = Sets.newHashSet(dimensions);
         others.removeAll(groups);
@@ -108,6 +121,14 @@ public class CubeStorageEngine implements IStorageEngine {
         othersD.removeAll(groupsD);
         derivedPostAggregation.removeAll(groups);
 
+        // fill only the derived columns queried, a lookup table may derive many
+        Set<TblColRef> derived = Sets.newHashSet();
+        for (TblColRef column : dimensions) {
+            if (cubeDesc.isDerived(column))
+                derived.add(column);
+        }
+        context.setDerivedColumns(derived);
+
         // identify cuboid
         Set<TblColRef> dimensionsD = Sets.newHashSet();
         dimensionsD.addAll(groupsD);
@@ -138,10 +159,18 @@ public class CubeStorageEngine implements IStorageEngine {
 
         setThreshold(dimensionsD, valueDecoders, context); // set cautious threshold to prevent out of memory
         setCoprocessor(groupsCopD, valueDecoders, context); // enable coprocessor if beneficial
-        setLimit(filter, context);
+        if (topN == null) { // storage rows are expanded afterwards, don't cut them
+            setTopN(filter, groups, groupsCopD, metrics, scans, valueDecoders, context);
+            setLimit(filter, context);
+        }
 
         HConnection conn = HBaseConnection.get(context.getConnUrl());
-        return new SerializedHBaseTupleIterator(conn, scans, cubeInstance, dimensionsD, filterD, groupsCopD, valueDecoders, context);
+        ITupleIterator iterator = new SerializedHBaseTupleIterator(conn, scans, cubeInstance, dimensionsD, filterD, groupsCopD, valueDecoders, context);
+        if (topN != null) {
+            FunctionDesc sum = sqlDigest.aggregations.iterator().next();
+            iterator = new TopNTupleIterator(iterator, topN, sum.getRewriteFieldName(), sqlDigest.limit, context);
+        }
+        return iterator;
     }
 
     private void buildDimensionsAndMetrics(Collection<TblColRef> dimensions, Collection<FunctionDesc> metrics, SQLDigest sqlDigest) {
@@ -167,7 +196,26 @@ public class CubeStorageEngine implements IStorageEngine {
             int index = cubeDesc.getRowkey().getColumnBitIndex(column);
             cuboidID |= 1L << index;
         }
-        return Cuboid.findById(cubeDesc, cuboidID);
+
+        // among the materialized ancestors, scan the one with fewest rows; the
+        // closest one in the cuboid tree is not necessarily the smallest
+        Map<Long, Long> rowCounts = cubeInstance.getCuboidRowCounts();
+        List<Long> candidates = Cuboid.findAncestorsByRowCount(cubeDesc, cuboidID, rowCounts);
+        if (candidates.isEmpty()) {
+            return Cuboid.findById(cubeDesc, cuboidID);
+        }
+
+        Cuboid cuboid = Cuboid.findById(cubeDesc, cuboidID, candidates.get(0));
+        StringBuilder info = new StringBuilder();
+        info.append("Cuboid ").append(cuboidID).append(" answered by ").append(cuboid.getId()).append(" (").append(rowCounts.get(cuboid.getId())).append(" rows)");
+        for (int i = 1; i < candidates.size() && i <= 10; i++) {
+            info.append(i == 1 ? ", rejected " : ", ").append(candidates.get(i)).append(" (").append(rowCounts.get(candidates.get(i))).append(" rows)");
+        }
+        if (candidates.size() > 11) {
+            info.append(" and ").append(candidates.size() - 11).append(" more");
+        }
+        logger.info(info.toString());
+        return cuboid;
     }
 
     private boolean isExactAggregation(Cuboid cuboid, Collection<TblColRef> groups, Set<TblColRef> othersD, Set<TblColRef> singleValuesD, Set<TblColRef> derivedPostAggregation) {
@@ -648,12 +696,83 @@ public class CubeStorageEngine implements IStorageEngine {
         boolean goodAggr = context.isExactAggregation();
         boolean goodFilter = filter == null || (TupleFilter.isEvaluableRecursively(filter) && context.isCoprocessorEnabled());
         boolean goodSort = context.hasSort() == false;
-        if (goodAggr && goodFilter && goodSort) {
+        boolean goodHaving = context.hasPostAggregationFilter() == false;
+        if (goodAggr && goodFilter && goodSort && goodHaving) {
             logger.info("Enable limit " + context.getLimit());
             context.enableLimit();
         }
     }
 
+    /**
+     * Lets each region return only its top N groups for "ORDER BY measure LIMIT n". The pruned
+     * union still contains the true top N, which Calcite sorts and limits as before, if no HAVING
+     * filters the groups after aggregation and
+     * - MAX desc / MIN asc as the only metric: a group's final value is its best partial value, found
+     *   in the region holding it, where it ranks no worse than it does overall
+     * - otherwise: every group is a single final row, i.e. exact aggregation on one segment
+     */
+    private void setTopN(TupleFilter filter, Collection<TblColRef> groups, Set<TblColRef> groupsCopD, Collection<FunctionDesc> metrics, List<HBaseKeyRange> scans, List<RowValueDecoder> valueDecoders, StorageContext context) {
+        if (context.hasSort() == false || context.getSortMeasures().size() != 1 || context.getSortMeasures().get(0) == null)
+            return;
+
+        long topN = (long) context.getLimit() + context.getOffset();
+        if (topN >= StorageContext.DEFAULT_THRESHOLD)
+            return;
+
+        // rows dropped in region must not be needed by a filter evaluated on client
+        if (filter != null && TupleFilter.isEvaluableRecursively(filter) == false)
+            return;
+
+        // groups returned by region must be the final groups, not finer ones aggregated further in query engine
+        if (groupsCopD.equals(Sets.newHashSet(groups)) == false)
+            return;
+
+        FunctionDesc func = context.getSortMeasures().get(0).getFunction();
+        StorageContext.OrderEnum order = context.getSortOrders().get(0);
+        boolean finalRows = context.isExactAggregation() && countSegments(scans) == 1 && context.isSplitAcrossRealizations() == false;
+        if (isTopNPrunable(func, order, metrics, finalRows, context.hasPostAggregationFilter()) == false)
+            return;
+
+        if (context.isCoprocessorEnabled() == false) {
+            if (ObserverEnabler.isCoprocessorAllowed(cubeInstance, valueDecoders) == false)
+                return;
+            context.enableCoprocessor();
+        }
+
+        logger.info("Enable top " + topN + " by " + func + " " + order + " in coprocessor");
+        context.enableTopN();
+    }
+
+    /**
+     * @param finalRows whether each group is a single row, i.e. exact aggregation on one segment
+     * @param postAggregationFilter whether a HAVING filters the groups after aggregation
+     * @return whether regions may drop the groups out of their local top N without changing the result
+     */
+    static boolean isTopNPrunable(FunctionDesc sortFunc, StorageContext.OrderEnum order, Collection<FunctionDesc> metrics, boolean finalRows, boolean postAggregationFilter) {
+        // the top N groups may all fail HAVING, while a group pruned in region passes it
+        if (postAggregationFilter)
+            return false;
+
+        boolean comparable = sortFunc.isSum() || sortFunc.isCount() || sortFunc.isMax() || sortFunc.isMin();
+        if (comparable == false)
+            return false;
+        if (finalRows)
+            return true;
+
+        // a group dropped by a region loses its partial values of the other metrics, e.g. a SUM
+        // computed only from the regions where the group made the local top N
+        boolean extremum = (sortFunc.isMax() && order == StorageContext.OrderEnum.DESCENDING) || (sortFunc.isMin() && order == StorageContext.OrderEnum.ASCENDING);
+        return extremum && metrics.size() == 1 && metrics.contains(sortFunc);
+    }
+
+    private int countSegments(List<HBaseKeyRange> scans) {
+        Set<CubeSegment> segments = Sets.newHashSet();
+        for (HBaseKeyRange scan : scans) {
+            segments.add(scan.getCubeSegment());
+        }
+        return segments.size();
+    }
+
     private void setCoprocessor(Set<TblColRef> groupsCopD, List<RowValueDecoder> valueDecoders, StorageContext context) {
         ObserverEnabler.enableCoprocessorIfBeneficial(cubeInstance, groupsCopD, valueDecoders, context);
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.metadata.measure.topn.TopNCounter;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.tuple.ITuple;
+import org.apache.kylin.metadata.tuple.ITupleIterator;
+import org.apache.kylin.storage.StorageContext;
+import org.apache.kylin.storage.tuple.Tuple;
+import org.apache.kylin.storage.tuple.TupleInfo;
+
+/**
+ * Answers "GROUP BY ..., item ORDER BY SUM(measure) DESC LIMIT n" from a top-n measure.
+ * 
+ * Storage rows carry a top-n summary per group of the other columns. The summaries of
+ * a group are merged and expanded into n rows of (item, sum), on which Calcite does the
+ * remaining aggregation, sort and limit as usual. The sums are space saving estimates,
+ * i.e. upper bounds of the true sums.
+ */
+public class TopNTupleIterator implements ITupleIterator {
+
+    private final ITupleIterator underlying;
+    private final String topNField;
+    private final TblColRef byColumn;
+    private final String byField;
+    private final String sumField;
+    private final String sumType;
+    private final int n;
+
+    private List<String> groupFields;
+    private Map<List<Object>, TopNCounter> groups;
+    private Iterator<Entry<List<Object>, TopNCounter>> groupIterator;
+    private List<Object> currentGroup;
+    private Iterator<TopNCounter.Counter> counterIterator;
+    private Tuple tuple;
+
+    public TopNTupleIterator(ITupleIterator underlying, MeasureDesc topN, String sumField, int n, StorageContext context) {
+        FunctionDesc func = topN.getFunction();
+        this.underlying = underlying;
+        this.topNField = func.getRewriteFieldName();
+        this.byColumn = func.getTopNByColumn();
+        String alias = context.getAliasMap().get(byColumn);
+        this.byField = alias == null ? byColumn.getName() : alias;
+        this.sumField = sumField;
+        this.sumType = func.getTopNMeasureColumn().getType().getName();
+        this.n = n;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (groups == null)
+            mergeGroups();
+
+        while (counterIterator == null || counterIterator.hasNext() == false) {
+            if (groupIterator.hasNext() == false)
+                return false;
+            Entry<List<Object>, TopNCounter> entry = groupIterator.next();
+            currentGroup = entry.getKey();
+            counterIterator = entry.getValue().topK(n).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public ITuple next() {
+        if (hasNext() == false)
+            return null;
+
+        TopNCounter.Counter counter = counterIterator.next();
+        for (int i = 0; i < groupFields.size(); i++) {
+            tuple.setFieldObjectValue(groupFields.get(i), currentGroup.get(i));
+        }
+        tuple.setDimensionValue(byField, Bytes.toString(counter.getItem()));
+        tuple.setFieldObjectValue(sumField, toSumValue(counter.getCount()));
+        return tuple;
+    }
+
+    private void mergeGroups() {
+        groups = new LinkedHashMap<List<Object>, TopNCounter>();
+        while (underlying.hasNext()) {
+            ITuple t = underlying.next();
+            if (t == null)
+                break;
+            if (groupFields == null)
+                init((Tuple) t);
+
+            // tuple is reused by the underlying iterator, copy the group values
+            List<Object> key = new ArrayList<Object>(groupFields.size());
+            for (String field : groupFields) {
+                key.add(t.getValue(field));
+            }
+            TopNCounter counter = (TopNCounter) t.getValue(topNField);
+            if (counter == null)
+                continue;
+
+            TopNCounter merged = groups.get(key);
+            if (merged == null)
+                groups.put(key, new TopNCounter(counter));
+            else
+                merged.merge(counter);
+        }
+        groupIterator = groups.entrySet().iterator();
+    }
+
+    private void init(Tuple first) {
+        TupleInfo info = new TupleInfo();
+        groupFields = new ArrayList<String>();
+        int index = 0;
+        for (String field : first.getAllFields()) {
+            if (field.equals(topNField))
+                continue;
+            groupFields.add(field);
+            info.setField(field, first.getFieldColumn(field), first.getDataType(field), index++);
+        }
+        info.setField(byField, byColumn, byColumn.getType().getName(), index++);
+        info.setField(sumField, null, sumType, index++);
+        tuple = new Tuple(info);
+    }
+
+    private Object toSumValue(double sum) {
+        if ("decimal".equals(sumType)) {
+            return BigDecimal.valueOf(sum);
+        } else if ("bigint".equals(sumType) || "long".equals(sumType)) {
+            return Long.valueOf(Math.round(sum));
+        } else if ("integer".equals(sumType)) {
+            return Integer.valueOf((int) Math.round(sum));
+        } else if ("float".equals(sumType)) {
+            return Float.valueOf((float) sum);
+        } else {
+            return Double.valueOf(sum);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        underlying.close();
+    }
+
+}
@@ -53,6 +53,15 @@ public abstract class AggregationCache {
     }
 
     public void checkMemoryUsage() {
+        if (isMemoryUsageBeyondCap()) {
+            throw new RuntimeException("Kylin coprocess memory usage goes beyond cap, (40 + " + rowMemBytes + ") * " + aggBufMap.size() + " > " + MEMORY_USAGE_CAP + ". Abord coprocessor.");
+        }
+    }
+
+    /**
+     * Same estimation as checkMemoryUsage, for callers that can do without the cache beyond the cap
+     */
+    public boolean isMemoryUsageBeyondCap() {
         // about memory calculation,
         // http://seniorjava.wordpress.com/2013/09/01/java-objects-memory-size-reference/
         if (rowMemBytes <= 0) {
@@ -66,8 +75,6 @@ public abstract class AggregationCache {
         }
         int size = aggBufMap.size();
         int memUsage = (40 + rowMemBytes) * size;
-        if (memUsage > MEMORY_USAGE_CAP) {
-            throw new RuntimeException("Kylin coprocess memory usage goes beyond cap, (40 + " + rowMemBytes + ") * " + size + " > " + MEMORY_USAGE_CAP + ". Abord coprocessor.");
-        }
+        return memUsage > MEMORY_USAGE_CAP;
     }
 }
@@ -109,6 +109,18 @@ public class CoprocessorProjector {
         this.aggrKey = new AggrKey(this.groupByMask);
     }
 
+    /**
+     * @return whether any byte in [offset, offset + length) is kept by the group by mask
+     */
+    public boolean isGroupBy(int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (groupByMask[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public AggrKey getAggrKey(List<Cell> rowCells) {
         int length = groupByMask.length;
         Cell cell = rowCells.get(0);
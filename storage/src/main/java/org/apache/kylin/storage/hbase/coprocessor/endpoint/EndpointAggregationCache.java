@@ -18,12 +18,18 @@
 
 package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.kylin.metadata.measure.MeasureAggregator;
 import org.apache.kylin.storage.hbase.coprocessor.AggrKey;
 import org.apache.kylin.storage.hbase.coprocessor.AggregationCache;
+import org.apache.kylin.storage.hbase.coprocessor.CoprocessorConstants;
+import org.apache.kylin.storage.hbase.coprocessor.endpoint.generated.IIProtos;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
 
 /**
  * Created by Hongbin Ma(Binmahone) on 11/27/14.
@@ -44,4 +50,37 @@ public class EndpointAggregationCache extends AggregationCache {
     public Set<Map.Entry<AggrKey, MeasureAggregator[]>> getAllEntries() {
         return aggBufMap.entrySet();
     }
+
+    /**
+     * @return one row per group, in group key order
+     */
+    public List<IIProtos.IIResponse.IIRow> buildRows() {
+        List<IIProtos.IIResponse.IIRow> rows = Lists.newArrayListWithCapacity(aggBufMap.size());
+        byte[] metricBuffer = new byte[CoprocessorConstants.METRIC_SERIALIZE_BUFFER_SIZE];
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : aggBufMap.entrySet()) {
+            AggrKey aggrKey = entry.getKey();
+            IIProtos.IIResponse.IIRow.Builder rowBuilder = IIProtos.IIResponse.IIRow.newBuilder().setColumns(ByteString.copyFrom(aggrKey.get(), aggrKey.offset(), aggrKey.length()));
+            int length = aggregators.serializeMetricValues(entry.getValue(), metricBuffer);
+            rowBuilder.setMeasures(ByteString.copyFrom(metricBuffer, 0, length));
+            rows.add(rowBuilder.build());
+        }
+        return rows;
+    }
+
+    /**
+     * Aggregates the partial results of another cache built by the same aggregators into this one
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(EndpointAggregationCache other) {
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : other.getAllEntries()) {
+            MeasureAggregator[] bufs = getBuffer(entry.getKey());
+            MeasureAggregator[] otherBufs = entry.getValue();
+            for (int i = 0; i < bufs.length; i++) {
+                Object state = otherBufs[i].getState();
+                if (state != null) {
+                    bufs[i].aggregate(state);
+                }
+            }
+        }
+    }
 }
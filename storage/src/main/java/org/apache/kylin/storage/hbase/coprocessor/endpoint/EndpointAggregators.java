@@ -19,6 +19,7 @@
 package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 
 import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
@@ -139,6 +140,44 @@ public class EndpointAggregators {
         return !((funcNames != null) && (funcNames.length != 0));
     }
 
+    /**
+     * marks the columns read by the aggregation
+     */
+    public void collectColumns(BitSet columns) {
+        for (MetricInfo metricInfo : metricInfos) {
+            if (metricInfo.type == MetricType.Normal || metricInfo.type == MetricType.DistinctCount) {
+                columns.set(metricInfo.refIndex);
+            }
+        }
+    }
+
+    public int getMetricCount() {
+        return metricInfos.length;
+    }
+
+    public String getFuncName(int metricIndex) {
+        return funcNames[metricIndex];
+    }
+
+    public boolean isCount(int metricIndex) {
+        return metricInfos[metricIndex].type == MetricType.Count;
+    }
+
+    public boolean isDimensionAsMetric(int metricIndex) {
+        return metricInfos[metricIndex].type == MetricType.DimensionAsMetric;
+    }
+
+    public boolean isDistinctCount(int metricIndex) {
+        return metricInfos[metricIndex].type == MetricType.DistinctCount;
+    }
+
+    /**
+     * @return the table column read by the metric, or -1 if it reads none
+     */
+    public int getRefIndex(int metricIndex) {
+        return metricInfos[metricIndex].refIndex;
+    }
+
     public MeasureAggregator[] createBuffer() {
         MeasureAggregator[] aggrs = new MeasureAggregator[funcNames.length];
         for (int i = 0; i < aggrs.length; i++) {
@@ -211,6 +250,18 @@ public class EndpointAggregators {
         return metricBytesOffset;
     }
 
+    /**
+     * aggregates metric values written by serializeMetricValues into the buffers,
+     * used to merge the partial results of different regions
+     */
+    public void aggregateMetricValues(MeasureAggregator[] aggrs, byte[] metricBytes, int offset) {
+        int metricBytesOffset = offset;
+        for (int i = 0; i < measureSerializers.length; i++) {
+            aggrs[i].aggregate(measureSerializers[i].read(metricBytes, metricBytesOffset));
+            metricBytesOffset += measureSerializers[i].getLength();
+        }
+    }
+
     public List<Object> deserializeMetricValues(byte[] metricBytes, int offset) {
         List<Object> ret = Lists.newArrayList();
         int metricBytesOffset = offset;
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase.coprocessor.endpoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.ipc.BlockingRpcCallback;
+import org.apache.hadoop.hbase.ipc.ServerRpcController;
+import org.apache.kylin.storage.hbase.coprocessor.endpoint.generated.IIProtos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ning.compress.lzf.LZFDecoder;
+
+/**
+ * Calls the IIEndpoint of all regions in background, following the continuation of each region
+ * until its last page, and hands out the pages in the order they arrive.
+ *
+ * At most QUEUE_CAPACITY pages are buffered, the region calls wait for the consumer beyond that.
+ * The fetches of all queries share one pool of daemon threads, close() cancels the fetch of this query.
+ */
+public class EndpointPageIterator implements Iterator<List<IIProtos.IIResponse.IIRow>>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointPageIterator.class);
+
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    // marks that all regions are done, compared by identity
+    private static final List<IIProtos.IIResponse.IIRow> END = new ArrayList<IIProtos.IIResponse.IIRow>(0);
+
+    private static final ExecutorService FETCH_POOL = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "EndpointPageIterator-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    private final HTableInterface table;
+    private final IIProtos.IIRequest request;
+    private final BlockingQueue<List<IIProtos.IIResponse.IIRow>> pages = new LinkedBlockingQueue<List<IIProtos.IIResponse.IIRow>>(QUEUE_CAPACITY);
+    private final Future<?> fetch;
+
+    private volatile boolean closed = false;
+    private volatile Throwable error = null;
+    private boolean finished = false;
+    private List<IIProtos.IIResponse.IIRow> current = null;
+
+    public EndpointPageIterator(HTableInterface table, IIProtos.IIRequest request) {
+        this.table = table;
+        this.request = request;
+
+        this.fetch = FETCH_POOL.submit(new Runnable() {
+            @Override
+            public void run() {
+                fetchAll();
+            }
+        });
+    }
+
+    private void fetchAll() {
+        try {
+            table.coprocessorService(IIProtos.RowsService.class, null, null, new Batch.Call<IIProtos.RowsService, Integer>() {
+                public Integer call(IIProtos.RowsService rowsService) throws IOException {
+                    return fetchRegion(rowsService);
+                }
+            });
+        } catch (Throwable e) {
+            if (closed) {
+                logger.debug("IIEndpoint call ended after close", e);
+            } else {
+                logger.error("Error when calling IIEndpoint", e);
+                error = e;
+            }
+        } finally {
+            offer(END);
+        }
+    }
+
+    /**
+     * @return the number of pages fetched from the region
+     */
+    private int fetchRegion(IIProtos.RowsService rowsService) throws IOException {
+        IIProtos.IIRequest pageRequest = request;
+        int pageCount = 0;
+        while (true) {
+            ServerRpcController controller = new ServerRpcController();
+            BlockingRpcCallback<IIProtos.IIResponse> rpcCallback = new BlockingRpcCallback<IIProtos.IIResponse>();
+            rowsService.getRows(controller, pageRequest, rpcCallback);
+            IIProtos.IIResponse response = rpcCallback.get();
+            if (controller.failedOnException()) {
+                throw controller.getFailedOn();
+            }
+
+            pageCount++;
+            if (!offer(getRows(response)) || !response.hasContinuation()) {
+                return pageCount;
+            }
+            pageRequest = IIProtos.IIRequest.newBuilder(request).setContinuation(response.getContinuation()).build();
+        }
+    }
+
+    static List<IIProtos.IIResponse.IIRow> getRows(IIProtos.IIResponse response) throws IOException {
+        if (!response.hasCompressedRows()) {
+            return response.getRowsList();
+        }
+        byte[] decompressed = LZFDecoder.decode(response.getCompressedRows().toByteArray());
+        return IIProtos.IIResponse.parseFrom(decompressed).getRowsList();
+    }
+
+    /**
+     * @return false if the iterator is closed and the page is dropped
+     */
+    private boolean offer(List<IIProtos.IIResponse.IIRow> page) {
+        try {
+            while (!closed) {
+                if (pages.offer(page, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null && !finished) {
+            List<IIProtos.IIResponse.IIRow> page;
+            try {
+                page = pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted when waiting for IIEndpoint pages", e);
+            }
+
+            if (page == END) {
+                finished = true;
+                if (error != null) {
+                    throw new RuntimeException("Error when calling IIEndpoint", error);
+                }
+            } else if (!page.isEmpty()) {
+                current = page;
+            }
+        }
+        return current != null;
+    }
+
+    @Override
+    public List<IIProtos.IIResponse.IIRow> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<IIProtos.IIResponse.IIRow> page = current;
+        current = null;
+        return page;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        // interrupts a region call waiting for its response, the others stop at their next page
+        fetch.cancel(true);
+        pages.clear();
+    }
+}
@@ -21,21 +21,21 @@ package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.hbase.client.HConnection;
 import org.apache.hadoop.hbase.client.HTableInterface;
-import org.apache.hadoop.hbase.client.coprocessor.Batch;
-import org.apache.hadoop.hbase.ipc.BlockingRpcCallback;
-import org.apache.hadoop.hbase.ipc.ServerRpcController;
+import org.apache.kylin.common.KylinConfig;
 import org.apache.kylin.invertedindex.IISegment;
+import org.apache.kylin.invertedindex.index.Slice;
 import org.apache.kylin.invertedindex.index.TableRecord;
 import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.apache.kylin.invertedindex.streaming.IIStreamTail;
 import org.apache.kylin.metadata.filter.ConstantTupleFilter;
 import org.apache.kylin.metadata.filter.TupleFilter;
+import org.apache.kylin.metadata.measure.MeasureAggregator;
 import org.apache.kylin.metadata.model.FunctionDesc;
 import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.metadata.tuple.ITuple;
@@ -76,12 +76,16 @@ public class EndpointTupleIterator implements ITupleIterator {
     private final CoprocessorFilter pushedDownFilter;
     private final CoprocessorProjector pushedDownProjector;
     private final EndpointAggregators pushedDownAggregators;
+    private final TimestampRange timestampRange;
 
-    Iterator<List<IIProtos.IIResponse.IIRow>> regionResponsesIterator = null;
+    EndpointPageIterator regionResponsesIterator = null;
     ITupleIterator tupleIterator = null;
     HTableInterface table = null;
+    IIStreamTail streamTail = null;
+    EndpointAggregationCache regionAggCache = null;
 
     int rowsInAllMetric = 0;
+    int partialRowsMerged = 0;
 
     public EndpointTupleIterator(IISegment segment, TupleFilter rootFilter, Collection<TblColRef> groupBy, List<FunctionDesc> measures, StorageContext context, HConnection conn) throws Throwable {
 
@@ -124,14 +128,36 @@ public class EndpointTupleIterator implements ITupleIterator {
         this.pushedDownProjector = CoprocessorProjector.makeForEndpoint(tableRecordInfo, groupBy);
         this.pushedDownAggregators = EndpointAggregators.fromFunctions(tableRecordInfo, measures);
 
+        TblColRef timestampColumn = this.columns.get(tableRecordInfo.getTimestampColumn());
+        this.timestampRange = TimestampRange.fromFilter(rootFilter, timestampColumn);
+        logger.info("Timestamp range of the query on " + timestampColumn + " is " + timestampRange);
+
         IIProtos.IIRequest endpointRequest = prepareRequest();
-        regionResponsesIterator = getResults(endpointRequest, table);
+        this.tupleIterator = ITupleIterator.EMPTY_TUPLE_ITERATOR;
+        if (!pushedDownAggregators.isEmpty()) {
+            this.regionAggCache = new EndpointAggregationCache(pushedDownAggregators);
+        }
 
-        if (this.regionResponsesIterator.hasNext()) {
-            this.tupleIterator = new SingleRegionTupleIterator(this.regionResponsesIterator.next());
-        } else {
-            this.tupleIterator = ITupleIterator.EMPTY_TUPLE_ITERATOR;
+        // the tail stays pinned until close, so the slices being streamed are not flushed into the HTable meanwhile,
+        // unless the query outlives the bounded wait of a flush, see IIStreamTail
+        this.streamTail = IIStreamTail.get(segment.getIIInstance().getName());
+        if (streamTail != null) {
+            List<Slice> tailSlices = streamTail.pin();
+            try {
+                logger.info("Querying " + tailSlices.size() + " streaming slices in memory");
+                List<IIProtos.IIResponse.IIRow> tailRows = new IIEndpoint().getRowsFromSlices(endpointRequest, tailSlices).getRowsList();
+                if (regionAggCache != null) {
+                    mergePartialAggregates(tailRows);
+                } else {
+                    this.tupleIterator = new SingleRegionTupleIterator(tailRows);
+                }
+            } catch (Throwable e) {
+                streamTail.release();
+                throw e;
+            }
         }
+
+        this.regionResponsesIterator = new EndpointPageIterator(table, endpointRequest);
     }
 
     /**
@@ -167,8 +193,48 @@ public class EndpointTupleIterator implements ITupleIterator {
         }
     }
 
+    /**
+     * Every region (and the streaming tail) aggregates on its own, so the same group comes back
+     * once from each of them. Merges those partial aggregates by group key before any tuple
+     * is handed to the query engine.
+     *
+     * Once the merged groups reach the memory cap of the aggregation cache, they are handed out
+     * and the remaining pages follow unmerged, the query engine aggregates the duplicate groups.
+     */
+    private void mergeRegionAggregates() {
+        boolean beyondCap = false;
+        while (this.regionResponsesIterator.hasNext()) {
+            if (regionAggCache.isMemoryUsageBeyondCap()) {
+                beyondCap = true;
+                break;
+            }
+            mergePartialAggregates(this.regionResponsesIterator.next());
+        }
+        List<IIProtos.IIResponse.IIRow> mergedRows = regionAggCache.buildRows();
+        if (beyondCap) {
+            logger.warn("Merged " + partialRowsMerged + " partial aggregated rows into " + mergedRows.size() + " rows before reaching the memory cap, the remaining rows are not merged");
+        } else {
+            logger.info("Merged " + partialRowsMerged + " partial aggregated rows into " + mergedRows.size() + " rows");
+        }
+        this.regionAggCache = null;
+        this.tupleIterator = new SingleRegionTupleIterator(mergedRows);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void mergePartialAggregates(List<IIProtos.IIResponse.IIRow> rows) {
+        for (IIProtos.IIResponse.IIRow row : rows) {
+            byte[] columnsBytes = row.getColumns().toByteArray();
+            MeasureAggregator[] bufs = regionAggCache.getBuffer(pushedDownProjector.getAggrKey(columnsBytes));
+            pushedDownAggregators.aggregateMetricValues(bufs, row.getMeasures().toByteArray(), 0);
+        }
+        partialRowsMerged += rows.size();
+    }
+
     @Override
     public boolean hasNext() {
+        if (this.regionAggCache != null) {
+            mergeRegionAggregates();
+        }
         while (!this.tupleIterator.hasNext()) {
             if (this.regionResponsesIterator.hasNext()) {
                 this.tupleIterator = new SingleRegionTupleIterator(this.regionResponsesIterator.next());
@@ -197,37 +263,34 @@ public class EndpointTupleIterator implements ITupleIterator {
 
     @Override
     public void close() {
+        IOUtils.closeQuietly(regionResponsesIterator);
         IOUtils.closeQuietly(table);
+        if (streamTail != null) {
+            streamTail.release();
+            streamTail = null;
+        }
         logger.info("Closed after " + rowsInAllMetric + " rows are fetched");
     }
 
     private IIProtos.IIRequest prepareRequest() throws IOException {
-        IIProtos.IIRequest request = IIProtos.IIRequest.newBuilder() //
+        IIProtos.IIRequest.Builder builder = IIProtos.IIRequest.newBuilder() //
                 .setType(ByteString.copyFrom(CoprocessorRowType.serialize(pushedDownRowType))) //
                 .setFilter(ByteString.copyFrom(CoprocessorFilter.serialize(pushedDownFilter))) //
                 .setProjector(ByteString.copyFrom(CoprocessorProjector.serialize(pushedDownProjector))) //
-                .setAggregator(ByteString.copyFrom(EndpointAggregators.serialize(pushedDownAggregators))).build();
+                .setAggregator(ByteString.copyFrom(EndpointAggregators.serialize(pushedDownAggregators))) //
+                .setPageRows(KylinConfig.getInstanceFromEnv().getIIEndpointPageRows());
 
-        return request;
-    }
-
-    //TODO : async callback
-    private Iterator<List<IIProtos.IIResponse.IIRow>> getResults(final IIProtos.IIRequest request, HTableInterface table) throws Throwable {
-        Map<byte[], List<IIProtos.IIResponse.IIRow>> results = table.coprocessorService(IIProtos.RowsService.class, null, null, new Batch.Call<IIProtos.RowsService, List<IIProtos.IIResponse.IIRow>>() {
-            public List<IIProtos.IIResponse.IIRow> call(IIProtos.RowsService rowsService) throws IOException {
-                ServerRpcController controller = new ServerRpcController();
-                BlockingRpcCallback<IIProtos.IIResponse> rpcCallback = new BlockingRpcCallback<>();
-                rowsService.getRows(controller, request, rpcCallback);
-                IIProtos.IIResponse response = rpcCallback.get();
-                if (controller.failedOnException()) {
-                    throw controller.getFailedOn();
-                }
-
-                return response.getRowsList();
+        if (!timestampRange.isUnbounded()) {
+            builder.setSharding(seg.getSharding());
+            if (timestampRange.hasStart()) {
+                builder.setTsRangeStart(timestampRange.getStart());
+            }
+            if (timestampRange.hasEnd()) {
+                builder.setTsRangeEnd(timestampRange.getEnd());
             }
-        });
+        }
 
-        return results.values().iterator();
+        return builder.build();
     }
 
     private TupleInfo buildTupleInfo() {
@@ -60,21 +60,22 @@ public class HbaseServerKVIterator implements Iterable<Pair<ImmutableBytesWritab
 
             @Override
             public boolean hasNext() {
-                return hasMore;
-            }
-
-            @Override
-            public Pair<ImmutableBytesWritable, ImmutableBytesWritable> next() {
-                if (hasNext()) {
+                // a scan over an empty key range returns no cell at all
+                while (results.isEmpty() && hasMore) {
                     try {
-                        hasMore = innerScaner.nextRaw(results);
+                        synchronized (innerScaner) {
+                            hasMore = innerScaner.nextRaw(results);
+                        }
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
+                }
+                return !results.isEmpty();
+            }
 
-                    if (results.size() < 1)
-                        throw new IllegalStateException("Hbase row contains less than 1 cell");
-
+            @Override
+            public Pair<ImmutableBytesWritable, ImmutableBytesWritable> next() {
+                if (hasNext()) {
                     Cell c = results.get(0);
                     key.set(c.getRowArray(), c.getRowOffset(), c.getRowLength());
                     value.set(c.getValueArray(), c.getValueOffset(), c.getValueLength());
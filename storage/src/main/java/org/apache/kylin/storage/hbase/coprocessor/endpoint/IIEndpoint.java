@@ -19,50 +19,88 @@
 package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.Coprocessor;
 import org.apache.hadoop.hbase.CoprocessorEnvironment;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.coprocessor.CoprocessorException;
 import org.apache.hadoop.hbase.coprocessor.CoprocessorService;
 import org.apache.hadoop.hbase.coprocessor.RegionCoprocessorEnvironment;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FuzzyRowFilter;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.hbase.protobuf.ResponseConverter;
 import org.apache.hadoop.hbase.regionserver.HRegion;
 import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.BytesUtil;
+import org.apache.kylin.common.util.Pair;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
 import org.apache.kylin.invertedindex.index.RawTableRecord;
 import org.apache.kylin.invertedindex.index.Slice;
 import org.apache.kylin.invertedindex.index.TableRecordInfoDigest;
 import org.apache.kylin.invertedindex.model.IIDesc;
 import org.apache.kylin.invertedindex.model.IIKeyValueCodec;
+import org.apache.kylin.metadata.filter.TupleFilter;
 import org.apache.kylin.metadata.measure.MeasureAggregator;
+import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.storage.filter.BitMapFilterEvaluator;
 import org.apache.kylin.storage.hbase.coprocessor.AggrKey;
-import org.apache.kylin.storage.hbase.coprocessor.CoprocessorConstants;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorFilter;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorProjector;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorRowType;
 import org.apache.kylin.storage.hbase.coprocessor.endpoint.generated.IIProtos;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import com.google.protobuf.Service;
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
+import com.ning.compress.lzf.LZFEncoder;
 
 /**
  * Created by honma on 11/7/14.
  */
 public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, CoprocessorService {
 
+    public static final String SLICE_THREADS_KEY = "kylin.ii.endpoint.slice.threads";
+    public static final String SLICE_PARALLELISM_KEY = "kylin.ii.endpoint.slice.parallelism";
+
+    // shared by all regions on the region server, so the total number of slice threads is bounded
+    private static ExecutorService sliceExecutor;
+    private static int sliceExecutorUsers = 0;
+
     private RegionCoprocessorEnvironment env;
+    private int sliceParallelism = 1;
+    private boolean sliceExecutorAcquired = false;
 
     public IIEndpoint() {
     }
 
+    IIEndpoint(int sliceParallelism, int sliceThreads) {
+        this.sliceParallelism = Math.max(1, sliceParallelism);
+        acquireSliceExecutor(sliceThreads);
+        this.sliceExecutorAcquired = true;
+    }
+
     private Scan buildScan() {
         Scan scan = new Scan();
         scan.addColumn(Bytes.toBytes(IIDesc.HBASE_FAMILY), Bytes.toBytes(IIDesc.HBASE_QUALIFIER));
@@ -70,7 +108,144 @@ public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, Cop
         return scan;
     }
 
-    //TODO: protobuf does not provide built-in compression
+    private Scan buildScan(byte[] startRow, byte[] stopRow) {
+        Scan scan = buildScan();
+        scan.setStartRow(startRow);
+        scan.setStopRow(stopRow);
+
+        return scan;
+    }
+
+    /**
+     * Builds one scan per shard hosted by the region, bounded by the slices
+     * that may hold records of the requested time range.
+     *
+     * Slice timestamp is the timestamp of its first record, or one more than
+     * that in case it collides with the previous slice. So slices can be
+     * skipped if their successor starts before the range, or if they start
+     * after (range end + 1).
+     */
+    private List<Scan> buildScans(IIProtos.IIRequest request, HRegion region) throws IOException {
+        List<Scan> scans = Lists.newArrayList();
+        byte[] continuation = request.hasContinuation() ? request.getContinuation().toByteArray() : null;
+        if (!request.hasSharding() || !(request.hasTsRangeStart() || request.hasTsRangeEnd())) {
+            Scan scan = buildScan();
+            if (continuation != null) {
+                scan.setStartRow(continuation);
+            }
+            scans.add(scan);
+            return scans;
+        }
+
+        byte[] regionStart = region.getStartKey();
+        if (continuation != null && Bytes.compareTo(continuation, regionStart) > 0) {
+            regionStart = continuation;
+        }
+        byte[] regionEnd = region.getEndKey();
+        short firstShard = regionStart.length < IIKeyValueCodec.SHARD_LEN ? 0 : IIKeyValueCodec.decodeShard(regionStart, 0);
+
+        for (int i = firstShard; i < request.getSharding(); i++) {
+            short shard = (short) i;
+            byte[] startRow = IIKeyValueCodec.encodeShardPrefix(shard);
+            if (regionEnd.length > 0 && Bytes.compareTo(startRow, regionEnd) >= 0) {
+                break;
+            }
+            byte[] stopRow = IIKeyValueCodec.encodeShardPrefix((short) (i + 1));
+
+            if (request.hasTsRangeStart()) {
+                long sliceTimestamp = findSliceTimestampBefore(region, shard, request.getTsRangeStart());
+                if (sliceTimestamp != Long.MIN_VALUE) {
+                    startRow = IIKeyValueCodec.encodeSlicePrefix(shard, sliceTimestamp);
+                }
+            }
+            if (request.hasTsRangeEnd()) {
+                stopRow = IIKeyValueCodec.encodeSlicePrefix(shard, request.getTsRangeEnd() + 2);
+            }
+
+            if (Bytes.compareTo(startRow, regionStart) < 0) {
+                startRow = regionStart;
+            }
+            if (regionEnd.length > 0 && Bytes.compareTo(stopRow, regionEnd) > 0) {
+                stopRow = regionEnd;
+            }
+            if (Bytes.compareTo(startRow, stopRow) < 0) {
+                scans.add(buildScan(startRow, stopRow));
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * @return timestamp of the last slice of the shard starting before the given timestamp, or Long.MIN_VALUE if there is none
+     */
+    private long findSliceTimestampBefore(HRegion region, short shard, long timestamp) throws IOException {
+        Scan scan = buildScan(IIKeyValueCodec.encodeSlicePrefix(shard, timestamp), IIKeyValueCodec.encodeShardPrefix(shard));
+        scan.setReversed(true);
+
+        RegionScanner scanner = region.getScanner(scan);
+        try {
+            List<Cell> cells = Lists.newArrayList();
+            synchronized (scanner) {
+                scanner.nextRaw(cells);
+            }
+            if (cells.isEmpty()) {
+                return Long.MIN_VALUE;
+            }
+            Cell cell = cells.get(0);
+            return IIKeyValueCodec.decodeSliceTimestamp(cell.getRowArray(), cell.getRowOffset());
+        } finally {
+            IOUtils.closeQuietly(scanner);
+        }
+    }
+
+    /**
+     * @return the columns needed to filter and aggregate, or null if all columns are needed
+     */
+    private BitSet getProjectedColumns(TableRecordInfoDigest digest, CoprocessorRowType type, CoprocessorFilter filter, CoprocessorProjector projector, EndpointAggregators aggregators) {
+        if (aggregators.isEmpty()) {
+            // raw records are returned as a whole
+            return null;
+        }
+
+        BitSet columns = new BitSet(digest.getColumnCount());
+        for (int i = 0; i < digest.getColumnCount(); i++) {
+            if (projector.isGroupBy(digest.offset(i), digest.length(i))) {
+                columns.set(i);
+            }
+        }
+        aggregators.collectColumns(columns);
+        if (filter != null) {
+            Set<TblColRef> filterColumns = Sets.newHashSet();
+            TupleFilter.collectColumns(filter.getFilter(), filterColumns);
+            for (TblColRef column : filterColumns) {
+                columns.set(type.getColIndexByTblColRef(column));
+            }
+        }
+
+        if (columns.isEmpty()) {
+            // e.g. count(*) without filter, still need one column to know the record count
+            columns.set(0);
+        }
+        return columns.cardinality() < digest.getColumnCount() ? columns : null;
+    }
+
+    /**
+     * Row keys of all key values of a column end with the column number after shard and slice timestamp,
+     * a fuzzy row filter can seek over the key values of the other columns.
+     */
+    private Filter buildColumnFilter(BitSet columns) {
+        int prefixLen = IIKeyValueCodec.SHARD_LEN + IIKeyValueCodec.TIMEPART_LEN;
+        List<org.apache.hadoop.hbase.util.Pair<byte[], byte[]>> fuzzyKeys = Lists.newArrayList();
+        for (int col = columns.nextSetBit(0); col >= 0; col = columns.nextSetBit(col + 1)) {
+            byte[] key = new byte[prefixLen + IIKeyValueCodec.COLNO_LEN];
+            BytesUtil.writeUnsigned(col, key, prefixLen, IIKeyValueCodec.COLNO_LEN);
+            byte[] mask = new byte[key.length];
+            Arrays.fill(mask, 0, prefixLen, (byte) 1); // 1 means any byte, 0 means fixed
+            fuzzyKeys.add(new org.apache.hadoop.hbase.util.Pair<byte[], byte[]>(key, mask));
+        }
+        return new FuzzyRowFilter(fuzzyKeys);
+    }
+
     @Override
     public void getRows(RpcController controller, IIProtos.IIRequest request, RpcCallback<IIProtos.IIResponse> done) {
 
@@ -87,29 +262,40 @@ public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, Cop
         TableRecordInfoDigest tableRecordInfoDigest = aggregators.getTableRecordInfoDigest();
 
         IIProtos.IIResponse response = null;
-        RegionScanner innerScanner = null;
+        List<HbaseServerKVIterator> kvIterators = Lists.newArrayList();
         HRegion region = null;
         try {
             region = env.getRegion();
-            innerScanner = region.getScanner(buildScan());
             region.startRegionOperation();
 
-            synchronized (innerScanner) {
-                IIKeyValueCodec codec = new IIKeyValueCodec(tableRecordInfoDigest);
-                //TODO pass projector to codec to skip loading columns
-                Iterable<Slice> slices = codec.decodeKeyValue(new HbaseServerKVIterator(innerScanner));
-
-                if (aggregators.isEmpty()) {
-                    response = getNonAggregatedResponse(slices, filter, type);
-                } else {
-                    response = getAggregatedResponse(slices, filter, type, projector, aggregators);
+            BitSet projectedColumns = getProjectedColumns(tableRecordInfoDigest, type, filter, projector, aggregators);
+            for (Scan scan : buildScans(request, region)) {
+                if (projectedColumns != null) {
+                    scan.setFilter(buildColumnFilter(projectedColumns));
                 }
+                kvIterators.add(new HbaseServerKVIterator(region.getScanner(scan)));
+            }
+
+            IIKeyValueCodec codec = new IIKeyValueCodec(tableRecordInfoDigest);
+            Iterable<Pair<ImmutableBytesWritable, ImmutableBytesWritable>> kvs = Iterables.concat(kvIterators);
+            Iterable<Slice> slices = codec.decodeKeyValue(kvs, projectedColumns);
+
+            int pageRows = request.hasPageRows() ? request.getPageRows() : Integer.MAX_VALUE;
+            if (aggregators.isEmpty()) {
+                response = getNonAggregatedResponse(slices, filter, type, pageRows);
+            } else {
+                response = getAggregatedResponse(slices, filter, type, projector, aggregators, request, pageRows);
+            }
+            if (request.hasPageRows()) {
+                response = compress(response);
             }
         } catch (IOException ioe) {
             System.out.println(ioe.toString());
             ResponseConverter.setControllerException(controller, ioe);
         } finally {
-            IOUtils.closeQuietly(innerScanner);
+            for (HbaseServerKVIterator kvIterator : kvIterators) {
+                IOUtils.closeQuietly(kvIterator);
+            }
             if (region != null) {
                 try {
                     region.closeRegionOperation();
@@ -123,42 +309,159 @@ public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, Cop
         done.run(response);
     }
 
+    /**
+     * Evaluates the request over slices held in memory instead of a region, e.g. the tail of a streaming II
+     */
+    public IIProtos.IIResponse getRowsFromSlices(IIProtos.IIRequest request, Iterable<Slice> slices) throws IOException {
+        CoprocessorRowType type = CoprocessorRowType.deserialize(request.getType().toByteArray());
+        CoprocessorProjector projector = CoprocessorProjector.deserialize(request.getProjector().toByteArray());
+        EndpointAggregators aggregators = EndpointAggregators.deserialize(request.getAggregator().toByteArray());
+        CoprocessorFilter filter = CoprocessorFilter.deserialize(request.getFilter().toByteArray());
+
+        if (aggregators.isEmpty()) {
+            return getNonAggregatedResponse(slices, filter, type, Integer.MAX_VALUE);
+        } else {
+            return getAggregatedResponse(slices, filter, type, projector, aggregators, request, Integer.MAX_VALUE);
+        }
+    }
+
     //TODO check current memory checking is good enough
-    private IIProtos.IIResponse getAggregatedResponse(Iterable<Slice> slices, CoprocessorFilter filter, CoprocessorRowType type, CoprocessorProjector projector, EndpointAggregators aggregators) {
+    IIProtos.IIResponse getAggregatedResponse(Iterable<Slice> slices, CoprocessorFilter filter, CoprocessorRowType type, CoprocessorProjector projector, EndpointAggregators aggregators, IIProtos.IIRequest request, int pageRows) throws IOException {
         EndpointAggregationCache aggCache = new EndpointAggregationCache(aggregators);
+        VectorizedSliceAggregator vectorized = createVectorizedAggregator(projector, aggregators);
         IIProtos.IIResponse.Builder responseBuilder = IIProtos.IIResponse.newBuilder();
-        for (Slice slice : slices) {
-            ConciseSet result = null;
-            if (filter != null) {
-                result = new BitMapFilterEvaluator(new SliceBitMapProvider(slice, type)).evaluate(filter.getFilter());
+        Iterator<Slice> sliceIterator = slices.iterator();
+        List<Slice> batch = Lists.newArrayListWithCapacity(sliceParallelism);
+        // one per slice of a batch, reused by the following batches
+        List<SliceAggregator> sliceAggregators = Lists.newArrayListWithCapacity(sliceParallelism);
+        while (sliceIterator.hasNext()) {
+            batch.clear();
+            while (batch.size() < sliceParallelism && sliceIterator.hasNext()) {
+                batch.add(sliceIterator.next());
             }
 
-            Iterator<RawTableRecord> iterator = slice.iterateWithBitmap(result);
-            while (iterator.hasNext()) {
-                byte[] data = iterator.next().getBytes();
-                AggrKey aggKey = projector.getAggrKey(data);
-                MeasureAggregator[] bufs = aggCache.getBuffer(aggKey);
-                aggregators.aggregate(bufs, data);
-                aggCache.checkMemoryUsage();
+            if (batch.size() == 1) {
+                aggregateSlice(batch.get(0), filter, type, projector, aggregators, vectorized, aggCache);
+            } else {
+                if (sliceAggregators.isEmpty()) {
+                    // the batch waits for all its slices, so the request's own copies are free to use
+                    sliceAggregators.add(new SliceAggregator(projector, aggregators, vectorized));
+                }
+                while (sliceAggregators.size() < batch.size()) {
+                    CoprocessorProjector projectorCopy = CoprocessorProjector.deserialize(request.getProjector().toByteArray());
+                    EndpointAggregators aggregatorsCopy = EndpointAggregators.deserialize(request.getAggregator().toByteArray());
+                    sliceAggregators.add(new SliceAggregator(projectorCopy, aggregatorsCopy, createVectorizedAggregator(projectorCopy, aggregatorsCopy)));
+                }
+                for (EndpointAggregationCache sliceCache : aggregateSlicesInParallel(batch, filter, type, sliceAggregators)) {
+                    aggCache.merge(sliceCache);
+                    aggCache.checkMemoryUsage();
+                }
             }
-        }
 
-        byte[] metricBuffer = new byte[CoprocessorConstants.METRIC_SERIALIZE_BUFFER_SIZE];
-        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : aggCache.getAllEntries()) {
-            AggrKey aggrKey = entry.getKey();
-            IIProtos.IIResponse.IIRow.Builder rowBuilder = IIProtos.IIResponse.IIRow.newBuilder().setColumns(ByteString.copyFrom(aggrKey.get(), aggrKey.offset(), aggrKey.length()));
-            int length = aggregators.serializeMetricValues(entry.getValue(), metricBuffer);
-            rowBuilder.setMeasures(ByteString.copyFrom(metricBuffer, 0, length));
-            responseBuilder.addRows(rowBuilder.build());
+            if (aggCache.getSize() >= pageRows && sliceIterator.hasNext()) {
+                responseBuilder.setContinuation(ByteString.copyFrom(getContinuation(batch.get(batch.size() - 1))));
+                break;
+            }
         }
 
+        responseBuilder.addAllRows(aggCache.buildRows());
         return responseBuilder.build();
     }
 
-    private IIProtos.IIResponse getNonAggregatedResponse(Iterable<Slice> slices, CoprocessorFilter filter, CoprocessorRowType type) {
+    /**
+     * @return the column at a time aggregator, or null if the query needs the record at a time path
+     */
+    private static VectorizedSliceAggregator createVectorizedAggregator(CoprocessorProjector projector, EndpointAggregators aggregators) {
+        TableRecordInfoDigest digest = aggregators.getTableRecordInfoDigest();
+        if (!VectorizedSliceAggregator.isSupported(digest, projector, aggregators)) {
+            return null;
+        }
+        return new VectorizedSliceAggregator(digest, projector, aggregators);
+    }
+
+    private static void aggregateSlice(Slice slice, CoprocessorFilter filter, CoprocessorRowType type, CoprocessorProjector projector, EndpointAggregators aggregators, VectorizedSliceAggregator vectorized, EndpointAggregationCache aggCache) {
+        BitMap result = null;
+        if (filter != null) {
+            result = new BitMapFilterEvaluator(new SliceBitMapProvider(slice, type)).evaluate(filter.getFilter());
+        }
+
+        if (vectorized != null) {
+            vectorized.aggregate(slice, result, aggCache);
+            return;
+        }
+
+        Iterator<RawTableRecord> iterator = slice.iterateWithBitmap(result);
+        while (iterator.hasNext()) {
+            byte[] data = iterator.next().getBytes();
+            AggrKey aggKey = projector.getAggrKey(data);
+            MeasureAggregator[] bufs = aggCache.getBuffer(aggKey);
+            aggregators.aggregate(bufs, data);
+            aggCache.checkMemoryUsage();
+        }
+    }
+
+    /**
+     * Projector and aggregators keep reusable buffers, so each slice aggregated at the same time needs its own copies
+     */
+    private static class SliceAggregator {
+        final CoprocessorProjector projector;
+        final EndpointAggregators aggregators;
+        final VectorizedSliceAggregator vectorized;
+
+        SliceAggregator(CoprocessorProjector projector, EndpointAggregators aggregators, VectorizedSliceAggregator vectorized) {
+            this.projector = projector;
+            this.aggregators = aggregators;
+            this.vectorized = vectorized;
+        }
+    }
+
+    /**
+     * Aggregates each slice into its own cache on the shared slice executor, the i-th slice with the i-th slice aggregator.
+     *
+     * When the executor is saturated the handler thread aggregates the slice itself,
+     * so a busy region server degrades to the sequential evaluation.
+     *
+     * @return the per slice caches, in slice order
+     */
+    private List<EndpointAggregationCache> aggregateSlicesInParallel(List<Slice> batch, final CoprocessorFilter filter, final CoprocessorRowType type, List<SliceAggregator> sliceAggregators) throws IOException {
+        List<Future<EndpointAggregationCache>> futures = Lists.newArrayListWithCapacity(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            final Slice slice = batch.get(i);
+            final SliceAggregator sliceAggregator = sliceAggregators.get(i);
+            futures.add(sliceExecutor.submit(new Callable<EndpointAggregationCache>() {
+                @Override
+                public EndpointAggregationCache call() throws Exception {
+                    EndpointAggregationCache sliceCache = new EndpointAggregationCache(sliceAggregator.aggregators);
+                    aggregateSlice(slice, filter, type, sliceAggregator.projector, sliceAggregator.aggregators, sliceAggregator.vectorized, sliceCache);
+                    return sliceCache;
+                }
+            }));
+        }
+
+        List<EndpointAggregationCache> sliceCaches = Lists.newArrayListWithCapacity(batch.size());
+        try {
+            for (Future<EndpointAggregationCache> future : futures) {
+                sliceCaches.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted when aggregating slices", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error when aggregating slices", e.getCause());
+        } finally {
+            for (Future<EndpointAggregationCache> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return sliceCaches;
+    }
+
+    IIProtos.IIResponse getNonAggregatedResponse(Iterable<Slice> slices, CoprocessorFilter filter, CoprocessorRowType type, int pageRows) {
         IIProtos.IIResponse.Builder responseBuilder = IIProtos.IIResponse.newBuilder();
-        for (Slice slice : slices) {
-            ConciseSet result = null;
+        Iterator<Slice> sliceIterator = slices.iterator();
+        while (sliceIterator.hasNext()) {
+            Slice slice = sliceIterator.next();
+            BitMap result = null;
             if (filter != null) {
                 result = new BitMapFilterEvaluator(new SliceBitMapProvider(slice, type)).evaluate(filter.getFilter());
             }
@@ -169,11 +472,32 @@ public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, Cop
                 IIProtos.IIResponse.IIRow.Builder rowBuilder = IIProtos.IIResponse.IIRow.newBuilder().setColumns(ByteString.copyFrom(data));
                 responseBuilder.addRows(rowBuilder.build());
             }
+
+            if (responseBuilder.getRowsCount() >= pageRows && sliceIterator.hasNext()) {
+                responseBuilder.setContinuation(ByteString.copyFrom(getContinuation(slice)));
+                break;
+            }
         }
 
         return responseBuilder.build();
     }
 
+    /**
+     * Pages always end at a slice boundary, the next page starts from the row key right after the given slice
+     */
+    private byte[] getContinuation(Slice slice) {
+        return IIKeyValueCodec.encodeSlicePrefix(slice.getShard(), slice.getTimestamp() + 1);
+    }
+
+    static IIProtos.IIResponse compress(IIProtos.IIResponse response) {
+        IIProtos.IIResponse rows = IIProtos.IIResponse.newBuilder().addAllRows(response.getRowsList()).build();
+        IIProtos.IIResponse.Builder builder = IIProtos.IIResponse.newBuilder().setCompressedRows(ByteString.copyFrom(LZFEncoder.encode(rows.toByteArray())));
+        if (response.hasContinuation()) {
+            builder.setContinuation(response.getContinuation());
+        }
+        return builder.build();
+    }
+
     @Override
     public void start(CoprocessorEnvironment env) throws IOException {
         if (env instanceof RegionCoprocessorEnvironment) {
@@ -181,10 +505,42 @@ public class IIEndpoint extends IIProtos.RowsService implements Coprocessor, Cop
         } else {
             throw new CoprocessorException("Must be loaded on a table region!");
         }
+
+        Configuration conf = env.getConfiguration();
+        this.sliceParallelism = Math.max(1, conf.getInt(SLICE_PARALLELISM_KEY, 4));
+        acquireSliceExecutor(conf.getInt(SLICE_THREADS_KEY, Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+        this.sliceExecutorAcquired = true;
+    }
+
+    /**
+     * The executor is created by the first region started and shut down when the last one stops
+     */
+    private static synchronized void acquireSliceExecutor(int threads) {
+        sliceExecutorUsers++;
+        if (sliceExecutor != null) {
+            return;
+        }
+        threads = Math.max(1, threads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(threads * 4), //
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("IIEndpoint-slice-%d").build(), //
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        sliceExecutor = executor;
+    }
+
+    private static synchronized void releaseSliceExecutor() {
+        if (--sliceExecutorUsers == 0) {
+            sliceExecutor.shutdown();
+            sliceExecutor = null;
+        }
     }
 
     @Override
     public void stop(CoprocessorEnvironment env) throws IOException {
+        if (sliceExecutorAcquired) {
+            sliceExecutorAcquired = false;
+            releaseSliceExecutor();
+        }
     }
 
     @Override
@@ -18,13 +18,13 @@
 
 package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.invertedindex.index.Slice;
 import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.storage.filter.BitMapFilterEvaluator;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorRowType;
 
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
-
 /**
  * Created by Hongbin Ma(Binmahone) on 11/24/14.
  * <p/>
@@ -41,7 +41,7 @@ public class SliceBitMapProvider implements BitMapFilterEvaluator.BitMapProvider
     }
 
     @Override
-    public ConciseSet getBitMap(TblColRef col, Integer startId, Integer endId) {
+    public BitMap getBitMap(TblColRef col, Integer startId, Integer endId) {
         return slice.getColumnValueContainer(type.getColIndexByTblColRef(col)).getBitMap(startId, endId);
     }
 
@@ -54,4 +54,9 @@ public class SliceBitMapProvider implements BitMapFilterEvaluator.BitMapProvider
     public int getMaxValueId(TblColRef col) {
         return slice.getColumnValueContainer(type.getColIndexByTblColRef(col)).getMaxValueId();
     }
+
+    @Override
+    public BitMapFormat getBitMapFormat() {
+        return slice.getBitMapFormat();
+    }
 }
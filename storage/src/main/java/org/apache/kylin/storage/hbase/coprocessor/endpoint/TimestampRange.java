@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase.coprocessor.endpoint;
+
+import java.util.Collection;
+
+import org.apache.kylin.common.util.DateFormat;
+import org.apache.kylin.metadata.filter.CompareTupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter;
+import org.apache.kylin.metadata.model.TblColRef;
+
+/**
+ * The [start, end] millisecond range of the timestamp column implied by a
+ * filter, used to prune slices before the endpoint decodes them. The range is
+ * conservative: a record may only satisfy the filter if its timestamp falls in
+ * the range, but not every record in the range satisfies the filter.
+ */
+public class TimestampRange {
+
+    public static final TimestampRange ALL = new TimestampRange(Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private final long start;
+    private final long end;
+
+    public TimestampRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public static TimestampRange fromFilter(TupleFilter filter, TblColRef timestampColumn) {
+        if (filter == null) {
+            return ALL;
+        }
+
+        switch (filter.getOperator()) {
+        case AND: {
+            TimestampRange result = ALL;
+            for (TupleFilter child : filter.getChildren()) {
+                result = result.intersect(fromFilter(child, timestampColumn));
+            }
+            return result;
+        }
+        case OR: {
+            TimestampRange result = null;
+            for (TupleFilter child : filter.getChildren()) {
+                TimestampRange range = fromFilter(child, timestampColumn);
+                result = result == null ? range : result.union(range);
+            }
+            return result == null ? ALL : result;
+        }
+        case EQ:
+        case IN:
+        case LT:
+        case LTE:
+        case GT:
+        case GTE:
+            return fromCompareFilter((CompareTupleFilter) filter, timestampColumn);
+        default:
+            return ALL;
+        }
+    }
+
+    private static TimestampRange fromCompareFilter(CompareTupleFilter filter, TblColRef timestampColumn) {
+        if (!timestampColumn.equals(filter.getColumn())) {
+            return ALL;
+        }
+
+        Collection<String> values = filter.getValues();
+        if (values.isEmpty()) {
+            return ALL;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (String value : values) {
+            long millis;
+            try {
+                millis = DateFormat.stringToMillis(value);
+            } catch (IllegalArgumentException e) {
+                return ALL;
+            }
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+
+        switch (filter.getOperator()) {
+        case LT:
+        case LTE:
+            return new TimestampRange(Long.MIN_VALUE, max);
+        case GT:
+        case GTE:
+            return new TimestampRange(min, Long.MAX_VALUE);
+        default:
+            return new TimestampRange(min, max);
+        }
+    }
+
+    public TimestampRange intersect(TimestampRange another) {
+        return new TimestampRange(Math.max(start, another.start), Math.min(end, another.end));
+    }
+
+    public TimestampRange union(TimestampRange another) {
+        return new TimestampRange(Math.min(start, another.start), Math.max(end, another.end));
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public boolean hasStart() {
+        // slice timestamps are written unsigned in row keys, only positive bounds prune anything
+        return start > 0;
+    }
+
+    public boolean hasEnd() {
+        // leave room for the slice timestamp adjustment done by the endpoint
+        return end >= 0 && end < Long.MAX_VALUE - 2;
+    }
+
+    public boolean isUnbounded() {
+        return !hasStart() && !hasEnd();
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + "]";
+    }
+}
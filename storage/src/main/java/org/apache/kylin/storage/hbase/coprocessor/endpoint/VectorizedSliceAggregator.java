@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.storage.hbase.coprocessor.endpoint;
+
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.kylin.common.util.BytesUtil;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.index.ColumnValueContainer;
+import org.apache.kylin.invertedindex.index.RawTableRecord;
+import org.apache.kylin.invertedindex.index.Slice;
+import org.apache.kylin.invertedindex.index.TableRecordInfoDigest;
+import org.apache.kylin.metadata.measure.MeasureAggregator;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.storage.hbase.coprocessor.CoprocessorProjector;
+
+/**
+ * Aggregates a slice column at a time instead of record at a time.
+ *
+ * Rows selected by the filter bitmap are processed in batches. For each batch the group by
+ * columns are packed into one long key per row and mapped to a dense group id, then every
+ * metric column is decoded into a long array and folded into primitive accumulators indexed
+ * by group id. The accumulators are pushed into the aggregation cache once per slice.
+ *
+ * Only applies when the group by columns fit in 8 bytes and all metrics are count, sum, min
+ * or max over fixed length longs, see {@link #isSupported}.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class VectorizedSliceAggregator {
+
+    static final int BATCH_SIZE = 1024;
+
+    private static final int OP_NONE = 0;
+    private static final int OP_COUNT = 1;
+    private static final int OP_SUM = 2;
+    private static final int OP_MIN = 3;
+    private static final int OP_MAX = 4;
+
+    public static boolean isSupported(TableRecordInfoDigest digest, CoprocessorProjector projector, EndpointAggregators aggregators) {
+        int keyLength = 0;
+        for (int col = 0; col < digest.getColumnCount(); col++) {
+            if (projector.isGroupBy(digest.offset(col), digest.length(col))) {
+                keyLength += digest.length(col);
+            }
+        }
+        if (keyLength > 8) {
+            return false;
+        }
+        for (int i = 0; i < aggregators.getMetricCount(); i++) {
+            if (getOp(aggregators, i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getOp(EndpointAggregators aggregators, int metricIndex) {
+        if (aggregators.isCount(metricIndex)) {
+            return OP_COUNT;
+        }
+        if (aggregators.isDimensionAsMetric(metricIndex)) {
+            return OP_NONE;
+        }
+        if (aggregators.isDistinctCount(metricIndex)) {
+            return -1;
+        }
+        String funcName = aggregators.getFuncName(metricIndex);
+        if (FunctionDesc.FUNC_SUM.equalsIgnoreCase(funcName)) {
+            return OP_SUM;
+        } else if (FunctionDesc.FUNC_MIN.equalsIgnoreCase(funcName)) {
+            return OP_MIN;
+        } else if (FunctionDesc.FUNC_MAX.equalsIgnoreCase(funcName)) {
+            return OP_MAX;
+        }
+        return -1;
+    }
+
+    private final CoprocessorProjector projector;
+    private final int[] groupColumns;
+    private final int[] groupColumnLengths;
+    private final int[] metricOps;
+    private final int[] metricColumns;
+    private final int[] metricLengths;
+
+    // batch vectors
+    private final int[] rows = new int[BATCH_SIZE];
+    private final long[] keys = new long[BATCH_SIZE];
+    private final int[] groupIds = new int[BATCH_SIZE];
+    private final long[] values = new long[BATCH_SIZE];
+
+    // open addressing hash from packed key to group id, reset per slice
+    private long[] hashKeys;
+    private int[] hashGroups;
+    private int hashMask;
+
+    // per group state
+    private int groupCount;
+    private int[] groupRows;
+    private final long[][] accumulators;
+
+    private final RawTableRecord record;
+    private final ImmutableBytesWritable temp = new ImmutableBytesWritable();
+    private final LongWritable state = new LongWritable();
+
+    public VectorizedSliceAggregator(TableRecordInfoDigest digest, CoprocessorProjector projector, EndpointAggregators aggregators) {
+        this.projector = projector;
+        this.record = digest.createTableRecordBytes();
+
+        int nGroupColumns = 0;
+        for (int col = 0; col < digest.getColumnCount(); col++) {
+            if (projector.isGroupBy(digest.offset(col), digest.length(col))) {
+                nGroupColumns++;
+            }
+        }
+        this.groupColumns = new int[nGroupColumns];
+        this.groupColumnLengths = new int[nGroupColumns];
+        for (int col = 0, i = 0; col < digest.getColumnCount(); col++) {
+            if (projector.isGroupBy(digest.offset(col), digest.length(col))) {
+                groupColumns[i] = col;
+                groupColumnLengths[i] = digest.length(col);
+                i++;
+            }
+        }
+
+        int nMetrics = aggregators.getMetricCount();
+        this.metricOps = new int[nMetrics];
+        this.metricColumns = new int[nMetrics];
+        this.metricLengths = new int[nMetrics];
+        for (int i = 0; i < nMetrics; i++) {
+            metricOps[i] = getOp(aggregators, i);
+            if (metricOps[i] < 0) {
+                throw new IllegalArgumentException("Metric " + aggregators.getFuncName(i) + " can not be aggregated column at a time");
+            }
+            metricColumns[i] = aggregators.getRefIndex(i);
+            metricLengths[i] = metricColumns[i] < 0 ? 0 : digest.length(metricColumns[i]);
+        }
+
+        this.accumulators = new long[nMetrics][];
+        initGroups(BATCH_SIZE);
+    }
+
+    private void initGroups(int capacity) {
+        int hashSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        hashKeys = new long[hashSize];
+        hashGroups = new int[hashSize];
+        Arrays.fill(hashGroups, -1);
+        hashMask = hashSize - 1;
+        groupCount = 0;
+        groupRows = new int[capacity];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = new long[capacity];
+        }
+    }
+
+    /**
+     * aggregates the rows of the slice selected by the bitmap (all rows if null) into the cache
+     */
+    public void aggregate(Slice slice, BitMap selected, EndpointAggregationCache aggCache) {
+        resetGroups();
+
+        if (selected == null) {
+            int nRecords = slice.getRecordCount();
+            for (int start = 0; start < nRecords; start += BATCH_SIZE) {
+                int n = Math.min(BATCH_SIZE, nRecords - start);
+                for (int i = 0; i < n; i++) {
+                    rows[i] = start + i;
+                }
+                aggregateBatch(slice, n);
+            }
+        } else {
+            BitMap.IntIterator positions = selected.iterator();
+            while (positions.hasNext()) {
+                int n = 0;
+                while (n < BATCH_SIZE && positions.hasNext()) {
+                    rows[n++] = positions.next();
+                }
+                aggregateBatch(slice, n);
+            }
+        }
+
+        flush(slice, aggCache);
+    }
+
+    private void resetGroups() {
+        if (groupCount > 0) {
+            Arrays.fill(hashGroups, -1);
+            groupCount = 0;
+        }
+    }
+
+    private void aggregateBatch(Slice slice, int n) {
+        // group keys
+        Arrays.fill(keys, 0, n, 0L);
+        for (int c = 0; c < groupColumns.length; c++) {
+            ColumnValueContainer container = slice.getColumnValueContainer(groupColumns[c]);
+            int length = groupColumnLengths[c];
+            int shift = length * 8;
+            for (int i = 0; i < n; i++) {
+                container.getValueAt(rows[i], temp);
+                long value = BytesUtil.readLong(temp.get(), temp.getOffset(), length);
+                keys[i] = shift == 64 ? value : (keys[i] << shift) | value;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            groupIds[i] = findOrAddGroup(keys[i], rows[i]);
+        }
+
+        // accumulators
+        for (int m = 0; m < metricOps.length; m++) {
+            long[] acc = accumulators[m];
+            switch (metricOps[m]) {
+            case OP_COUNT:
+                for (int i = 0; i < n; i++) {
+                    acc[groupIds[i]]++;
+                }
+                break;
+            case OP_SUM:
+                decodeMetric(slice, m, n);
+                for (int i = 0; i < n; i++) {
+                    acc[groupIds[i]] += values[i];
+                }
+                break;
+            case OP_MIN:
+                decodeMetric(slice, m, n);
+                for (int i = 0; i < n; i++) {
+                    int g = groupIds[i];
+                    if (values[i] < acc[g]) {
+                        acc[g] = values[i];
+                    }
+                }
+                break;
+            case OP_MAX:
+                decodeMetric(slice, m, n);
+                for (int i = 0; i < n; i++) {
+                    int g = groupIds[i];
+                    if (values[i] > acc[g]) {
+                        acc[g] = values[i];
+                    }
+                }
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private void decodeMetric(Slice slice, int metricIndex, int n) {
+        ColumnValueContainer container = slice.getColumnValueContainer(metricColumns[metricIndex]);
+        int length = metricLengths[metricIndex];
+        for (int i = 0; i < n; i++) {
+            container.getValueAt(rows[i], temp);
+            values[i] = BytesUtil.readLong(temp.get(), temp.getOffset(), length);
+        }
+    }
+
+    private int findOrAddGroup(long key, int row) {
+        int slot = hash(key) & hashMask;
+        while (true) {
+            int group = hashGroups[slot];
+            if (group < 0) {
+                break;
+            }
+            if (hashKeys[slot] == key) {
+                return group;
+            }
+            slot = (slot + 1) & hashMask;
+        }
+
+        if (groupCount == groupRows.length) {
+            growGroups();
+            return findOrAddGroup(key, row);
+        }
+
+        int group = groupCount++;
+        hashKeys[slot] = key;
+        hashGroups[slot] = group;
+        groupRows[group] = row;
+        for (int m = 0; m < metricOps.length; m++) {
+            if (metricOps[m] == OP_MIN) {
+                accumulators[m][group] = Long.MAX_VALUE;
+            } else if (metricOps[m] == OP_MAX) {
+                accumulators[m][group] = Long.MIN_VALUE;
+            } else {
+                accumulators[m][group] = 0;
+            }
+        }
+        return group;
+    }
+
+    private void growGroups() {
+        int capacity = groupRows.length * 2;
+        groupRows = Arrays.copyOf(groupRows, capacity);
+        for (int m = 0; m < accumulators.length; m++) {
+            accumulators[m] = Arrays.copyOf(accumulators[m], capacity);
+        }
+
+        long[] oldKeys = hashKeys;
+        int[] oldGroups = hashGroups;
+        hashKeys = new long[capacity * 2];
+        hashGroups = new int[capacity * 2];
+        Arrays.fill(hashGroups, -1);
+        hashMask = hashKeys.length - 1;
+        for (int i = 0; i < oldGroups.length; i++) {
+            if (oldGroups[i] >= 0) {
+                int slot = hash(oldKeys[i]) & hashMask;
+                while (hashGroups[slot] >= 0) {
+                    slot = (slot + 1) & hashMask;
+                }
+                hashKeys[slot] = oldKeys[i];
+                hashGroups[slot] = oldGroups[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void flush(Slice slice, EndpointAggregationCache aggCache) {
+        for (int g = 0; g < groupCount; g++) {
+            for (int c = 0; c < groupColumns.length; c++) {
+                slice.getColumnValueContainer(groupColumns[c]).getValueAt(groupRows[g], temp);
+                record.setValueBytes(groupColumns[c], temp);
+            }
+            MeasureAggregator[] bufs = aggCache.getBuffer(projector.getAggrKey(record.getBytes()));
+            for (int m = 0; m < metricOps.length; m++) {
+                if (metricOps[m] != OP_NONE) {
+                    state.set(accumulators[m][g]);
+                    bufs[m].aggregate(state);
+                }
+            }
+            aggCache.checkMemoryUsage();
+        }
+    }
+}
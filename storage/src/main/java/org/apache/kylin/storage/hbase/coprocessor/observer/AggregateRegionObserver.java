@@ -47,6 +47,7 @@ public class AggregateRegionObserver extends BaseRegionObserver {
     static final String AGGREGATORS = "_Aggregators";
     static final String FILTER = "_Filter";
     static final String BEHAVIOR = "_Behavior";
+    static final String TOPN = "_TopN";
 
     @Override
     public final RegionScanner postScannerOpen(final ObserverContext<RegionCoprocessorEnvironment> ctxt, final Scan scan, final RegionScanner innerScanner) throws IOException {
@@ -84,6 +85,12 @@ public class AggregateRegionObserver extends BaseRegionObserver {
         byte[] filterBytes = scan.getAttribute(FILTER);
         CoprocessorFilter filter = CoprocessorFilter.deserialize(filterBytes);
 
+        ObserverTopN topN = null;
+        byte[] topNBytes = scan.getAttribute(TOPN);
+        if (topNBytes != null && topNBytes.length != 0) {
+            topN = ObserverTopN.deserialize(topNBytes);
+        }
+
         ObserverBehavior observerBehavior = ObserverBehavior.SCAN_FILTER_AGGR;
         byte[] behavior = scan.getAttribute(BEHAVIOR);
         if (behavior != null && behavior.length != 0) {
@@ -97,7 +104,7 @@ public class AggregateRegionObserver extends BaseRegionObserver {
         region.startRegionOperation();
         try {
             synchronized (innerScanner) {
-                return new AggregationScanner(type, filter, projector, aggregators, innerScanner, observerBehavior);
+                return new AggregationScanner(type, filter, projector, aggregators, topN, innerScanner, observerBehavior);
             }
         } finally {
             region.closeRegionOperation();
@@ -41,6 +41,10 @@ public class AggregationScanner implements RegionScanner {
     private ObserverBehavior behavior;
 
     public AggregationScanner(CoprocessorRowType type, CoprocessorFilter filter, CoprocessorProjector groupBy, ObserverAggregators aggrs, RegionScanner innerScanner, ObserverBehavior behavior) throws IOException {
+        this(type, filter, groupBy, aggrs, null, innerScanner, behavior);
+    }
+
+    public AggregationScanner(CoprocessorRowType type, CoprocessorFilter filter, CoprocessorProjector groupBy, ObserverAggregators aggrs, ObserverTopN topN, RegionScanner innerScanner, ObserverBehavior behavior) throws IOException {
 
         AggregateRegionObserver.LOG.info("Kylin Coprocessor start");
 
@@ -50,6 +54,10 @@ public class AggregationScanner implements RegionScanner {
         Stats stats = new Stats();
 
         aggCache = buildAggrCache(innerScanner, type, groupBy, aggrs, filter, stats);
+        if (topN != null && behavior.ordinal() >= ObserverBehavior.SCAN_FILTER_AGGR.ordinal()) {
+            stats.countGroups(aggCache.getSize());
+            aggCache.retainTopN(topN);
+        }
         stats.countOutputRow(aggCache.getSize());
         this.outerScanner = aggCache.getScanner(innerScanner);
 
@@ -146,6 +154,7 @@ public class AggregationScanner implements RegionScanner {
         long inputRows = 0;
         long inputBytes = 0;
         long outputRows = 0;
+        long groups = -1;
 
         // have no outputBytes because that requires actual serialize all the
         // aggregator buffers
@@ -162,9 +171,14 @@ public class AggregationScanner implements RegionScanner {
             outputRows += rowCount;
         }
 
+        public void countGroups(long groupCount) {
+            groups = groupCount;
+        }
+
         public String toString() {
             double percent = (double) outputRows / inputRows * 100;
-            return Math.round(percent) + "% = " + outputRows + " (out rows) / " + inputRows + " (in rows); in bytes = " + inputBytes + "; est. out bytes = " + Math.round(inputBytes * percent / 100);
+            String topN = groups < 0 ? "" : "; top " + outputRows + " of " + groups + " groups";
+            return Math.round(percent) + "% = " + outputRows + " (out rows) / " + inputRows + " (in rows); in bytes = " + inputBytes + "; est. out bytes = " + Math.round(inputBytes * percent / 100) + topN;
         }
     }
 }
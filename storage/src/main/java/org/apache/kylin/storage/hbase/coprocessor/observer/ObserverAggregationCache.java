@@ -20,9 +20,14 @@ package org.apache.kylin.storage.hbase.coprocessor.observer;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.HConstants;
@@ -55,6 +60,49 @@ public class ObserverAggregationCache extends AggregationCache {
         return aggregators.createBuffer();
     }
 
+    /**
+     * Drops all groups but the top N by the given measure, keeping the rest in key order.
+     */
+    public void retainTopN(ObserverTopN topN) {
+        if (aggBufMap.size() <= topN.getN()) {
+            return;
+        }
+
+        final int index = topN.getMeasureIndex();
+        // the head of the queue is the weakest of the groups kept so far
+        final Comparator<Entry<AggrKey, MeasureAggregator[]>> rank = new Comparator<Entry<AggrKey, MeasureAggregator[]>>() {
+            @Override
+            public int compare(Entry<AggrKey, MeasureAggregator[]> o1, Entry<AggrKey, MeasureAggregator[]> o2) {
+                return compareState(o1.getValue()[index].getState(), o2.getValue()[index].getState());
+            }
+        };
+        Comparator<Entry<AggrKey, MeasureAggregator[]>> weakestFirst = topN.isDescending() ? rank : Collections.reverseOrder(rank);
+
+        PriorityQueue<Entry<AggrKey, MeasureAggregator[]>> heap = new PriorityQueue<Entry<AggrKey, MeasureAggregator[]>>(topN.getN() + 1, weakestFirst);
+        for (Entry<AggrKey, MeasureAggregator[]> entry : aggBufMap.entrySet()) {
+            if (heap.size() < topN.getN()) {
+                heap.add(entry);
+            } else if (weakestFirst.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        Set<AggrKey> keep = new HashSet<AggrKey>();
+        for (Entry<AggrKey, MeasureAggregator[]> entry : heap) {
+            keep.add(entry.getKey());
+        }
+        aggBufMap.keySet().retainAll(keep);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareState(Object s1, Object s2) {
+        if (s1 == null || s2 == null) {
+            return s1 == null ? (s2 == null ? 0 : -1) : 1;
+        }
+        return ((Comparable) s1).compareTo(s2);
+    }
+
     private class AggregationRegionScanner implements RegionScanner {
 
         private final RegionScanner innerScanner;
@@ -194,6 +194,20 @@ public class ObserverAggregators {
         return Bytes.compareTo(col.family, 0, col.family.length, cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength()) == 0 && Bytes.compareTo(col.qualifier, 0, col.qualifier.length, cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()) == 0;
     }
 
+    /**
+     * @return the index in aggregator buffer of the i-th measure in given HBase column, or -1 if not found
+     */
+    public int getMeasureIndex(byte[] family, byte[] qualifier, int indexInHCol) {
+        int i = 0;
+        for (HCol col : hcols) {
+            if (Bytes.equals(col.family, family) && Bytes.equals(col.qualifier, qualifier)) {
+                return indexInHCol < col.nMeasures ? i + indexInHCol : -1;
+            }
+            i += col.nMeasures;
+        }
+        return -1;
+    }
+
     public int getHColsNum() {
         return nHCols;
     }
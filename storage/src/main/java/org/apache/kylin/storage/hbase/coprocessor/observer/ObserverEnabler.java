@@ -68,12 +68,17 @@ public class ObserverEnabler {
         CoprocessorFilter filter = CoprocessorFilter.fromFilter(segment, tupleFiler);
         CoprocessorProjector projector = CoprocessorProjector.makeForObserver(segment, cuboid, groupBy);
         ObserverAggregators aggrs = ObserverAggregators.fromValueDecoders(rowValueDecoders);
+        ObserverTopN topN = null;
+        if (context.isTopNEnabled()) {
+            boolean descending = context.getSortOrders().get(0) == StorageContext.OrderEnum.DESCENDING;
+            topN = ObserverTopN.fromValueDecoders(rowValueDecoders, aggrs, context.getSortMeasures().get(0), descending, context.getLimit() + context.getOffset());
+        }
 
         boolean localCoprocessor = KylinConfig.getInstanceFromEnv().getQueryRunLocalCoprocessor() || BackdoorToggles.getRunLocalCoprocessor();
 
         if (localCoprocessor) {
             RegionScanner innerScanner = new RegionScannerAdapter(table.getScanner(scan));
-            AggregationScanner aggrScanner = new AggregationScanner(type, filter, projector, aggrs, innerScanner, ObserverBehavior.SCAN_FILTER_AGGR);
+            AggregationScanner aggrScanner = new AggregationScanner(type, filter, projector, aggrs, topN, innerScanner, ObserverBehavior.SCAN_FILTER_AGGR);
             return new ResultScannerAdapter(aggrScanner);
         } else {
 
@@ -91,6 +96,9 @@ public class ObserverEnabler {
             scan.setAttribute(AggregateRegionObserver.PROJECTOR, CoprocessorProjector.serialize(projector));
             scan.setAttribute(AggregateRegionObserver.AGGREGATORS, ObserverAggregators.serialize(aggrs));
             scan.setAttribute(AggregateRegionObserver.FILTER, CoprocessorFilter.serialize(filter));
+            if (topN != null) {
+                scan.setAttribute(AggregateRegionObserver.TOPN, ObserverTopN.serialize(topN));
+            }
             return table.getScanner(scan);
         }
     }
@@ -101,6 +109,23 @@ public class ObserverEnabler {
         }
     }
 
+    /**
+     * Whether the coprocessor may be turned on for other reasons than aggregation, e.g. top-N pruning.
+     */
+    public static boolean isCoprocessorAllowed(CubeInstance cube, Collection<RowValueDecoder> rowValueDecoders) {
+        String forceFlag = System.getProperty(FORCE_COPROCESSOR);
+        if (forceFlag != null) {
+            return Boolean.parseBoolean(forceFlag);
+        }
+
+        Boolean cubeOverride = CUBE_OVERRIDES.get(cube.getName());
+        if (cubeOverride != null) {
+            return cubeOverride.booleanValue();
+        }
+
+        return RowValueDecoder.hasMemHungryCountDistinct(rowValueDecoders) == false;
+    }
+
     private static boolean isCoprocessorBeneficial(CubeInstance cube, Collection<TblColRef> groupBy, Collection<RowValueDecoder> rowValueDecoders, StorageContext context) {
 
         String forceFlag = System.getProperty(FORCE_COPROCESSOR);
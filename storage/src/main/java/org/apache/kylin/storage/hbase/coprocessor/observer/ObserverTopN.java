@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase.coprocessor.observer;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.BytesSerializer;
+import org.apache.kylin.common.util.BytesUtil;
+import org.apache.kylin.cube.kv.RowValueDecoder;
+import org.apache.kylin.cube.model.HBaseColumnDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.storage.hbase.coprocessor.CoprocessorConstants;
+
+/**
+ * Tells the region to return only its top N groups, ranked by one measure.
+ */
+public class ObserverTopN {
+
+    public static ObserverTopN fromValueDecoders(Collection<RowValueDecoder> rowValueDecoders, ObserverAggregators aggrs, MeasureDesc sortMeasure, boolean descending, int n) {
+        for (RowValueDecoder rowValueDecoder : rowValueDecoders) {
+            HBaseColumnDesc hbaseColumn = rowValueDecoder.getHBaseColumn();
+            MeasureDesc[] measures = hbaseColumn.getMeasures();
+            for (int i = 0; i < measures.length; i++) {
+                if (measures[i].equals(sortMeasure)) {
+                    int measureIndex = aggrs.getMeasureIndex(Bytes.toBytes(hbaseColumn.getColumnFamilyName()), Bytes.toBytes(hbaseColumn.getQualifier()), i);
+                    return measureIndex < 0 ? null : new ObserverTopN(measureIndex, descending, n);
+                }
+            }
+        }
+        return null;
+    }
+
+    public static byte[] serialize(ObserverTopN o) {
+        ByteBuffer buf = ByteBuffer.allocate(CoprocessorConstants.SERIALIZE_BUFFER_SIZE);
+        serializer.serialize(o, buf);
+        byte[] result = new byte[buf.position()];
+        System.arraycopy(buf.array(), 0, result, 0, buf.position());
+        return result;
+    }
+
+    public static ObserverTopN deserialize(byte[] bytes) {
+        return serializer.deserialize(ByteBuffer.wrap(bytes));
+    }
+
+    private static final Serializer serializer = new Serializer();
+
+    private static class Serializer implements BytesSerializer<ObserverTopN> {
+
+        @Override
+        public void serialize(ObserverTopN value, ByteBuffer out) {
+            BytesUtil.writeVInt(value.measureIndex, out);
+            BytesUtil.writeVInt(value.descending ? 1 : 0, out);
+            BytesUtil.writeVInt(value.n, out);
+        }
+
+        @Override
+        public ObserverTopN deserialize(ByteBuffer in) {
+            int measureIndex = BytesUtil.readVInt(in);
+            boolean descending = BytesUtil.readVInt(in) != 0;
+            int n = BytesUtil.readVInt(in);
+            return new ObserverTopN(measureIndex, descending, n);
+        }
+    }
+
+    // ============================================================================
+
+    final int measureIndex;
+    final boolean descending;
+    final int n;
+
+    public ObserverTopN(int measureIndex, boolean descending, int n) {
+        this.measureIndex = measureIndex;
+        this.descending = descending;
+        this.n = n;
+    }
+
+    public int getMeasureIndex() {
+        return measureIndex;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return "ObserverTopN [measureIndex=" + measureIndex + ", descending=" + descending + ", n=" + n + "]";
+    }
+}
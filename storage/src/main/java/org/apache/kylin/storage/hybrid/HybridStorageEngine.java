@@ -46,13 +46,19 @@ public class HybridStorageEngine implements IStorageEngine {
 
     @Override
     public ITupleIterator search(final StorageContext context, final SQLDigest sqlDigest) {
-        List<ITupleIterator> tupleIterators = Lists.newArrayList();
+        List<IStorageEngine> capableEngines = Lists.newArrayList();
         for (int i = 0; i < realizations.length; i++) {
             if (realizations[i].isReady() && realizations[i].isCapable(sqlDigest)) {
-                ITupleIterator dataIterator = storageEngines[i].search(context, sqlDigest);
-                tupleIterators.add(dataIterator);
+                capableEngines.add(storageEngines[i]);
             }
         }
+        context.setSplitAcrossRealizations(capableEngines.size() > 1);
+
+        List<ITupleIterator> tupleIterators = Lists.newArrayList();
+        for (IStorageEngine storageEngine : capableEngines) {
+            ITupleIterator dataIterator = storageEngine.search(context, sqlDigest);
+            tupleIterators.add(dataIterator);
+        }
         // combine tuple iterator
         return new CompoundTupleIterator(tupleIterators);
     }
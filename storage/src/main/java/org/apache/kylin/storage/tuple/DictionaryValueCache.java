@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.tuple;
+
+import org.apache.kylin.dict.Dictionary;
+import org.apache.kylin.metadata.model.DataType;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Dimension values converted to the type Optiq expects, by dictionary id.
+ *
+ * Converting a dictionary string into a Long, Double, BigDecimal or epoch day on every
+ * row boxes and parses the same few values again and again. The converted value of an id
+ * is immutable, so it is converted once and shared by all rows and queries reading the
+ * dictionary. Like the id-to-value cache of TrieDictionary, the arrays are softly referenced
+ * and dropped when memory runs short.
+ *
+ * Only numeric and date values are cached, strings are returned as is and need no conversion.
+ * Dictionaries above MAX_CARDINALITY are not cached, an array per high cardinality column
+ * would cost more memory than the conversions it saves.
+ */
+public class DictionaryValueCache {
+
+    public static final int MAX_CARDINALITY = 100000;
+
+    private static final Object NULL = new Object();
+
+    private static final Cache<Dictionary<?>, Values> cache = CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    private static class Values {
+        final String dataType;
+        final Object[] values;
+
+        Values(String dataType, int size) {
+            this.dataType = dataType;
+            this.values = new Object[size];
+        }
+    }
+
+    /**
+     * @return array of converted values indexed by id, or null if values of the dictionary are not cached
+     */
+    public static Object[] getValues(Dictionary<?> dict, String dataType) {
+        if (!DataType.NUMBER_FAMILY.contains(dataType) && !DataType.DATETIME_FAMILY.contains(dataType))
+            return null;
+        if (dict.getMaxId() + 1 > MAX_CARDINALITY)
+            return null;
+
+        Values values = cache.getIfPresent(dict);
+        if (values == null || !values.dataType.equals(dataType)) {
+            values = new Values(dataType, dict.getMaxId() + 1);
+            cache.put(dict, values);
+        }
+        return values.values;
+    }
+
+    /**
+     * @return whether the converted value of the id is in the cache
+     */
+    public static boolean isCached(Object[] values, int id) {
+        return id >= 0 && id < values.length && values[id] != null;
+    }
+
+    /**
+     * @return the cached value of the id, see isCached()
+     */
+    public static Object getValue(Object[] values, int id) {
+        Object value = values[id];
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * Converts the value of the id and puts it in the cache.
+     *
+     * @return the converted value, or null if the value is null
+     */
+    public static Object putValue(Object[] values, int id, String strValue, String dataType) {
+        Object value = Tuple.convertOptiqCellValue(strValue, dataType);
+        if (id >= 0 && id < values.length) {
+            values[id] = value == null ? NULL : value; // a benign race, concurrent readers convert the same value
+        }
+        return value;
+    }
+}
@@ -87,6 +87,10 @@ public class Tuple implements ITuple {
         values[index] = fieldValue;
     }
 
+    public void setFieldObjectValue(int fieldIndex, Object fieldValue) {
+        values[fieldIndex] = fieldValue;
+    }
+
     public void setDimensionValue(String fieldName, String fieldValue) {
         Object objectValue = convertOptiqCellValue(fieldValue, getDataType(fieldName));
         setFieldObjectValue(fieldName, objectValue);
@@ -23,6 +23,8 @@ import static org.junit.Assert.assertEquals;
 import java.util.ArrayList;
 
 import org.apache.kylin.dict.Dictionary;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.metadata.filter.ColumnTupleFilter;
 import org.apache.kylin.metadata.filter.CompareTupleFilter;
 import org.apache.kylin.metadata.filter.ConstantTupleFilter;
@@ -36,10 +38,11 @@ import org.apache.kylin.storage.filter.BitMapFilterEvaluator.BitMapProvider;
 import org.junit.Test;
 
 import com.google.common.collect.Lists;
-import it.uniroma3.mat.extendedset.intset.ConciseSet;
 
 public class BitMapFilterEvaluatorTest {
 
+    static final BitMapFormat FORMAT = BitMapFormat.CONCISE;
+
     static TblColRef colA;
     static TblColRef colB;
 
@@ -65,14 +68,14 @@ public class BitMapFilterEvaluatorTest {
         private static final int REC_COUNT = 10;
 
         @Override
-        public ConciseSet getBitMap(TblColRef col, Integer startId, Integer endId) {
+        public BitMap getBitMap(TblColRef col, Integer startId, Integer endId) {
             if (!col.equals(colA))
                 return null;
 
             // i-th record has value ID i, and last record has value null
             if (startId == null && endId == null) {
                 //entry for getting null value
-                ConciseSet s = new ConciseSet();
+                BitMap s = FORMAT.create();
                 s.add(getRecordCount() - 1);
                 return s;
             }
@@ -86,20 +89,20 @@ public class BitMapFilterEvaluatorTest {
                 end = endId;
             }
 
-            ConciseSet ret = new ConciseSet();
+            BitMap ret = FORMAT.create();
             for (int i = start; i <= end; ++i) {
-                ConciseSet temp = getBitMap(col, i);
-                ret.addAll(temp);
+                BitMap temp = getBitMap(col, i);
+                ret.or(temp);
             }
             return ret;
         }
 
-        public ConciseSet getBitMap(TblColRef col, int valueId) {
+        public BitMap getBitMap(TblColRef col, int valueId) {
             if (!col.equals(colA))
                 return null;
 
             // i-th record has value ID i, and last record has value null
-            ConciseSet bitMap = new ConciseSet();
+            BitMap bitMap = FORMAT.create();
             if (valueId < 0 || valueId > getMaxValueId(col)) // null
                 bitMap.add(getRecordCount() - 1);
             else
@@ -117,11 +120,16 @@ public class BitMapFilterEvaluatorTest {
         public int getMaxValueId(TblColRef col) {
             return MAX_ID;
         }
+
+        @Override
+        public BitMapFormat getBitMapFormat() {
+            return FORMAT;
+        }
     }
 
     BitMapFilterEvaluator eval = new BitMapFilterEvaluator(new MockBitMapProivder());
     ArrayList<CompareTupleFilter> basicFilters = Lists.newArrayList();
-    ArrayList<ConciseSet> basicResults = Lists.newArrayList();
+    ArrayList<BitMap> basicResults = Lists.newArrayList();
 
     public BitMapFilterEvaluatorTest() {
         basicFilters.add(compare(colA, FilterOperatorEnum.ISNULL));
@@ -167,8 +175,8 @@ public class BitMapFilterEvaluatorTest {
         for (int i = 0; i < basicFilters.size(); i++) {
             for (int j = 0; j < basicFilters.size(); j++) {
                 LogicalTupleFilter f = logical(FilterOperatorEnum.AND, basicFilters.get(i), basicFilters.get(j));
-                ConciseSet r = basicResults.get(i).clone();
-                r.retainAll(basicResults.get(j));
+                BitMap r = basicResults.get(i).copy();
+                r.and(basicResults.get(j));
                 assertEquals(r, eval.evaluate(f));
             }
         }
@@ -179,8 +187,8 @@ public class BitMapFilterEvaluatorTest {
         for (int i = 0; i < basicFilters.size(); i++) {
             for (int j = 0; j < basicFilters.size(); j++) {
                 LogicalTupleFilter f = logical(FilterOperatorEnum.OR, basicFilters.get(i), basicFilters.get(j));
-                ConciseSet r = basicResults.get(i).clone();
-                r.addAll(basicResults.get(j));
+                BitMap r = basicResults.get(i).copy();
+                r.or(basicResults.get(j));
                 assertEquals(r, eval.evaluate(f));
             }
         }
@@ -223,8 +231,8 @@ public class BitMapFilterEvaluatorTest {
         return new ConstantTupleFilter(idToStr(id));
     }
 
-    public static ConciseSet set(int... ints) {
-        ConciseSet set = new ConciseSet();
+    public static BitMap set(int... ints) {
+        BitMap set = FORMAT.create();
         for (int i : ints)
             set.add(i);
         return set;
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.storage.filter;
+
+import java.util.List;
+import java.util.Random;
+
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compares the bitmap formats on the operations of filter evaluation over a slice
+ */
+public class BitMapPerfTest {
+
+    private static final int RECORD_COUNT = 50000; // default slice size
+    private static final int CARDINALITY = 1000;
+    private static final int LOOP = 200;
+
+    @Test
+    public void foo() {
+        for (BitMapFormat format : BitMapFormat.values()) {
+            test(format);
+        }
+    }
+
+    private void test(BitMapFormat format) {
+        Random random = new Random(0);
+        BitMap[] valueBitMaps = new BitMap[CARDINALITY];
+        for (int v = 0; v < CARDINALITY; v++) {
+            valueBitMaps[v] = format.create();
+        }
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            valueBitMaps[random.nextInt(CARDINALITY)].add(i);
+        }
+
+        long bytes = 0;
+        for (BitMap bitMap : valueBitMaps) {
+            bytes += bitMap.toBytes().getLength();
+        }
+
+        // e.g. col > x, one bitmap per value ID in range
+        List<BitMap> range = Lists.newArrayList();
+        for (int v = CARDINALITY / 2; v < CARDINALITY; v++) {
+            range.add(valueBitMaps[v]);
+        }
+
+        long startTime = System.currentTimeMillis();
+        BitMap rangeResult = null;
+        for (int i = 0; i < LOOP; i++) {
+            rangeResult = format.or(range);
+        }
+        long rangeTime = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        BitMap folded = null;
+        for (int i = 0; i < LOOP; i++) {
+            folded = format.create();
+            for (BitMap bitMap : range) {
+                folded.or(bitMap);
+            }
+        }
+        long foldTime = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        int matchCount = 0;
+        for (int i = 0; i < LOOP; i++) {
+            BitMap and = rangeResult.copy();
+            and.and(format.or(range.subList(0, range.size() / 10)));
+            and.flip(RECORD_COUNT);
+            matchCount = and.getCardinality();
+        }
+        long andNotTime = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        long sum = 0;
+        for (int i = 0; i < LOOP; i++) {
+            BitMap.IntIterator iterator = rangeResult.iterator();
+            while (iterator.hasNext()) {
+                sum += iterator.next();
+            }
+        }
+        long iterateTime = System.currentTimeMillis() - startTime;
+
+        System.out.println(format + " serialized bytes: " + bytes + ", range results: " + rangeResult.getCardinality() + "/" + folded.getCardinality() + ", match count: " + matchCount + ", checksum: " + sum);
+        System.out.println(format + " multi-way or: " + rangeTime + " ms, folded or: " + foldTime + " ms, and & not: " + andNotTime + " ms, iterate: " + iterateTime + " ms");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.ParameterDesc;
+import org.apache.kylin.storage.StorageContext.OrderEnum;
+import org.junit.Test;
+
+public class CubeStorageEngineTopNTest {
+
+    private final FunctionDesc max = newFunction(FunctionDesc.FUNC_MAX, "PRICE");
+    private final FunctionDesc min = newFunction(FunctionDesc.FUNC_MIN, "PRICE");
+    private final FunctionDesc sum = newFunction(FunctionDesc.FUNC_SUM, "PRICE");
+
+    @Test
+    public void testMaxDescWithSumAcrossRegions() {
+        // region 1: A max 10 sum 1, B max 5 sum 5; region 2: B max 20 sum 100
+        // top 1 in each region drops B from region 1, the top group B would get SUM 100 instead
+        // of 105 -- MAX DESC may only be pruned when it is the only metric
+        Collection<FunctionDesc> metrics = Arrays.asList(max, sum);
+        assertFalse(CubeStorageEngine.isTopNPrunable(max, OrderEnum.DESCENDING, metrics, false, false));
+
+        // a single segment with exact aggregation has one row per group, nothing is lost
+        assertTrue(CubeStorageEngine.isTopNPrunable(max, OrderEnum.DESCENDING, metrics, true, false));
+    }
+
+    @Test
+    public void testExtremumAsOnlyMetric() {
+        assertTrue(CubeStorageEngine.isTopNPrunable(max, OrderEnum.DESCENDING, Collections.singleton(max), false, false));
+        assertTrue(CubeStorageEngine.isTopNPrunable(min, OrderEnum.ASCENDING, Collections.singleton(min), false, false));
+
+        // the best partial value is not the one ranked
+        assertFalse(CubeStorageEngine.isTopNPrunable(max, OrderEnum.ASCENDING, Collections.singleton(max), false, false));
+        assertFalse(CubeStorageEngine.isTopNPrunable(min, OrderEnum.DESCENDING, Collections.singleton(min), false, false));
+    }
+
+    @Test
+    public void testSumNeedsFinalRows() {
+        assertFalse(CubeStorageEngine.isTopNPrunable(sum, OrderEnum.DESCENDING, Collections.singleton(sum), false, false));
+        assertTrue(CubeStorageEngine.isTopNPrunable(sum, OrderEnum.DESCENDING, Collections.singleton(sum), true, false));
+    }
+
+    @Test
+    public void testHavingPreventsPruning() {
+        // GROUP BY g HAVING COUNT(*) > 100 ORDER BY SUM(x) DESC LIMIT 10: the local top 10 by SUM may
+        // all fail HAVING, while a group pruned in a region passes it
+        assertFalse(CubeStorageEngine.isTopNPrunable(sum, OrderEnum.DESCENDING, Collections.singleton(sum), true, true));
+        assertFalse(CubeStorageEngine.isTopNPrunable(max, OrderEnum.DESCENDING, Collections.singleton(max), false, true));
+        assertFalse(CubeStorageEngine.isTopNPrunable(min, OrderEnum.ASCENDING, Collections.singleton(min), true, true));
+    }
+
+    private static FunctionDesc newFunction(String expression, String column) {
+        ParameterDesc param = new ParameterDesc();
+        param.setType("column");
+        param.setValue(column);
+        FunctionDesc func = new FunctionDesc();
+        func.setExpression(expression);
+        func.setParameter(param);
+        return func;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.kylin.storage.hbase;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.kylin.common.util.Bytes;
+import org.apache.kylin.common.util.LocalFileMetadataTestCase;
+import org.apache.kylin.metadata.MetadataManager;
+import org.apache.kylin.metadata.measure.topn.TopNCounter;
+import org.apache.kylin.metadata.model.FunctionDesc;
+import org.apache.kylin.metadata.model.MeasureDesc;
+import org.apache.kylin.metadata.model.ParameterDesc;
+import org.apache.kylin.metadata.model.TableDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.apache.kylin.metadata.tuple.ITuple;
+import org.apache.kylin.metadata.tuple.ITupleIterator;
+import org.apache.kylin.storage.StorageContext;
+import org.apache.kylin.storage.tuple.Tuple;
+import org.apache.kylin.storage.tuple.TupleInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TopNTupleIteratorTest extends LocalFileMetadataTestCase {
+
+    MeasureDesc topSellers;
+    TblColRef calDt;
+
+    @Before
+    public void setUp() throws Exception {
+        this.createTestMetadata();
+
+        TableDesc fact = MetadataManager.getInstance(getTestConfig()).getTableDesc("DEFAULT.TEST_KYLIN_FACT");
+        calDt = new TblColRef(fact.findColumnByName("CAL_DT"));
+
+        ParameterDesc param = new ParameterDesc();
+        param.setType(FunctionDesc.PARAMETER_TYPE_COLUMN);
+        param.setValue("PRICE,SELLER_ID");
+        param.setColRefs(Lists.newArrayList(new TblColRef(fact.findColumnByName("PRICE")), new TblColRef(fact.findColumnByName("SELLER_ID"))));
+        FunctionDesc func = new FunctionDesc();
+        func.setExpression(FunctionDesc.FUNC_TOP_N);
+        func.setParameter(param);
+        func.setReturnType("topn(10)");
+        topSellers = new MeasureDesc();
+        topSellers.setName("TOP_SELLER");
+        topSellers.setFunction(func);
+    }
+
+    @After
+    public void after() throws Exception {
+        this.cleanupTestMetadata();
+    }
+
+    @Test
+    public void testMergeAndExpand() {
+        TupleInfo info = new TupleInfo();
+        info.setField("CAL_DT", calDt, "date", 0);
+        info.setField(topSellers.getFunction().getRewriteFieldName(), null, "topn(10)", 1);
+
+        // two storage rows of the first day, e.g. from two segments, and one of the second
+        List<Object[]> rows = Lists.newArrayList();
+        rows.add(new Object[] { 15000, counter("100", 10, "200", 5) });
+        rows.add(new Object[] { 15000, counter("200", 20, "300", 1) });
+        rows.add(new Object[] { 15001, counter("100", 3) });
+
+        TopNTupleIterator it = new TopNTupleIterator(new ReusedTupleIterator(info, rows), topSellers, "SUM_PRICE", 2, new StorageContext());
+
+        // top 2 of the merged first day
+        assertRow(it.next(), 15000, 200L, "25");
+        assertRow(it.next(), 15000, 100L, "10");
+        assertRow(it.next(), 15001, 100L, "3");
+        assertFalse(it.hasNext());
+        assertNull(it.next());
+        it.close();
+    }
+
+    @Test
+    public void testEmpty() {
+        TupleInfo info = new TupleInfo();
+        info.setField("CAL_DT", calDt, "date", 0);
+        info.setField(topSellers.getFunction().getRewriteFieldName(), null, "topn(10)", 1);
+
+        TopNTupleIterator it = new TopNTupleIterator(new ReusedTupleIterator(info, Lists.<Object[]> newArrayList()), topSellers, "SUM_PRICE", 2, new StorageContext());
+        assertFalse(it.hasNext());
+        it.close();
+    }
+
+    private void assertRow(ITuple tuple, int calDt, long sellerId, String sum) {
+        assertEquals(calDt, tuple.getValue("CAL_DT"));
+        assertEquals(sellerId, tuple.getValue("SELLER_ID"));
+        assertEquals(0, new BigDecimal(sum).compareTo((BigDecimal) tuple.getValue("SUM_PRICE")));
+    }
+
+    private static TopNCounter counter(Object... itemsAndCounts) {
+        TopNCounter counter = new TopNCounter(20);
+        for (int i = 0; i < itemsAndCounts.length; i += 2) {
+            counter.offer(Bytes.toBytes((String) itemsAndCounts[i]), ((Number) itemsAndCounts[i + 1]).doubleValue());
+        }
+        return counter;
+    }
+
+    /**
+     * Like the storage iterators, returns the same tuple for every row
+     */
+    private static class ReusedTupleIterator implements ITupleIterator {
+        final Tuple tuple;
+        final Iterator<Object[]> rows;
+
+        ReusedTupleIterator(TupleInfo info, List<Object[]> rows) {
+            this.tuple = new Tuple(info);
+            this.rows = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public ITuple next() {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                tuple.setFieldObjectValue(i, row[i]);
+            }
+            return tuple;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
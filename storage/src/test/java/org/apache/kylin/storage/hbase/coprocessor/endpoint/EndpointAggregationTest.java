@@ -18,21 +18,32 @@
 
 package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.kylin.common.util.LocalFileMetadataTestCase;
 import org.apache.kylin.invertedindex.IIInstance;
 import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.bitmap.BitMap;
+import org.apache.kylin.invertedindex.index.ColumnValueContainer;
+import org.apache.kylin.invertedindex.index.CompressedValueContainer;
+import org.apache.kylin.invertedindex.index.Slice;
 import org.apache.kylin.invertedindex.index.TableRecord;
 import org.apache.kylin.invertedindex.index.TableRecordInfo;
+import org.apache.kylin.invertedindex.index.TableRecordInfoDigest;
+import org.apache.kylin.invertedindex.model.IIKeyValueCodec;
 import org.apache.kylin.metadata.MetadataManager;
 import org.apache.kylin.metadata.filter.ColumnTupleFilter;
 import org.apache.kylin.metadata.filter.CompareTupleFilter;
@@ -47,10 +58,13 @@ import org.apache.kylin.metadata.model.TblColRef;
 import org.apache.kylin.storage.hbase.coprocessor.AggrKey;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorFilter;
 import org.apache.kylin.storage.hbase.coprocessor.CoprocessorProjector;
+import org.apache.kylin.storage.hbase.coprocessor.endpoint.generated.IIProtos;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.protobuf.ByteString;
+
 /**
  * Created by Hongbin Ma(Binmahone) on 11/27/14.
  *
@@ -202,4 +216,172 @@ public class EndpointAggregationTest extends LocalFileMetadataTestCase {
 
     }
 
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void mergePartialAggregatesTest() {
+        // two regions each aggregate part of the records
+        List<IIProtos.IIResponse.IIRow> partialRows = new ArrayList<IIProtos.IIResponse.IIRow>();
+        for (int i = 0; i < tableData.size(); ++i) {
+            EndpointAggregationCache regionCache = new EndpointAggregationCache(aggregators);
+            byte[] data = tableData.get(i).getBytes();
+            aggregators.aggregate(regionCache.getBuffer(projector.getAggrKey(data)), data);
+            partialRows.addAll(regionCache.buildRows());
+        }
+        assertEquals(3, partialRows.size());
+
+        for (IIProtos.IIResponse.IIRow row : partialRows) {
+            MeasureAggregator[] bufs = aggCache.getBuffer(projector.getAggrKey(row.getColumns().toByteArray()));
+            aggregators.aggregateMetricValues(bufs, row.getMeasures().toByteArray(), 0);
+        }
+
+        assertEquals(aggCache.getAllEntries().size(), 2);
+
+        long sumTotal = 0;
+        long minTotal = 0;
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : aggCache.getAllEntries()) {
+            sumTotal += ((LongWritable) entry.getValue()[0].getState()).get();
+            minTotal += ((LongWritable) entry.getValue()[1].getState()).get();
+        }
+        assertEquals(3020800, sumTotal);
+        assertEquals(1020900, minTotal);
+    }
+
+    private Slice mockSlice() {
+        return mockSlice(0);
+    }
+
+    private Slice mockSlice(long timestamp) {
+        TableRecordInfoDigest digest = tableRecordInfo.getDigest();
+        ColumnValueContainer[] containers = new ColumnValueContainer[digest.getColumnCount()];
+        ImmutableBytesWritable temp = new ImmutableBytesWritable();
+        for (int col = 0; col < containers.length; col++) {
+            containers[col] = new CompressedValueContainer(digest, col, tableData.size());
+            for (TableRecord record : tableData) {
+                record.getValueBytes(col, temp);
+                containers[col].append(temp);
+            }
+            containers[col].closeForChange();
+        }
+        return new Slice(digest, (short) 0, timestamp, containers);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void mergeTest() {
+        // one cache per record, merged into the shared one
+        for (int i = 0; i < tableData.size(); ++i) {
+            EndpointAggregationCache sliceCache = new EndpointAggregationCache(aggregators);
+            byte[] data = tableData.get(i).getBytes();
+            aggregators.aggregate(sliceCache.getBuffer(projector.getAggrKey(data)), data);
+            aggCache.merge(sliceCache);
+        }
+
+        EndpointAggregationCache expected = new EndpointAggregationCache(aggregators);
+        for (int i = 0; i < tableData.size(); ++i) {
+            byte[] data = tableData.get(i).getBytes();
+            aggregators.aggregate(expected.getBuffer(projector.getAggrKey(data)), data);
+        }
+
+        assertEquals(2, aggCache.getAllEntries().size());
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : expected.getAllEntries()) {
+            MeasureAggregator[] actual = aggCache.getBuffer(entry.getKey());
+            for (int m = 0; m < actual.length; m++) {
+                assertEquals(entry.getValue()[m].getState(), actual[m].getState());
+            }
+        }
+    }
+
+    @Test
+    public void parallelSlicesTest() throws IOException {
+        List<Slice> slices = new ArrayList<Slice>();
+        for (int i = 0; i < 5; i++) {
+            slices.add(mockSlice(1000 * (i + 1)));
+        }
+        IIProtos.IIRequest request = IIProtos.IIRequest.newBuilder() //
+                .setType(ByteString.EMPTY).setFilter(ByteString.EMPTY) //
+                .setProjector(ByteString.copyFrom(CoprocessorProjector.serialize(projector))) //
+                .setAggregator(ByteString.copyFrom(EndpointAggregators.serialize(aggregators))).build();
+
+        IIEndpoint sequential = new IIEndpoint(1, 1);
+        IIEndpoint parallel = new IIEndpoint(3, 2);
+        try {
+            IIProtos.IIResponse expected = sequential.getAggregatedResponse(slices, null, null, projector, aggregators, request, Integer.MAX_VALUE);
+            // batches of 3 and 2 slices, merged in slice order
+            IIProtos.IIResponse actual = parallel.getAggregatedResponse(slices, null, null, projector, aggregators, request, Integer.MAX_VALUE);
+            assertEquals(2, actual.getRowsCount());
+            assertEquals(expected.getRowsList(), actual.getRowsList());
+
+            // the page ends after the first batch
+            IIProtos.IIResponse page = parallel.getAggregatedResponse(slices, null, null, projector, aggregators, request, 1);
+            assertArrayEquals(IIKeyValueCodec.encodeSlicePrefix((short) 0, 3001), page.getContinuation().toByteArray());
+        } finally {
+            sequential.stop(null);
+            parallel.stop(null);
+        }
+    }
+
+    @Test
+    public void pagingTest() {
+        List<Slice> slices = Arrays.asList(mockSlice(1000), mockSlice(2000), mockSlice(3000));
+        IIEndpoint endpoint = new IIEndpoint();
+
+        // 3 rows per slice, the page ends at the first slice boundary past 4 rows
+        IIProtos.IIResponse page = endpoint.getNonAggregatedResponse(slices, null, null, 4);
+        assertEquals(6, page.getRowsCount());
+        assertArrayEquals(IIKeyValueCodec.encodeSlicePrefix((short) 0, 2001), page.getContinuation().toByteArray());
+
+        // the last page has no continuation
+        page = endpoint.getNonAggregatedResponse(slices.subList(2, 3), null, null, 4);
+        assertEquals(3, page.getRowsCount());
+        assertFalse(page.hasContinuation());
+
+        // no page is smaller than a slice
+        page = endpoint.getNonAggregatedResponse(slices, null, null, 1);
+        assertEquals(3, page.getRowsCount());
+        assertArrayEquals(IIKeyValueCodec.encodeSlicePrefix((short) 0, 1001), page.getContinuation().toByteArray());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void vectorizedTest() {
+        assertTrue(VectorizedSliceAggregator.isSupported(tableRecordInfo.getDigest(), projector, aggregators));
+        VectorizedSliceAggregator vectorized = new VectorizedSliceAggregator(tableRecordInfo.getDigest(), projector, aggregators);
+        vectorized.aggregate(mockSlice(), null, aggCache);
+
+        assertEquals(aggCache.getAllEntries().size(), 2);
+
+        long sumTotal = 0;
+        long minTotal = 0;
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : aggCache.getAllEntries()) {
+            sumTotal += ((LongWritable) entry.getValue()[0].getState()).get();
+            minTotal += ((LongWritable) entry.getValue()[1].getState()).get();
+        }
+        assertEquals(3020800, sumTotal);
+        assertEquals(1020900, minTotal);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void vectorizedWithBitmapTest() {
+        BitMap selected = tableRecordInfo.getDigest().getBitMapFormat().create();
+        selected.add(1);
+        selected.add(2);
+        VectorizedSliceAggregator vectorized = new VectorizedSliceAggregator(tableRecordInfo.getDigest(), projector, aggregators);
+        vectorized.aggregate(mockSlice(), selected, aggCache);
+
+        EndpointAggregationCache expected = new EndpointAggregationCache(aggregators);
+        for (int i = 1; i <= 2; ++i) {
+            byte[] data = tableData.get(i).getBytes();
+            aggregators.aggregate(expected.getBuffer(projector.getAggrKey(data)), data);
+        }
+
+        assertEquals(expected.getAllEntries().size(), aggCache.getAllEntries().size());
+        for (Map.Entry<AggrKey, MeasureAggregator[]> entry : expected.getAllEntries()) {
+            MeasureAggregator[] actual = aggCache.getBuffer(entry.getKey());
+            for (int m = 0; m < actual.length; m++) {
+                assertEquals(entry.getValue()[m].getState(), actual[m].getState());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase.coprocessor.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.kylin.storage.hbase.coprocessor.endpoint.generated.IIProtos;
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+
+/**
+ * Tests the client side of the IIEndpoint paging against in-process regions.
+ */
+public class EndpointPageIteratorTest {
+
+    private static final IIProtos.IIRequest REQUEST = IIProtos.IIRequest.newBuilder() //
+            .setType(ByteString.EMPTY).setFilter(ByteString.EMPTY).setProjector(ByteString.EMPTY).setAggregator(ByteString.EMPTY) //
+            .setPageRows(2).build();
+
+    @Test
+    public void testCompressRoundTrip() throws IOException {
+        IIProtos.IIResponse response = IIProtos.IIResponse.newBuilder().addRows(row("a")).addRows(row("b")).setContinuation(ByteString.copyFromUtf8("next")).build();
+
+        IIProtos.IIResponse compressed = IIEndpoint.compress(response);
+        assertTrue(compressed.hasCompressedRows());
+        assertEquals(0, compressed.getRowsCount());
+        assertEquals(response.getContinuation(), compressed.getContinuation());
+        assertEquals(response.getRowsList(), EndpointPageIterator.getRows(compressed));
+
+        // responses of unpaged requests are not compressed
+        assertEquals(response.getRowsList(), EndpointPageIterator.getRows(response));
+    }
+
+    @Test
+    public void testFollowContinuation() {
+        PagedRegion region1 = new PagedRegion("r1", 3);
+        PagedRegion region2 = new PagedRegion("r2", 1);
+
+        EndpointPageIterator iterator = new EndpointPageIterator(mockTable(null, region1, region2), REQUEST);
+        List<String> pages = new ArrayList<String>();
+        try {
+            while (iterator.hasNext()) {
+                for (IIProtos.IIResponse.IIRow row : iterator.next()) {
+                    pages.add(row.getColumns().toStringUtf8());
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+
+        assertEquals(4, pages.size());
+        // pages of a region arrive in order
+        assertTrue(pages.indexOf("r1-0") < pages.indexOf("r1-1"));
+        assertTrue(pages.indexOf("r1-1") < pages.indexOf("r1-2"));
+        assertTrue(pages.contains("r2-0"));
+
+        // later pages carry the continuation on top of the original request
+        assertEquals(3, region1.requests.size());
+        assertFalse(region1.requests.get(0).hasContinuation());
+        for (int i = 1; i < 3; i++) {
+            IIProtos.IIRequest request = region1.requests.get(i);
+            assertEquals(i, Bytes.toInt(request.getContinuation().toByteArray()));
+            assertEquals(REQUEST.getPageRows(), request.getPageRows());
+        }
+    }
+
+    @Test
+    public void testCloseStopsFetch() throws InterruptedException {
+        CountDownLatch fetchDone = new CountDownLatch(1);
+        PagedRegion endless = new PagedRegion("r1", Integer.MAX_VALUE);
+
+        EndpointPageIterator iterator = new EndpointPageIterator(mockTable(fetchDone, endless), REQUEST);
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.close();
+
+        assertTrue(fetchDone.await(10, TimeUnit.SECONDS));
+    }
+
+    private static IIProtos.IIResponse.IIRow row(String columns) {
+        return IIProtos.IIResponse.IIRow.newBuilder().setColumns(ByteString.copyFromUtf8(columns)).build();
+    }
+
+    /**
+     * A region returning one row per page, the continuation is the index of the next page
+     */
+    private static class PagedRegion extends IIProtos.RowsService {
+        final String name;
+        final int pageCount;
+        final List<IIProtos.IIRequest> requests = new ArrayList<IIProtos.IIRequest>();
+
+        PagedRegion(String name, int pageCount) {
+            this.name = name;
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        public void getRows(RpcController controller, IIProtos.IIRequest request, RpcCallback<IIProtos.IIResponse> done) {
+            requests.add(request);
+            int page = request.hasContinuation() ? Bytes.toInt(request.getContinuation().toByteArray()) : 0;
+            IIProtos.IIResponse.Builder response = IIProtos.IIResponse.newBuilder().addRows(row(name + "-" + page));
+            if (page + 1 < pageCount) {
+                response.setContinuation(ByteString.copyFrom(Bytes.toBytes(page + 1)));
+            }
+            done.run(IIEndpoint.compress(response.build()));
+        }
+    }
+
+    private HTableInterface mockTable(final CountDownLatch fetchDone, final IIProtos.RowsService... regions) {
+        return (HTableInterface) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HTableInterface.class }, new InvocationHandler() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (!method.getName().equals("coprocessorService") || args.length != 4) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                try {
+                    Batch.Call<IIProtos.RowsService, Object> call = (Batch.Call<IIProtos.RowsService, Object>) args[3];
+                    Map<byte[], Object> results = new TreeMap<byte[], Object>(Bytes.BYTES_COMPARATOR);
+                    for (int i = 0; i < regions.length; i++) {
+                        results.put(Bytes.toBytes(i), call.call(regions[i]));
+                    }
+                    return results;
+                } finally {
+                    if (fetchDone != null) {
+                        fetchDone.countDown();
+                    }
+                }
+            }
+        });
+    }
+}
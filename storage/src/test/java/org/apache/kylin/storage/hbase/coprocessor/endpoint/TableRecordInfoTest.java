@@ -21,10 +21,12 @@ package org.apache.kylin.storage.hbase.coprocessor.endpoint;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.kylin.common.util.LocalFileMetadataTestCase;
 import org.apache.kylin.invertedindex.IIInstance;
 import org.apache.kylin.invertedindex.IIManager;
+import org.apache.kylin.invertedindex.bitmap.BitMapFormat;
 import org.apache.kylin.invertedindex.index.TableRecordInfo;
 import org.apache.kylin.invertedindex.index.TableRecordInfoDigest;
 import org.junit.After;
@@ -50,6 +52,18 @@ public class TableRecordInfoTest extends LocalFileMetadataTestCase {
         byte[] x = TableRecordInfoDigest.serialize(this.tableRecordInfo.getDigest());
         TableRecordInfoDigest d = TableRecordInfoDigest.deserialize(x);
         assertEquals(d.getColumnCount(), 25);
+        assertEquals(this.tableRecordInfo.getDigest().getBitMapFormat(), d.getBitMapFormat());
+    }
+
+    @Test
+    public void testDeserializeWithoutBitMapFormat() {
+        byte[] x = TableRecordInfoDigest.serialize(this.tableRecordInfo.getDigest());
+        // drop the trailing format name, a one byte length and the ascii chars
+        String format = this.tableRecordInfo.getDigest().getBitMapFormat().name();
+        byte[] old = Arrays.copyOf(x, x.length - 1 - format.length());
+        TableRecordInfoDigest d = TableRecordInfoDigest.deserialize(old);
+        assertEquals(d.getColumnCount(), 25);
+        assertEquals(BitMapFormat.CONCISE, d.getBitMapFormat());
     }
 
     @After
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.hbase.coprocessor.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.kylin.common.util.DateFormat;
+import org.apache.kylin.metadata.filter.ColumnTupleFilter;
+import org.apache.kylin.metadata.filter.CompareTupleFilter;
+import org.apache.kylin.metadata.filter.ConstantTupleFilter;
+import org.apache.kylin.metadata.filter.LogicalTupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter;
+import org.apache.kylin.metadata.filter.TupleFilter.FilterOperatorEnum;
+import org.apache.kylin.metadata.model.ColumnDesc;
+import org.apache.kylin.metadata.model.TableDesc;
+import org.apache.kylin.metadata.model.TblColRef;
+import org.junit.Test;
+
+public class TimestampRangeTest {
+
+    TableDesc table = mockupTableDesc("TEST_KYLIN_FACT");
+    TblColRef timestamp = new TblColRef(mockupColumnDesc(table, 1, "CAL_DT", "date"));
+    TblColRef other = new TblColRef(mockupColumnDesc(table, 2, "LSTG_SITE_ID", "integer"));
+
+    @Test
+    public void testAndRange() {
+        TupleFilter filter = and(compare(timestamp, FilterOperatorEnum.GTE, "2013-01-01"), //
+                compare(timestamp, FilterOperatorEnum.LT, "2013-02-01"), //
+                compare(other, FilterOperatorEnum.EQ, "0"));
+        TimestampRange range = TimestampRange.fromFilter(filter, timestamp);
+
+        assertEquals(DateFormat.stringToMillis("2013-01-01"), range.getStart());
+        assertEquals(DateFormat.stringToMillis("2013-02-01"), range.getEnd());
+        assertTrue(range.hasStart());
+        assertTrue(range.hasEnd());
+    }
+
+    @Test
+    public void testOrRange() {
+        TupleFilter filter = or(compare(timestamp, FilterOperatorEnum.IN, "2013-03-01", "2013-01-01"), //
+                compare(timestamp, FilterOperatorEnum.EQ, "2013-02-01 10:00:00"));
+        TimestampRange range = TimestampRange.fromFilter(filter, timestamp);
+
+        assertEquals(DateFormat.stringToMillis("2013-01-01"), range.getStart());
+        assertEquals(DateFormat.stringToMillis("2013-03-01"), range.getEnd());
+
+        // a branch without time condition matches any time
+        filter = or(compare(timestamp, FilterOperatorEnum.GT, "2013-01-01"), compare(other, FilterOperatorEnum.EQ, "0"));
+        assertTrue(TimestampRange.fromFilter(filter, timestamp).isUnbounded());
+    }
+
+    @Test
+    public void testUnbounded() {
+        assertTrue(TimestampRange.fromFilter(null, timestamp).isUnbounded());
+        assertTrue(TimestampRange.fromFilter(ConstantTupleFilter.TRUE, timestamp).isUnbounded());
+        assertTrue(TimestampRange.fromFilter(compare(timestamp, FilterOperatorEnum.NEQ, "2013-01-01"), timestamp).isUnbounded());
+        assertTrue(TimestampRange.fromFilter(compare(timestamp, FilterOperatorEnum.GT, "not a date"), timestamp).isUnbounded());
+
+        TimestampRange range = TimestampRange.fromFilter(compare(timestamp, FilterOperatorEnum.LTE, "2013-01-01"), timestamp);
+        assertFalse(range.hasStart());
+        assertTrue(range.hasEnd());
+    }
+
+    private TupleFilter and(TupleFilter... children) {
+        LogicalTupleFilter filter = new LogicalTupleFilter(FilterOperatorEnum.AND);
+        filter.addChildren(Arrays.asList(children));
+        return filter;
+    }
+
+    private TupleFilter or(TupleFilter... children) {
+        LogicalTupleFilter filter = new LogicalTupleFilter(FilterOperatorEnum.OR);
+        filter.addChildren(Arrays.asList(children));
+        return filter;
+    }
+
+    private CompareTupleFilter compare(TblColRef column, FilterOperatorEnum op, String... values) {
+        CompareTupleFilter filter = new CompareTupleFilter(op);
+        filter.addChild(new ColumnTupleFilter(column));
+        filter.addChild(new ConstantTupleFilter(Arrays.asList(values)));
+        return filter;
+    }
+
+    private static TableDesc mockupTableDesc(String tableName) {
+        TableDesc mockup = new TableDesc();
+        mockup.setDatabase("DEFAULT");
+        mockup.setName(tableName);
+        return mockup;
+    }
+
+    private static ColumnDesc mockupColumnDesc(TableDesc table, int oneBasedColumnIndex, String name, String datatype) {
+        ColumnDesc desc = new ColumnDesc();
+        String id = "" + oneBasedColumnIndex;
+        desc.setId(id);
+        desc.setName(name);
+        desc.setDatatype(datatype);
+        desc.init(table);
+        return desc;
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.kylin.storage.hbase.coprocessor.observer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -190,6 +191,45 @@ public class AggregateRegionObserverTest {
         aggrScanner.close();
     }
 
+    @Test
+    public void testTopN() throws IOException {
+        ObserverAggregators aggregators = new ObserverAggregators(new HCol[] { c1, c2 });
+        int sumQ2 = aggregators.getMeasureIndex(family, q2, 0);
+
+        // top 1 by f:q2 SUM descending, round trip the serialization like a real scan
+        ObserverTopN topN = ObserverTopN.deserialize(ObserverTopN.serialize(new ObserverTopN(sumQ2, true, 1)));
+        assertEquals(Lists.newArrayList("\\x02\\x02\\x00\\x00"), scanTopN(aggregators, topN));
+
+        topN = new ObserverTopN(sumQ2, false, 1);
+        assertEquals(Lists.newArrayList("\\x01\\x01\\x00\\x00"), scanTopN(aggregators, topN));
+
+        topN = new ObserverTopN(sumQ2, true, 5);
+        assertEquals(Lists.newArrayList("\\x01\\x01\\x00\\x00", "\\x02\\x02\\x00\\x00"), scanTopN(aggregators, topN));
+    }
+
+    private List<String> scanTopN(ObserverAggregators aggregators, ObserverTopN topN) throws IOException {
+        CoprocessorRowType rowType = newRowType();
+        CoprocessorProjector projector = new CoprocessorProjector(mask);
+        CoprocessorFilter filter = CoprocessorFilter.deserialize(null);
+        MockupRegionScanner innerScanner = new MockupRegionScanner(cellsInput);
+
+        RegionScanner aggrScanner = new AggregationScanner(rowType, filter, projector, aggregators, topN, innerScanner, ObserverBehavior.SCAN_FILTER_AGGR);
+        List<String> rowKeys = Lists.newArrayList();
+        ArrayList<Cell> result = Lists.newArrayList();
+        boolean hasMore = true;
+        while (hasMore) {
+            result.clear();
+            hasMore = aggrScanner.next(result);
+            if (result.isEmpty())
+                continue;
+
+            Cell cell = result.get(0);
+            rowKeys.add(toString(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength(), mask));
+        }
+        aggrScanner.close();
+        return rowKeys;
+    }
+
     private String toString(byte[] array, int offset, short length, byte[] mask) {
         StringBuilder result = new StringBuilder();
         for (int i = 0; i < length; i++) {
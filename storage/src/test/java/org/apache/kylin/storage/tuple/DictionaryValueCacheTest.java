@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kylin.storage.tuple;
+
+import static org.junit.Assert.*;
+
+import org.apache.kylin.dict.StringBytesConverter;
+import org.apache.kylin.dict.TrieDictionary;
+import org.apache.kylin.dict.TrieDictionaryBuilder;
+import org.junit.Test;
+
+public class DictionaryValueCacheTest {
+
+    @Test
+    public void testConvertOncePerId() {
+        TrieDictionary<String> dict = buildDictionary("100", "200");
+
+        Object[] values = DictionaryValueCache.getValues(dict, "bigint");
+        assertEquals(dict.getMaxId() + 1, values.length);
+        assertSame(values, DictionaryValueCache.getValues(dict, "bigint"));
+
+        int id = dict.getIdFromValue("200");
+        assertFalse(DictionaryValueCache.isCached(values, id));
+        Object first = DictionaryValueCache.putValue(values, id, "200", "bigint");
+        assertEquals(Long.valueOf(200), first);
+        assertTrue(DictionaryValueCache.isCached(values, id));
+        assertSame(first, DictionaryValueCache.getValue(values, id));
+
+        // another type gets its own values
+        Object[] doubles = DictionaryValueCache.getValues(dict, "double");
+        assertNotSame(values, doubles);
+        assertEquals(Double.valueOf(200), DictionaryValueCache.putValue(doubles, id, "200", "double"));
+
+        // out of range id is converted without caching
+        assertFalse(DictionaryValueCache.isCached(values, values.length));
+        assertEquals(Long.valueOf(300), DictionaryValueCache.putValue(values, values.length, "300", "bigint"));
+        assertFalse(DictionaryValueCache.isCached(values, -1));
+    }
+
+    @Test
+    public void testCacheNullValue() {
+        TrieDictionary<String> dict = buildDictionary("100", "200");
+        Object[] values = DictionaryValueCache.getValues(dict, "integer");
+
+        int id = dict.getIdFromValue("100");
+        assertNull(DictionaryValueCache.putValue(values, id, null, "integer"));
+        assertTrue(DictionaryValueCache.isCached(values, id));
+        assertNull(DictionaryValueCache.getValue(values, id));
+    }
+
+    @Test
+    public void testNotCached() {
+        TrieDictionary<String> dict = buildDictionary("100", "200");
+        assertNotNull(DictionaryValueCache.getValues(dict, "date"));
+        assertNull(DictionaryValueCache.getValues(dict, "string"));
+        assertNull(DictionaryValueCache.getValues(dict, "varchar"));
+
+        String[] many = new String[DictionaryValueCache.MAX_CARDINALITY + 1];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = String.valueOf(i);
+        }
+        TrieDictionary<String> large = buildDictionary(many);
+        assertNull(DictionaryValueCache.getValues(large, "bigint"));
+    }
+
+    private TrieDictionary<String> buildDictionary(String... values) {
+        TrieDictionaryBuilder<String> b = new TrieDictionaryBuilder<String>(new StringBytesConverter());
+        for (String value : values) {
+            b.addValue(value);
+        }
+        return b.build(0);
+    }
+}